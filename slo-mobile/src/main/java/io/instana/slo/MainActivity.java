@@ -10,6 +10,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.fragment.app.Fragment;
 
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
+import io.instana.slo.ui.incident.IncidentActivity;
+import io.instana.slo.ui.rollup.SloRollupActivity;
 import io.instana.slo.ui.settings.SettingsActivity;
 import io.instana.slo.ui.slolist.SloListFragment;
 import io.instana.slo.util.PreferencesManager;
@@ -34,13 +36,18 @@ public class MainActivity extends AppCompatActivity {
             getSupportActionBar().setElevation(4);
         }
 
-        // Check if this is the first run or if settings are not configured
-        if (preferencesManager.isFirstRun() || !preferencesManager.isConfigured()) {
-            showWelcomeDialog();
-        } else {
-            // Load the SLO list fragment
-            loadSloListFragment();
-        }
+        // Check if this is the first run or if settings are not configured, once the token is readable
+        preferencesManager.runWhenSecretsLoaded(() -> {
+            if (isFinishing() || getSupportFragmentManager().isStateSaved()) {
+                return;
+            }
+            if (preferencesManager.isFirstRun() || !preferencesManager.isConfigured()) {
+                showWelcomeDialog();
+            } else {
+                // Load the SLO list fragment
+                loadSloListFragment();
+            }
+        });
     }
 
     /**
@@ -92,6 +99,12 @@ public class MainActivity extends AppCompatActivity {
         } else if (id == R.id.action_refresh) {
             refreshSloList();
             return true;
+        } else if (id == R.id.action_by_application) {
+            startActivity(new Intent(this, SloRollupActivity.class));
+            return true;
+        } else if (id == R.id.action_incidents) {
+            startActivity(new Intent(this, IncidentActivity.class));
+            return true;
         } else if (id == R.id.action_about) {
             showAboutDialog();
             return true;
@@ -136,6 +149,14 @@ public class MainActivity extends AppCompatActivity {
         android.util.Log.d(TAG, "MainActivity onResume() called");
         
         // Ensure fragment is loaded if configured
+        preferencesManager.runWhenSecretsLoaded(this::ensureSloListFragment);
+        android.util.Log.d(TAG, "========================================");
+    }
+
+    private void ensureSloListFragment() {
+        if (isFinishing() || getSupportFragmentManager().isStateSaved()) {
+            return;
+        }
         Fragment fragment = getSupportFragmentManager().findFragmentById(R.id.fragment_container);
         android.util.Log.d(TAG, "Fragment found: " + (fragment != null ? fragment.getClass().getSimpleName() : "null"));
         android.util.Log.d(TAG, "Is configured: " + preferencesManager.isConfigured());
@@ -145,15 +166,11 @@ public class MainActivity extends AppCompatActivity {
             android.util.Log.d(TAG, "Fragment is null but configured - loading fragment");
             loadSloListFragment();
         } else if (fragment instanceof SloListFragment) {
-            if (preferencesManager.isConfigured()) {
-                android.util.Log.d(TAG, "Calling refresh() on existing SloListFragment");
-                ((SloListFragment) fragment).refresh();
-            } else {
-                android.util.Log.d(TAG, "Not configured - skipping refresh");
-            }
+            // The fragment reloads from the shared catalog in its own onResume(),
+            // so a forced network refresh here would only duplicate that work
+            android.util.Log.d(TAG, "SloListFragment reloads itself - skipping refresh");
         } else {
             android.util.Log.d(TAG, "Fragment is not SloListFragment or not configured - skipping");
         }
-        android.util.Log.d(TAG, "========================================");
     }
 }
@@ -0,0 +1,20 @@
+package io.instana.slo;
+
+import android.app.Application;
+
+import io.instana.slo.data.repository.ReportMemoryManager;
+import io.instana.slo.util.SettingsStore;
+
+/**
+ * Application class; starts process-wide initialization as early as possible
+ */
+public class SloApplication extends Application {
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Plain settings are read now; encrypted storage opens in the background
+        SettingsStore.getInstance(this);
+        // Trim retained reports and charts under memory pressure
+        registerComponentCallbacks(ReportMemoryManager.getInstance(this));
+    }
+}
@@ -2,6 +2,10 @@ package io.instana.slo.data.api;
 
 import android.content.Context;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import io.instana.slo.BuildConfig;
 import io.instana.slo.util.PreferencesManager;
 
 import java.io.IOException;
@@ -19,9 +23,17 @@ import retrofit2.converter.gson.GsonConverterFactory;
  * API client factory for creating Retrofit instances
  */
 public class ApiClient {
+    private static final Gson GSON = SloJsonAdapters.register(new GsonBuilder()).create();
     private static InstanaApiService apiService;
     private static Retrofit retrofit;
 
+    /**
+     * Get the shared Gson instance configured with the streaming model adapters
+     */
+    public static Gson getGson() {
+        return GSON;
+    }
+
     /**
      * Get or create the API service instance
      * 
@@ -66,7 +78,7 @@ public class ApiClient {
         return new Retrofit.Builder()
                 .baseUrl(baseUrl)
                 .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create(GSON))
                 .build();
     }
 
@@ -85,10 +97,13 @@ public class ApiClient {
         // Add authentication interceptor
         builder.addInterceptor(new AuthInterceptor(apiToken));
 
-        // Add logging interceptor for debugging
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        builder.addInterceptor(loggingInterceptor);
+        // Add logging interceptor for debug builds only; BASIC keeps response bodies
+        // streaming to Gson instead of being buffered into Strings for the log
+        if (BuildConfig.DEBUG) {
+            HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
+            loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BASIC);
+            builder.addInterceptor(loggingInterceptor);
+        }
 
         return builder.build();
     }
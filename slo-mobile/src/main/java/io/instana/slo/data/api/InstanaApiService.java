@@ -7,6 +7,7 @@ import io.instana.slo.data.model.SloReport;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 /**
  * Retrofit API service interface for Instana API endpoints
@@ -32,6 +33,18 @@ public interface InstanaApiService {
     @GET("/api/slo/report/{sloId}")
     Call<SloReport> getSloReport(@Path("sloId") String sloId);
 
+    /**
+     * Fetch the SLO report for an explicit time range instead of the SLO's own window
+     * Endpoint: GET /api/slo/report/{sloId}?from=...&to=...
+     *
+     * @param sloId The ID of the SLO to fetch the report for
+     * @param from Start of the range (epoch ms)
+     * @param to End of the range (epoch ms)
+     * @return Call object containing SloReport with metrics
+     */
+    @GET("/api/slo/report/{sloId}")
+    Call<SloReport> getSloReport(@Path("sloId") String sloId, @Query("from") long from, @Query("to") long to);
+
     /**
      * Fetch Instana version information for API validation
      * Endpoint: GET /api/instana/version
@@ -0,0 +1,397 @@
+package io.instana.slo.data.api;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import io.instana.slo.data.model.ChartSeriesTypeAdapter;
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloEntity;
+import io.instana.slo.data.model.SloListResponse;
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.TimeWindow;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written streaming Gson adapters for the API models
+ *
+ * Only the fields the app reads are bound; everything else in the (large) SLO
+ * configuration objects - indicators, tags, RBAC tags, ... - is skipped with
+ * {@link JsonReader#skipValue()} without being materialized. No reflection is involved.
+ * Repeated values (entity types, application/website IDs, time window units) are
+ * deduplicated through a shared {@link StringPool}, and entity types are classified
+ * once while parsing.
+ */
+public final class SloJsonAdapters {
+    private static final StringPool STRING_POOL = new StringPool(4096);
+
+    private SloJsonAdapters() {
+    }
+
+    /**
+     * Register the adapters for all API models on a GsonBuilder
+     */
+    public static GsonBuilder register(GsonBuilder builder) {
+        TimeWindowAdapter timeWindowAdapter = new TimeWindowAdapter();
+        SloAdapter sloAdapter = new SloAdapter(new SloEntityAdapter(), timeWindowAdapter);
+        return builder
+                .registerTypeAdapter(TimeWindow.class, timeWindowAdapter)
+                .registerTypeAdapter(SloEntity.class, sloAdapter.entityAdapter)
+                .registerTypeAdapter(Slo.class, sloAdapter)
+                .registerTypeAdapter(SloListResponse.class, new SloListResponseAdapter(sloAdapter))
+                .registerTypeAdapter(SloReport.class, new SloReportAdapter(timeWindowAdapter));
+    }
+
+    /**
+     * Adapter for the SLO list response; only {@code items} is read
+     */
+    static final class SloListResponseAdapter extends TypeAdapter<SloListResponse> {
+        private final SloAdapter sloAdapter;
+
+        SloListResponseAdapter(SloAdapter sloAdapter) {
+            this.sloAdapter = sloAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, SloListResponse response) throws IOException {
+            if (response == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("items");
+            if (response.getItems() == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (Slo slo : response.getItems()) {
+                    sloAdapter.write(out, slo);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public SloListResponse read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            SloListResponse response = new SloListResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("items".equals(in.nextName()) && !skipNull(in)) {
+                    List<Slo> items = new ArrayList<>();
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        Slo slo = sloAdapter.read(in);
+                        if (slo != null) {
+                            items.add(slo);
+                        }
+                    }
+                    in.endArray();
+                    response.setItems(items);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return response;
+        }
+    }
+
+    /**
+     * Adapter for an SLO configuration; binds id, name, entity and timeWindow
+     */
+    static final class SloAdapter extends TypeAdapter<Slo> {
+        final SloEntityAdapter entityAdapter;
+        private final TimeWindowAdapter timeWindowAdapter;
+
+        SloAdapter(SloEntityAdapter entityAdapter, TimeWindowAdapter timeWindowAdapter) {
+            this.entityAdapter = entityAdapter;
+            this.timeWindowAdapter = timeWindowAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, Slo slo) throws IOException {
+            if (slo == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(slo.getId());
+            out.name("name").value(slo.getName());
+            out.name("entity");
+            entityAdapter.write(out, slo.getEntity());
+            out.name("timeWindow");
+            timeWindowAdapter.write(out, slo.getTimeWindow());
+            out.endObject();
+        }
+
+        @Override
+        public Slo read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            Slo slo = new Slo();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        slo.setId(nextString(in));
+                        break;
+                    case "name":
+                        slo.setName(nextString(in));
+                        break;
+                    case "entity":
+                        slo.setEntity(entityAdapter.read(in));
+                        break;
+                    case "timeWindow":
+                        slo.setTimeWindow(timeWindowAdapter.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return slo;
+        }
+    }
+
+    /**
+     * Adapter for the entity an SLO is defined on
+     */
+    static final class SloEntityAdapter extends TypeAdapter<SloEntity> {
+        @Override
+        public void write(JsonWriter out, SloEntity entity) throws IOException {
+            if (entity == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("type").value(entity.getEntityType());
+            out.name("infraType").value(entity.getInfraType());
+            out.name("applicationId").value(entity.getApplicationId());
+            out.name("websiteId").value(entity.getWebsiteId());
+            out.name("syntheticTestIds");
+            if (entity.getSyntheticTestIds() == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (String testId : entity.getSyntheticTestIds()) {
+                    out.value(testId);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public SloEntity read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            SloEntity entity = new SloEntity();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "type":
+                        entity.setEntityType(nextPooledString(in));
+                        break;
+                    case "infraType":
+                        entity.setInfraType(nextPooledString(in));
+                        break;
+                    case "applicationId":
+                        entity.setApplicationId(nextPooledString(in));
+                        break;
+                    case "websiteId":
+                        entity.setWebsiteId(nextPooledString(in));
+                        break;
+                    case "syntheticTestIds":
+                        entity.setSyntheticTestIds(nextPooledStringList(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            entity.resolveType();
+            return entity;
+        }
+    }
+
+    /**
+     * Adapter for an SLO time window
+     */
+    static final class TimeWindowAdapter extends TypeAdapter<TimeWindow> {
+        @Override
+        public void write(JsonWriter out, TimeWindow timeWindow) throws IOException {
+            if (timeWindow == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("type").value(timeWindow.getType());
+            out.name("duration").value(timeWindow.getDuration());
+            out.name("durationUnit").value(timeWindow.getDurationUnit());
+            out.name("timezone").value(timeWindow.getTimezone());
+            out.name("startTimestamp").value(timeWindow.getStartTimestamp());
+            out.endObject();
+        }
+
+        @Override
+        public TimeWindow read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            TimeWindow timeWindow = new TimeWindow();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "type":
+                        timeWindow.setType(nextPooledString(in));
+                        break;
+                    case "duration":
+                        timeWindow.setDuration(skipNull(in) ? 0 : in.nextInt());
+                        break;
+                    case "durationUnit":
+                        timeWindow.setDurationUnit(nextPooledString(in));
+                        break;
+                    case "timezone":
+                        timeWindow.setTimezone(nextPooledString(in));
+                        break;
+                    case "startTimestamp":
+                        timeWindow.setStartTimestamp(skipNull(in) ? null : in.nextLong());
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return timeWindow;
+        }
+    }
+
+    /**
+     * Adapter for an SLO report; the chart is streamed into a ChartSeries
+     */
+    static final class SloReportAdapter extends TypeAdapter<SloReport> {
+        private final TimeWindowAdapter timeWindowAdapter;
+        private final ChartSeriesTypeAdapter chartAdapter = new ChartSeriesTypeAdapter();
+
+        SloReportAdapter(TimeWindowAdapter timeWindowAdapter) {
+            this.timeWindowAdapter = timeWindowAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, SloReport report) throws IOException {
+            if (report == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("sli").value(report.getSli());
+            out.name("slo").value(report.getSloTarget());
+            out.name("totalErrorBudget").value(report.getTotalErrorBudget());
+            out.name("errorBudgetRemaining").value(report.getErrorBudgetRemaining());
+            out.name("errorBudgetRemainChart");
+            chartAdapter.write(out, report.getErrorBudgetRemainSeries());
+            out.name("fromTimestamp").value(report.getFromTimestamp());
+            out.name("toTimestamp").value(report.getToTimestamp());
+            out.name("timeWindow");
+            timeWindowAdapter.write(out, report.getTimeWindow());
+            out.endObject();
+        }
+
+        @Override
+        public SloReport read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            SloReport report = new SloReport();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "sli":
+                        report.setSli(nextDouble(in));
+                        break;
+                    case "slo":
+                        report.setSloTarget(nextDouble(in));
+                        break;
+                    case "totalErrorBudget":
+                        report.setTotalErrorBudget(nextDouble(in));
+                        break;
+                    case "errorBudgetRemaining":
+                        report.setErrorBudgetRemaining(nextDouble(in));
+                        break;
+                    case "errorBudgetRemainChart":
+                        report.setErrorBudgetRemainSeries(chartAdapter.read(in));
+                        break;
+                    case "fromTimestamp":
+                        report.setFromTimestamp(skipNull(in) ? 0L : in.nextLong());
+                        break;
+                    case "toTimestamp":
+                        report.setToTimestamp(skipNull(in) ? 0L : in.nextLong());
+                        break;
+                    case "timeWindow":
+                        report.setTimeWindow(timeWindowAdapter.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return report;
+        }
+    }
+
+    /**
+     * Consume a JSON null if one is next
+     *
+     * @return true if a null was consumed
+     */
+    static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    static String nextString(JsonReader in) throws IOException {
+        return skipNull(in) ? null : in.nextString();
+    }
+
+    static String nextPooledString(JsonReader in) throws IOException {
+        return STRING_POOL.get(nextString(in));
+    }
+
+    static double nextDouble(JsonReader in) throws IOException {
+        return skipNull(in) ? 0.0 : in.nextDouble();
+    }
+
+    static List<String> nextPooledStringList(JsonReader in) throws IOException {
+        if (skipNull(in)) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            String value = nextPooledString(in);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        in.endArray();
+        return values;
+    }
+}
@@ -0,0 +1,39 @@
+package io.instana.slo.data.api;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounded pool that deduplicates repeated strings while parsing
+ *
+ * SLO lists repeat the same entity types, application IDs, website IDs and time
+ * window units many times; sharing one instance per value saves memory and turns
+ * later equality checks into reference comparisons in the common case.
+ */
+final class StringPool {
+    private final int maxSize;
+    private final Map<String, String> pool = new HashMap<>();
+
+    StringPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the canonical instance for a value
+     */
+    synchronized String get(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = pool.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (pool.size() >= maxSize) {
+            // Values are cheap to re-pool; start over rather than tracking usage
+            pool.clear();
+        }
+        pool.put(value, value);
+        return value;
+    }
+}
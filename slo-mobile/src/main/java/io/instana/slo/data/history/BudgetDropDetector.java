@@ -0,0 +1,172 @@
+package io.instana.slo.data.history;
+
+import io.instana.slo.data.model.BudgetDrop;
+import io.instana.slo.data.model.ChartSeries;
+import io.instana.slo.data.model.SloReport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects sudden drops in a remaining-budget series, in O(1) memory per SLO
+ *
+ * Points are scaled to percentage points of the total budget. A level-and-trend EWMA
+ * (Holt's method) predicts each point, so a steady burn is normal; an exponentially
+ * weighted variance of the prediction errors describes normal noise. A one-sided CUSUM
+ * accumulates how far each point falls below its prediction, in standard deviations,
+ * minus a slack. The baseline is frozen while the CUSUM is above zero, so the drop it is
+ * measuring does not become the new normal. Once the CUSUM crosses its threshold, the drop
+ * is confirmed as soon as the gap to the frozen prediction is large enough, and the level is
+ * reset to the new one. A run that does not get there within a few points (a slow change
+ * rather than a sudden one) is accepted as the new normal.
+ */
+public class BudgetDropDetector {
+    static final long RECENT_MS = TimeUnit.HOURS.toMillis(24);
+    // Points used to learn the baseline before anything is tested
+    static final int WARMUP_POINTS = 12;
+    // Smoothing of the level and the trend
+    private static final double LEVEL_ALPHA = 0.3;
+    private static final double TREND_BETA = 0.1;
+    // Effective number of prediction errors the noise estimate averages over
+    private static final double NOISE_POINTS = 120;
+    // CUSUM slack and threshold, in standard deviations of the prediction error
+    private static final double SLACK = 0.75;
+    private static final double THRESHOLD = 8.0;
+    // Floor for the deviation so a flat chart does not flag rounding noise
+    private static final double MIN_SIGMA_PERCENT = 0.05;
+    // Confirmed drops smaller than this, or than this many deviations, are not reported
+    static final double MIN_DROP_PERCENT = 1.0;
+    private static final double MIN_DROP_SIGMAS = 6.0;
+    // Longest run that can still be confirmed as a sudden drop
+    private static final int MAX_RUN_POINTS = 6;
+
+    private final double scale;
+    private int count;
+    private long lastTimestamp;
+    private double level;
+    private double trend;
+    private double variance;
+    private double cusum;
+    private long runStartTimestamp;
+    private double runStartValue;
+    private double lastValue;
+    private int runLength;
+    private int dropCount;
+    private long dropOnset;
+    private long dropDetected;
+    private double dropPercent;
+
+    /**
+     * @param totalBudget Total error budget; the series is scaled to percentage points of it
+     */
+    public BudgetDropDetector(double totalBudget) {
+        this.scale = 100.0 / totalBudget;
+    }
+
+    /**
+     * Find the most recent sudden drop in a report's error budget chart
+     */
+    public static BudgetDrop detect(SloReport report) {
+        ChartSeries series = report.getErrorBudgetRemainSeries();
+        double budget = report.getTotalErrorBudget();
+        if (series.size() <= WARMUP_POINTS || !(budget > 0)) {
+            return BudgetDrop.NONE;
+        }
+        long[] timestamps = report.getErrorBudgetRemainTimestamps();
+        BudgetDropDetector detector = new BudgetDropDetector(budget);
+        for (int i = 0; i < series.size(); i++) {
+            detector.add(timestamps[i], series.getValue(i));
+        }
+        return detector.getLatestDrop();
+    }
+
+    /**
+     * Add a point of the remaining-budget series; timestamps must not decrease. NaN values are ignored.
+     *
+     * @return true if this point confirmed a drop
+     */
+    public boolean add(long timestamp, double remaining) {
+        if (Double.isNaN(remaining)) {
+            return false;
+        }
+        double value = remaining * scale;
+        if (count == 0) {
+            count = 1;
+            lastTimestamp = timestamp;
+            lastValue = value;
+            level = value;
+            return false;
+        }
+        double predicted = level + trend;
+        double error = value - predicted;
+        if (count >= WARMUP_POINTS) {
+            if (cusum == 0) {
+                // A run starts at the last normal point
+                runStartTimestamp = lastTimestamp;
+                runStartValue = lastValue;
+                runLength = 0;
+            }
+            double sigma = Math.max(Math.sqrt(variance), MIN_SIGMA_PERCENT);
+            cusum = Math.max(0, cusum - error / sigma - SLACK);
+            if (cusum > 0) {
+                runLength++;
+            }
+            // The prediction is frozen during a run, so the error is the drop since its start
+            double drop = -error;
+            if (cusum > THRESHOLD && drop >= Math.max(MIN_DROP_PERCENT, MIN_DROP_SIGMAS * sigma)) {
+                dropCount++;
+                dropOnset = runStartTimestamp;
+                dropDetected = timestamp;
+                dropPercent = drop;
+                // Continue from the new level with the old trend and noise
+                cusum = 0;
+                level = value;
+                count++;
+                lastTimestamp = timestamp;
+                lastValue = value;
+                return true;
+            }
+            if (runLength > MAX_RUN_POINTS) {
+                // Too slow to be sudden; restart the baseline on the run's level and slope, or the
+                // lag built up while it was frozen would carry into the next run
+                cusum = 0;
+                level = value;
+                trend = (value - runStartValue) / runLength;
+                count++;
+                lastTimestamp = timestamp;
+                lastValue = value;
+                return false;
+            }
+        }
+        if (cusum == 0) {
+            level = predicted + LEVEL_ALPHA * error;
+            trend += TREND_BETA * LEVEL_ALPHA * error;
+            // Plain variance until the window fills, exponentially weighted after that
+            double weight = Math.min(count, NOISE_POINTS);
+            variance += (error * error - variance) / weight;
+        } else {
+            // Frozen: follow the prediction
+            level = predicted;
+        }
+        count++;
+        lastTimestamp = timestamp;
+        lastValue = value;
+        return false;
+    }
+
+    /**
+     * Get the number of drops confirmed so far
+     */
+    public int getDropCount() {
+        return dropCount;
+    }
+
+    /**
+     * Get the most recent confirmed drop; recent if confirmed within a day of the last point
+     */
+    public BudgetDrop getLatestDrop() {
+        if (dropCount == 0) {
+            return BudgetDrop.NONE;
+        }
+        return BudgetDrop.of(dropOnset, dropDetected, dropPercent, lastTimestamp - dropDetected <= RECENT_MS);
+    }
+}
@@ -0,0 +1,181 @@
+package io.instana.slo.data.history;
+
+import io.instana.slo.data.model.BurnRate;
+import io.instana.slo.data.model.ChartSeries;
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.TimeWindow;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes error budget burn rates over several trailing windows of a remaining-budget series
+ *
+ * Each step between two points consumes the budget drop between them (recoveries, e.g.
+ * old errors leaving a rolling window, count as zero). Every window keeps a running sum of
+ * the steps it covers and a head index: a new point adds its step to every sum and
+ * advances each head past the steps that fell out, so updates are O(1) amortized per point.
+ *
+ * Signals follow the multi-window approach: a rule fires only if both its long window
+ * (sustained) and its short window (still happening) burn above the rule's rate.
+ */
+public class BurnRateEvaluator {
+    static final long FAST_SHORT_MS = TimeUnit.HOURS.toMillis(1);
+    static final long FAST_LONG_MS = TimeUnit.HOURS.toMillis(6);
+    static final long SLOW_SHORT_MS = FAST_LONG_MS;
+    static final long SLOW_LONG_MS = TimeUnit.DAYS.toMillis(3);
+    // Share of the whole budget the long window may burn before the rule fires
+    static final double FAST_BUDGET_SHARE = 0.05;
+    static final double SLOW_BUDGET_SHARE = 0.10;
+    private static final int MIN_COMPACT_SIZE = 64;
+
+    private final long[] windows;
+    private final int[] heads;
+    private final double[] sums;
+    private long[] stepStarts = new long[16];
+    private long[] stepEnds = new long[16];
+    private double[] steps = new double[16];
+    private int size;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private double lastValue;
+    private boolean started;
+
+    /**
+     * @param windowsMs Lengths of the trailing windows to track
+     */
+    public BurnRateEvaluator(long... windowsMs) {
+        this.windows = windowsMs.clone();
+        this.heads = new int[windowsMs.length];
+        this.sums = new double[windowsMs.length];
+    }
+
+    /**
+     * Evaluate the fast (6h/1h) and slow (3d/6h) burn rules on a report's chart
+     *
+     * @param timeWindow SLO time window; the report span is used if it is null or unknown
+     */
+    public static BurnRate evaluate(SloReport report, TimeWindow timeWindow) {
+        ChartSeries series = report.getErrorBudgetRemainSeries();
+        long periodMs = timeWindow != null ? timeWindow.getDurationMillis() : 0;
+        if (periodMs <= 0) {
+            periodMs = report.getToTimestamp() - report.getFromTimestamp();
+        }
+        double budget = report.getTotalErrorBudget();
+        if (series.size() < 2 || periodMs <= 0 || !(budget > 0)) {
+            return BurnRate.UNKNOWN;
+        }
+        long[] timestamps = report.getErrorBudgetRemainTimestamps();
+        BurnRateEvaluator evaluator = new BurnRateEvaluator(FAST_SHORT_MS, FAST_LONG_MS, SLOW_LONG_MS);
+        for (int i = 0; i < series.size(); i++) {
+            evaluator.add(timestamps[i], series.getValue(i));
+        }
+        double fastShort = evaluator.getBurnRate(0, budget, periodMs);
+        double fastLong = evaluator.getBurnRate(1, budget, periodMs);
+        double slowLong = evaluator.getBurnRate(2, budget, periodMs);
+
+        BurnRate.Signal signal = BurnRate.Signal.NONE;
+        if (fires(fastLong, fastShort, FAST_LONG_MS, FAST_BUDGET_SHARE, periodMs)) {
+            signal = BurnRate.Signal.FAST;
+        } else if (fires(slowLong, fastLong, SLOW_LONG_MS, SLOW_BUDGET_SHARE, periodMs)) {
+            signal = BurnRate.Signal.SLOW;
+        }
+        return new BurnRate(signal, fastLong, fastShort, slowLong, fastLong);
+    }
+
+    private static boolean fires(double longRate, double shortRate, long longWindowMs, double budgetShare,
+                                 long periodMs) {
+        if (longWindowMs >= periodMs) {
+            // The whole window fits in the long window; the traffic light already covers it
+            return false;
+        }
+        // Never below 1: a sustainable burn is no reason to alert
+        double threshold = Math.max(1.0, budgetShare * periodMs / longWindowMs);
+        return longRate >= threshold && shortRate >= threshold;
+    }
+
+    /**
+     * Add a point of the remaining-budget series; timestamps must not decrease. NaN values are ignored.
+     */
+    public void add(long timestamp, double remaining) {
+        if (Double.isNaN(remaining)) {
+            return;
+        }
+        if (!started) {
+            started = true;
+            firstTimestamp = timestamp;
+            lastTimestamp = timestamp;
+            lastValue = remaining;
+            return;
+        }
+        double step = Math.max(0, lastValue - remaining);
+        if (size == steps.length) {
+            compactOrGrow();
+        }
+        stepStarts[size] = lastTimestamp;
+        stepEnds[size] = timestamp;
+        steps[size] = step;
+        size++;
+        lastTimestamp = timestamp;
+        lastValue = remaining;
+
+        for (int w = 0; w < windows.length; w++) {
+            sums[w] += step;
+            long cutoff = timestamp - windows[w];
+            while (heads[w] < size && stepEnds[heads[w]] <= cutoff) {
+                sums[w] -= steps[heads[w]];
+                heads[w]++;
+            }
+        }
+    }
+
+    /**
+     * Get the budget consumed within a window, ending at the newest point
+     */
+    public double getConsumed(int window) {
+        return heads[window] < size ? Math.max(0, sums[window]) : 0;
+    }
+
+    /**
+     * Check whether the points reach back at least one window length
+     */
+    public boolean isCovered(int window) {
+        return started && lastTimestamp - firstTimestamp >= windows[window];
+    }
+
+    /**
+     * Get the burn rate of a window, or NaN if the points don't cover it
+     *
+     * @param totalBudget Error budget of the whole SLO time window
+     * @param periodMs Length of the SLO time window
+     */
+    public double getBurnRate(int window, double totalBudget, long periodMs) {
+        if (!isCovered(window) || !(totalBudget > 0) || periodMs <= 0) {
+            return Double.NaN;
+        }
+        // The first step may start before the window; spread its drop over its full length
+        long span = heads[window] < size ? lastTimestamp - stepStarts[heads[window]] : windows[window];
+        return (getConsumed(window) / totalBudget) * ((double) periodMs / Math.max(span, windows[window]));
+    }
+
+    private void compactOrGrow() {
+        int minHead = size;
+        for (int head : heads) {
+            minHead = Math.min(minHead, head);
+        }
+        if (minHead >= size / 2 && size >= MIN_COMPACT_SIZE) {
+            // Drop steps no window covers anymore
+            System.arraycopy(stepStarts, minHead, stepStarts, 0, size - minHead);
+            System.arraycopy(stepEnds, minHead, stepEnds, 0, size - minHead);
+            System.arraycopy(steps, minHead, steps, 0, size - minHead);
+            size -= minHead;
+            for (int w = 0; w < heads.length; w++) {
+                heads[w] -= minHead;
+            }
+        } else {
+            stepStarts = Arrays.copyOf(stepStarts, size * 2);
+            stepEnds = Arrays.copyOf(stepEnds, size * 2);
+            steps = Arrays.copyOf(steps, size * 2);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.instana.slo.data.history;
+
+import io.instana.slo.data.model.ChartSeries;
+import io.instana.slo.data.model.ExhaustionForecast;
+import io.instana.slo.data.model.SloReport;
+
+/**
+ * Predicts when an error budget runs out from its recent values
+ *
+ * Fits a line by exponentially weighted least squares: every new point is folded into
+ * running weighted means and co-moments in O(1), older points fading with the configured
+ * half-life so the slope follows the current burn rate. The budget left at the newest
+ * point is then extrapolated along that slope to zero.
+ */
+public class ExhaustionForecaster {
+    private static final double HOUR_MS = 3_600_000.0;
+    private static final int MIN_POINTS = 3;
+    // The newest quarter of a report's chart dominates its fit
+    private static final int MIN_HALF_LIFE_POINTS = 4;
+    private static final int HALF_LIFE_DIVISOR = 4;
+
+    private final double decay;
+    private long origin;
+    private int count;
+    private double weight;
+    private double meanT;
+    private double meanV;
+    private double varianceT;  // Weighted co-moments, not normalized
+    private double covarianceTV;
+    private long lastTimestamp;
+    private double lastValue;
+
+    /**
+     * @param halfLifePoints Number of points after which a point counts half as much
+     */
+    public ExhaustionForecaster(double halfLifePoints) {
+        if (!(halfLifePoints > 0)) {
+            throw new IllegalArgumentException("Half-life must be positive: " + halfLifePoints);
+        }
+        this.decay = Math.pow(0.5, 1.0 / halfLifePoints);
+    }
+
+    /**
+     * Forecast the exhaustion of a report's error budget from its chart
+     * Reports without a chart (e.g. summaries) give {@link ExhaustionForecast#UNKNOWN}.
+     */
+    public static ExhaustionForecast forecast(SloReport report) {
+        ChartSeries series = report.getErrorBudgetRemainSeries();
+        if (series.size() < MIN_POINTS) {
+            return ExhaustionForecast.UNKNOWN;
+        }
+        long[] timestamps = report.getErrorBudgetRemainTimestamps();
+        ExhaustionForecaster forecaster = new ExhaustionForecaster(
+                Math.max(MIN_HALF_LIFE_POINTS, series.size() / HALF_LIFE_DIVISOR));
+        for (int i = 0; i < series.size(); i++) {
+            forecaster.add(timestamps[i], series.getValue(i));
+        }
+        return forecaster.forecast();
+    }
+
+    /**
+     * Add a point; timestamps must not decrease. NaN values are ignored.
+     */
+    public void add(long timestamp, double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0) {
+            origin = timestamp;
+        }
+        // Hours since the first point keep the moments well scaled
+        double t = (timestamp - origin) / HOUR_MS;
+        weight = weight * decay + 1;
+        varianceT *= decay;
+        covarianceTV *= decay;
+        double deltaT = t - meanT;
+        meanT += deltaT / weight;
+        meanV += (value - meanV) / weight;
+        varianceT += deltaT * (t - meanT);
+        covarianceTV += deltaT * (value - meanV);
+        count++;
+        lastTimestamp = timestamp;
+        lastValue = value;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get the fitted change per hour, or NaN with fewer than two distinct timestamps
+     */
+    public double getSlopePerHour() {
+        return varianceT > 0 ? covarianceTV / varianceT : Double.NaN;
+    }
+
+    /**
+     * Forecast from the points added so far
+     */
+    public ExhaustionForecast forecast() {
+        double slope = getSlopePerHour();
+        if (count < MIN_POINTS || Double.isNaN(slope)) {
+            return ExhaustionForecast.UNKNOWN;
+        }
+        if (lastValue <= 0) {
+            return ExhaustionForecast.exhausted(lastTimestamp, slope);
+        }
+        if (slope >= 0) {
+            return ExhaustionForecast.notDepleting(slope);
+        }
+        double hoursLeft = lastValue / -slope;
+        double timestamp = lastTimestamp + hoursLeft * HOUR_MS;
+        return ExhaustionForecast.depleting(
+                timestamp >= Long.MAX_VALUE ? Long.MAX_VALUE - 1 : (long) timestamp, slope);
+    }
+
+    /**
+     * Forget all points
+     */
+    public void reset() {
+        count = 0;
+        weight = 0;
+        meanT = 0;
+        meanV = 0;
+        varianceT = 0;
+        covarianceTV = 0;
+    }
+}
@@ -0,0 +1,119 @@
+package io.instana.slo.data.history;
+
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Orders report fetches so the SLOs most likely to be red or yellow load first
+ *
+ * Each SLO is scored from its local history: the last known status (from this or a
+ * previous session) sets the base score and recent volatility, i.e. status flips and the
+ * swing of the error budget over the last day, raises it. SLOs never seen before rank
+ * between yellow and green. The sort is stable, so ties keep the catalog order and an
+ * empty history plans the catalog order unchanged. Reports are requested in submission
+ * order, so this shortens the time until the first critical light is shown.
+ */
+public class FetchOrderPlanner {
+    private static final int VOLATILITY_HOURS = 24;
+    private static final double RED_SCORE = 3.0;
+    private static final double YELLOW_SCORE = 2.0;
+    private static final double UNKNOWN_SCORE = 1.0;
+    private static final double GREEN_SCORE = 0.0;
+    // Volatility can lift a flapping green SLO above unknown ones, but not above yellow
+    private static final double FLIP_WEIGHT = 0.5;
+    private static final int MAX_FLIPS = 3;
+    private static final double SWING_WEIGHT = 0.4;
+
+    private final History history;
+
+    /**
+     * Local history the plan is scored from
+     */
+    interface History {
+        TrafficLightStatus getLastStatus(String sloId);
+
+        SloHistoryBuffer.Range getLastHours(String sloId, int hours);
+    }
+
+    public FetchOrderPlanner(SloHistoryStore historyStore) {
+        this(new History() {
+            @Override
+            public TrafficLightStatus getLastStatus(String sloId) {
+                return historyStore.getLastStatus(sloId);
+            }
+
+            @Override
+            public SloHistoryBuffer.Range getLastHours(String sloId, int hours) {
+                return historyStore.getLastHours(sloId, hours);
+            }
+        });
+    }
+
+    FetchOrderPlanner(History history) {
+        this.history = history;
+    }
+
+    /**
+     * Get the SLOs in the order their reports should be fetched
+     *
+     * @param slos SLOs in catalog order (not modified)
+     */
+    public List<Slo> plan(List<Slo> slos) {
+        int size = slos.size();
+        Integer[] order = new Integer[size];
+        final double[] scores = new double[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+            String sloId = slos.get(i).getId();
+            scores[i] = score(history.getLastStatus(sloId), history.getLastHours(sloId, VOLATILITY_HOURS));
+        }
+        // Arrays.sort on objects is stable
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+        List<Slo> planned = new ArrayList<>(size);
+        for (Integer index : order) {
+            planned.add(slos.get(index));
+        }
+        return planned;
+    }
+
+    /**
+     * Score an SLO from its last status and recent samples; higher is fetched earlier
+     */
+    static double score(TrafficLightStatus lastStatus, SloHistoryBuffer.Range recent) {
+        double score = baseScore(lastStatus);
+        if (recent == null || recent.size() < 2) {
+            return score;
+        }
+        int flips = 0;
+        double min = recent.errorBudgetRemaining[0];
+        double max = min;
+        for (int i = 1; i < recent.size(); i++) {
+            if (recent.getStatus(i) != recent.getStatus(i - 1)) {
+                flips++;
+            }
+            min = Math.min(min, recent.errorBudgetRemaining[i]);
+            max = Math.max(max, recent.errorBudgetRemaining[i]);
+        }
+        // Budget swing relative to the largest budget seen, in [0, 1]
+        double swing = max > 0 ? Math.min(1.0, (max - min) / max) : 0.0;
+        return score + FLIP_WEIGHT * Math.min(flips, MAX_FLIPS) + SWING_WEIGHT * swing;
+    }
+
+    private static double baseScore(TrafficLightStatus status) {
+        if (status == null) {
+            return UNKNOWN_SCORE;
+        }
+        switch (status) {
+            case RED:
+                return RED_SCORE;
+            case YELLOW:
+                return YELLOW_SCORE;
+            default:
+                return GREEN_SCORE;
+        }
+    }
+}
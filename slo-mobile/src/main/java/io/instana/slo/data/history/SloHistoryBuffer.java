@@ -0,0 +1,169 @@
+package io.instana.slo.data.history;
+
+import io.instana.slo.data.model.TrafficLightStatus;
+
+/**
+ * Fixed-capacity ring buffer of SLI / error budget samples for a single SLO
+ *
+ * Samples are kept in parallel primitive arrays so appending never allocates.
+ * Index 0 is always the oldest retained sample, size() - 1 the newest.
+ * Timestamps are expected to be appended in non-decreasing order, which
+ * allows range lookups by binary search.
+ */
+public class SloHistoryBuffer {
+    private static final byte NO_STATUS = -1;
+
+    private final long[] timestamps;
+    private final double[] slis;
+    private final double[] remaining;
+    private final byte[] statuses;
+    private int head;   // Physical index of the oldest sample
+    private int size;
+
+    public SloHistoryBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        timestamps = new long[capacity];
+        slis = new double[capacity];
+        remaining = new double[capacity];
+        statuses = new byte[capacity];
+    }
+
+    public int capacity() {
+        return timestamps.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Append a sample, overwriting the oldest one when the buffer is full
+     */
+    public void append(long timestamp, double sli, double errorBudgetRemaining, TrafficLightStatus status) {
+        appendRaw(timestamp, sli, errorBudgetRemaining, encodeStatus(status));
+    }
+
+    void appendRaw(long timestamp, double sli, double errorBudgetRemaining, byte status) {
+        int slot;
+        if (size < timestamps.length) {
+            slot = physical(size);
+            size++;
+        } else {
+            slot = head;
+            head = (head + 1) % timestamps.length;
+        }
+        timestamps[slot] = timestamp;
+        slis[slot] = sli;
+        remaining[slot] = errorBudgetRemaining;
+        statuses[slot] = status;
+    }
+
+    public long getTimestamp(int index) {
+        return timestamps[checked(index)];
+    }
+
+    public double getSli(int index) {
+        return slis[checked(index)];
+    }
+
+    public double getErrorBudgetRemaining(int index) {
+        return remaining[checked(index)];
+    }
+
+    public TrafficLightStatus getStatus(int index) {
+        return decodeStatus(statuses[checked(index)]);
+    }
+
+    byte getRawStatus(int index) {
+        return statuses[checked(index)];
+    }
+
+    /**
+     * Find the index of the first sample taken at or after the given time
+     *
+     * @return Index in [0, size()], size() if every sample is older
+     */
+    public int firstIndexAtOrAfter(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[physical(mid)] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Copy all samples taken at or after the given time
+     */
+    public Range rangeSince(long timestamp) {
+        int from = firstIndexAtOrAfter(timestamp);
+        int count = size - from;
+        Range range = new Range(count);
+        for (int i = 0; i < count; i++) {
+            int slot = physical(from + i);
+            range.timestamps[i] = timestamps[slot];
+            range.slis[i] = slis[slot];
+            range.errorBudgetRemaining[i] = remaining[slot];
+            range.statuses[i] = statuses[slot];
+        }
+        return range;
+    }
+
+    private int physical(int index) {
+        return (head + index) % timestamps.length;
+    }
+
+    private int checked(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return physical(index);
+    }
+
+    static byte encodeStatus(TrafficLightStatus status) {
+        return status == null ? NO_STATUS : (byte) status.ordinal();
+    }
+
+    static TrafficLightStatus decodeStatus(byte status) {
+        if (status < 0 || status >= TrafficLightStatus.values().length) {
+            return null;
+        }
+        return TrafficLightStatus.values()[status];
+    }
+
+    /**
+     * Immutable copy of a contiguous run of samples, oldest first
+     */
+    public static class Range {
+        public final long[] timestamps;
+        public final double[] slis;
+        public final double[] errorBudgetRemaining;
+        private final byte[] statuses;
+
+        Range(int count) {
+            timestamps = new long[count];
+            slis = new double[count];
+            errorBudgetRemaining = new double[count];
+            statuses = new byte[count];
+        }
+
+        public int size() {
+            return timestamps.length;
+        }
+
+        public TrafficLightStatus getStatus(int index) {
+            return decodeStatus(statuses[index]);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package io.instana.slo.data.history;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.SloTrend;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local history of SLI / error budget samples collected from our own polls
+ *
+ * Each SLO gets a {@link SloHistoryBuffer} in memory and an append-only segment
+ * file on disk. Appends are O(1) in memory and a single fixed-size record on disk;
+ * a segment is compacted back down to the ring contents once it grows past twice
+ * the ring capacity. All disk I/O runs on a single background thread so the order
+ * of loads and appends is preserved.
+ */
+public class SloHistoryStore {
+    private static final String TAG = "SloHistoryStore";
+    private static final String HISTORY_DIR = "slo_history";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final int SEGMENT_MAGIC = 0x534C4F48; // "SLOH"
+    private static final int SEGMENT_VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_BYTES = 8 + 8 + 8 + 1;
+
+    // One sample every 5 minutes for 24 hours
+    private static final int DEFAULT_CAPACITY = 288;
+    // Identical samples closer together than this are not recorded again
+    private static final long MIN_SAMPLE_INTERVAL_MS = 60_000L;
+    private static final double EPSILON = 1e-9;
+
+    private static SloHistoryStore instance;
+
+    private final File directory;
+    private final int capacity;
+    private final long sessionStart;
+    private final Map<String, SloHistoryBuffer> buffers = new HashMap<>();
+    private final Map<String, Integer> segmentRecordCounts = new HashMap<>();
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private volatile boolean segmentsLoaded;
+
+    private SloHistoryStore(Context context, int capacity) {
+        Context appContext = context.getApplicationContext();
+        this.directory = new File(appContext.getFilesDir(), HISTORY_DIR);
+        this.capacity = capacity;
+        // Samples older than this were recorded while the app was last open
+        this.sessionStart = System.currentTimeMillis();
+
+        ioExecutor.execute(this::loadAllSegments);
+    }
+
+    /**
+     * Get singleton instance of the history store
+     */
+    public static synchronized SloHistoryStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new SloHistoryStore(context, DEFAULT_CAPACITY);
+        }
+        return instance;
+    }
+
+    /**
+     * Record a freshly loaded report as a new sample
+     *
+     * @param sloId The ID of the SLO
+     * @param report The report that was just fetched
+     * @param status The traffic light status computed for the report
+     */
+    public void record(String sloId, SloReport report, TrafficLightStatus status) {
+        if (sloId == null || report == null) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final double sli = report.getSli();
+        final double budget = report.getErrorBudgetRemaining();
+        final byte rawStatus = SloHistoryBuffer.encodeStatus(status);
+
+        synchronized (this) {
+            SloHistoryBuffer buffer = buffers.get(sloId);
+            if (buffer == null) {
+                buffer = new SloHistoryBuffer(capacity);
+                buffers.put(sloId, buffer);
+            } else if (isDuplicate(buffer, now, sli, budget, rawStatus)) {
+                return;
+            }
+            buffer.appendRaw(now, sli, budget, rawStatus);
+        }
+
+        ioExecutor.execute(() -> appendToSegment(sloId, now, sli, budget, rawStatus));
+    }
+
+    /**
+     * Get the direction the SLO moved between the two most recent samples
+     */
+    public synchronized SloTrend getTrend(String sloId) {
+        SloHistoryBuffer buffer = buffers.get(sloId);
+        if (buffer == null || buffer.size() < 2) {
+            return SloTrend.FLAT;
+        }
+        int last = buffer.size() - 1;
+        int cmp = compare(buffer.getSli(last), buffer.getSli(last - 1));
+        if (cmp == 0) {
+            cmp = compare(buffer.getErrorBudgetRemaining(last), buffer.getErrorBudgetRemaining(last - 1));
+        }
+        return cmp > 0 ? SloTrend.UP : cmp < 0 ? SloTrend.DOWN : SloTrend.FLAT;
+    }
+
+    /**
+     * Check whether the traffic light changed since the app was last opened
+     *
+     * @return true if the latest status differs from the last status recorded
+     *         before this process started
+     */
+    public synchronized boolean hasChangedSinceLastOpen(String sloId) {
+        SloHistoryBuffer buffer = buffers.get(sloId);
+        if (buffer == null || buffer.isEmpty()) {
+            return false;
+        }
+        int baseline = buffer.firstIndexAtOrAfter(sessionStart) - 1;
+        if (baseline < 0) {
+            return false;
+        }
+        return buffer.getRawStatus(baseline) != buffer.getRawStatus(buffer.size() - 1);
+    }
+
+    /**
+     * Get the status of the most recent sample, possibly from a previous session
+     *
+     * @return The last recorded status, or null if the SLO was never loaded
+     */
+    public synchronized TrafficLightStatus getLastStatus(String sloId) {
+        SloHistoryBuffer buffer = buffers.get(sloId);
+        if (buffer == null || buffer.isEmpty()) {
+            return null;
+        }
+        return buffer.getStatus(buffer.size() - 1);
+    }
+
+    /**
+     * Check whether the history of previous sessions has been read from disk
+     */
+    public boolean isLoaded() {
+        return segmentsLoaded;
+    }
+
+    /**
+     * Run an action on the main thread once the history of previous sessions is loaded
+     * Runs it right away if loading already finished.
+     */
+    public void runWhenLoaded(Runnable action) {
+        if (segmentsLoaded) {
+            action.run();
+        } else {
+            // Queued behind the initial load on the single I/O thread
+            ioExecutor.execute(() -> mainHandler.post(action));
+        }
+    }
+
+    /**
+     * Get the samples recorded during the last N hours
+     */
+    public synchronized SloHistoryBuffer.Range getLastHours(String sloId, int hours) {
+        SloHistoryBuffer buffer = buffers.get(sloId);
+        if (buffer == null) {
+            return new SloHistoryBuffer.Range(0);
+        }
+        long since = System.currentTimeMillis() - hours * 3_600_000L;
+        return buffer.rangeSince(since);
+    }
+
+    private boolean isDuplicate(SloHistoryBuffer buffer, long now, double sli, double budget, byte status) {
+        if (buffer.isEmpty()) {
+            return false;
+        }
+        int last = buffer.size() - 1;
+        return now - buffer.getTimestamp(last) < MIN_SAMPLE_INTERVAL_MS &&
+               compare(buffer.getSli(last), sli) == 0 &&
+               compare(buffer.getErrorBudgetRemaining(last), budget) == 0 &&
+               buffer.getRawStatus(last) == status;
+    }
+
+    private static int compare(double a, double b) {
+        double diff = a - b;
+        if (diff > EPSILON) {
+            return 1;
+        }
+        if (diff < -EPSILON) {
+            return -1;
+        }
+        return 0;
+    }
+
+    // ---- Segment persistence (runs on ioExecutor only) ----
+
+    private void loadAllSegments() {
+        try {
+            loadSegments();
+        } finally {
+            segmentsLoaded = true;
+        }
+    }
+
+    private void loadSegments() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (!name.endsWith(SEGMENT_SUFFIX)) {
+                continue;
+            }
+            String sloId = decodeFileName(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            if (sloId == null) {
+                continue;
+            }
+            SloHistoryBuffer loaded = new SloHistoryBuffer(capacity);
+            int records = readSegment(file, loaded);
+            synchronized (this) {
+                // Samples recorded before the load reached this SLO are newer than the file
+                SloHistoryBuffer recent = buffers.get(sloId);
+                if (recent != null) {
+                    for (int i = 0; i < recent.size(); i++) {
+                        loaded.appendRaw(recent.getTimestamp(i), recent.getSli(i),
+                                recent.getErrorBudgetRemaining(i), recent.getRawStatus(i));
+                    }
+                }
+                buffers.put(sloId, loaded);
+            }
+            segmentRecordCounts.put(sloId, records);
+        }
+        Log.d(TAG, "Loaded history for " + segmentRecordCounts.size() + " SLOs");
+    }
+
+    private int readSegment(File file, SloHistoryBuffer target) {
+        int records = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != SEGMENT_MAGIC || in.readInt() != SEGMENT_VERSION) {
+                Log.w(TAG, "Discarding history segment with unknown format: " + file.getName());
+                file.delete();
+                return 0;
+            }
+            while (true) {
+                long timestamp = in.readLong();
+                double sli = in.readDouble();
+                double budget = in.readDouble();
+                byte status = in.readByte();
+                target.appendRaw(timestamp, sli, budget, status);
+                records++;
+            }
+        } catch (EOFException e) {
+            // End of segment (a torn trailing record is simply dropped)
+        } catch (IOException e) {
+            Log.e(TAG, "Could not read history segment " + file.getName(), e);
+        }
+        return records;
+    }
+
+    private void appendToSegment(String sloId, long timestamp, double sli, double budget, byte status) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.e(TAG, "Could not create history directory");
+            return;
+        }
+        File file = new File(directory, encodeFileName(sloId) + SEGMENT_SUFFIX);
+        Integer count = segmentRecordCounts.get(sloId);
+        int records = count != null ? count : 0;
+
+        if (records >= capacity * 2) {
+            compactSegment(sloId, file, timestamp);
+            return;
+        }
+
+        boolean isNew = !file.exists() || file.length() < HEADER_BYTES;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file, !isNew), HEADER_BYTES + RECORD_BYTES))) {
+            if (isNew) {
+                writeHeader(out);
+                records = 0;
+            }
+            writeRecord(out, timestamp, sli, budget, status);
+            segmentRecordCounts.put(sloId, records + 1);
+        } catch (IOException e) {
+            Log.e(TAG, "Could not append history for SLO " + sloId, e);
+        }
+    }
+
+    /**
+     * Rewrite a segment so it only holds what the ring buffer retains, up to the sample being appended
+     * Newer samples are already in the buffer but still have their own appends queued.
+     */
+    private void compactSegment(String sloId, File file, long upToTimestamp) {
+        File tmp = new File(directory, file.getName() + ".tmp");
+        int written = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            writeHeader(out);
+            synchronized (this) {
+                SloHistoryBuffer buffer = buffers.get(sloId);
+                if (buffer != null) {
+                    for (int i = 0; i < buffer.size() && buffer.getTimestamp(i) <= upToTimestamp; i++) {
+                        writeRecord(out, buffer.getTimestamp(i), buffer.getSli(i),
+                                buffer.getErrorBudgetRemaining(i), buffer.getRawStatus(i));
+                        written++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Could not compact history for SLO " + sloId, e);
+            tmp.delete();
+            return;
+        }
+        if (tmp.renameTo(file)) {
+            segmentRecordCounts.put(sloId, written);
+        } else {
+            Log.e(TAG, "Could not replace history segment for SLO " + sloId);
+            tmp.delete();
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(SEGMENT_MAGIC);
+        out.writeInt(SEGMENT_VERSION);
+    }
+
+    private static void writeRecord(DataOutputStream out, long timestamp, double sli,
+                                    double budget, byte status) throws IOException {
+        out.writeLong(timestamp);
+        out.writeDouble(sli);
+        out.writeDouble(budget);
+        out.writeByte(status);
+    }
+
+    /**
+     * SLO IDs may contain characters that are not safe in file names, so they are hex encoded
+     */
+    private static String encodeFileName(String sloId) {
+        StringBuilder sb = new StringBuilder(sloId.length() * 4);
+        for (int i = 0; i < sloId.length(); i++) {
+            sb.append(String.format("%04x", (int) sloId.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    private static String decodeFileName(String name) {
+        if (name.isEmpty() || name.length() % 4 != 0) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(name.length() / 4);
+        try {
+            for (int i = 0; i < name.length(); i += 4) {
+                sb.append((char) Integer.parseInt(name.substring(i, i + 4), 16));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return sb.toString();
+    }
+}
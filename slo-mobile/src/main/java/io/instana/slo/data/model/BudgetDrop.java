@@ -0,0 +1,95 @@
+package io.instana.slo.data.model;
+
+/**
+ * Sudden drop of an SLO's remaining error budget, beyond the normal variance of its chart
+ *
+ * Describes the most recent drop found in a report's error budget series. Drops are in
+ * percentage points of the total error budget.
+ */
+public final class BudgetDrop {
+    public static final BudgetDrop NONE = new BudgetDrop(false, 0, 0, 0, false);
+
+    private final boolean detected;
+    private final long onsetTimestamp;
+    private final long detectedTimestamp;
+    private final double dropPercent;
+    private final boolean recent;
+
+    private BudgetDrop(boolean detected, long onsetTimestamp, long detectedTimestamp, double dropPercent,
+                       boolean recent) {
+        this.detected = detected;
+        this.onsetTimestamp = onsetTimestamp;
+        this.detectedTimestamp = detectedTimestamp;
+        this.dropPercent = dropPercent;
+        this.recent = recent;
+    }
+
+    /**
+     * @param onsetTimestamp Last point before the drop started
+     * @param detectedTimestamp Point at which the drop was confirmed
+     * @param dropPercent Budget lost between the two, in percentage points of the total budget
+     * @param recent true if it was confirmed close to the end of the chart
+     */
+    public static BudgetDrop of(long onsetTimestamp, long detectedTimestamp, double dropPercent, boolean recent) {
+        return new BudgetDrop(true, onsetTimestamp, detectedTimestamp, dropPercent, recent);
+    }
+
+    public boolean isDetected() {
+        return detected;
+    }
+
+    /**
+     * Check whether the drop is recent enough to flag the SLO in the list
+     */
+    public boolean isRecent() {
+        return recent;
+    }
+
+    public long getOnsetTimestamp() {
+        return onsetTimestamp;
+    }
+
+    public long getDetectedTimestamp() {
+        return detectedTimestamp;
+    }
+
+    public double getDropPercent() {
+        return dropPercent;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BudgetDrop)) {
+            return false;
+        }
+        BudgetDrop other = (BudgetDrop) o;
+        return detected == other.detected &&
+               onsetTimestamp == other.onsetTimestamp &&
+               detectedTimestamp == other.detectedTimestamp &&
+               Double.compare(dropPercent, other.dropPercent) == 0 &&
+               recent == other.recent;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = detected ? 1 : 0;
+        result = 31 * result + Long.hashCode(onsetTimestamp);
+        result = 31 * result + Long.hashCode(detectedTimestamp);
+        result = 31 * result + Double.hashCode(dropPercent);
+        result = 31 * result + (recent ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return detected ? "BudgetDrop{" +
+                "onset=" + onsetTimestamp +
+                ", detected=" + detectedTimestamp +
+                ", drop=" + dropPercent +
+                ", recent=" + recent +
+                '}' : "BudgetDrop{none}";
+    }
+}
@@ -0,0 +1,104 @@
+package io.instana.slo.data.model;
+
+/**
+ * Error budget burn rates of an SLO over short and long windows, with the resulting signal
+ *
+ * A burn rate of 1 spends exactly the whole budget over the SLO's time window; higher
+ * values spend it proportionally faster. Rates that could not be evaluated (chart too
+ * short, window unknown) are NaN.
+ */
+public final class BurnRate {
+    public enum Signal {
+        NONE,   // Burning at a sustainable rate, or unknown
+        SLOW,   // Sustained burn that will exhaust the budget before the window ends
+        FAST    // Fast burn in both the long and the short window; act now
+    }
+
+    public static final BurnRate UNKNOWN = new BurnRate(Signal.NONE, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+
+    private final Signal signal;
+    private final double fastLongRate;
+    private final double fastShortRate;
+    private final double slowLongRate;
+    private final double slowShortRate;
+
+    public BurnRate(Signal signal, double fastLongRate, double fastShortRate,
+                    double slowLongRate, double slowShortRate) {
+        this.signal = signal;
+        this.fastLongRate = fastLongRate;
+        this.fastShortRate = fastShortRate;
+        this.slowLongRate = slowLongRate;
+        this.slowShortRate = slowShortRate;
+    }
+
+    public Signal getSignal() {
+        return signal;
+    }
+
+    public boolean isBurningFast() {
+        return signal == Signal.FAST;
+    }
+
+    /**
+     * Get the burn rate over the long window of the fast-burn rule (6h)
+     */
+    public double getFastLongRate() {
+        return fastLongRate;
+    }
+
+    /**
+     * Get the burn rate over the short window of the fast-burn rule (1h)
+     */
+    public double getFastShortRate() {
+        return fastShortRate;
+    }
+
+    /**
+     * Get the burn rate over the long window of the slow-burn rule (3d)
+     */
+    public double getSlowLongRate() {
+        return slowLongRate;
+    }
+
+    /**
+     * Get the burn rate over the short window of the slow-burn rule (6h)
+     */
+    public double getSlowShortRate() {
+        return slowShortRate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BurnRate)) {
+            return false;
+        }
+        BurnRate other = (BurnRate) o;
+        return signal == other.signal &&
+               Double.compare(fastLongRate, other.fastLongRate) == 0 &&
+               Double.compare(fastShortRate, other.fastShortRate) == 0 &&
+               Double.compare(slowLongRate, other.slowLongRate) == 0 &&
+               Double.compare(slowShortRate, other.slowShortRate) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = signal.hashCode();
+        result = 31 * result + Double.hashCode(fastLongRate);
+        result = 31 * result + Double.hashCode(fastShortRate);
+        result = 31 * result + Double.hashCode(slowLongRate);
+        result = 31 * result + Double.hashCode(slowShortRate);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BurnRate{" +
+                "signal=" + signal +
+                ", fast=" + fastLongRate + "/" + fastShortRate +
+                ", slow=" + slowLongRate + "/" + slowShortRate +
+                '}';
+    }
+}
@@ -0,0 +1,142 @@
+package io.instana.slo.data.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact, immutable series of chart values ordered by their index in the API response
+ *
+ * The API sends the error budget chart as a map of index -> value; {@link ChartSeriesTypeAdapter}
+ * decodes it straight into a sorted primitive array. The matching timestamps only depend on the
+ * report window and the number of points, so they are shared via {@link #timestamps(long, long, int)}.
+ */
+public final class ChartSeries {
+    public static final ChartSeries EMPTY = new ChartSeries(new float[0]);
+
+    private static final int MAX_SHARED_AXES = 32;
+    private static final Map<String, long[]> sharedAxes = new LinkedHashMap<String, long[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+            return size() > MAX_SHARED_AXES;
+        }
+    };
+
+    private final float[] values;
+
+    /**
+     * @param values Values in index order; the array is owned by the series afterwards
+     */
+    ChartSeries(float[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Build a series from the API map representation, skipping non-numeric keys and null values
+     */
+    public static ChartSeries fromMap(Map<String, Double> map) {
+        if (map == null || map.isEmpty()) {
+            return EMPTY;
+        }
+        long[] keyed = new long[map.size()];
+        float[] raw = new float[map.size()];
+        int count = 0;
+        for (Map.Entry<String, Double> entry : map.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            try {
+                int key = Integer.parseInt(entry.getKey());
+                keyed[count] = pack(key, count);
+                raw[count] = entry.getValue().floatValue();
+                count++;
+            } catch (NumberFormatException e) {
+                // Skip invalid keys
+            }
+        }
+        return sortByKey(keyed, raw, count, false);
+    }
+
+    /**
+     * Order values by key without boxing: each key is packed with its position into one long
+     */
+    static ChartSeries sortByKey(long[] keyed, float[] raw, int count, boolean alreadySorted) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        if (alreadySorted) {
+            return new ChartSeries(count == raw.length ? raw : Arrays.copyOf(raw, count));
+        }
+        Arrays.sort(keyed, 0, count);
+        float[] sorted = new float[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = raw[(int) keyed[i]];
+        }
+        return new ChartSeries(sorted);
+    }
+
+    static long pack(int key, int position) {
+        return ((long) key << 32) | (position & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Get the shared timestamp axis for {@code count} evenly spaced points between from and to
+     *
+     * The returned array is shared between reports and must not be modified.
+     */
+    public static long[] timestamps(long fromTimestamp, long toTimestamp, int count) {
+        String key = fromTimestamp + ":" + toTimestamp + ":" + count;
+        synchronized (sharedAxes) {
+            long[] axis = sharedAxes.get(key);
+            if (axis == null) {
+                axis = new long[count];
+                long interval = 0;
+                if (count > 1 && toTimestamp > fromTimestamp) {
+                    interval = (toTimestamp - fromTimestamp) / (count - 1);
+                }
+                for (int i = 0; i < count; i++) {
+                    axis[i] = fromTimestamp + i * interval;
+                }
+                sharedAxes.put(key, axis);
+            }
+            return axis;
+        }
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public float getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Copy the values into a new array
+     */
+    public float[] toArray() {
+        return values.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof ChartSeries && Arrays.equals(values, ((ChartSeries) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "ChartSeries{size=" + values.length + '}';
+    }
+}
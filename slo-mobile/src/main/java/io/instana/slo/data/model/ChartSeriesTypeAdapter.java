@@ -0,0 +1,72 @@
+package io.instana.slo.data.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Streams the {@code {"0": 12.5, "1": 11.0, ...}} chart map into a {@link ChartSeries}
+ * without building an intermediate {@code Map<String, Double>}
+ */
+public class ChartSeriesTypeAdapter extends TypeAdapter<ChartSeries> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    @Override
+    public void write(JsonWriter out, ChartSeries series) throws IOException {
+        if (series == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        for (int i = 0; i < series.size(); i++) {
+            out.name(Integer.toString(i)).value(series.getValue(i));
+        }
+        out.endObject();
+    }
+
+    @Override
+    public ChartSeries read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return ChartSeries.EMPTY;
+        }
+        long[] keyed = new long[INITIAL_CAPACITY];
+        float[] raw = new float[INITIAL_CAPACITY];
+        int count = 0;
+        boolean sorted = true;
+        int previousKey = Integer.MIN_VALUE;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            int key;
+            try {
+                key = Integer.parseInt(name);
+            } catch (NumberFormatException e) {
+                in.skipValue(); // Skip invalid keys
+                continue;
+            }
+            if (count == raw.length) {
+                keyed = Arrays.copyOf(keyed, count * 2);
+                raw = Arrays.copyOf(raw, count * 2);
+            }
+            keyed[count] = ChartSeries.pack(key, count);
+            raw[count] = (float) in.nextDouble();
+            if (key < previousKey) {
+                sorted = false;
+            }
+            previousKey = key;
+            count++;
+        }
+        in.endObject();
+        return ChartSeries.sortByKey(keyed, raw, count, sorted);
+    }
+}
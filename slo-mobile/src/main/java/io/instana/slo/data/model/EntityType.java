@@ -0,0 +1,56 @@
+package io.instana.slo.data.model;
+
+/**
+ * Canonical type of the entity an SLO is defined on
+ */
+public enum EntityType {
+    APPLICATION("application", "Application"),
+    WEBSITE("website", "Website"),
+    SYNTHETIC("synthetic", "Synthetic"),
+    INFRASTRUCTURE("infrastructure", "Infrastructure"),
+    /** An explicit type this app does not know about */
+    OTHER(null, null);
+
+    private final String apiName;
+    private final String label;
+
+    EntityType(String apiName, String label) {
+        this.apiName = apiName;
+        this.label = label;
+    }
+
+    /**
+     * Get the name used by the Instana API (null for OTHER)
+     */
+    public String getApiName() {
+        return apiName;
+    }
+
+    /**
+     * Get the capitalized display label (null for OTHER)
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Resolve an API type name, ignoring case and surrounding whitespace
+     *
+     * @return The matching type, OTHER for unknown names, or null if the name is empty
+     */
+    public static EntityType fromApiName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String trimmed = name.trim();
+        if (trimmed.isEmpty() || "null".equals(trimmed)) {
+            return null;
+        }
+        for (EntityType type : values()) {
+            if (type.apiName != null && type.apiName.equalsIgnoreCase(trimmed)) {
+                return type;
+            }
+        }
+        return OTHER;
+    }
+}
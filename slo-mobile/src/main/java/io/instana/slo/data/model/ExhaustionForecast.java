@@ -0,0 +1,116 @@
+package io.instana.slo.data.model;
+
+/**
+ * Predicted point in time at which an SLO's error budget runs out
+ */
+public final class ExhaustionForecast {
+    public enum State {
+        UNKNOWN,        // Not enough data to fit a trend
+        NOT_DEPLETING,  // Budget stable or recovering
+        DEPLETING,      // Budget shrinking; runs out at the exhaustion timestamp
+        EXHAUSTED       // Budget already used up
+    }
+
+    public static final ExhaustionForecast UNKNOWN = new ExhaustionForecast(State.UNKNOWN, 0, 0);
+
+    private static final long MINUTE_MS = 60_000L;
+    private static final long HOUR_MS = 60 * MINUTE_MS;
+    private static final long DAY_MS = 24 * HOUR_MS;
+
+    private final State state;
+    private final long exhaustionTimestamp;
+    private final double slopePerHour;
+
+    private ExhaustionForecast(State state, long exhaustionTimestamp, double slopePerHour) {
+        this.state = state;
+        this.exhaustionTimestamp = exhaustionTimestamp;
+        this.slopePerHour = slopePerHour;
+    }
+
+    public static ExhaustionForecast notDepleting(double slopePerHour) {
+        return new ExhaustionForecast(State.NOT_DEPLETING, Long.MAX_VALUE, slopePerHour);
+    }
+
+    public static ExhaustionForecast depleting(long exhaustionTimestamp, double slopePerHour) {
+        return new ExhaustionForecast(State.DEPLETING, exhaustionTimestamp, slopePerHour);
+    }
+
+    public static ExhaustionForecast exhausted(long timestamp, double slopePerHour) {
+        return new ExhaustionForecast(State.EXHAUSTED, timestamp, slopePerHour);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Get the predicted exhaustion time (epoch ms); Long.MAX_VALUE when not depleting
+     */
+    public long getExhaustionTimestamp() {
+        return exhaustionTimestamp;
+    }
+
+    /**
+     * Get the fitted change of the remaining error budget per hour (negative while burning)
+     */
+    public double getSlopePerHour() {
+        return slopePerHour;
+    }
+
+    /**
+     * Get the time left until exhaustion, never negative; Long.MAX_VALUE when not depleting
+     */
+    public long getTimeToExhaustion(long now) {
+        if (state == State.NOT_DEPLETING || state == State.UNKNOWN) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, exhaustionTimestamp - now);
+    }
+
+    /**
+     * Format a duration compactly, e.g. "3d 4h", "5h 12m" or "8m"
+     */
+    public static String formatDuration(long durationMs) {
+        long days = durationMs / DAY_MS;
+        long hours = (durationMs % DAY_MS) / HOUR_MS;
+        long minutes = (durationMs % HOUR_MS) / MINUTE_MS;
+        if (days > 0) {
+            return days + "d " + hours + "h";
+        }
+        if (hours > 0) {
+            return hours + "h " + minutes + "m";
+        }
+        return Math.max(1, minutes) + "m";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ExhaustionForecast)) {
+            return false;
+        }
+        ExhaustionForecast other = (ExhaustionForecast) o;
+        return state == other.state &&
+               exhaustionTimestamp == other.exhaustionTimestamp &&
+               Double.compare(slopePerHour, other.slopePerHour) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = state.hashCode();
+        result = 31 * result + Long.hashCode(exhaustionTimestamp);
+        result = 31 * result + Double.hashCode(slopePerHour);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ExhaustionForecast{" +
+                "state=" + state +
+                ", exhaustionTimestamp=" + exhaustionTimestamp +
+                ", slopePerHour=" + slopePerHour +
+                '}';
+    }
+}
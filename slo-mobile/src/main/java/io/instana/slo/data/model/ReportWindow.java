@@ -0,0 +1,48 @@
+package io.instana.slo.data.model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed horizons an SLO report can be requested for, independent of the SLO's own window
+ */
+public enum ReportWindow {
+    DAY(1, "1 day"),
+    WEEK(7, "7 days"),
+    MONTH(30, "30 days");
+
+    // Cached copies stay fresh for 1/1440 of the window (1 minute per day) ...
+    private static final int FRESH_DIVISOR = 1440;
+    // ... and are kept as stale copies for 1/48 (30 minutes per day)
+    private static final int MAX_STALE_DIVISOR = 48;
+
+    private final long durationMs;
+    private final String label;
+
+    ReportWindow(int days, String label) {
+        this.durationMs = TimeUnit.DAYS.toMillis(days);
+        this.label = label;
+    }
+
+    public long getDurationMillis() {
+        return durationMs;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Get how long a cached report of this window is served without revalidation
+     * Longer windows change more slowly in relative terms, so they stay fresh longer.
+     */
+    public long getFreshMs() {
+        return durationMs / FRESH_DIVISOR;
+    }
+
+    /**
+     * Get how long a cached report of this window may be shown as stale copy
+     */
+    public long getMaxStaleMs() {
+        return durationMs / MAX_STALE_DIVISOR;
+    }
+}
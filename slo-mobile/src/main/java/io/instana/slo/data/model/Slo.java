@@ -4,27 +4,9 @@ import com.google.gson.annotations.SerializedName;
 
 /**
  * Represents an SLO (Service Level Objective) configuration item
+ * Loaded state (report, status, ...) lives in immutable {@link SloSnapshot}s
  */
 public class Slo {
-    public enum LoadingState {
-        NOT_LOADED,    // Initial state
-        LOADING,       // Currently loading
-        LOADED,        // Successfully loaded
-        FAILED         // Loading failed
-    }
-
-    /**
-     * Listener interface for SLO data loading events
-     */
-    public interface OnDataLoadedListener {
-        /**
-         * Called when SLO data loading is complete
-         * @param slo The SLO that finished loading
-         * @param success True if loading was successful, false otherwise
-         */
-        void onDataLoaded(Slo slo, boolean success);
-    }
-
     @SerializedName("id")
     private String id;
 
@@ -37,12 +19,6 @@ public class Slo {
     @SerializedName("timeWindow")
     private TimeWindow timeWindow;
 
-    // Transient fields for UI state (not from API)
-    private transient TrafficLightStatus status;
-    private transient SloReport report;
-    private transient LoadingState loadingState = LoadingState.NOT_LOADED;
-    private transient OnDataLoadedListener dataLoadedListener;
-
     public Slo() {
     }
 
@@ -84,62 +60,12 @@ public class Slo {
         this.timeWindow = timeWindow;
     }
 
-    public TrafficLightStatus getStatus() {
-        return status;
-    }
-
-    public void setStatus(TrafficLightStatus status) {
-        this.status = status;
-    }
-
-    public SloReport getReport() {
-        return report;
-    }
-
-    public void setReport(SloReport report) {
-        this.report = report;
-    }
-
-    public LoadingState getLoadingState() {
-        return loadingState;
-    }
-
-    public void setLoadingState(LoadingState loadingState) {
-        LoadingState previousState = this.loadingState;
-        this.loadingState = loadingState;
-        
-        // Trigger event when loading completes (transitions to LOADED or FAILED)
-        if (previousState != loadingState &&
-            (loadingState == LoadingState.LOADED || loadingState == LoadingState.FAILED)) {
-            notifyDataLoaded(loadingState == LoadingState.LOADED);
-        }
-    }
-
-    public OnDataLoadedListener getDataLoadedListener() {
-        return dataLoadedListener;
-    }
-
-    public void setDataLoadedListener(OnDataLoadedListener listener) {
-        this.dataLoadedListener = listener;
-    }
-
-    /**
-     * Notify listener that data loading is complete
-     */
-    private void notifyDataLoaded(boolean success) {
-        if (dataLoadedListener != null) {
-            dataLoadedListener.onDataLoaded(this, success);
-        }
-    }
-
     @Override
     public String toString() {
         return "Slo{" +
                 "id='" + id + '\'' +
                 ", name='" + name + '\'' +
                 ", entity=" + entity +
-                ", status=" + status +
-                ", loadingState=" + loadingState +
                 '}';
     }
 }
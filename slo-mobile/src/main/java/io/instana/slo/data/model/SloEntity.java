@@ -23,6 +23,12 @@ public class SloEntity {
     @SerializedName("syntheticTestIds")
     private List<String> syntheticTestIds;
 
+    // Classification resolved once (at deserialization) and reset by the setters
+    private transient boolean typeResolved;
+    private transient EntityType resolvedType;
+    private transient String resolvedTypeName;
+    private transient String resolvedTypeLabel;
+
     public SloEntity() {
     }
 
@@ -31,28 +37,71 @@ public class SloEntity {
     }
 
     /**
-     * Get the entity type, inferring it from the populated fields if not explicitly set
+     * Get the canonical entity type, inferring it from the populated fields if not explicitly set
+     *
+     * @return The type, or null if it cannot be determined
+     */
+    public EntityType getType() {
+        resolveType();
+        return resolvedType;
+    }
+
+    /**
+     * Get the entity type name, inferring it from the populated fields if not explicitly set
      */
     public String getEntityType() {
-        // If type is explicitly set in the API response, use it
-        if (type != null && !type.isEmpty() && !"null".equals(type)) {
-            return type;
+        resolveType();
+        return resolvedTypeName;
+    }
+
+    /**
+     * Get the capitalized entity type for display
+     */
+    public String getEntityTypeLabel() {
+        resolveType();
+        return resolvedTypeLabel;
+    }
+
+    /**
+     * Classify the entity; cheap after the first call
+     */
+    public void resolveType() {
+        if (typeResolved) {
+            return;
         }
-        
-        // Otherwise, infer the type from which ID field is populated
+        EntityType kind = EntityType.fromApiName(type);
+        String name = null;
+        if (kind == EntityType.OTHER) {
+            // Keep unknown explicit types as sent by the API
+            name = type.trim();
+        } else if (kind == null) {
+            // Otherwise, infer the type from which ID field is populated
+            kind = inferType();
+        }
+        if (kind != null && kind != EntityType.OTHER) {
+            name = kind.getApiName();
+        }
+        resolvedType = kind;
+        resolvedTypeName = name;
+        resolvedTypeLabel = kind == EntityType.OTHER
+                ? name.substring(0, 1).toUpperCase() + name.substring(1).toLowerCase()
+                : kind != null ? kind.getLabel() : null;
+        typeResolved = true;
+    }
+
+    private EntityType inferType() {
         if (applicationId != null && !applicationId.isEmpty()) {
-            return "application";
+            return EntityType.APPLICATION;
         }
         if (websiteId != null && !websiteId.isEmpty()) {
-            return "website";
+            return EntityType.WEBSITE;
         }
         if (syntheticTestIds != null && !syntheticTestIds.isEmpty()) {
-            return "synthetic";
+            return EntityType.SYNTHETIC;
         }
         if (infraType != null && !infraType.isEmpty()) {
-            return "infrastructure";
+            return EntityType.INFRASTRUCTURE;
         }
-        
         return null;
     }
 
@@ -63,6 +112,17 @@ public class SloEntity {
         } else {
             this.type = entityType;
         }
+        typeResolved = false;
+    }
+
+    public String getInfraType() {
+        return infraType;
+    }
+
+    public void setInfraType(String infraType) {
+        // Convert string "null" to actual null
+        this.infraType = "null".equals(infraType) ? null : infraType;
+        typeResolved = false;
     }
 
     public String getApplicationId() {
@@ -72,6 +132,7 @@ public class SloEntity {
     public void setApplicationId(String applicationId) {
         // Convert string "null" to actual null
         this.applicationId = "null".equals(applicationId) ? null : applicationId;
+        typeResolved = false;
     }
 
     public String getWebsiteId() {
@@ -81,6 +142,7 @@ public class SloEntity {
     public void setWebsiteId(String websiteId) {
         // Convert string "null" to actual null
         this.websiteId = "null".equals(websiteId) ? null : websiteId;
+        typeResolved = false;
     }
 
     public List<String> getSyntheticTestIds() {
@@ -89,23 +151,24 @@ public class SloEntity {
 
     public void setSyntheticTestIds(List<String> syntheticTestIds) {
         this.syntheticTestIds = syntheticTestIds;
+        typeResolved = false;
     }
 
     /**
      * Get the entity ID based on entity type
      */
     public String getEntityId() {
-        String entityType = getEntityType();
-        if (entityType == null) {
+        EntityType kind = getType();
+        if (kind == null) {
             return null;
         }
         
-        switch (entityType.toLowerCase()) {
-            case "application":
+        switch (kind) {
+            case APPLICATION:
                 return applicationId;
-            case "website":
+            case WEBSITE:
                 return websiteId;
-            case "synthetic":
+            case SYNTHETIC:
                 return syntheticTestIds != null && !syntheticTestIds.isEmpty()
                     ? syntheticTestIds.get(0) : null;
             default:
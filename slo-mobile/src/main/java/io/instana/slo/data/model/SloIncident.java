@@ -0,0 +1,79 @@
+package io.instana.slo.data.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SLOs whose error budgets started dropping at about the same time, most likely one incident
+ */
+public final class SloIncident {
+    private final String key;
+    private final long startTimestamp;
+    private final long endTimestamp;
+    private final List<SloSnapshot> members;
+    private final double maxDropPercent;
+    private final TrafficLightStatus worstStatus;
+    private final boolean recent;
+
+    /**
+     * @param key Stable identity: the ID of the member whose drop started first
+     * @param members Members, largest drop first
+     */
+    public SloIncident(String key, long startTimestamp, long endTimestamp, List<SloSnapshot> members,
+                       double maxDropPercent, TrafficLightStatus worstStatus, boolean recent) {
+        this.key = key;
+        this.startTimestamp = startTimestamp;
+        this.endTimestamp = endTimestamp;
+        this.members = Collections.unmodifiableList(members);
+        this.maxDropPercent = maxDropPercent;
+        this.worstStatus = worstStatus;
+        this.recent = recent;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Get the earliest drop onset among the members
+     */
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    /**
+     * Get the latest drop onset among the members
+     */
+    public long getEndTimestamp() {
+        return endTimestamp;
+    }
+
+    public List<SloSnapshot> getMembers() {
+        return members;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Get the largest drop of a member, in percentage points of its total budget
+     */
+    public double getMaxDropPercent() {
+        return maxDropPercent;
+    }
+
+    /**
+     * Get the worst current status of a member (null if none is known)
+     */
+    public TrafficLightStatus getWorstStatus() {
+        return worstStatus;
+    }
+
+    /**
+     * Check whether any member's drop is recent (see {@link BudgetDrop#isRecent()})
+     */
+    public boolean isRecent() {
+        return recent;
+    }
+}
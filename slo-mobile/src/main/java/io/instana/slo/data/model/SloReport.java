@@ -1,5 +1,6 @@
 package io.instana.slo.data.model;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -23,7 +24,8 @@ public class SloReport {
     private double errorBudgetRemaining;
 
     @SerializedName("errorBudgetRemainChart")
-    private Map<String, Double> errorBudgetRemainChart;
+    @JsonAdapter(ChartSeriesTypeAdapter.class)
+    private ChartSeries errorBudgetRemainChart;
 
     @SerializedName("fromTimestamp")
     private long fromTimestamp;
@@ -34,6 +36,17 @@ public class SloReport {
     @SerializedName("timeWindow")
     private TimeWindow timeWindow;
 
+    // Memoized chart views, rebuilt only when the chart or the window changes
+    private transient long[] chartTimestamps;
+    private transient List<ChartDataPoint> chartDataPoints;
+    // Set on copies that were stripped of their chart to save memory
+    private transient boolean summary;
+
+    // Rough retained sizes used for memory accounting (64-bit, compressed oops)
+    private static final int REPORT_BYTES = 96;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int CHART_POINT_BYTES = 32;
+
     public SloReport() {
     }
 
@@ -69,12 +82,20 @@ public class SloReport {
         this.errorBudgetRemaining = errorBudgetRemaining;
     }
 
-    public Map<String, Double> getErrorBudgetRemainChartRaw() {
-        return errorBudgetRemainChart;
+    /**
+     * Get the error budget chart values in index order (never null)
+     */
+    public ChartSeries getErrorBudgetRemainSeries() {
+        return errorBudgetRemainChart != null ? errorBudgetRemainChart : ChartSeries.EMPTY;
     }
 
-    public void setErrorBudgetRemainChart(Map<String, Double> errorBudgetRemainChart) {
+    public void setErrorBudgetRemainSeries(ChartSeries errorBudgetRemainChart) {
         this.errorBudgetRemainChart = errorBudgetRemainChart;
+        invalidateChart();
+    }
+
+    public void setErrorBudgetRemainChart(Map<String, Double> errorBudgetRemainChart) {
+        setErrorBudgetRemainSeries(ChartSeries.fromMap(errorBudgetRemainChart));
     }
 
     public long getFromTimestamp() {
@@ -83,6 +104,7 @@ public class SloReport {
 
     public void setFromTimestamp(long fromTimestamp) {
         this.fromTimestamp = fromTimestamp;
+        invalidateChart();
     }
 
     public long getToTimestamp() {
@@ -91,6 +113,7 @@ public class SloReport {
 
     public void setToTimestamp(long toTimestamp) {
         this.toTimestamp = toTimestamp;
+        invalidateChart();
     }
 
     public TimeWindow getTimeWindow() {
@@ -102,50 +125,93 @@ public class SloReport {
     }
 
     /**
-     * Convert the map-based chart data to a list of ChartDataPoint objects
-     * with actual timestamps calculated from fromTimestamp and toTimestamp
+     * Get the timestamp of every chart value, evenly spaced between fromTimestamp and toTimestamp
+     *
+     * The array is shared with other reports covering the same window and must not be modified.
      */
-    public List<ChartDataPoint> getErrorBudgetRemainChart() {
-        if (errorBudgetRemainChart == null || errorBudgetRemainChart.isEmpty()) {
-            return new ArrayList<>();
+    public long[] getErrorBudgetRemainTimestamps() {
+        long[] timestamps = chartTimestamps;
+        if (timestamps == null) {
+            timestamps = ChartSeries.timestamps(fromTimestamp, toTimestamp, getErrorBudgetRemainSeries().size());
+            chartTimestamps = timestamps;
         }
+        return timestamps;
+    }
 
-        List<ChartDataPoint> dataPoints = new ArrayList<>();
-        List<Integer> sortedKeys = new ArrayList<>();
-        
-        // Parse string keys to integers and sort them
-        for (String key : errorBudgetRemainChart.keySet()) {
-            try {
-                sortedKeys.add(Integer.parseInt(key));
-            } catch (NumberFormatException e) {
-                // Skip invalid keys
+    /**
+     * Get the chart data as ChartDataPoint objects with actual timestamps
+     * Built once and memoized; prefer {@link #getErrorBudgetRemainSeries()} on hot paths
+     */
+    public List<ChartDataPoint> getErrorBudgetRemainChart() {
+        List<ChartDataPoint> dataPoints = chartDataPoints;
+        if (dataPoints == null) {
+            ChartSeries series = getErrorBudgetRemainSeries();
+            long[] timestamps = getErrorBudgetRemainTimestamps();
+            List<ChartDataPoint> points = new ArrayList<>(series.size());
+            for (int i = 0; i < series.size(); i++) {
+                points.add(new ChartDataPoint(timestamps[i], series.getValue(i)));
             }
+            dataPoints = Collections.unmodifiableList(points);
+            chartDataPoints = dataPoints;
         }
-        Collections.sort(sortedKeys);
+        return dataPoints;
+    }
 
-        // Calculate time interval between data points
-        int numPoints = sortedKeys.size();
-        if (numPoints == 0) {
-            return dataPoints;
-        }
-        
-        long timeInterval = 0;
-        if (numPoints > 1 && toTimestamp > fromTimestamp) {
-            timeInterval = (toTimestamp - fromTimestamp) / (numPoints - 1);
-        }
+    private void invalidateChart() {
+        chartTimestamps = null;
+        chartDataPoints = null;
+    }
 
-        // Convert to ChartDataPoint objects with actual timestamps
-        for (int i = 0; i < sortedKeys.size(); i++) {
-            Integer index = sortedKeys.get(i);
-            Double value = errorBudgetRemainChart.get(String.valueOf(index));
-            if (value != null) {
-                // Calculate actual timestamp for this data point
-                long timestamp = fromTimestamp + (i * timeInterval);
-                dataPoints.add(new ChartDataPoint(timestamp, value));
-            }
+    /**
+     * Get a copy holding only the fields needed for the traffic light and the card
+     * The chart is dropped; {@link #isSummary()} tells consumers to fetch the full report.
+     */
+    public SloReport summary() {
+        if (summary) {
+            return this;
         }
+        SloReport copy = new SloReport();
+        copy.sli = sli;
+        copy.sloTarget = sloTarget;
+        copy.totalErrorBudget = totalErrorBudget;
+        copy.errorBudgetRemaining = errorBudgetRemaining;
+        copy.fromTimestamp = fromTimestamp;
+        copy.toTimestamp = toTimestamp;
+        copy.timeWindow = timeWindow;
+        copy.errorBudgetRemainChart = ChartSeries.EMPTY;
+        copy.summary = true;
+        return copy;
+    }
 
-        return dataPoints;
+    /**
+     * Check whether this is a chart-less copy made by {@link #summary()}
+     */
+    public boolean isSummary() {
+        return summary;
+    }
+
+    /**
+     * Drop the memoized chart point list; it is rebuilt on the next request
+     */
+    public void releaseChartCache() {
+        chartDataPoints = null;
+    }
+
+    /**
+     * Estimate the heap retained by this report, including memoized chart points
+     * Shared timestamp axes are not counted.
+     */
+    public long estimateRetainedBytes() {
+        int points = getErrorBudgetRemainSeries().size();
+        long bytes = REPORT_BYTES;
+        if (points > 0) {
+            bytes += ARRAY_HEADER_BYTES + 4L * points;
+        }
+        List<ChartDataPoint> dataPoints = chartDataPoints;
+        if (dataPoints != null) {
+            bytes += ARRAY_HEADER_BYTES + (4L + CHART_POINT_BYTES) * dataPoints.size();
+        }
+        return bytes;
     }
 
     /**
@@ -165,6 +231,27 @@ public class SloReport {
         return 100.0 - getErrorBudgetRemainingPercentage();
     }
 
+    /**
+     * Check whether another report carries the same metrics and chart data
+     */
+    public boolean hasSameContent(SloReport other) {
+        if (other == this) {
+            return true;
+        }
+        if (other == null) {
+            return false;
+        }
+        if (Double.compare(sli, other.sli) != 0 ||
+            Double.compare(sloTarget, other.sloTarget) != 0 ||
+            Double.compare(totalErrorBudget, other.totalErrorBudget) != 0 ||
+            Double.compare(errorBudgetRemaining, other.errorBudgetRemaining) != 0 ||
+            fromTimestamp != other.fromTimestamp ||
+            toTimestamp != other.toTimestamp) {
+            return false;
+        }
+        return getErrorBudgetRemainSeries().equals(other.getErrorBudgetRemainSeries());
+    }
+
     @Override
     public String toString() {
         return "SloReport{" +
@@ -172,7 +259,7 @@ public class SloReport {
                 ", sloTarget=" + sloTarget +
                 ", totalErrorBudget=" + totalErrorBudget +
                 ", errorBudgetRemaining=" + errorBudgetRemaining +
-                ", chartDataPoints=" + (errorBudgetRemainChart != null ? errorBudgetRemainChart.size() : 0) +
+                ", chartDataPoints=" + getErrorBudgetRemainSeries().size() +
                 '}';
     }
 }
@@ -0,0 +1,131 @@
+package io.instana.slo.data.model;
+
+/**
+ * Immutable summary of the SLOs sharing one entity (e.g. all SLOs of an application)
+ *
+ * Holds the status counts, the summed error budget figures and the merged error budget
+ * series of the members: at every time bucket the remaining budget of all members that
+ * have a value there, as a percentage of their total budget.
+ */
+public final class SloRollup {
+    private static final int UNKNOWN_SLOT = TrafficLightStatus.values().length;
+
+    private final String key;
+    private final EntityType entityType;
+    private final String entityId;
+    private final int memberCount;
+    private final int pendingCount;
+    private final int[] statusCounts;
+    private final double totalErrorBudget;
+    private final double errorBudgetRemaining;
+    private final long[] timestamps;
+    private final float[] remainingPercentages;
+
+    /**
+     * @param statusCounts Members per status ordinal, followed by the members without a status
+     * @param timestamps Start of every merged series bucket; owned by the rollup afterwards
+     * @param remainingPercentages Merged remaining budget per bucket; owned by the rollup afterwards
+     */
+    public SloRollup(String key, EntityType entityType, String entityId, int memberCount, int pendingCount,
+                     int[] statusCounts, double totalErrorBudget, double errorBudgetRemaining,
+                     long[] timestamps, float[] remainingPercentages) {
+        this.key = key;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.memberCount = memberCount;
+        this.pendingCount = pendingCount;
+        this.statusCounts = statusCounts.clone();
+        this.totalErrorBudget = totalErrorBudget;
+        this.errorBudgetRemaining = errorBudgetRemaining;
+        this.timestamps = timestamps;
+        this.remainingPercentages = remainingPercentages;
+    }
+
+    /**
+     * Get the grouping key; stable across updates of the same group
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Get the shared entity ID, or null for the group of SLOs without one
+     */
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    /**
+     * Get the number of members whose report is still loading
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    public int getCount(TrafficLightStatus status) {
+        return statusCounts[status != null ? status.ordinal() : UNKNOWN_SLOT];
+    }
+
+    /**
+     * Get the worst status of any member, or null if no member has a status
+     */
+    public TrafficLightStatus getWorstStatus() {
+        TrafficLightStatus[] statuses = TrafficLightStatus.values();
+        for (int i = statuses.length - 1; i >= 0; i--) {
+            if (statusCounts[i] > 0) {
+                return statuses[i];
+            }
+        }
+        return null;
+    }
+
+    public double getTotalErrorBudget() {
+        return totalErrorBudget;
+    }
+
+    public double getErrorBudgetRemaining() {
+        return errorBudgetRemaining;
+    }
+
+    /**
+     * Calculate the percentage of the members' combined error budget remaining
+     */
+    public double getErrorBudgetRemainingPercentage() {
+        if (totalErrorBudget == 0) {
+            return 0.0;
+        }
+        return (errorBudgetRemaining / totalErrorBudget) * 100.0;
+    }
+
+    /**
+     * Get the bucket timestamps of the merged series; must not be modified
+     */
+    public long[] getMergedTimestamps() {
+        return timestamps;
+    }
+
+    /**
+     * Get the merged remaining budget percentage per bucket; must not be modified
+     */
+    public float[] getMergedRemainingPercentages() {
+        return remainingPercentages;
+    }
+
+    @Override
+    public String toString() {
+        return "SloRollup{" +
+                "key='" + key + '\'' +
+                ", members=" + memberCount +
+                ", worst=" + getWorstStatus() +
+                ", buckets=" + timestamps.length +
+                '}';
+    }
+}
@@ -0,0 +1,266 @@
+package io.instana.slo.data.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable view of one SLO as shown in the list: its configuration plus the loaded
+ * report, traffic light status, error budget forecast, burn rate, budget drop and loading state
+ *
+ * State changes never modify a snapshot; they produce a new one with a higher version.
+ * Versions are unique within the process, even across repository instances, and a
+ * transition that would not change anything returns the same instance, so equal
+ * versions always mean equal content.
+ */
+public final class SloSnapshot {
+    private static final AtomicLong lastVersion = new AtomicLong();
+
+    public enum LoadingState {
+        NOT_LOADED,    // Initial state
+        LOADING,       // Currently loading
+        LOADED,        // Successfully loaded
+        FAILED         // Loading failed
+    }
+
+    private final Slo slo;
+    private final long version;
+    private final LoadingState loadingState;
+    private final TrafficLightStatus status;
+    private final SloReport report;
+    private final SloTrend trend;
+    private final boolean changedSinceLastOpen;
+    private final ExhaustionForecast forecast;
+    private final BurnRate burnRate;
+    private final BudgetDrop budgetDrop;
+
+    private SloSnapshot(Slo slo, long version, LoadingState loadingState, TrafficLightStatus status,
+                        SloReport report, SloTrend trend, boolean changedSinceLastOpen,
+                        ExhaustionForecast forecast, BurnRate burnRate, BudgetDrop budgetDrop) {
+        this.slo = slo;
+        this.version = version;
+        this.loadingState = loadingState;
+        this.status = status;
+        this.report = report;
+        this.trend = trend != null ? trend : SloTrend.FLAT;
+        this.changedSinceLastOpen = changedSinceLastOpen;
+        this.forecast = forecast != null ? forecast : ExhaustionForecast.UNKNOWN;
+        this.burnRate = burnRate != null ? burnRate : BurnRate.UNKNOWN;
+        this.budgetDrop = budgetDrop != null ? budgetDrop : BudgetDrop.NONE;
+    }
+
+    /**
+     * Create the first snapshot of an SLO, before anything has been loaded
+     */
+    public static SloSnapshot initial(Slo slo) {
+        return new SloSnapshot(slo, lastVersion.incrementAndGet(), LoadingState.NOT_LOADED, null, null,
+                SloTrend.FLAT, false, ExhaustionForecast.UNKNOWN, BurnRate.UNKNOWN, BudgetDrop.NONE);
+    }
+
+    /**
+     * Get a snapshot backed by another instance of the SLO configuration
+     */
+    public SloSnapshot withSlo(Slo newSlo) {
+        if (newSlo == slo) {
+            return this;
+        }
+        return new SloSnapshot(newSlo, lastVersion.incrementAndGet(), loadingState, status, report, trend,
+                changedSinceLastOpen, forecast, burnRate, budgetDrop);
+    }
+
+    /**
+     * Get a snapshot marked as loading, keeping the last report
+     */
+    public SloSnapshot loading() {
+        return derive(LoadingState.LOADING, status, report, trend, changedSinceLastOpen, forecast, burnRate,
+                budgetDrop);
+    }
+
+    /**
+     * Get a snapshot carrying a freshly loaded report
+     */
+    public SloSnapshot loaded(SloReport newReport, TrafficLightStatus newStatus, SloTrend newTrend,
+                              boolean newChangedSinceLastOpen, ExhaustionForecast newForecast,
+                              BurnRate newBurnRate, BudgetDrop newBudgetDrop) {
+        return derive(LoadingState.LOADED, newStatus, newReport, newTrend, newChangedSinceLastOpen, newForecast,
+                newBurnRate, newBudgetDrop);
+    }
+
+    /**
+     * Get a snapshot with a different status for the same report (e.g. after a threshold change)
+     */
+    public SloSnapshot withStatus(TrafficLightStatus newStatus) {
+        return derive(loadingState, newStatus, report, trend, changedSinceLastOpen, forecast, burnRate,
+                budgetDrop);
+    }
+
+    /**
+     * Get a snapshot whose report keeps only its summary fields (see {@link SloReport#summary()})
+     * Status, signals and loading state are kept, so the list renders the same card.
+     */
+    public SloSnapshot compacted() {
+        if (report == null || report.isSummary()) {
+            return this;
+        }
+        return derive(loadingState, status, report.summary(), trend, changedSinceLastOpen, forecast, burnRate,
+                budgetDrop);
+    }
+
+    /**
+     * Check whether this snapshot is another one with its report compacted, i.e. the same card
+     */
+    public boolean isCompactionOf(SloSnapshot previous) {
+        return report != null && report.isSummary() && previous.report != null && !previous.report.isSummary() &&
+               equals(previous.compacted());
+    }
+
+    /**
+     * Get a snapshot marked as failed; the status becomes unknown
+     */
+    public SloSnapshot failed() {
+        return derive(LoadingState.FAILED, null, report, trend, changedSinceLastOpen, forecast, burnRate,
+                budgetDrop);
+    }
+
+    private SloSnapshot derive(LoadingState newLoadingState, TrafficLightStatus newStatus, SloReport newReport,
+                               SloTrend newTrend, boolean newChangedSinceLastOpen,
+                               ExhaustionForecast newForecast, BurnRate newBurnRate, BudgetDrop newBudgetDrop) {
+        SloSnapshot candidate = new SloSnapshot(slo, lastVersion.incrementAndGet(), newLoadingState, newStatus,
+                newReport, newTrend, newChangedSinceLastOpen, newForecast, newBurnRate, newBudgetDrop);
+        return candidate.equals(this) ? this : candidate;
+    }
+
+    public Slo getSlo() {
+        return slo;
+    }
+
+    public String getId() {
+        return slo.getId();
+    }
+
+    public String getName() {
+        return slo.getName();
+    }
+
+    public SloEntity getEntity() {
+        return slo.getEntity();
+    }
+
+    public TimeWindow getTimeWindow() {
+        return slo.getTimeWindow();
+    }
+
+    /**
+     * Get the version; increases with every content change
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public LoadingState getLoadingState() {
+        return loadingState;
+    }
+
+    /**
+     * Check whether the report is not (yet) available
+     */
+    public boolean isPending() {
+        return loadingState == LoadingState.LOADING || loadingState == LoadingState.NOT_LOADED;
+    }
+
+    public TrafficLightStatus getStatus() {
+        return status;
+    }
+
+    public SloReport getReport() {
+        return report;
+    }
+
+    public SloTrend getTrend() {
+        return trend;
+    }
+
+    public boolean isChangedSinceLastOpen() {
+        return changedSinceLastOpen;
+    }
+
+    /**
+     * Get the error budget exhaustion forecast of the last loaded report
+     */
+    public ExhaustionForecast getForecast() {
+        return forecast;
+    }
+
+    /**
+     * Get the burn rates of the last loaded report
+     */
+    public BurnRate getBurnRate() {
+        return burnRate;
+    }
+
+    /**
+     * Get the most recent sudden error budget drop in the last loaded report
+     */
+    public BudgetDrop getBudgetDrop() {
+        return budgetDrop;
+    }
+
+    /**
+     * Compare everything the list displays; the version is ignored
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SloSnapshot)) {
+            return false;
+        }
+        SloSnapshot other = (SloSnapshot) o;
+        return loadingState == other.loadingState &&
+               status == other.status &&
+               trend == other.trend &&
+               changedSinceLastOpen == other.changedSinceLastOpen &&
+               forecast.equals(other.forecast) &&
+               burnRate.equals(other.burnRate) &&
+               budgetDrop.equals(other.budgetDrop) &&
+               equal(getId(), other.getId()) &&
+               equal(getName(), other.getName()) &&
+               sameEntityType(getEntity(), other.getEntity()) &&
+               (report == other.report || (report != null && report.hasSameContent(other.report)));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = getId() != null ? getId().hashCode() : 0;
+        result = 31 * result + (getName() != null ? getName().hashCode() : 0);
+        result = 31 * result + loadingState.hashCode();
+        result = 31 * result + (status != null ? status.hashCode() : 0);
+        result = 31 * result + trend.hashCode();
+        result = 31 * result + (changedSinceLastOpen ? 1 : 0);
+        if (report != null) {
+            result = 31 * result + Double.hashCode(report.getSli());
+            result = 31 * result + Double.hashCode(report.getErrorBudgetRemaining());
+        }
+        return result;
+    }
+
+    private static boolean sameEntityType(SloEntity a, SloEntity b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getType() == b.getType() && equal(a.getEntityType(), b.getEntityType());
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    @Override
+    public String toString() {
+        return "SloSnapshot{" +
+                "id='" + getId() + '\'' +
+                ", version=" + version +
+                ", loadingState=" + loadingState +
+                ", status=" + status +
+                '}';
+    }
+}
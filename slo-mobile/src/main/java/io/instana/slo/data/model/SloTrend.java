@@ -0,0 +1,35 @@
+package io.instana.slo.data.model;
+
+/**
+ * Enum representing the direction an SLO moved between two local polls
+ */
+public enum SloTrend {
+    /**
+     * SLI (or remaining error budget) improved since the previous sample
+     */
+    UP,
+
+    /**
+     * SLI (or remaining error budget) degraded since the previous sample
+     */
+    DOWN,
+
+    /**
+     * No measurable change since the previous sample
+     */
+    FLAT;
+
+    /**
+     * Get the arrow symbol shown next to the SLI value
+     */
+    public String getArrow() {
+        switch (this) {
+            case UP:
+                return "▲";
+            case DOWN:
+                return "▼";
+            default:
+                return "";
+        }
+    }
+}
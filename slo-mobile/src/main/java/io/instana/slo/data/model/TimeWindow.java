@@ -2,6 +2,8 @@ package io.instana.slo.data.model;
 
 import com.google.gson.annotations.SerializedName;
 import java.io.Serializable;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents the time window configuration for an SLO
@@ -76,6 +78,34 @@ public class TimeWindow implements Serializable {
         return duration + " " + durationUnit + (duration > 1 ? "s" : "");
     }
 
+    /**
+     * Get the window length in milliseconds, or 0 if the unit is not known
+     * Months count as 30 days.
+     */
+    public long getDurationMillis() {
+        if (durationUnit == null || duration <= 0) {
+            return 0;
+        }
+        String unit = durationUnit.trim().toLowerCase(Locale.ROOT);
+        if (unit.endsWith("s")) {
+            unit = unit.substring(0, unit.length() - 1);
+        }
+        switch (unit) {
+            case "minute":
+                return TimeUnit.MINUTES.toMillis(duration);
+            case "hour":
+                return TimeUnit.HOURS.toMillis(duration);
+            case "day":
+                return TimeUnit.DAYS.toMillis(duration);
+            case "week":
+                return TimeUnit.DAYS.toMillis(7L * duration);
+            case "month":
+                return TimeUnit.DAYS.toMillis(30L * duration);
+            default:
+                return 0;
+        }
+    }
+
     /**
      * Get capitalized type for display
      */
@@ -0,0 +1,327 @@
+package io.instana.slo.data.repository;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+
+import io.instana.slo.data.model.BudgetDrop;
+import io.instana.slo.data.model.SloIncident;
+import io.instana.slo.data.model.SloSnapshot;
+import io.instana.slo.data.model.TrafficLightStatus;
+import io.instana.slo.util.SettingsStore;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups SLOs whose error budgets started dropping together into {@link SloIncident}s
+ *
+ * Drop onsets come from each snapshot's {@link BudgetDrop}, so every chart is scanned once,
+ * when its report loads. Onsets are hashed to buckets of two time grids offset by half a
+ * bucket: onsets less than half a bucket apart always share a bucket on one of the grids,
+ * onsets a bucket or more apart never do. SLOs sharing a bucket are joined with a
+ * union-find, so clustering is linear in the number of drops instead of comparing every
+ * pair of series. Union-find also chains onsets through their neighbours (0, 40m, 80m, ...),
+ * so a cluster whose onsets span a bucket or more is split at its widest gaps until none
+ * does; onsets less than half a bucket apart stay together unless such a chain runs through
+ * them. Clusters are rebuilt once per main thread turn after a drop changed.
+ * All methods must be called on the main thread.
+ */
+public class IncidentClusterEngine implements SloRepository.SnapshotListener {
+    private static final String TAG = "IncidentClusterEngine";
+    static final long BUCKET_MS = 60 * 60_000L;
+    // Fewer SLOs dropping together are not shown as an incident
+    static final int MIN_CLUSTER_SIZE = 3;
+    private static IncidentClusterEngine instance;
+
+    private final SloRepository repository;
+    private final SettingsStore settingsStore;
+    private final Observer<SettingsStore.Settings> settingsObserver = this::onSettingsChanged;
+    // Selected SLOs with a detected drop
+    private final Map<String, SloSnapshot> drops = new HashMap<>();
+    private final MutableLiveData<List<SloIncident>> incidents = new MutableLiveData<>(Collections.emptyList());
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable publishRunnable = this::publishIncidents;
+    private Set<String> selection;
+    private boolean publishPosted;
+
+    private IncidentClusterEngine(Context context, SloRepository repository) {
+        this.repository = repository;
+        this.settingsStore = SettingsStore.getInstance(context);
+        this.selection = settingsStore.get().getSelectedSloIds();
+        rebuild();
+        repository.addSnapshotListener(this);
+        settingsStore.getSettings().observeForever(settingsObserver);
+        schedulePublish();
+    }
+
+    /**
+     * Get singleton instance of the clustering engine, following the current repository
+     */
+    public static IncidentClusterEngine getInstance(Context context) {
+        // Taken outside our lock; the repository resets us while holding its own
+        SloRepository repository = SloRepository.getInstance(context);
+        synchronized (IncidentClusterEngine.class) {
+            if (instance == null || instance.repository != repository) {
+                release();
+                instance = new IncidentClusterEngine(context.getApplicationContext(), repository);
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Detach from the repository; the next {@link #getInstance(Context)} starts over
+     */
+    static synchronized void resetInstance() {
+        release();
+        instance = null;
+    }
+
+    private static void release() {
+        if (instance != null) {
+            instance.repository.removeSnapshotListener(instance);
+            instance.settingsStore.getSettings().removeObserver(instance.settingsObserver);
+            instance.handler.removeCallbacks(instance.publishRunnable);
+        }
+    }
+
+    /**
+     * Observe the incidents, most recent first
+     */
+    public LiveData<List<SloIncident>> getIncidents() {
+        return incidents;
+    }
+
+    @Override
+    public void onSnapshotPublished(SloSnapshot snapshot) {
+        if (update(snapshot)) {
+            schedulePublish();
+        }
+    }
+
+    private void onSettingsChanged(SettingsStore.Settings settings) {
+        if (settings.getSelectedSloIds() != selection) {
+            selection = settings.getSelectedSloIds();
+            rebuild();
+            schedulePublish();
+        }
+    }
+
+    private void rebuild() {
+        drops.clear();
+        for (SloSnapshot snapshot : repository.getSnapshots()) {
+            update(snapshot);
+        }
+    }
+
+    /**
+     * Track the drop of one SLO
+     *
+     * @return true if the SLO joined, left or changed while having a drop
+     */
+    private boolean update(SloSnapshot snapshot) {
+        String id = snapshot.getId();
+        boolean tracked = snapshot.getBudgetDrop().isDetected() &&
+                          (selection.isEmpty() || selection.contains(id));
+        if (tracked) {
+            return drops.put(id, snapshot) != snapshot;
+        }
+        return drops.remove(id) != null;
+    }
+
+    private void schedulePublish() {
+        if (!publishPosted) {
+            publishPosted = true;
+            handler.post(publishRunnable);
+        }
+    }
+
+    private void publishIncidents() {
+        publishPosted = false;
+        long start = System.nanoTime();
+        List<SloSnapshot> snapshots = new ArrayList<>(drops.values());
+        int count = snapshots.size();
+        long[] onsets = new long[count];
+        for (int i = 0; i < count; i++) {
+            onsets[i] = snapshots.get(i).getBudgetDrop().getOnsetTimestamp();
+        }
+        int[] roots = cluster(onsets, count, BUCKET_MS);
+
+        Map<Integer, List<SloSnapshot>> clusters = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            List<SloSnapshot> members = clusters.get(roots[i]);
+            if (members == null) {
+                members = new ArrayList<>();
+                clusters.put(roots[i], members);
+            }
+            members.add(snapshots.get(i));
+        }
+        List<SloIncident> list = new ArrayList<>();
+        for (List<SloSnapshot> members : clusters.values()) {
+            if (members.size() >= MIN_CLUSTER_SIZE) {
+                list.add(toIncident(members));
+            }
+        }
+        Collections.sort(list, (a, b) -> {
+            int result = Long.compare(b.getStartTimestamp(), a.getStartTimestamp());
+            return result != 0 ? result : a.getKey().compareTo(b.getKey());
+        });
+        Log.d(TAG, "Published " + list.size() + " incidents from " + count + " drops in " +
+                   (System.nanoTime() - start) / 1000 + "us");
+        incidents.setValue(Collections.unmodifiableList(list));
+    }
+
+    /**
+     * Cluster drop onsets that are close in time
+     *
+     * @param onsets Onset timestamps
+     * @param count Number of onsets to use
+     * @param bucketMs No cluster spans this much; onsets less than half of this apart end up
+     *                 together unless that would stretch their cluster over it
+     * @return Per onset, the index of its cluster's representative (its lowest member index)
+     */
+    static int[] cluster(long[] onsets, int count, long bucketMs) {
+        int[] parent = new int[count];
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+        }
+        // First onset seen per bucket; even keys for the plain grid, odd for the shifted one
+        Map<Long, Integer> firstInBucket = new HashMap<>(count * 4 / 3 + 1);
+        long halfBucket = bucketMs / 2;
+        for (int i = 0; i < count; i++) {
+            long plain = Math.floorDiv(onsets[i], bucketMs) * 2;
+            long shifted = Math.floorDiv(onsets[i] + halfBucket, bucketMs) * 2 + 1;
+            Integer other = firstInBucket.putIfAbsent(plain, i);
+            if (other != null) {
+                union(parent, i, other);
+            }
+            other = firstInBucket.putIfAbsent(shifted, i);
+            if (other != null) {
+                union(parent, i, other);
+            }
+        }
+        int[] roots = new int[count];
+        for (int i = 0; i < count; i++) {
+            roots[i] = find(parent, i);
+        }
+        capSpans(onsets, roots, count, bucketMs);
+        return roots;
+    }
+
+    /**
+     * Split every cluster whose onsets span a bucket or more at its widest gaps
+     */
+    private static void capSpans(long[] onsets, int[] roots, int count, long bucketMs) {
+        long[] first = new long[count];
+        long[] last = new long[count];
+        Arrays.fill(first, Long.MAX_VALUE);
+        Arrays.fill(last, Long.MIN_VALUE);
+        for (int i = 0; i < count; i++) {
+            first[roots[i]] = Math.min(first[roots[i]], onsets[i]);
+            last[roots[i]] = Math.max(last[roots[i]], onsets[i]);
+        }
+        Map<Integer, List<Integer>> wide = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (last[roots[i]] - first[roots[i]] >= bucketMs) {
+                List<Integer> members = wide.get(roots[i]);
+                if (members == null) {
+                    members = new ArrayList<>();
+                    wide.put(roots[i], members);
+                }
+                members.add(i);
+            }
+        }
+        for (List<Integer> members : wide.values()) {
+            Integer[] sorted = members.toArray(new Integer[0]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(onsets[a], onsets[b]));
+            // Ranges of the sorted members still to split
+            ArrayDeque<int[]> ranges = new ArrayDeque<>();
+            ranges.push(new int[]{0, sorted.length});
+            while (!ranges.isEmpty()) {
+                int[] range = ranges.pop();
+                int from = range[0];
+                int to = range[1];
+                if (onsets[sorted[to - 1]] - onsets[sorted[from]] < bucketMs) {
+                    int root = Integer.MAX_VALUE;
+                    for (int i = from; i < to; i++) {
+                        root = Math.min(root, sorted[i]);
+                    }
+                    for (int i = from; i < to; i++) {
+                        roots[sorted[i]] = root;
+                    }
+                    continue;
+                }
+                // Cut at the widest gap, on ties the one nearest the middle to keep splits balanced
+                int middle = (from + to) >>> 1;
+                int cut = from + 1;
+                long widest = -1;
+                for (int i = from + 1; i < to; i++) {
+                    long gap = onsets[sorted[i]] - onsets[sorted[i - 1]];
+                    if (gap > widest || (gap == widest && Math.abs(i - middle) < Math.abs(cut - middle))) {
+                        widest = gap;
+                        cut = i;
+                    }
+                }
+                ranges.push(new int[]{from, cut});
+                ranges.push(new int[]{cut, to});
+            }
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            // Path halving
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            // Keep the lower index as root so results don't depend on arrival order within a bucket
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    private static SloIncident toIncident(List<SloSnapshot> members) {
+        Collections.sort(members, (a, b) ->
+                Double.compare(b.getBudgetDrop().getDropPercent(), a.getBudgetDrop().getDropPercent()));
+        SloSnapshot first = members.get(0);
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        double maxDrop = 0;
+        TrafficLightStatus worst = null;
+        boolean recent = false;
+        for (SloSnapshot member : members) {
+            BudgetDrop drop = member.getBudgetDrop();
+            if (drop.getOnsetTimestamp() < start ||
+                    (drop.getOnsetTimestamp() == start && member.getId().compareTo(first.getId()) < 0)) {
+                start = drop.getOnsetTimestamp();
+                first = member;
+            }
+            end = Math.max(end, drop.getOnsetTimestamp());
+            maxDrop = Math.max(maxDrop, drop.getDropPercent());
+            TrafficLightStatus status = member.getStatus();
+            if (status != null && (worst == null || status.ordinal() > worst.ordinal())) {
+                worst = status;
+            }
+            recent |= drop.isRecent();
+        }
+        return new SloIncident(first.getId(), start, end, members, maxDrop, worst, recent);
+    }
+}
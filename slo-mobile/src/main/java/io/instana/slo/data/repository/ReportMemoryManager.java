@@ -0,0 +1,288 @@
+package io.instana.slo.data.repository;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.SloSnapshot;
+import io.instana.slo.data.source.ReportCache;
+import io.instana.slo.data.source.WindowedReportSource;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the memory retained by SLO reports within a budget
+ *
+ * The footprint is the estimated size of every distinct report held by the list snapshots,
+ * the {@link ReportCache} and the fixed-window caches, plus the chart copies kept by the
+ * {@link SloRollupEngine}. When it exceeds the budget, or the system reports memory
+ * pressure through {@link #onTrimMemory(int)}, memory is freed in this order:
+ * memoized chart points, charts of SLOs that are not on screen (their snapshots keep a
+ * summary report, enough for the traffic light), least recently used fixed-window reports,
+ * least recently used cache entries, then the rollup charts.
+ * All methods must be called on the main thread.
+ */
+public class ReportMemoryManager implements ComponentCallbacks2 {
+    private static final String TAG = "ReportMemoryManager";
+    private static final long MAX_BUDGET_BYTES = 8L * 1024 * 1024;
+    // Share of the app heap limit that reports may use
+    private static final int HEAP_SHARE_DIVISOR = 16;
+    private static final int LOW_RAM_HEAP_SHARE_DIVISOR = 32;
+    private static ReportMemoryManager instance;
+
+    private final Context context;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable checkRunnable = this::checkBudget;
+    // On-screen SLO IDs with the number of views showing them
+    private final Map<String, Integer> onScreen = new HashMap<>();
+    private long budgetBytes;
+    private boolean checkPosted;
+    private long trimCount;
+
+    private ReportMemoryManager(Context context) {
+        this.context = context.getApplicationContext();
+        this.budgetBytes = defaultBudget(this.context);
+    }
+
+    /**
+     * Get singleton instance of the memory manager
+     */
+    public static synchronized ReportMemoryManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new ReportMemoryManager(context);
+        }
+        return instance;
+    }
+
+    private static long defaultBudget(Context context) {
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        if (activityManager == null) {
+            return MAX_BUDGET_BYTES;
+        }
+        long heapBytes = activityManager.getMemoryClass() * 1024L * 1024L;
+        int divisor = activityManager.isLowRamDevice() ? LOW_RAM_HEAP_SHARE_DIVISOR : HEAP_SHARE_DIVISOR;
+        return Math.min(MAX_BUDGET_BYTES, heapBytes / divisor);
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * Set the memory budget for reports; enforced right away
+     */
+    public void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = Math.max(0, budgetBytes);
+        checkBudget();
+    }
+
+    /**
+     * Mark an SLO as shown or no longer shown by a view
+     */
+    public void setOnScreen(String sloId, boolean shown) {
+        if (sloId == null) {
+            return;
+        }
+        Integer count = onScreen.get(sloId);
+        int newCount = (count != null ? count : 0) + (shown ? 1 : -1);
+        if (newCount > 0) {
+            onScreen.put(sloId, newCount);
+        } else {
+            onScreen.remove(sloId);
+        }
+    }
+
+    /**
+     * Schedule a budget check; several requests in a row result in one check
+     */
+    public void requestCheck() {
+        if (!checkPosted) {
+            checkPosted = true;
+            handler.post(checkRunnable);
+        }
+    }
+
+    private void checkBudget() {
+        checkPosted = false;
+        Footprint footprint = getFootprint();
+        if (footprint.bytes > budgetBytes) {
+            Log.d(TAG, "Over budget: " + footprint);
+            // Free a margin so the next few reports don't trigger another trim
+            trim(budgetBytes * 3 / 4, false);
+        }
+    }
+
+    /**
+     * Free memory until the footprint is at most the target
+     *
+     * @param targetBytes Footprint to reach
+     * @param includeOnScreen true to compact the reports of SLOs on screen as well
+     */
+    public void trim(long targetBytes, boolean includeOnScreen) {
+        trimCount++;
+        SloRepository repository = SloRepository.getInstance(context);
+        ReportCache cache = ReportCache.getInstance();
+
+        SloRollupEngine rollupEngine = SloRollupEngine.peekInstance();
+
+        // 1. Memoized chart points can always be rebuilt
+        Map<SloReport, Boolean> reports = distinctReports(repository, cache);
+        long bytes = rollupEngine != null ? rollupEngine.estimateChartBytes() : 0;
+        for (SloReport report : reports.keySet()) {
+            report.releaseChartCache();
+            bytes += report.estimateRetainedBytes();
+        }
+
+        // 2. Charts of off-screen SLOs; the list only needs the summary fields
+        Map<SloReport, Boolean> cached = new IdentityHashMap<>();
+        for (SloReport report : cache.getReports()) {
+            cached.put(report, Boolean.TRUE);
+        }
+        for (SloSnapshot snapshot : repository.getSnapshots()) {
+            if (bytes <= targetBytes) {
+                break;
+            }
+            SloReport report = snapshot.getReport();
+            if (report == null || report.isSummary() ||
+                    (!includeOnScreen && onScreen.containsKey(snapshot.getId()))) {
+                continue;
+            }
+            SloReport summary = repository.compact(snapshot.getId());
+            if (summary != null) {
+                // A report still held by the cache stays in memory until step 3
+                bytes += summary.estimateRetainedBytes();
+                if (!cached.containsKey(report)) {
+                    bytes -= report.estimateRetainedBytes();
+                }
+            }
+        }
+
+        // 3. Fixed-window reports, only used by the detail screen; fetched again when opened
+        if (bytes > targetBytes) {
+            bytes -= repository.getWindowedSource().trim(bytes - targetBytes);
+        }
+
+        // 4. Least recently used cache entries; evicted reports are fetched again when needed
+        if (bytes > targetBytes) {
+            cache.trim(bytes - targetBytes);
+        }
+
+        // 5. Rollup charts; they fill in again as new reports arrive
+        // (evicted cache entries may still be held by snapshots, so measure again)
+        if (rollupEngine != null && getFootprint().bytes > targetBytes) {
+            rollupEngine.releaseCharts();
+        }
+        Log.d(TAG, "Trimmed to " + getFootprint() + " (target " + targetBytes + " bytes)");
+    }
+
+    /**
+     * Estimate the memory currently retained by reports
+     */
+    public Footprint getFootprint() {
+        SloRepository repository = SloRepository.getInstance(context);
+        ReportCache cache = ReportCache.getInstance();
+        Map<SloReport, Boolean> reports = distinctReports(repository, cache);
+        long bytes = 0;
+        int summaries = 0;
+        for (SloReport report : reports.keySet()) {
+            bytes += report.estimateRetainedBytes();
+            if (report.isSummary()) {
+                summaries++;
+            }
+        }
+        SloRollupEngine rollupEngine = SloRollupEngine.peekInstance();
+        long rollupBytes = rollupEngine != null ? rollupEngine.estimateChartBytes() : 0;
+        return new Footprint(bytes + rollupBytes, budgetBytes, reports.size(), summaries, cache.size(),
+                rollupBytes, trimCount);
+    }
+
+    private static Map<SloReport, Boolean> distinctReports(SloRepository repository, ReportCache cache) {
+        // The cache and the snapshots usually share report instances; count each once
+        Map<SloReport, Boolean> reports = new IdentityHashMap<>();
+        for (SloSnapshot snapshot : repository.getSnapshots()) {
+            if (snapshot.getReport() != null) {
+                reports.put(snapshot.getReport(), Boolean.TRUE);
+            }
+        }
+        List<SloReport> cached = cache.getReports();
+        for (SloReport report : cached) {
+            reports.put(report, Boolean.TRUE);
+        }
+        WindowedReportSource windowedSource = repository.getWindowedSource();
+        for (SloReport report : windowedSource.getReports()) {
+            reports.put(report, Boolean.TRUE);
+        }
+        return reports;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        Log.d(TAG, "onTrimMemory(" + level + ")");
+        if (level >= TRIM_MEMORY_COMPLETE || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+            // About to be killed or the foreground is starved: keep summaries only
+            trim(0, true);
+        } else if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_LOW) {
+            trim(budgetBytes / 4, false);
+        } else if (level >= TRIM_MEMORY_UI_HIDDEN || level == TRIM_MEMORY_RUNNING_MODERATE) {
+            trim(budgetBytes / 2, false);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        trim(0, true);
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        // Not affected by configuration changes
+    }
+
+    /**
+     * Snapshot of the memory retained by reports
+     */
+    public static final class Footprint {
+        public final long bytes;
+        public final long budgetBytes;
+        public final int reports;
+        public final int summaries;
+        public final int cachedReports;
+        // Included in bytes
+        public final long rollupBytes;
+        public final long trims;
+
+        Footprint(long bytes, long budgetBytes, int reports, int summaries, int cachedReports, long rollupBytes,
+                  long trims) {
+            this.bytes = bytes;
+            this.budgetBytes = budgetBytes;
+            this.reports = reports;
+            this.summaries = summaries;
+            this.cachedReports = cachedReports;
+            this.rollupBytes = rollupBytes;
+            this.trims = trims;
+        }
+
+        @Override
+        public String toString() {
+            return "Footprint{" +
+                    "bytes=" + bytes +
+                    ", budget=" + budgetBytes +
+                    ", reports=" + reports +
+                    ", summaries=" + summaries +
+                    ", cached=" + cachedReports +
+                    ", rollup=" + rollupBytes +
+                    ", trims=" + trims +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package io.instana.slo.data.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloEntity;
+import io.instana.slo.data.model.TimeWindow;
+import io.instana.slo.data.source.SloDataSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide store for the SLO catalog (the list of SLO configurations)
+ *
+ * Every screen shares the same deduplicated copy. A cached catalog is handed out
+ * immediately and refreshed from the API in the background once it is older than
+ * {@link #FRESH_MS}; concurrent requests share a single fetch, except that a forced
+ * request never settles for a non-forced one and runs after it instead. Each real content
+ * change bumps the catalog version, and {@link #getCatalog()} only emits when the
+ * version changes. All methods must be called on the main thread.
+ */
+public class SloCatalogStore {
+    private static final String TAG = "SloCatalogStore";
+    private static final long FRESH_MS = 5 * 60_000L;
+    private static SloCatalogStore instance;
+
+    private final Context context;
+    private final MutableLiveData<Catalog> catalogLiveData = new MutableLiveData<>();
+    private final List<Listener> pendingListeners = new ArrayList<>();
+    // Waiting for the forced refresh queued behind a non-forced one
+    private final List<Listener> queuedListeners = new ArrayList<>();
+    private Catalog catalog;
+    private long nextVersion = 1;
+    private int generation;
+    private boolean refreshing;
+    private boolean refreshingForced;
+    private boolean forcedRefreshQueued;
+
+    /**
+     * Listener for a single catalog request
+     */
+    public interface Listener {
+        void onCatalogReady(Catalog catalog);
+
+        void onCatalogError(String message);
+    }
+
+    private SloCatalogStore(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    /**
+     * Get singleton instance of the catalog store
+     */
+    public static synchronized SloCatalogStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new SloCatalogStore(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Drop the cached catalog (e.g. when API settings change)
+     */
+    static synchronized void resetCatalog() {
+        if (instance != null) {
+            instance.clear();
+        }
+    }
+
+    /**
+     * Observe the catalog; emits only when its content actually changes
+     */
+    public LiveData<Catalog> getCatalog() {
+        return catalogLiveData;
+    }
+
+    /**
+     * Get the current catalog without triggering a load
+     *
+     * @return The cached catalog, or null if none has been loaded yet
+     */
+    public Catalog peek() {
+        return catalog;
+    }
+
+    /**
+     * Check whether the cached catalog can be used without a network call
+     */
+    public boolean isFresh() {
+        return catalog != null && System.currentTimeMillis() - catalog.loadedAt < FRESH_MS;
+    }
+
+    /**
+     * Request the catalog
+     *
+     * A cached catalog is returned right away (and refreshed in the background if it is
+     * no longer fresh); otherwise the listener is called once the fetch completes.
+     *
+     * @param forceRefresh true to always wait for a fresh copy from the API
+     */
+    public void load(boolean forceRefresh, Listener listener) {
+        if (!forceRefresh && catalog != null) {
+            if (listener != null) {
+                listener.onCatalogReady(catalog);
+            }
+            if (!isFresh()) {
+                // The cache tiers could answer with the same stale list
+                refresh(true);
+            }
+            return;
+        }
+        if (forceRefresh && refreshing && !refreshingForced) {
+            // The running request may be answered from a cache tier; ask the API once it is done
+            Log.d(TAG, "Forced catalog refresh queued behind the one in flight");
+            forcedRefreshQueued = true;
+            if (listener != null) {
+                queuedListeners.add(listener);
+            }
+            return;
+        }
+        if (listener != null) {
+            pendingListeners.add(listener);
+        }
+        refresh(forceRefresh);
+    }
+
+    private void refresh(boolean forceRefresh) {
+        if (refreshing) {
+            Log.d(TAG, "Catalog refresh already in flight - sharing it");
+            return;
+        }
+        refreshing = true;
+        refreshingForced = forceRefresh;
+        final int requestGeneration = generation;
+        SloDataSource dataSource = SloRepository.getInstance(context).getDataSource();
+        dataSource.getSloList(forceRefresh, new SloDataSource.LoadCallback<List<Slo>>() {
+            @Override
+            public void onLoaded(List<Slo> slos) {
+                // Unknown age - stamp it stale so the next load refreshes it
+                onLoaded(slos, 0);
+            }
+
+            @Override
+            public void onLoaded(List<Slo> slos, long fetchedAt) {
+                if (requestGeneration != generation) {
+                    return; // Settings changed while this request was in flight
+                }
+                refreshing = false;
+                publish(slos, fetchedAt);
+                startQueuedRefresh();
+            }
+
+            @Override
+            public void onNotAvailable() {
+                onLoaded(new ArrayList<>());
+            }
+
+            @Override
+            public void onError(String message, Throwable t) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                refreshing = false;
+                Log.e(TAG, "Catalog refresh failed: " + message, t);
+                List<Listener> listeners = new ArrayList<>(pendingListeners);
+                pendingListeners.clear();
+                for (Listener listener : listeners) {
+                    listener.onCatalogError(message);
+                }
+                startQueuedRefresh();
+            }
+        });
+    }
+
+    private void startQueuedRefresh() {
+        if (forcedRefreshQueued) {
+            forcedRefreshQueued = false;
+            pendingListeners.addAll(queuedListeners);
+            queuedListeners.clear();
+            refresh(true);
+        }
+    }
+
+    /**
+     * @param loadedAt when the list was fetched from the API (the cached copy's time if a cache
+     *                 tier answered), 0 if unknown
+     */
+    private void publish(List<Slo> slos, long loadedAt) {
+        Catalog previous = catalog;
+        List<Slo> merged = dedupe(slos, previous);
+
+        boolean changed = previous == null || !sameConfigs(previous.slos, merged);
+        if (changed) {
+            catalog = new Catalog(nextVersion++, merged, loadedAt);
+            Log.d(TAG, "Catalog updated to version " + catalog.version + " (" + merged.size() + " SLOs)");
+        } else {
+            // Same content - keep the version and instances, just update its age
+            catalog = new Catalog(previous.version, previous.slos, loadedAt);
+        }
+
+        List<Listener> listeners = new ArrayList<>(pendingListeners);
+        pendingListeners.clear();
+        for (Listener listener : listeners) {
+            listener.onCatalogReady(catalog);
+        }
+        if (changed) {
+            catalogLiveData.setValue(catalog);
+        }
+    }
+
+    private void clear() {
+        generation++;
+        refreshing = false;
+        forcedRefreshQueued = false;
+        catalog = null;
+        pendingListeners.clear();
+        queuedListeners.clear();
+        catalogLiveData.setValue(null);
+    }
+
+    /**
+     * Remove duplicate IDs and reuse the previous instance for every unchanged SLO,
+     * so unchanged SLOs keep their identity (and snapshot versions) across refreshes
+     */
+    private static List<Slo> dedupe(List<Slo> slos, Catalog previous) {
+        Map<String, Slo> previousById = new HashMap<>();
+        if (previous != null) {
+            for (Slo slo : previous.slos) {
+                previousById.put(slo.getId(), slo);
+            }
+        }
+        Map<String, Slo> byId = new LinkedHashMap<>();
+        for (Slo slo : slos) {
+            if (slo.getId() == null || byId.containsKey(slo.getId())) {
+                continue;
+            }
+            Slo old = previousById.get(slo.getId());
+            byId.put(slo.getId(), old != null && sameConfig(old, slo) ? old : slo);
+        }
+        return Collections.unmodifiableList(new ArrayList<>(byId.values()));
+    }
+
+    private static boolean sameConfigs(List<Slo> a, List<Slo> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i) && !sameConfig(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameConfig(Slo a, Slo b) {
+        return equal(a.getId(), b.getId()) &&
+               equal(a.getName(), b.getName()) &&
+               sameEntity(a.getEntity(), b.getEntity()) &&
+               sameTimeWindow(a.getTimeWindow(), b.getTimeWindow());
+    }
+
+    private static boolean sameEntity(SloEntity a, SloEntity b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getType() == b.getType() &&
+               equal(a.getEntityType(), b.getEntityType()) &&
+               equal(a.getApplicationId(), b.getApplicationId()) &&
+               equal(a.getWebsiteId(), b.getWebsiteId()) &&
+               equal(a.getSyntheticTestIds(), b.getSyntheticTestIds());
+    }
+
+    private static boolean sameTimeWindow(TimeWindow a, TimeWindow b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return equal(a.getType(), b.getType()) &&
+               a.getDuration() == b.getDuration() &&
+               equal(a.getDurationUnit(), b.getDurationUnit()) &&
+               equal(a.getTimezone(), b.getTimezone()) &&
+               equal(a.getStartTimestamp(), b.getStartTimestamp());
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Immutable, versioned snapshot of the SLO catalog
+     */
+    public static class Catalog {
+        private final long version;
+        private final List<Slo> slos;
+        private final long loadedAt;
+
+        Catalog(long version, List<Slo> slos, long loadedAt) {
+            this.version = version;
+            this.slos = slos;
+            this.loadedAt = loadedAt;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Get the SLO configurations (unmodifiable)
+         */
+        public List<Slo> getSlos() {
+            return slos;
+        }
+
+        /**
+         * Get when the catalog was fetched from the API; 0 if unknown
+         */
+        public long getLoadedAt() {
+            return loadedAt;
+        }
+    }
+}
@@ -5,45 +5,104 @@ import android.util.Log;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 
 import io.instana.slo.data.api.ApiClient;
-import io.instana.slo.data.api.InstanaApiService;
+import io.instana.slo.data.history.BudgetDropDetector;
+import io.instana.slo.data.history.BurnRateEvaluator;
+import io.instana.slo.data.history.ExhaustionForecaster;
+import io.instana.slo.data.history.FetchOrderPlanner;
+import io.instana.slo.data.history.SloHistoryStore;
+import io.instana.slo.data.model.ReportWindow;
 import io.instana.slo.data.model.Slo;
-import io.instana.slo.data.model.SloListResponse;
 import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.SloSnapshot;
+import io.instana.slo.data.model.TrafficLightStatus;
+import io.instana.slo.data.source.DiskSloDataSource;
+import io.instana.slo.data.source.MemorySloDataSource;
+import io.instana.slo.data.source.NetworkSloDataSource;
+import io.instana.slo.data.source.ReportCache;
+import io.instana.slo.data.source.SloDataSource;
+import io.instana.slo.data.source.TieredSloDataSource;
+import io.instana.slo.data.source.WindowedReportSource;
+import io.instana.slo.util.SettingsStore;
+import io.instana.slo.util.ThresholdPreview;
 import io.instana.slo.util.TrafficLightCalculator;
 import io.instana.slo.util.PreferencesManager;
 
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Repository for managing SLO data
- * Handles API calls and data transformation
+ * Queries a {@link SloDataSource} chain (memory -> disk -> network) and transforms the data
+ *
+ * Per-SLO state is published as immutable {@link SloSnapshot}s; shared SLO instances are
+ * never modified. Snapshot methods must be called on the main thread.
  */
 public class SloRepository {
     private static final String TAG = "SloRepository";
     private static final int MAX_RETRIES = 3;
+    // OkHttp runs at most 5 requests per host; more would only wait in its queue, out of our order
+    private static final int MAX_CONCURRENT_FETCHES = 5;
     private static SloRepository instance;
     
     private final PreferencesManager preferencesManager;
-    private final Context context;
+    private final SloHistoryStore historyStore;
+    private final FetchOrderPlanner fetchOrderPlanner;
+    private final SloDataSource dataSource;
+    private final ReportCache reportCache;
+    private final WindowedReportSource windowedSource;
+    private final Map<String, SloSnapshot> snapshots = new HashMap<>();
+    // Report fetches not dispatched yet, by SLO ID in dispatch order
+    private final LinkedHashMap<String, PendingFetch> fetchQueue = new LinkedHashMap<>();
+    // Dispatched fetches of the current generation, by SLO ID
+    private final Map<String, PendingFetch> inFlight = new HashMap<>();
+    private int fetchesInFlight;
+    private boolean dispatching;
+    private boolean planScheduled;
+    private final List<SnapshotListener> snapshotListeners = new ArrayList<>();
+    private final ReportMemoryManager memoryManager;
+    private final SettingsStore settingsStore;
+    private final Observer<SettingsStore.Settings> settingsObserver = this::onSettingsChanged;
+    // Threshold the published statuses were calculated with
+    private double statusThreshold;
+    // Incremented by every reset; fetches started before it are ignored
+    private int generation;
+
+    /**
+     * Listener notified whenever a new snapshot is published
+     */
+    public interface SnapshotListener {
+        void onSnapshotPublished(SloSnapshot snapshot);
+    }
 
-    private SloRepository(Context context) {
-        this.context = context.getApplicationContext();
+    private SloRepository(Context context, SloDataSource dataSource, WindowedReportSource.Fetcher windowFetcher) {
         this.preferencesManager = new PreferencesManager(context);
+        this.historyStore = SloHistoryStore.getInstance(context);
+        this.fetchOrderPlanner = new FetchOrderPlanner(historyStore);
+        this.dataSource = dataSource;
+        this.reportCache = ReportCache.getInstance();
+        this.windowedSource = new WindowedReportSource(windowFetcher);
+        this.memoryManager = ReportMemoryManager.getInstance(context);
+        this.settingsStore = SettingsStore.getInstance(context);
+        this.statusThreshold = preferencesManager.getYellowThreshold();
+        settingsStore.getSettings().observeForever(settingsObserver);
     }
-    
+
     /**
-     * Get the API service instance dynamically to ensure fresh configuration
+     * Build the default chain: in-memory -> persistent -> network
      */
-    private InstanaApiService getApiService() {
-        return ApiClient.getApiService(context);
+    private static SloDataSource createDefaultDataSource(Context context) {
+        return new TieredSloDataSource(
+                new MemorySloDataSource(),
+                new DiskSloDataSource(context),
+                new NetworkSloDataSource(context));
     }
 
     /**
@@ -51,85 +110,233 @@ public class SloRepository {
      */
     public static synchronized SloRepository getInstance(Context context) {
         if (instance == null) {
-            instance = new SloRepository(context);
+            instance = new SloRepository(context, createDefaultDataSource(context),
+                    new NetworkSloDataSource(context)::getSloReport);
         }
         return instance;
     }
 
+    /**
+     * Replace the singleton with one backed by the given data source
+     * (e.g. a chain ending in a FakeSloDataSource for deterministic runs without the network).
+     * Windowed reports come from the same source; its reports ignore the requested range.
+     */
+    static synchronized SloRepository setInstanceForTesting(Context context, SloDataSource dataSource) {
+        if (instance != null) {
+            instance.settingsStore.getSettings().removeObserver(instance.settingsObserver);
+        }
+        SloRollupEngine.resetInstance();
+        IncidentClusterEngine.resetInstance();
+        instance = new SloRepository(context, dataSource,
+                (sloId, from, to, callback) -> dataSource.getSloReport(sloId, false, callback));
+        return instance;
+    }
+
     /**
      * Reset the repository (useful when API settings change)
+     * Cached data and snapshots from the previous configuration are dropped. The instance
+     * itself is kept, so view models and listeners holding it keep seeing current data.
      */
-    public static void resetInstance() {
-        instance = null;
+    public static synchronized void resetInstance() {
+        if (instance != null) {
+            instance.reset();
+        }
+        SloRollupEngine.resetInstance();
+        IncidentClusterEngine.resetInstance();
         ApiClient.resetApiService();
+        SloCatalogStore.resetCatalog();
+    }
+
+    private void reset() {
+        dataSource.clear();
+        windowedSource.clear();
+        snapshots.clear();
+        fetchQueue.clear();
+        inFlight.clear();
+        // Reports still in flight belong to the previous configuration
+        generation++;
+    }
+
+    /**
+     * Get the data source chain used by this repository
+     */
+    public SloDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public void addSnapshotListener(SnapshotListener listener) {
+        snapshotListeners.add(listener);
+    }
+
+    public void removeSnapshotListener(SnapshotListener listener) {
+        snapshotListeners.remove(listener);
+    }
+
+    /**
+     * Get the current snapshot of an SLO (an initial one if nothing was loaded yet)
+     */
+    public SloSnapshot getSnapshot(Slo slo) {
+        SloSnapshot snapshot = snapshots.get(slo.getId());
+        if (snapshot == null) {
+            snapshot = SloSnapshot.initial(slo);
+            snapshots.put(slo.getId(), snapshot);
+        } else if (snapshot.getSlo() != slo) {
+            // The catalog handed out a new configuration instance
+            snapshot = snapshot.withSlo(slo);
+            snapshots.put(slo.getId(), snapshot);
+        }
+        return snapshot;
     }
 
     /**
-     * Fetch only the list of SLOs from the API (without reports)
+     * Get the source of fixed-window reports, for memory accounting
+     */
+    WindowedReportSource getWindowedSource() {
+        return windowedSource;
+    }
+
+    /**
+     * Get all current snapshots
+     */
+    List<SloSnapshot> getSnapshots() {
+        return new ArrayList<>(snapshots.values());
+    }
+
+    /**
+     * Replace the report of an SLO's snapshot with its chart-less summary
+     *
+     * @return The summary report, or null if there was nothing to compact
+     */
+    SloReport compact(String sloId) {
+        SloSnapshot snapshot = snapshots.get(sloId);
+        if (snapshot == null) {
+            return null;
+        }
+        SloSnapshot compacted = snapshot.compacted();
+        if (compacted == snapshot) {
+            return null;
+        }
+        publish(compacted);
+        return compacted.getReport();
+    }
+
+    /**
+     * Build a what-if preview of the statuses over the loaded reports
+     * Only selected SLOs are counted when a selection is configured.
+     */
+    public ThresholdPreview createThresholdPreview() {
+        Set<String> selection = settingsStore.get().getSelectedSloIds();
+        List<SloReport> reports = new ArrayList<>();
+        for (SloSnapshot snapshot : snapshots.values()) {
+            if (snapshot.getReport() != null && snapshot.getStatus() != null &&
+                    (selection.isEmpty() || selection.contains(snapshot.getId()))) {
+                reports.add(snapshot.getReport());
+            }
+        }
+        return ThresholdPreview.of(reports);
+    }
+
+    private void onSettingsChanged(SettingsStore.Settings settings) {
+        if (settings.getYellowThreshold() != statusThreshold) {
+            statusThreshold = settings.getYellowThreshold();
+            recomputeStatuses();
+        }
+    }
+
+    /**
+     * Recalculate the status of every loaded SLO from its report with the current threshold
+     * Reports are already in memory (summaries carry every field needed), so nothing is fetched.
+     */
+    private void recomputeStatuses() {
+        long start = System.nanoTime();
+        List<SloSnapshot> loaded = new ArrayList<>();
+        List<SloReport> reports = new ArrayList<>();
+        for (SloSnapshot snapshot : snapshots.values()) {
+            // Failed loads keep their unknown status
+            if (snapshot.getReport() != null && snapshot.getStatus() != null) {
+                loaded.add(snapshot);
+                reports.add(snapshot.getReport());
+            }
+        }
+        TrafficLightStatus[] statuses = TrafficLightCalculator.calculateAll(reports, statusThreshold);
+        int changed = 0;
+        for (int i = 0; i < statuses.length; i++) {
+            SloSnapshot snapshot = loaded.get(i);
+            if (statuses[i] != snapshot.getStatus()) {
+                publish(snapshot.withStatus(statuses[i]));
+                changed++;
+            }
+        }
+        Log.d(TAG, "Threshold " + statusThreshold + "%: " + changed + " of " + loaded.size() +
+                   " statuses changed in " + (System.nanoTime() - start) / 1000 + "us");
+    }
+
+    /**
+     * Store a snapshot and notify listeners if it differs from the current one
+     */
+    private void publish(SloSnapshot snapshot) {
+        SloSnapshot previous = snapshots.put(snapshot.getId(), snapshot);
+        if (previous == snapshot) {
+            return;
+        }
+        for (SnapshotListener listener : new ArrayList<>(snapshotListeners)) {
+            listener.onSnapshotPublished(snapshot);
+        }
+    }
+
+    /**
+     * Fetch only the list of SLOs (without reports)
      * Used for SLO selection in settings
      *
      * @return LiveData containing the list of SLOs without status
      */
     public LiveData<Result<List<Slo>>> getSloListOnly() {
+        return getSloListOnly(false);
+    }
+
+    /**
+     * Fetch only the list of SLOs (without reports)
+     *
+     * @param forceRefresh true to bypass cached copies and go to the API
+     * @return LiveData containing the list of SLOs without status
+     */
+    public LiveData<Result<List<Slo>>> getSloListOnly(boolean forceRefresh) {
         MutableLiveData<Result<List<Slo>>> result = new MutableLiveData<>();
         result.setValue(Result.loading());
 
-        getApiService().getSloList().enqueue(new Callback<SloListResponse>() {
+        dataSource.getSloList(forceRefresh, new SloDataSource.LoadCallback<List<Slo>>() {
             @Override
-            public void onResponse(Call<SloListResponse> call, Response<SloListResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    // Log raw response for debugging
-                    try {
-                        String rawJson = new com.google.gson.Gson().toJson(response.body());
-                        Log.d(TAG, "Raw API Response: " + rawJson);
-                    } catch (Exception e) {
-                        Log.e(TAG, "Could not serialize response", e);
-                    }
-                    
-                    List<Slo> slos = response.body().getItems();
-                    if (slos != null) {
-                        Log.d(TAG, "========================================");
-                        Log.d(TAG, "Fetched " + slos.size() + " SLOs from API");
-                        Log.d(TAG, "========================================");
-                        // Log detailed information for each SLO
-                        for (Slo slo : slos) {
-                            Log.d(TAG, "SLO: '" + slo.getName() + "' (id: " + slo.getId() + ")");
-                            if (slo.getEntity() == null) {
-                                Log.d(TAG, "  -> Entity: NULL");
-                            } else {
-                                Log.d(TAG, "  -> Entity: " + slo.getEntity().toString());
-                                if (slo.getEntity().getEntityType() == null) {
-                                    Log.d(TAG, "  -> EntityType: NULL");
-                                } else {
-                                    Log.d(TAG, "  -> EntityType: '" + slo.getEntity().getEntityType() + "'");
-                                }
-                            }
-                        }
-                        Log.d(TAG, "========================================");
-                        result.setValue(Result.success(slos));
+            public void onLoaded(List<Slo> slos) {
+                Log.d(TAG, "========================================");
+                Log.d(TAG, "Fetched " + slos.size() + " SLOs");
+                Log.d(TAG, "========================================");
+                // Log detailed information for each SLO
+                for (Slo slo : slos) {
+                    Log.d(TAG, "SLO: '" + slo.getName() + "' (id: " + slo.getId() + ")");
+                    if (slo.getEntity() == null) {
+                        Log.d(TAG, "  -> Entity: NULL");
                     } else {
-                        Log.w(TAG, "API returned null items list");
-                        result.setValue(Result.success(new ArrayList<>()));
-                    }
-                } else {
-                    String errorMsg = "Failed to fetch SLOs: " + response.code();
-                    Log.e(TAG, errorMsg);
-                    if (response.errorBody() != null) {
-                        try {
-                            Log.e(TAG, "Error body: " + response.errorBody().string());
-                        } catch (IOException e) {
-                            Log.e(TAG, "Could not read error body", e);
+                        Log.d(TAG, "  -> Entity: " + slo.getEntity().toString());
+                        if (slo.getEntity().getEntityType() == null) {
+                            Log.d(TAG, "  -> EntityType: NULL");
+                        } else {
+                            Log.d(TAG, "  -> EntityType: '" + slo.getEntity().getEntityType() + "'");
                         }
                     }
-                    result.setValue(Result.error(errorMsg));
                 }
+                Log.d(TAG, "========================================");
+                result.setValue(Result.success(slos));
+            }
+
+            @Override
+            public void onNotAvailable() {
+                result.setValue(Result.success(new ArrayList<>()));
             }
 
             @Override
-            public void onFailure(Call<SloListResponse> call, Throwable t) {
-                String errorMsg = "Network error: " + t.getMessage();
-                Log.e(TAG, errorMsg, t);
-                result.setValue(Result.error(errorMsg));
+            public void onError(String message, Throwable t) {
+                Log.e(TAG, message, t);
+                result.setValue(Result.error(message));
             }
         });
 
@@ -137,44 +344,43 @@ public class SloRepository {
     }
 
     /**
-     * Fetch the list of SLOs from the API with their reports and status
-     * Each SLO is loaded independently in its own thread
+     * Fetch the list of SLOs and start loading their reports
+     * Each SLO is loaded independently; see {@link #getSnapshot(Slo)}
      *
-     * @return LiveData containing the list of SLOs with their status
+     * @return LiveData containing the list of SLOs
      */
     public LiveData<Result<List<Slo>>> getSloList() {
+        return getSloList(false);
+    }
+
+    /**
+     * Fetch the list of SLOs and start loading their reports
+     *
+     * @param forceRefresh true to bypass cached copies and go to the API
+     * @return LiveData containing the list of SLOs
+     */
+    public LiveData<Result<List<Slo>>> getSloList(boolean forceRefresh) {
         MutableLiveData<Result<List<Slo>>> result = new MutableLiveData<>();
         result.setValue(Result.loading());
 
-        getApiService().getSloList().enqueue(new Callback<SloListResponse>() {
+        dataSource.getSloList(forceRefresh, new SloDataSource.LoadCallback<List<Slo>>() {
             @Override
-            public void onResponse(Call<SloListResponse> call, Response<SloListResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<Slo> slos = response.body().getItems();
-                    if (slos != null) {
-                        // Set all SLOs to NOT_LOADED state initially
-                        for (Slo slo : slos) {
-                            slo.setLoadingState(Slo.LoadingState.NOT_LOADED);
-                        }
-                        // Return the list immediately so UI can display SLOs
-                        result.setValue(Result.success(slos));
-                        // Then fetch reports for each SLO independently
-                        fetchReportsForSlosIndependently(slos, result);
-                    } else {
-                        result.setValue(Result.success(new ArrayList<>()));
-                    }
-                } else {
-                    String errorMsg = "Failed to fetch SLOs: " + response.code();
-                    Log.e(TAG, errorMsg);
-                    result.setValue(Result.error(errorMsg));
-                }
+            public void onLoaded(List<Slo> slos) {
+                // Return the list immediately so UI can display SLOs
+                result.setValue(Result.success(slos));
+                // Then fetch reports for each SLO independently; progress is published as snapshots
+                loadReportsForSlos(slos, forceRefresh);
             }
 
             @Override
-            public void onFailure(Call<SloListResponse> call, Throwable t) {
-                String errorMsg = "Network error: " + t.getMessage();
-                Log.e(TAG, errorMsg, t);
-                result.setValue(Result.error(errorMsg));
+            public void onNotAvailable() {
+                result.setValue(Result.success(new ArrayList<>()));
+            }
+
+            @Override
+            public void onError(String message, Throwable t) {
+                Log.e(TAG, message, t);
+                result.setValue(Result.error(message));
             }
         });
 
@@ -186,106 +392,198 @@ public class SloRepository {
      * Used to load reports only for filtered/visible SLOs
      *
      * @param slosToLoad List of SLOs to load reports for
-     * @param allSlos Complete list of all SLOs (for LiveData updates)
      */
-    public void loadReportsForSlos(List<Slo> slosToLoad, List<Slo> allSlos) {
+    public void loadReportsForSlos(List<Slo> slosToLoad) {
+        loadReportsForSlos(slosToLoad, false);
+    }
+
+    /**
+     * Load reports only for specific SLOs (lazy loading)
+     * Each SLO is queried on its own and a new snapshot is published as it progresses.
+     * At most {@link #MAX_CONCURRENT_FETCHES} requests run at once; the rest wait in a queue
+     * ordered likely-critical first by {@link FetchOrderPlanner}. Until the history of the
+     * previous session is loaded, fetches start in catalog order and only the ones still
+     * queued are reordered once it is. An SLO whose fetch is already running is not fetched
+     * again; a forced refresh requested meanwhile follows once the running fetch finishes.
+     *
+     * @param slosToLoad List of SLOs to load reports for
+     * @param forceRefresh true to bypass cached reports and go to the API
+     */
+    public void loadReportsForSlos(List<Slo> slosToLoad, boolean forceRefresh) {
         if (slosToLoad == null || slosToLoad.isEmpty()) {
             return;
         }
         
-        Log.d(TAG, "Loading reports for " + slosToLoad.size() + " SLOs (out of " + allSlos.size() + " total)");
-        
-        // Create a result LiveData for updates
-        MutableLiveData<Result<List<Slo>>> result = new MutableLiveData<>();
-        
-        // Fetch reports only for the specified SLOs
-        fetchReportsForSlosIndependently(slosToLoad, result);
+        Log.d(TAG, "Loading reports for " + slosToLoad.size() + " SLOs");
+
+        for (Slo slo : slosToLoad) {
+            publish(getSnapshot(slo).loading());
+        }
+        boolean planned = historyStore.isLoaded();
+        for (Slo slo : planned ? fetchOrderPlanner.plan(slosToLoad) : slosToLoad) {
+            PendingFetch running = inFlight.get(slo.getId());
+            if (running != null) {
+                // Its result is about to be published; only a stronger request needs another fetch
+                running.refreshAfter |= forceRefresh && !running.forceRefresh;
+            } else {
+                enqueue(slo, forceRefresh);
+            }
+        }
+        if (!planned && !planScheduled) {
+            // The plan needs the statuses of the previous session, which load in the background
+            planScheduled = true;
+            historyStore.runWhenLoaded(this::planQueuedFetches);
+        }
+        dispatchFetches();
+    }
+
+    private void enqueue(Slo slo, boolean forceRefresh) {
+        PendingFetch pending = fetchQueue.get(slo.getId());
+        if (pending != null) {
+            // Already queued; keep its place
+            pending.slo = slo;
+            pending.forceRefresh |= forceRefresh;
+        } else {
+            fetchQueue.put(slo.getId(), new PendingFetch(slo, forceRefresh));
+        }
+    }
+
+    /**
+     * Reorder the fetches that have not been dispatched yet
+     */
+    private void planQueuedFetches() {
+        planScheduled = false;
+        if (fetchQueue.isEmpty()) {
+            return;
+        }
+        List<Slo> queued = new ArrayList<>(fetchQueue.size());
+        for (PendingFetch pending : fetchQueue.values()) {
+            queued.add(pending.slo);
+        }
+        Map<String, PendingFetch> previous = new HashMap<>(fetchQueue);
+        fetchQueue.clear();
+        for (Slo slo : fetchOrderPlanner.plan(queued)) {
+            fetchQueue.put(slo.getId(), previous.get(slo.getId()));
+        }
+        Log.d(TAG, "Planned " + fetchQueue.size() + " queued fetches");
     }
 
     /**
-     * Fetch reports for all SLOs independently
-     * Each SLO is loaded in its own thread and updates are pushed individually
+     * Start queued fetches while there is room
+     * Cached reports complete synchronously, so this is guarded against re-entry.
      */
-    private void fetchReportsForSlosIndependently(List<Slo> slos, MutableLiveData<Result<List<Slo>>> result) {
-        final double yellowThreshold = preferencesManager.getYellowThreshold();
-
-        for (Slo slo : slos) {
-            // Don't set up listener here - the ViewModel will set it up
-            // Just log when loading completes
-            
-            // Set loading state
-            slo.setLoadingState(Slo.LoadingState.LOADING);
-            // Create a new list to trigger LiveData change detection
-            result.setValue(Result.success(new ArrayList<>(slos)));
-
-            // Fetch report with retry logic
-            fetchSloReportWithRetry(slo, slos, result, yellowThreshold, 0);
+    private void dispatchFetches() {
+        if (dispatching) {
+            return;
+        }
+        dispatching = true;
+        try {
+            Iterator<PendingFetch> iterator = fetchQueue.values().iterator();
+            while (fetchesInFlight < MAX_CONCURRENT_FETCHES && iterator.hasNext()) {
+                PendingFetch pending = iterator.next();
+                iterator.remove();
+                fetchesInFlight++;
+                inFlight.put(pending.slo.getId(), pending);
+                // Fetch report with retry logic
+                fetchSloReportWithRetry(pending.slo, pending.forceRefresh, 0, generation);
+                // A synchronous completion may have changed the queue
+                iterator = fetchQueue.values().iterator();
+            }
+        } finally {
+            dispatching = false;
+        }
+    }
+
+    private void onFetchFinished(Slo slo, int requestGeneration) {
+        fetchesInFlight--;
+        if (requestGeneration == generation) {
+            PendingFetch finished = inFlight.remove(slo.getId());
+            if (finished != null && finished.refreshAfter) {
+                publish(getSnapshot(finished.slo).loading());
+                enqueue(finished.slo, true);
+            }
+        }
+        dispatchFetches();
+        if (fetchesInFlight == 0 && fetchQueue.isEmpty() && dataSource instanceof TieredSloDataSource) {
+            // Every report of the last catalog load has been resolved
+            ((TieredSloDataSource) dataSource).logStats();
         }
     }
 
     /**
      * Fetch SLO report with automatic retry on failure
      */
-    private void fetchSloReportWithRetry(Slo slo, List<Slo> slos, MutableLiveData<Result<List<Slo>>> result,
-                                         double yellowThreshold, int attemptNumber) {
-        getApiService().getSloReport(slo.getId()).enqueue(new Callback<SloReport>() {
+    private void fetchSloReportWithRetry(Slo slo, boolean forceRefresh, int attemptNumber, int requestGeneration) {
+        dataSource.getSloReport(slo.getId(), forceRefresh, new SloDataSource.LoadCallback<SloReport>() {
             @Override
-            public void onResponse(Call<SloReport> call, Response<SloReport> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    SloReport report = response.body();
-                    slo.setReport(report);
-                    
-                    // Calculate traffic light status
-                    slo.setStatus(TrafficLightCalculator.calculate(
-                            report.getSli(),
-                            report.getSloTarget(),
-                            report.getErrorBudgetRemaining(),
-                            report.getTotalErrorBudget(),
-                            yellowThreshold
-                    ));
-                    Log.d(TAG, "SLO '" + slo.getName() + "' loaded successfully. Status: " + slo.getStatus());
-                    // Setting loading state will trigger the ViewModel's listener
-                    slo.setLoadingState(Slo.LoadingState.LOADED);
-                } else {
-                    // Loading failed - retry if attempts remain
-                    if (attemptNumber < MAX_RETRIES - 1) {
-                        int nextAttempt = attemptNumber + 1;
-                        Log.w(TAG, "Failed to fetch SLO report for '" + slo.getName() + "' (attempt " +
-                              (attemptNumber + 1) + "/" + MAX_RETRIES + "): " + response.code() +
-                              ". Retrying...");
-                        fetchSloReportWithRetry(slo, slos, result, yellowThreshold, nextAttempt);
-                    } else {
-                        String errorMsg = "Failed to fetch SLO report for '" + slo.getName() +
-                                        "' after " + MAX_RETRIES + " attempts: " + response.code();
-                        Log.e(TAG, errorMsg);
-                        slo.setStatus(null); // Will show as "Unknown"
-                        // Setting loading state will trigger the ViewModel's listener
-                        slo.setLoadingState(Slo.LoadingState.FAILED);
-                    }
+            public void onLoaded(SloReport report) {
+                if (requestGeneration != generation) {
+                    onFetchFinished(slo, requestGeneration);
+                    return;
                 }
+                // Calculate traffic light status with the threshold current at arrival
+                TrafficLightStatus status = TrafficLightCalculator.calculate(
+                        report.getSli(),
+                        report.getSloTarget(),
+                        report.getErrorBudgetRemaining(),
+                        report.getTotalErrorBudget(),
+                        statusThreshold
+                );
+
+                // Keep a local sample so trends don't need extra API calls
+                historyStore.record(slo.getId(), report, status);
+                Log.d(TAG, "SLO '" + slo.getName() + "' loaded successfully. Status: " + status);
+                publish(getSnapshot(slo).loaded(report, status,
+                        historyStore.getTrend(slo.getId()),
+                        historyStore.hasChangedSinceLastOpen(slo.getId()),
+                        // Derived from the chart already downloaded; no extra request
+                        ExhaustionForecaster.forecast(report),
+                        BurnRateEvaluator.evaluate(report, slo.getTimeWindow() != null ?
+                                slo.getTimeWindow() : report.getTimeWindow()),
+                        BudgetDropDetector.detect(report)));
+                memoryManager.requestCheck();
+                onFetchFinished(slo, requestGeneration);
             }
 
             @Override
-            public void onFailure(Call<SloReport> call, Throwable t) {
-                // Network error - retry if attempts remain
+            public void onNotAvailable() {
+                onError("No report available", null);
+            }
+
+            @Override
+            public void onError(String message, Throwable t) {
+                if (requestGeneration != generation) {
+                    onFetchFinished(slo, requestGeneration);
+                    return;
+                }
+                // Loading failed - retry if attempts remain
                 if (attemptNumber < MAX_RETRIES - 1) {
                     int nextAttempt = attemptNumber + 1;
-                    Log.w(TAG, "Network error for SLO '" + slo.getName() + "' (attempt " +
-                          (attemptNumber + 1) + "/" + MAX_RETRIES + "): " + t.getMessage() +
+                    Log.w(TAG, "Failed to fetch SLO report for '" + slo.getName() + "' (attempt " +
+                          (attemptNumber + 1) + "/" + MAX_RETRIES + "): " + message +
                           ". Retrying...");
-                    fetchSloReportWithRetry(slo, slos, result, yellowThreshold, nextAttempt);
+                    fetchSloReportWithRetry(slo, forceRefresh, nextAttempt, requestGeneration);
                 } else {
-                    String errorMsg = "Network error for SLO '" + slo.getName() +
-                                    "' after " + MAX_RETRIES + " attempts: " + t.getMessage();
+                    String errorMsg = "Failed to fetch SLO report for '" + slo.getName() +
+                                    "' after " + MAX_RETRIES + " attempts: " + message;
                     Log.e(TAG, errorMsg, t);
-                    slo.setStatus(null); // Will show as "Unknown"
-                    // Setting loading state will trigger the ViewModel's listener
-                    slo.setLoadingState(Slo.LoadingState.FAILED);
+                    // Status becomes unknown
+                    publish(getSnapshot(slo).failed());
+                    onFetchFinished(slo, requestGeneration);
                 }
             }
         });
     }
 
+    /**
+     * Get the report for an SLO from the in-memory cache, even if it is stale
+     *
+     * @return The cache entry, or null if no usable copy is cached
+     */
+    public ReportCache.Entry getCachedReport(String sloId) {
+        return reportCache.get(sloId);
+    }
+
     /**
      * Fetch detailed report for a specific SLO
      * 
@@ -293,32 +591,95 @@ public class SloRepository {
      * @return LiveData containing the SLO report
      */
     public LiveData<Result<SloReport>> getSloReport(String sloId) {
+        return getSloReport(sloId, false);
+    }
+
+    /**
+     * Fetch detailed report for a specific SLO
+     *
+     * @param sloId The ID of the SLO
+     * @param forceRefresh true to skip the caches and ask the API
+     * @return LiveData containing the SLO report
+     */
+    public LiveData<Result<SloReport>> getSloReport(String sloId, boolean forceRefresh) {
         MutableLiveData<Result<SloReport>> result = new MutableLiveData<>();
         result.setValue(Result.loading());
 
-        getApiService().getSloReport(sloId).enqueue(new Callback<SloReport>() {
+        dataSource.getSloReport(sloId, forceRefresh, new SloDataSource.LoadCallback<SloReport>() {
             @Override
-            public void onResponse(Call<SloReport> call, Response<SloReport> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    result.setValue(Result.success(response.body()));
-                } else {
-                    String errorMsg = "Failed to fetch SLO report: " + response.code();
-                    Log.e(TAG, errorMsg);
-                    result.setValue(Result.error(errorMsg));
-                }
+            public void onLoaded(SloReport report) {
+                result.setValue(Result.success(report));
+            }
+
+            @Override
+            public void onNotAvailable() {
+                onError("No report available for SLO " + sloId, null);
             }
 
             @Override
-            public void onFailure(Call<SloReport> call, Throwable t) {
-                String errorMsg = "Network error: " + t.getMessage();
-                Log.e(TAG, errorMsg, t);
-                result.setValue(Result.error(errorMsg));
+            public void onError(String message, Throwable t) {
+                Log.e(TAG, message, t);
+                result.setValue(Result.error(message));
             }
         });
 
         return result;
     }
 
+    /**
+     * Get a cached report of an SLO over a fixed window, fresh or stale
+     */
+    public ReportCache.Entry getCachedWindowReport(String sloId, ReportWindow window) {
+        return windowedSource.getCached(sloId, window);
+    }
+
+    /**
+     * Fetch the report of an SLO over a fixed window (e.g. the last 7 days)
+     * Different windows are fetched in parallel and cached separately.
+     *
+     * @param forceRefresh true to skip a fresh cached copy
+     * @return LiveData containing the SLO report
+     */
+    public LiveData<Result<SloReport>> getWindowReport(String sloId, ReportWindow window, boolean forceRefresh) {
+        MutableLiveData<Result<SloReport>> result = new MutableLiveData<>();
+        result.setValue(Result.loading());
+
+        windowedSource.getReport(sloId, window, forceRefresh, new SloDataSource.LoadCallback<SloReport>() {
+            @Override
+            public void onLoaded(SloReport report) {
+                result.setValue(Result.success(report));
+            }
+
+            @Override
+            public void onNotAvailable() {
+                onError("No " + window.getLabel() + " report available for SLO " + sloId, null);
+            }
+
+            @Override
+            public void onError(String message, Throwable t) {
+                Log.e(TAG, message, t);
+                result.setValue(Result.error(message));
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * A report fetch waiting for a free slot
+     */
+    private static final class PendingFetch {
+        Slo slo;
+        boolean forceRefresh;
+        // A forced refresh was requested while this (non-forced) fetch was running
+        boolean refreshAfter;
+
+        PendingFetch(Slo slo, boolean forceRefresh) {
+            this.slo = slo;
+            this.forceRefresh = forceRefresh;
+        }
+    }
+
     /**
      * Result wrapper class for API responses
      */
@@ -0,0 +1,474 @@
+package io.instana.slo.data.repository;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+
+import io.instana.slo.data.model.ChartSeries;
+import io.instana.slo.data.model.EntityType;
+import io.instana.slo.data.model.SloEntity;
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.SloRollup;
+import io.instana.slo.data.model.SloSnapshot;
+import io.instana.slo.data.model.TrafficLightStatus;
+import io.instana.slo.util.SettingsStore;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups SLOs by the entity they measure and keeps a {@link SloRollup} per group
+ *
+ * Every published snapshot only moves its own SLO's contribution: status counts and budget
+ * sums are adjusted by the difference, and the merged series is kept as per-bucket sums on
+ * a dense time grid, so the previous chart contribution is subtracted and the new one added
+ * without visiting the other members. Rollups of changed groups are rebuilt once per main
+ * thread turn. All methods must be called on the main thread.
+ */
+public class SloRollupEngine implements SloRepository.SnapshotListener {
+    private static final String TAG = "SloRollupEngine";
+    // Width of a merged series bucket; charts of different windows line up on it
+    static final long BUCKET_MS = 15 * 60_000L;
+    private static final int UNKNOWN_SLOT = TrafficLightStatus.values().length;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static SloRollupEngine instance;
+
+    private final SloRepository repository;
+    private final SettingsStore settingsStore;
+    private final Observer<SettingsStore.Settings> settingsObserver = this::onSettingsChanged;
+    private final Map<String, Group> groups = new HashMap<>();
+    private final Map<String, Member> members = new HashMap<>();
+    private final MutableLiveData<List<SloRollup>> rollups = new MutableLiveData<>(Collections.emptyList());
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable publishRunnable = this::publishRollups;
+    private Set<String> selection;
+    private boolean publishPosted;
+
+    private SloRollupEngine(Context context, SloRepository repository) {
+        this.repository = repository;
+        this.settingsStore = SettingsStore.getInstance(context);
+        this.selection = settingsStore.get().getSelectedSloIds();
+        rebuild();
+        repository.addSnapshotListener(this);
+        settingsStore.getSettings().observeForever(settingsObserver);
+    }
+
+    /**
+     * Get singleton instance of the rollup engine, following the current repository
+     */
+    public static SloRollupEngine getInstance(Context context) {
+        // Taken outside our lock; the repository resets us while holding its own
+        SloRepository repository = SloRepository.getInstance(context);
+        synchronized (SloRollupEngine.class) {
+            if (instance == null || instance.repository != repository) {
+                release();
+                instance = new SloRollupEngine(context.getApplicationContext(), repository);
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Get the engine if one exists, without creating it
+     */
+    static synchronized SloRollupEngine peekInstance() {
+        return instance;
+    }
+
+    /**
+     * Detach from the repository; the next {@link #getInstance(Context)} starts over
+     */
+    static synchronized void resetInstance() {
+        release();
+        instance = null;
+    }
+
+    private static void release() {
+        if (instance != null) {
+            instance.repository.removeSnapshotListener(instance);
+            instance.settingsStore.getSettings().removeObserver(instance.settingsObserver);
+            instance.handler.removeCallbacks(instance.publishRunnable);
+        }
+    }
+
+    /**
+     * Observe the rollups, worst group first
+     */
+    public LiveData<List<SloRollup>> getRollups() {
+        return rollups;
+    }
+
+    @Override
+    public void onSnapshotPublished(SloSnapshot snapshot) {
+        update(snapshot);
+        schedulePublish();
+    }
+
+    /**
+     * Estimate the heap retained by the per-member chart copies and the merged series
+     */
+    long estimateChartBytes() {
+        long bytes = 0;
+        for (Member member : members.values()) {
+            bytes += ARRAY_HEADER_BYTES + 4L * member.chartValues.length;
+        }
+        for (Group group : groups.values()) {
+            bytes += 3 * ARRAY_HEADER_BYTES + (8L + 8L + 4L) * group.counts.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Drop all chart data under memory pressure; counts and budgets stay exact
+     * Merged series fill in again as members publish new full reports.
+     *
+     * @return Estimated bytes freed
+     */
+    long releaseCharts() {
+        long bytes = estimateChartBytes();
+        for (Member member : members.values()) {
+            member.clearChart();
+        }
+        for (Group group : groups.values()) {
+            group.clearCharts();
+        }
+        schedulePublish();
+        Log.d(TAG, "Released about " + bytes + " bytes of rollup charts");
+        return bytes;
+    }
+
+    private void onSettingsChanged(SettingsStore.Settings settings) {
+        if (settings.getSelectedSloIds() != selection) {
+            selection = settings.getSelectedSloIds();
+            rebuild();
+            schedulePublish();
+        }
+    }
+
+    /**
+     * Recreate all groups from the repository (after a selection change)
+     */
+    private void rebuild() {
+        groups.clear();
+        members.clear();
+        for (SloSnapshot snapshot : repository.getSnapshots()) {
+            update(snapshot);
+        }
+        Log.d(TAG, "Rebuilt " + groups.size() + " rollups of " + members.size() + " SLOs");
+    }
+
+    private void update(SloSnapshot snapshot) {
+        String id = snapshot.getId();
+        Member member = members.get(id);
+        if (!selection.isEmpty() && !selection.contains(id)) {
+            if (member != null) {
+                members.remove(id);
+                detach(member);
+            }
+            return;
+        }
+        String key = groupKey(snapshot.getEntity());
+        if (member != null && !member.group.key.equals(key)) {
+            // The entity of the SLO was reconfigured
+            members.remove(id);
+            detach(member);
+            member = null;
+        }
+        if (member == null) {
+            Group group = groups.get(key);
+            if (group == null) {
+                SloEntity entity = snapshot.getEntity();
+                group = new Group(key, entity != null ? entity.getType() : null,
+                        entity != null ? entity.getEntityId() : null);
+                groups.put(key, group);
+            }
+            member = new Member(group);
+            members.put(id, member);
+            group.memberCount++;
+            group.statusCounts[UNKNOWN_SLOT]++;
+        }
+
+        Group group = member.group;
+        group.statusCounts[member.statusSlot]--;
+        member.statusSlot = snapshot.getStatus() != null ? snapshot.getStatus().ordinal() : UNKNOWN_SLOT;
+        group.statusCounts[member.statusSlot]++;
+        group.pendingCount += (snapshot.isPending() ? 1 : 0) - (member.pending ? 1 : 0);
+        member.pending = snapshot.isPending();
+
+        SloReport report = snapshot.getReport();
+        if (report != null) {
+            group.totalErrorBudget += report.getTotalErrorBudget() - member.totalErrorBudget;
+            group.errorBudgetRemaining += report.getErrorBudgetRemaining() - member.errorBudgetRemaining;
+            member.totalErrorBudget = report.getTotalErrorBudget();
+            member.errorBudgetRemaining = report.getErrorBudgetRemaining();
+            // Summaries have no chart; the last full one stays merged
+            if (!report.isSummary() && member.chartReport.get() != report) {
+                group.addChart(member, -1);
+                member.setChart(report);
+                group.addChart(member, 1);
+            }
+        }
+        group.rollup = null;
+    }
+
+    private void detach(Member member) {
+        Group group = member.group;
+        group.addChart(member, -1);
+        group.memberCount--;
+        group.statusCounts[member.statusSlot]--;
+        group.pendingCount -= member.pending ? 1 : 0;
+        group.totalErrorBudget -= member.totalErrorBudget;
+        group.errorBudgetRemaining -= member.errorBudgetRemaining;
+        group.rollup = null;
+        if (group.memberCount == 0) {
+            groups.remove(group.key);
+        }
+    }
+
+    private static String groupKey(SloEntity entity) {
+        if (entity == null || entity.getType() == null) {
+            return "";
+        }
+        String entityId = entity.getEntityId();
+        return entity.getType().name() + ':' + (entityId != null ? entityId : "");
+    }
+
+    private void schedulePublish() {
+        if (!publishPosted) {
+            publishPosted = true;
+            handler.post(publishRunnable);
+        }
+    }
+
+    private void publishRollups() {
+        publishPosted = false;
+        long start = System.nanoTime();
+        int rebuilt = 0;
+        List<SloRollup> list = new ArrayList<>(groups.size());
+        for (Group group : groups.values()) {
+            if (group.rollup == null) {
+                group.rollup = group.toRollup();
+                rebuilt++;
+            }
+            list.add(group.rollup);
+        }
+        Collections.sort(list, (a, b) -> {
+            int result = Integer.compare(severity(b.getWorstStatus()), severity(a.getWorstStatus()));
+            if (result == 0) {
+                result = Double.compare(a.getErrorBudgetRemainingPercentage(), b.getErrorBudgetRemainingPercentage());
+            }
+            return result != 0 ? result : a.getKey().compareTo(b.getKey());
+        });
+        Log.d(TAG, "Published " + list.size() + " rollups (" + rebuilt + " rebuilt) in " +
+                   (System.nanoTime() - start) / 1000 + "us");
+        rollups.setValue(Collections.unmodifiableList(list));
+    }
+
+    private static int severity(TrafficLightStatus status) {
+        return status != null ? status.ordinal() + 1 : 0;
+    }
+
+    /**
+     * What one SLO currently contributes to its group
+     */
+    private static final class Member {
+        final Group group;
+        int statusSlot = UNKNOWN_SLOT;
+        boolean pending;
+        double totalErrorBudget;
+        double errorBudgetRemaining;
+        // Report the chart values were taken from; weak so trimmed reports can be collected
+        WeakReference<SloReport> chartReport = new WeakReference<>(null);
+        long chartFirstBucket;
+        float[] chartValues = new float[0];   // Per bucket from the first one, NaN for gaps
+        double chartBudget;
+
+        Member(Group group) {
+            this.group = group;
+        }
+
+        void clearChart() {
+            chartReport = new WeakReference<>(null);
+            chartValues = new float[0];
+        }
+
+        /**
+         * Take the last chart value of every bucket in one pass over the report's chart
+         */
+        void setChart(SloReport report) {
+            chartReport = new WeakReference<>(report);
+            chartBudget = report.getTotalErrorBudget();
+            ChartSeries series = report.getErrorBudgetRemainSeries();
+            if (series.isEmpty()) {
+                chartValues = new float[0];
+                return;
+            }
+            long[] timestamps = report.getErrorBudgetRemainTimestamps();
+            chartFirstBucket = Math.floorDiv(timestamps[0], BUCKET_MS);
+            int buckets = (int) (Math.floorDiv(timestamps[timestamps.length - 1], BUCKET_MS) - chartFirstBucket + 1);
+            float[] values = new float[buckets];
+            Arrays.fill(values, Float.NaN);
+            for (int i = 0; i < series.size(); i++) {
+                int index = (int) (Math.floorDiv(timestamps[i], BUCKET_MS) - chartFirstBucket);
+                values[index] = series.getValue(i);
+            }
+            chartValues = values;
+        }
+    }
+
+    /**
+     * Running totals of one group; the merged series is stored as dense per-bucket sums
+     */
+    private static final class Group {
+        final String key;
+        final EntityType entityType;
+        final String entityId;
+        int memberCount;
+        int pendingCount;
+        final int[] statusCounts = new int[UNKNOWN_SLOT + 1];
+        double totalErrorBudget;
+        double errorBudgetRemaining;
+        long firstBucket;
+        double[] remainingSums = new double[0];
+        double[] budgetSums = new double[0];
+        int[] counts = new int[0];
+        // Last built rollup, null after a change
+        SloRollup rollup;
+
+        Group(String key, EntityType entityType, String entityId) {
+            this.key = key;
+            this.entityType = entityType;
+            this.entityId = entityId;
+        }
+
+        void clearCharts() {
+            remainingSums = new double[0];
+            budgetSums = new double[0];
+            counts = new int[0];
+            rollup = null;
+        }
+
+        /**
+         * Add (sign 1) or remove (sign -1) a member's chart values
+         */
+        void addChart(Member member, int sign) {
+            float[] values = member.chartValues;
+            if (values.length == 0) {
+                return;
+            }
+            ensureRange(member.chartFirstBucket, member.chartFirstBucket + values.length - 1);
+            int offset = (int) (member.chartFirstBucket - firstBucket);
+            for (int i = 0; i < values.length; i++) {
+                if (Float.isNaN(values[i])) {
+                    continue;
+                }
+                int index = offset + i;
+                counts[index] += sign;
+                if (counts[index] == 0) {
+                    // Don't let rounding errors outlive the last contributor
+                    remainingSums[index] = 0;
+                    budgetSums[index] = 0;
+                } else {
+                    remainingSums[index] += sign * values[i];
+                    budgetSums[index] += sign * member.chartBudget;
+                }
+            }
+            if (sign < 0) {
+                trimEmptyBuckets();
+            }
+        }
+
+        /**
+         * Drop leading and trailing buckets no member contributes to any more.
+         * Only shrinks once they make up half of the arrays, so the slack added by
+         * {@link #ensureRange(long, long)} isn't given back on every refresh.
+         */
+        private void trimEmptyBuckets() {
+            int first = 0;
+            while (first < counts.length && counts[first] == 0) {
+                first++;
+            }
+            if (first == counts.length) {
+                remainingSums = new double[0];
+                budgetSums = new double[0];
+                counts = new int[0];
+                return;
+            }
+            int last = counts.length - 1;
+            while (counts[last] == 0) {
+                last--;
+            }
+            int used = last - first + 1;
+            if (used * 2 > counts.length) {
+                return;
+            }
+            remainingSums = Arrays.copyOfRange(remainingSums, first, last + 1);
+            budgetSums = Arrays.copyOfRange(budgetSums, first, last + 1);
+            counts = Arrays.copyOfRange(counts, first, last + 1);
+            firstBucket += first;
+        }
+
+        private void ensureRange(long from, long to) {
+            if (counts.length == 0) {
+                firstBucket = from;
+                resize(0, (int) (to - from + 1));
+                return;
+            }
+            long lastBucket = firstBucket + counts.length - 1;
+            if (from >= firstBucket && to <= lastBucket) {
+                return;
+            }
+            // Grow with slack so a rolling window doesn't reallocate on every refresh
+            int slack = counts.length / 2;
+            long newFirst = from < firstBucket ? from - slack : firstBucket;
+            long newLast = to > lastBucket ? to + slack : lastBucket;
+            int shift = (int) (firstBucket - newFirst);
+            firstBucket = newFirst;
+            resize(shift, (int) (newLast - newFirst + 1));
+        }
+
+        private void resize(int shift, int length) {
+            double[] newRemaining = new double[length];
+            double[] newBudget = new double[length];
+            int[] newCounts = new int[length];
+            System.arraycopy(remainingSums, 0, newRemaining, shift, remainingSums.length);
+            System.arraycopy(budgetSums, 0, newBudget, shift, budgetSums.length);
+            System.arraycopy(counts, 0, newCounts, shift, counts.length);
+            remainingSums = newRemaining;
+            budgetSums = newBudget;
+            counts = newCounts;
+        }
+
+        SloRollup toRollup() {
+            int buckets = 0;
+            for (int count : counts) {
+                if (count > 0) {
+                    buckets++;
+                }
+            }
+            long[] timestamps = new long[buckets];
+            float[] percentages = new float[buckets];
+            int next = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    timestamps[next] = (firstBucket + i) * BUCKET_MS;
+                    percentages[next] = budgetSums[i] > 0 ? (float) (remainingSums[i] / budgetSums[i] * 100.0) : 0f;
+                    next++;
+                }
+            }
+            return new SloRollup(key, entityType, entityId, memberCount, pendingCount, statusCounts,
+                    totalErrorBudget, errorBudgetRemaining, timestamps, percentages);
+        }
+    }
+}
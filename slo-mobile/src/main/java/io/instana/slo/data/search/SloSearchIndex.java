@@ -0,0 +1,210 @@
+package io.instana.slo.data.search;
+
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Trigram index over SLO names, entity types and IDs for substring search
+ *
+ * Each SLO gets one lower-case search text. Every trigram of that text maps to the sorted
+ * ordinals of the SLOs containing it, so a query only verifies the SLOs in the shortest
+ * posting list of its trigrams. Terms shorter than three characters fall back to a scan
+ * of the prebuilt texts. Immutable once built; safe to query from any thread.
+ */
+public class SloSearchIndex {
+    // Keeps fields apart so a term never matches across two of them
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final int CANCEL_CHECK_INTERVAL = 256;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private static List<Slo> cachedSlos;
+    private static SloSearchIndex cachedIndex;
+
+    private final List<Slo> slos;
+    private final String[] texts;
+    private final Map<Long, int[]> postings;
+
+    private SloSearchIndex(List<Slo> slos) {
+        this.slos = slos;
+        int size = slos.size();
+        texts = new String[size];
+        Map<Long, IntList> building = new HashMap<>();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            String text = searchText(slos.get(ordinal));
+            texts[ordinal] = text;
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                Long key = trigram(text, i);
+                IntList list = building.get(key);
+                if (list == null) {
+                    list = new IntList();
+                    building.put(key, list);
+                }
+                list.addOnce(ordinal);
+            }
+        }
+        postings = new HashMap<>(building.size() * 4 / 3 + 1);
+        for (Map.Entry<Long, IntList> entry : building.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().toArray());
+        }
+    }
+
+    /**
+     * Get the index for a list of SLOs, reusing the last one built for the same list instance
+     * Building is linear in the total text length; call off the main thread.
+     */
+    public static SloSearchIndex forSlos(List<Slo> slos) {
+        synchronized (SloSearchIndex.class) {
+            if (cachedSlos == slos && cachedIndex != null) {
+                return cachedIndex;
+            }
+        }
+        SloSearchIndex index = new SloSearchIndex(slos);
+        synchronized (SloSearchIndex.class) {
+            cachedSlos = slos;
+            cachedIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Get the list this index was built for; ordinals are positions in it
+     */
+    public List<Slo> getSlos() {
+        return slos;
+    }
+
+    public int size() {
+        return texts.length;
+    }
+
+    /**
+     * Find the SLOs containing every whitespace-separated term of the query
+     *
+     * @param query Search query; case-insensitive
+     * @param cancelled Checked periodically; the search returns null once it reports true
+     * @return Ordinals of the matching SLOs, or null if cancelled
+     */
+    public BitSet search(String query, BooleanSupplier cancelled) {
+        BitSet result = new BitSet(texts.length);
+        String[] terms = terms(query);
+        if (terms.length == 0) {
+            result.set(0, texts.length);
+            return result;
+        }
+
+        // Verify only the candidates of the rarest trigram across all terms
+        int[] candidates = null;
+        for (String term : terms) {
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                int[] list = postings.get(trigram(term, i));
+                if (list == null) {
+                    return result;
+                }
+                if (candidates == null || list.length < candidates.length) {
+                    candidates = list;
+                }
+            }
+        }
+
+        if (candidates != null) {
+            for (int i = 0; i < candidates.length; i++) {
+                if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                    return null;
+                }
+                if (containsAll(texts[candidates[i]], terms)) {
+                    result.set(candidates[i]);
+                }
+            }
+        } else {
+            // Only short terms: scan the prebuilt texts
+            for (int ordinal = 0; ordinal < texts.length; ordinal++) {
+                if (ordinal % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                    return null;
+                }
+                if (containsAll(texts[ordinal], terms)) {
+                    result.set(ordinal);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Normalize a query into its terms
+     */
+    static String[] terms(String query) {
+        if (query == null) {
+            return new String[0];
+        }
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return new String[0];
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : normalized.split("\\s+")) {
+            if (!term.isEmpty() && !terms.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms.toArray(new String[0]);
+    }
+
+    private static boolean containsAll(String text, String[] terms) {
+        for (String term : terms) {
+            if (!text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String searchText(Slo slo) {
+        StringBuilder builder = new StringBuilder();
+        if (slo.getName() != null) {
+            builder.append(slo.getName());
+        }
+        SloEntity entity = slo.getEntity();
+        if (entity != null && entity.getType() != null) {
+            builder.append(FIELD_SEPARATOR).append(entity.getEntityTypeLabel());
+        }
+        if (slo.getId() != null) {
+            builder.append(FIELD_SEPARATOR).append(slo.getId());
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    /**
+     * Growable list of ascending ordinals
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return size == 0 ? NO_POSTINGS : Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.instana.slo.data.search;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import io.instana.slo.data.model.Slo;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs debounced searches over a {@link SloSearchIndex} on a background thread
+ *
+ * Every new query or SLO list supersedes the previous one: a running search stops at its
+ * next cancellation check and stale results are never delivered. Index building also
+ * happens in the background. Call from the main thread; results arrive on it.
+ */
+public class SloSearcher {
+    private static final String TAG = "SloSearcher";
+    private static final long DEBOUNCE_MS = 150;
+    // Shared by all searchers so at most one query runs at a time
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor();
+
+    /**
+     * Receiver of search results
+     */
+    public interface Listener {
+        /**
+         * @param slos The list the ordinals refer to
+         * @param query The query that was run
+         * @param matches Ordinals of the matching SLOs in {@code slos}
+         */
+        void onSearchResults(List<Slo> slos, String query, BitSet matches);
+    }
+
+    private final Listener listener;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final AtomicInteger generation = new AtomicInteger();
+    private final Runnable debounced = this::submit;
+    private List<Slo> slos;
+    private String query = "";
+
+    public SloSearcher(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Set the SLOs to search; re-runs the current query right away
+     */
+    public void setSlos(List<Slo> newSlos) {
+        if (newSlos == slos) {
+            return;
+        }
+        slos = newSlos;
+        handler.removeCallbacks(debounced);
+        submit();
+    }
+
+    /**
+     * Search after the user stopped typing for a moment
+     */
+    public void search(String newQuery) {
+        query = newQuery != null ? newQuery : "";
+        // Supersede any running search immediately
+        generation.incrementAndGet();
+        handler.removeCallbacks(debounced);
+        handler.postDelayed(debounced, DEBOUNCE_MS);
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Drop pending and running searches
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+        handler.removeCallbacks(debounced);
+    }
+
+    private void submit() {
+        final List<Slo> currentSlos = slos;
+        final String currentQuery = query;
+        final int currentGeneration = generation.incrementAndGet();
+        if (currentSlos == null) {
+            return;
+        }
+        EXECUTOR.execute(() -> {
+            if (generation.get() != currentGeneration) {
+                return;
+            }
+            long start = SystemClock.elapsedRealtime();
+            SloSearchIndex index = SloSearchIndex.forSlos(currentSlos);
+            BitSet matches = index.search(currentQuery, () -> generation.get() != currentGeneration);
+            if (matches == null) {
+                return;
+            }
+            Log.d(TAG, "'" + currentQuery + "' matched " + matches.cardinality() + " of " + index.size() +
+                       " SLOs in " + (SystemClock.elapsedRealtime() - start) + "ms");
+            handler.post(() -> {
+                if (generation.get() == currentGeneration) {
+                    listener.onSearchResults(currentSlos, currentQuery, matches);
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,180 @@
+package io.instana.slo.data.source;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import io.instana.slo.data.api.ApiClient;
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloReport;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Persistent tier storing the SLO list and reports as JSON files in the app cache directory
+ *
+ * Reads and writes run on a background thread; callbacks are posted back to the main thread.
+ */
+public class DiskSloDataSource implements SloDataSource {
+    private static final String TAG = "DiskSloDataSource";
+    private static final String CACHE_DIR = "slo_cache";
+    private static final String LIST_FILE = "slo_list.json";
+    private static final String REPORT_PREFIX = "report_";
+    private static final String JSON_SUFFIX = ".json";
+    private static final long DEFAULT_LIST_MAX_AGE_MS = 60 * 60_000L;
+    private static final long DEFAULT_REPORT_MAX_AGE_MS = 2 * 60_000L;
+    private static final Type SLO_LIST_TYPE = new TypeToken<List<Slo>>() {}.getType();
+
+    private final File directory;
+    private final long listMaxAgeMs;
+    private final long reportMaxAgeMs;
+    private final Gson gson = ApiClient.getGson();
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public DiskSloDataSource(Context context) {
+        this(context, DEFAULT_LIST_MAX_AGE_MS, DEFAULT_REPORT_MAX_AGE_MS);
+    }
+
+    public DiskSloDataSource(Context context, long listMaxAgeMs, long reportMaxAgeMs) {
+        this.directory = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR);
+        this.listMaxAgeMs = listMaxAgeMs;
+        this.reportMaxAgeMs = reportMaxAgeMs;
+    }
+
+    @Override
+    public String getName() {
+        return "disk";
+    }
+
+    @Override
+    public void getSloList(boolean forceRefresh, LoadCallback<List<Slo>> callback) {
+        if (forceRefresh) {
+            callback.onNotAvailable();
+            return;
+        }
+        ioExecutor.execute(() -> {
+            File file = new File(directory, LIST_FILE);
+            long fetchedAt = file.lastModified();
+            List<Slo> slos = read(file, listMaxAgeMs, SLO_LIST_TYPE);
+            mainHandler.post(() -> {
+                if (slos != null) {
+                    callback.onLoaded(new ArrayList<>(slos), fetchedAt);
+                } else {
+                    callback.onNotAvailable();
+                }
+            });
+        });
+    }
+
+    @Override
+    public void getSloReport(String sloId, boolean forceRefresh, LoadCallback<SloReport> callback) {
+        if (forceRefresh) {
+            callback.onNotAvailable();
+            return;
+        }
+        ioExecutor.execute(() -> {
+            SloReport report = read(reportFile(sloId), reportMaxAgeMs, SloReport.class);
+            mainHandler.post(() -> {
+                if (report != null) {
+                    callback.onLoaded(report);
+                } else {
+                    callback.onNotAvailable();
+                }
+            });
+        });
+    }
+
+    @Override
+    public void saveSloList(List<Slo> slos, long fetchedAt) {
+        final List<Slo> copy = new ArrayList<>(slos);
+        ioExecutor.execute(() -> {
+            File file = new File(directory, LIST_FILE);
+            // The file age stands for the age of the list, which may have come from another tier
+            if (write(file, copy, SLO_LIST_TYPE)) {
+                file.setLastModified(fetchedAt);
+            }
+        });
+    }
+
+    @Override
+    public void saveSloReport(String sloId, SloReport report) {
+        ioExecutor.execute(() -> write(reportFile(sloId), report, SloReport.class));
+    }
+
+    @Override
+    public void clear() {
+        ioExecutor.execute(() -> {
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+        });
+    }
+
+    private File reportFile(String sloId) {
+        // SLO IDs may contain characters that are not safe in file names
+        StringBuilder sb = new StringBuilder(REPORT_PREFIX);
+        for (int i = 0; i < sloId.length(); i++) {
+            sb.append(String.format("%04x", (int) sloId.charAt(i)));
+        }
+        return new File(directory, sb.append(JSON_SUFFIX).toString());
+    }
+
+    private <T> T read(File file, long maxAgeMs, Type type) {
+        if (!file.exists() || System.currentTimeMillis() - file.lastModified() > maxAgeMs) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, type);
+        } catch (IOException | JsonParseException e) {
+            Log.w(TAG, "Could not read cache file " + file.getName(), e);
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the file was replaced
+     */
+    private boolean write(File file, Object value, Type type) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.e(TAG, "Could not create cache directory");
+            return false;
+        }
+        File tmp = new File(directory, file.getName() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            gson.toJson(value, type, writer);
+        } catch (IOException e) {
+            Log.e(TAG, "Could not write cache file " + file.getName(), e);
+            tmp.delete();
+            return false;
+        }
+        if (!tmp.renameTo(file)) {
+            Log.e(TAG, "Could not replace cache file " + file.getName());
+            tmp.delete();
+            return false;
+        }
+        return true;
+    }
+}
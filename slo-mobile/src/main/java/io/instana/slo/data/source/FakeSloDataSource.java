@@ -0,0 +1,94 @@
+package io.instana.slo.data.source;
+
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloEntity;
+import io.instana.slo.data.model.SloReport;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic test double tier that serves generated data without the network
+ *
+ * Every call answers synchronously on the calling thread, which makes
+ * performance runs over the repository repeatable. Use it as the last tier
+ * of a {@link TieredSloDataSource} in place of {@link NetworkSloDataSource}.
+ */
+public class FakeSloDataSource implements SloDataSource {
+    private static final String[] ENTITY_TYPES = {"application", "website", "synthetic", "infrastructure"};
+
+    private final List<Slo> slos = new ArrayList<>();
+    private final Map<String, SloReport> reports = new HashMap<>();
+    private int listRequests;
+    private int reportRequests;
+
+    /**
+     * Create a source with {@code count} generated SLOs and reports
+     *
+     * The data only depends on the index, so two sources with the same count
+     * always serve identical content.
+     */
+    public FakeSloDataSource(int count) {
+        for (int i = 0; i < count; i++) {
+            String id = "fake-slo-" + i;
+            Slo slo = new Slo(id, "Fake SLO " + i, new SloEntity(ENTITY_TYPES[i % ENTITY_TYPES.length]));
+            slos.add(slo);
+
+            SloReport report = new SloReport();
+            report.setSloTarget(0.99);
+            // Spread SLIs around the target so all three lights show up
+            report.setSli(0.985 + (i % 20) * 0.001);
+            report.setTotalErrorBudget(1000.0);
+            report.setErrorBudgetRemaining((i * 37) % 1000);
+            reports.put(id, report);
+        }
+    }
+
+    public int getListRequests() {
+        return listRequests;
+    }
+
+    public int getReportRequests() {
+        return reportRequests;
+    }
+
+    @Override
+    public String getName() {
+        return "fake";
+    }
+
+    @Override
+    public void getSloList(boolean forceRefresh, LoadCallback<List<Slo>> callback) {
+        listRequests++;
+        callback.onLoaded(new ArrayList<>(slos), System.currentTimeMillis());
+    }
+
+    @Override
+    public void getSloReport(String sloId, boolean forceRefresh, LoadCallback<SloReport> callback) {
+        reportRequests++;
+        SloReport report = reports.get(sloId);
+        if (report != null) {
+            callback.onLoaded(report);
+        } else {
+            callback.onError("Unknown SLO: " + sloId, null);
+        }
+    }
+
+    @Override
+    public void saveSloList(List<Slo> slos, long fetchedAt) {
+        // Generated data is fixed
+    }
+
+    @Override
+    public void saveSloReport(String sloId, SloReport report) {
+        // Generated data is fixed
+    }
+
+    @Override
+    public void clear() {
+        listRequests = 0;
+        reportRequests = 0;
+    }
+}
@@ -0,0 +1,80 @@
+package io.instana.slo.data.source;
+
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloReport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory tier holding the most recent SLO list and reports for the process lifetime
+ *
+ * Reports live in a bounded {@link ReportCache}; this tier only answers with fresh entries.
+ */
+public class MemorySloDataSource implements SloDataSource {
+    private static final long DEFAULT_LIST_MAX_AGE_MS = 5 * 60_000L;
+
+    private final long listMaxAgeMs;
+    private final ReportCache reportCache;
+
+    private List<Slo> sloList;
+    private long sloListTime;
+
+    public MemorySloDataSource() {
+        this(DEFAULT_LIST_MAX_AGE_MS, ReportCache.getInstance());
+    }
+
+    public MemorySloDataSource(long listMaxAgeMs, ReportCache reportCache) {
+        this.listMaxAgeMs = listMaxAgeMs;
+        this.reportCache = reportCache;
+    }
+
+    public ReportCache getReportCache() {
+        return reportCache;
+    }
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    @Override
+    public synchronized void getSloList(boolean forceRefresh, LoadCallback<List<Slo>> callback) {
+        if (forceRefresh || sloList == null || isExpired(sloListTime, listMaxAgeMs)) {
+            callback.onNotAvailable();
+            return;
+        }
+        callback.onLoaded(new ArrayList<>(sloList), sloListTime);
+    }
+
+    @Override
+    public void getSloReport(String sloId, boolean forceRefresh, LoadCallback<SloReport> callback) {
+        SloReport report = forceRefresh ? null : reportCache.getFresh(sloId);
+        if (report == null) {
+            callback.onNotAvailable();
+            return;
+        }
+        callback.onLoaded(report);
+    }
+
+    @Override
+    public synchronized void saveSloList(List<Slo> slos, long fetchedAt) {
+        sloList = new ArrayList<>(slos);
+        sloListTime = fetchedAt;
+    }
+
+    @Override
+    public void saveSloReport(String sloId, SloReport report) {
+        reportCache.put(sloId, report);
+    }
+
+    @Override
+    public synchronized void clear() {
+        sloList = null;
+        reportCache.clear();
+    }
+
+    private static boolean isExpired(long storedAt, long maxAgeMs) {
+        return System.currentTimeMillis() - storedAt > maxAgeMs;
+    }
+}
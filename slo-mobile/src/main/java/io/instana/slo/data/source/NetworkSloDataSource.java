@@ -0,0 +1,134 @@
+package io.instana.slo.data.source;
+
+import android.content.Context;
+import android.util.Log;
+
+import io.instana.slo.data.api.ApiClient;
+import io.instana.slo.data.api.InstanaApiService;
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloListResponse;
+import io.instana.slo.data.model.SloReport;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Network tier backed by the Instana REST API
+ *
+ * This is the authoritative end of the chain: it never answers with
+ * {@link LoadCallback#onNotAvailable()} and ignores saves.
+ */
+public class NetworkSloDataSource implements SloDataSource {
+    private static final String TAG = "NetworkSloDataSource";
+
+    private final Context context;
+
+    public NetworkSloDataSource(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    /**
+     * Get the API service instance dynamically to ensure fresh configuration
+     */
+    private InstanaApiService getApiService() {
+        return ApiClient.getApiService(context);
+    }
+
+    @Override
+    public String getName() {
+        return "network";
+    }
+
+    @Override
+    public void getSloList(boolean forceRefresh, LoadCallback<List<Slo>> callback) {
+        getApiService().getSloList().enqueue(new Callback<SloListResponse>() {
+            @Override
+            public void onResponse(Call<SloListResponse> call, Response<SloListResponse> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    List<Slo> slos = response.body().getItems();
+                    if (slos == null) {
+                        Log.w(TAG, "API returned null items list");
+                        slos = new ArrayList<>();
+                    }
+                    callback.onLoaded(slos, System.currentTimeMillis());
+                } else {
+                    String errorMsg = "Failed to fetch SLOs: " + response.code();
+                    if (response.errorBody() != null) {
+                        try {
+                            Log.e(TAG, "Error body: " + response.errorBody().string());
+                        } catch (IOException e) {
+                            Log.e(TAG, "Could not read error body", e);
+                        }
+                    }
+                    callback.onError(errorMsg, null);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<SloListResponse> call, Throwable t) {
+                callback.onError("Network error: " + t.getMessage(), t);
+            }
+        });
+    }
+
+    @Override
+    public void getSloReport(String sloId, boolean forceRefresh, LoadCallback<SloReport> callback) {
+        getApiService().getSloReport(sloId).enqueue(new Callback<SloReport>() {
+            @Override
+            public void onResponse(Call<SloReport> call, Response<SloReport> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    callback.onLoaded(response.body());
+                } else {
+                    callback.onError("Failed to fetch SLO report: " + response.code(), null);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<SloReport> call, Throwable t) {
+                callback.onError("Network error: " + t.getMessage(), t);
+            }
+        });
+    }
+
+    /**
+     * Load the report of a single SLO for an explicit time range
+     * Requests run concurrently on the shared HTTP client and reuse its connections.
+     */
+    public void getSloReport(String sloId, long from, long to, LoadCallback<SloReport> callback) {
+        getApiService().getSloReport(sloId, from, to).enqueue(new Callback<SloReport>() {
+            @Override
+            public void onResponse(Call<SloReport> call, Response<SloReport> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    callback.onLoaded(response.body());
+                } else {
+                    callback.onError("Failed to fetch SLO report: " + response.code(), null);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<SloReport> call, Throwable t) {
+                callback.onError("Network error: " + t.getMessage(), t);
+            }
+        });
+    }
+
+    @Override
+    public void saveSloList(List<Slo> slos, long fetchedAt) {
+        // The API is the source of truth, nothing to write back
+    }
+
+    @Override
+    public void saveSloReport(String sloId, SloReport report) {
+        // The API is the source of truth, nothing to write back
+    }
+
+    @Override
+    public void clear() {
+        ApiClient.resetApiService();
+    }
+}
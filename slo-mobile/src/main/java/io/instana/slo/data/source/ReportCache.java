@@ -0,0 +1,178 @@
+package io.instana.slo.data.source;
+
+import io.instana.slo.data.model.SloReport;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded in-memory cache of SLO reports keyed by SLO ID
+ *
+ * Entries younger than the fresh TTL are served as-is. Older entries are kept as
+ * stale copies (useful for stale-while-revalidate) until the max-stale age, after
+ * which they are evicted. When the cache is full the least recently used entry
+ * is evicted first.
+ */
+public class ReportCache {
+    private static final int DEFAULT_MAX_ENTRIES = 500;
+    private static final long DEFAULT_FRESH_MS = 60_000L;
+    private static final long DEFAULT_MAX_STALE_MS = 30 * 60_000L;
+    private static ReportCache instance;
+
+    private final int maxEntries;
+    private final long freshMs;
+    private final long maxStaleMs;
+    private final LinkedHashMap<String, Entry> entries;
+    private long evictions;
+
+    public ReportCache(int maxEntries, long freshMs, long maxStaleMs) {
+        this.maxEntries = maxEntries;
+        this.freshMs = freshMs;
+        this.maxStaleMs = Math.max(freshMs, maxStaleMs);
+        // Access order turns the map into an LRU list
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ReportCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the process-wide report cache shared by the list and detail screens
+     */
+    public static synchronized ReportCache getInstance() {
+        if (instance == null) {
+            instance = new ReportCache(DEFAULT_MAX_ENTRIES, DEFAULT_FRESH_MS, DEFAULT_MAX_STALE_MS);
+        }
+        return instance;
+    }
+
+    /**
+     * Get a cached report, fresh or stale
+     *
+     * @return The entry, or null if nothing (or only an expired copy) is cached
+     */
+    public synchronized Entry get(String sloId) {
+        Entry entry = entries.get(sloId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.getAgeMs() > maxStaleMs) {
+            entries.remove(sloId);
+            evictions++;
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Get a cached report only if it is still fresh
+     */
+    public synchronized SloReport getFresh(String sloId) {
+        Entry entry = get(sloId);
+        return entry != null && !entry.isStale() ? entry.report : null;
+    }
+
+    public synchronized void put(String sloId, SloReport report) {
+        if (sloId == null || report == null) {
+            return;
+        }
+        entries.put(sloId, new Entry(report, System.currentTimeMillis()));
+    }
+
+    public synchronized void remove(String sloId) {
+        entries.remove(sloId);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Drop every entry past its max-stale age
+     */
+    public synchronized void evictExpired() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().getAgeMs() > maxStaleMs) {
+                it.remove();
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Evict least recently used entries until about the given number of bytes is freed
+     *
+     * @return Estimated bytes freed
+     */
+    public synchronized long trim(long bytesToFree) {
+        long freed = 0;
+        Iterator<Entry> it = entries.values().iterator();
+        while (freed < bytesToFree && it.hasNext()) {
+            freed += it.next().report.estimateRetainedBytes();
+            it.remove();
+            evictions++;
+        }
+        return freed;
+    }
+
+    /**
+     * Get the cached reports, least recently used first
+     */
+    public synchronized List<SloReport> getReports() {
+        List<SloReport> reports = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            reports.add(entry.report);
+        }
+        return reports;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * A cached report and the time it was stored
+     */
+    public class Entry {
+        private final SloReport report;
+        private final long storedAt;
+
+        Entry(SloReport report, long storedAt) {
+            this.report = report;
+            this.storedAt = storedAt;
+        }
+
+        public SloReport getReport() {
+            return report;
+        }
+
+        public long getStoredAt() {
+            return storedAt;
+        }
+
+        public long getAgeMs() {
+            return System.currentTimeMillis() - storedAt;
+        }
+
+        /**
+         * Check whether the report is older than the fresh TTL
+         */
+        public boolean isStale() {
+            return getAgeMs() > freshMs;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.instana.slo.data.source;
+
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloReport;
+
+import java.util.List;
+
+/**
+ * A source of SLO configurations and reports
+ *
+ * Sources are composed into a chain by {@link TieredSloDataSource}
+ * (in-memory -> persistent -> network). Cache tiers answer with
+ * {@link LoadCallback#onNotAvailable()} on a miss so the chain can fall
+ * through to the next tier, and receive fresher data via the save methods.
+ * Callbacks are always delivered on the main thread.
+ */
+public interface SloDataSource {
+
+    /**
+     * Callback for asynchronous loads
+     */
+    interface LoadCallback<T> {
+        /**
+         * Called when the source had the requested data
+         */
+        void onLoaded(T data);
+
+        /**
+         * Called when the source had the requested data and knows when it was fetched from the API
+         * Cache tiers pass the time of the copy they hold, the network tier the current time.
+         * Callers that don't care about the age only implement {@link #onLoaded(Object)}.
+         */
+        default void onLoaded(T data, long fetchedAt) {
+            onLoaded(data);
+        }
+
+        /**
+         * Called when the source does not hold the data (or it is too old)
+         */
+        void onNotAvailable();
+
+        /**
+         * Called when the source failed to load the data
+         */
+        void onError(String message, Throwable t);
+    }
+
+    /**
+     * Short name used in logs and tier statistics
+     */
+    String getName();
+
+    /**
+     * Load the list of SLO configurations
+     * Lists are delivered through {@link LoadCallback#onLoaded(Object, long)}.
+     *
+     * @param forceRefresh true to bypass cached copies
+     */
+    void getSloList(boolean forceRefresh, LoadCallback<List<Slo>> callback);
+
+    /**
+     * Load the report for a single SLO
+     *
+     * @param forceRefresh true to bypass cached copies
+     */
+    void getSloReport(String sloId, boolean forceRefresh, LoadCallback<SloReport> callback);
+
+    /**
+     * Store an SLO list that was loaded from a slower tier
+     *
+     * @param fetchedAt when the list was fetched from the API
+     */
+    void saveSloList(List<Slo> slos, long fetchedAt);
+
+    /**
+     * Store a report that was loaded from a slower tier
+     */
+    void saveSloReport(String sloId, SloReport report);
+
+    /**
+     * Drop everything this source holds (e.g. when API settings change)
+     */
+    void clear();
+}
@@ -0,0 +1,92 @@
+package io.instana.slo.data.source;
+
+import java.util.Locale;
+
+/**
+ * Hit ratio and latency counters for one tier of a {@link TieredSloDataSource}
+ */
+public class TierStats {
+    private final String tierName;
+    private long hits;
+    private long misses;
+    private long errors;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+
+    public TierStats(String tierName) {
+        this.tierName = tierName;
+    }
+
+    synchronized void record(Outcome outcome, long latencyNanos) {
+        switch (outcome) {
+            case HIT:
+                hits++;
+                break;
+            case MISS:
+                misses++;
+                break;
+            case ERROR:
+                errors++;
+                break;
+        }
+        totalLatencyNanos += latencyNanos;
+        if (latencyNanos > maxLatencyNanos) {
+            maxLatencyNanos = latencyNanos;
+        }
+    }
+
+    public String getTierName() {
+        return tierName;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getErrors() {
+        return errors;
+    }
+
+    public synchronized long getRequests() {
+        return hits + misses + errors;
+    }
+
+    /**
+     * Fraction of requests answered by this tier (0-1)
+     */
+    public synchronized double getHitRatio() {
+        long requests = hits + misses + errors;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    public synchronized double getAverageLatencyMillis() {
+        long requests = hits + misses + errors;
+        return requests == 0 ? 0.0 : totalLatencyNanos / 1_000_000.0 / requests;
+    }
+
+    public synchronized double getMaxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000.0;
+    }
+
+    public synchronized void reset() {
+        hits = 0;
+        misses = 0;
+        errors = 0;
+        totalLatencyNanos = 0;
+        maxLatencyNanos = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "%s: %d requests, hit ratio %.2f, avg %.2f ms, max %.2f ms",
+                tierName, getRequests(), getHitRatio(), getAverageLatencyMillis(), getMaxLatencyMillis());
+    }
+
+    enum Outcome {
+        HIT, MISS, ERROR
+    }
+}
@@ -0,0 +1,177 @@
+package io.instana.slo.data.source;
+
+import android.util.Log;
+
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloReport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Composable chain of data sources, fastest first (e.g. memory -> disk -> network)
+ *
+ * Reads go through the tiers in order until one has the data (read-through);
+ * the result is then written back to every faster tier that missed. Errors from
+ * a cache tier are treated as a miss, errors from the last tier are reported.
+ * Per-tier hit ratios and latencies are kept in {@link TierStats}.
+ */
+public class TieredSloDataSource implements SloDataSource {
+    private static final String TAG = "TieredSloDataSource";
+
+    private final List<SloDataSource> tiers;
+    private final List<TierStats> stats;
+
+    public TieredSloDataSource(SloDataSource... tiers) {
+        if (tiers.length == 0) {
+            throw new IllegalArgumentException("At least one tier is required");
+        }
+        this.tiers = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(tiers)));
+        List<TierStats> tierStats = new ArrayList<>();
+        for (SloDataSource tier : tiers) {
+            tierStats.add(new TierStats(tier.getName()));
+        }
+        this.stats = Collections.unmodifiableList(tierStats);
+    }
+
+    public List<SloDataSource> getTiers() {
+        return tiers;
+    }
+
+    /**
+     * Get statistics for each tier, in chain order
+     */
+    public List<TierStats> getStats() {
+        return stats;
+    }
+
+    @Override
+    public String getName() {
+        StringBuilder sb = new StringBuilder();
+        for (SloDataSource tier : tiers) {
+            if (sb.length() > 0) {
+                sb.append("->");
+            }
+            sb.append(tier.getName());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void getSloList(boolean forceRefresh, LoadCallback<List<Slo>> callback) {
+        query(0, new Query<List<Slo>>() {
+            @Override
+            public void load(SloDataSource tier, LoadCallback<List<Slo>> tierCallback) {
+                tier.getSloList(forceRefresh, tierCallback);
+            }
+
+            @Override
+            public void save(SloDataSource tier, List<Slo> data, long fetchedAt) {
+                tier.saveSloList(data, fetchedAt);
+            }
+        }, callback);
+    }
+
+    @Override
+    public void getSloReport(String sloId, boolean forceRefresh, LoadCallback<SloReport> callback) {
+        query(0, new Query<SloReport>() {
+            @Override
+            public void load(SloDataSource tier, LoadCallback<SloReport> tierCallback) {
+                tier.getSloReport(sloId, forceRefresh, tierCallback);
+            }
+
+            @Override
+            public void save(SloDataSource tier, SloReport data, long fetchedAt) {
+                tier.saveSloReport(sloId, data);
+            }
+        }, callback);
+    }
+
+    @Override
+    public void saveSloList(List<Slo> slos, long fetchedAt) {
+        for (SloDataSource tier : tiers) {
+            tier.saveSloList(slos, fetchedAt);
+        }
+    }
+
+    @Override
+    public void saveSloReport(String sloId, SloReport report) {
+        for (SloDataSource tier : tiers) {
+            tier.saveSloReport(sloId, report);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (SloDataSource tier : tiers) {
+            tier.clear();
+        }
+    }
+
+    /**
+     * Log the current statistics of every tier
+     */
+    public void logStats() {
+        for (TierStats tierStats : stats) {
+            Log.d(TAG, tierStats.toString());
+        }
+    }
+
+    private <T> void query(int index, Query<T> query, LoadCallback<T> callback) {
+        final SloDataSource tier = tiers.get(index);
+        final TierStats tierStats = stats.get(index);
+        final boolean isLast = index == tiers.size() - 1;
+        final long start = System.nanoTime();
+
+        query.load(tier, new LoadCallback<T>() {
+            @Override
+            public void onLoaded(T data) {
+                onHit(data, System.currentTimeMillis());
+                callback.onLoaded(data);
+            }
+
+            @Override
+            public void onLoaded(T data, long fetchedAt) {
+                onHit(data, fetchedAt);
+                callback.onLoaded(data, fetchedAt);
+            }
+
+            private void onHit(T data, long fetchedAt) {
+                tierStats.record(TierStats.Outcome.HIT, System.nanoTime() - start);
+                // Write back to every faster tier that missed
+                for (int i = 0; i < index; i++) {
+                    query.save(tiers.get(i), data, fetchedAt);
+                }
+            }
+
+            @Override
+            public void onNotAvailable() {
+                tierStats.record(TierStats.Outcome.MISS, System.nanoTime() - start);
+                if (isLast) {
+                    callback.onNotAvailable();
+                } else {
+                    query(index + 1, query, callback);
+                }
+            }
+
+            @Override
+            public void onError(String message, Throwable t) {
+                tierStats.record(TierStats.Outcome.ERROR, System.nanoTime() - start);
+                if (isLast) {
+                    callback.onError(message, t);
+                } else {
+                    Log.w(TAG, "Tier '" + tier.getName() + "' failed, falling through: " + message);
+                    query(index + 1, query, callback);
+                }
+            }
+        });
+    }
+
+    private interface Query<T> {
+        void load(SloDataSource tier, LoadCallback<T> tierCallback);
+
+        void save(SloDataSource tier, T data, long fetchedAt);
+    }
+}
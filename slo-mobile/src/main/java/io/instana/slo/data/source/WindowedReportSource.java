@@ -0,0 +1,144 @@
+package io.instana.slo.data.source;
+
+import android.util.Log;
+
+import io.instana.slo.data.model.ReportWindow;
+import io.instana.slo.data.model.SloReport;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports of an SLO over the fixed {@link ReportWindow}s, cached per (SLO ID, window)
+ *
+ * Each window has its own {@link ReportCache} with an expiry proportional to the window
+ * length. Concurrent requests for the same key share one fetch; requests for different
+ * windows run in parallel. Must be called on the main thread.
+ */
+public class WindowedReportSource {
+    private static final String TAG = "WindowedReportSource";
+    // Only SLOs opened in the detail screen get windowed reports
+    private static final int MAX_ENTRIES_PER_WINDOW = 32;
+    // Range ends are aligned so requests made together ask for the same range
+    private static final long RANGE_ALIGNMENT_MS = 60_000L;
+
+    /**
+     * Loads a report for an explicit time range
+     */
+    public interface Fetcher {
+        void fetch(String sloId, long from, long to, SloDataSource.LoadCallback<SloReport> callback);
+    }
+
+    private final Fetcher fetcher;
+    private final Map<ReportWindow, ReportCache> caches = new EnumMap<>(ReportWindow.class);
+    private final Map<String, List<SloDataSource.LoadCallback<SloReport>>> inFlight = new HashMap<>();
+
+    public WindowedReportSource(Fetcher fetcher) {
+        this.fetcher = fetcher;
+        for (ReportWindow window : ReportWindow.values()) {
+            caches.put(window, new ReportCache(MAX_ENTRIES_PER_WINDOW, window.getFreshMs(), window.getMaxStaleMs()));
+        }
+    }
+
+    /**
+     * Get a cached report of a window, fresh or stale
+     */
+    public ReportCache.Entry getCached(String sloId, ReportWindow window) {
+        return caches.get(window).get(sloId);
+    }
+
+    /**
+     * Load the report of an SLO over a window
+     *
+     * @param forceRefresh true to skip a fresh cached copy
+     */
+    public void getReport(String sloId, ReportWindow window, boolean forceRefresh,
+                          SloDataSource.LoadCallback<SloReport> callback) {
+        ReportCache cache = caches.get(window);
+        SloReport fresh = forceRefresh ? null : cache.getFresh(sloId);
+        if (fresh != null) {
+            callback.onLoaded(fresh);
+            return;
+        }
+        String key = sloId + '@' + window.name();
+        List<SloDataSource.LoadCallback<SloReport>> waiting = inFlight.get(key);
+        if (waiting != null) {
+            waiting.add(callback);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(callback);
+        inFlight.put(key, waiting);
+
+        long to = System.currentTimeMillis() / RANGE_ALIGNMENT_MS * RANGE_ALIGNMENT_MS;
+        long from = to - window.getDurationMillis();
+        long start = System.currentTimeMillis();
+        fetcher.fetch(sloId, from, to, new SloDataSource.LoadCallback<SloReport>() {
+            @Override
+            public void onLoaded(SloReport report) {
+                Log.d(TAG, "Loaded " + window + " report of " + sloId + " in " +
+                           (System.currentTimeMillis() - start) + "ms");
+                cache.put(sloId, report);
+                for (SloDataSource.LoadCallback<SloReport> waiter : finish(key)) {
+                    waiter.onLoaded(report);
+                }
+            }
+
+            @Override
+            public void onNotAvailable() {
+                for (SloDataSource.LoadCallback<SloReport> waiter : finish(key)) {
+                    waiter.onNotAvailable();
+                }
+            }
+
+            @Override
+            public void onError(String message, Throwable t) {
+                for (SloDataSource.LoadCallback<SloReport> waiter : finish(key)) {
+                    waiter.onError(message, t);
+                }
+            }
+        });
+    }
+
+    private List<SloDataSource.LoadCallback<SloReport>> finish(String key) {
+        List<SloDataSource.LoadCallback<SloReport>> waiting = inFlight.remove(key);
+        return waiting != null ? waiting : new ArrayList<>();
+    }
+
+    /**
+     * Get the cached reports of every window
+     */
+    public List<SloReport> getReports() {
+        List<SloReport> reports = new ArrayList<>();
+        for (ReportCache cache : caches.values()) {
+            reports.addAll(cache.getReports());
+        }
+        return reports;
+    }
+
+    /**
+     * Evict least recently used reports, longest window first, until about the given number of bytes is freed
+     *
+     * @return Estimated bytes freed
+     */
+    public long trim(long bytesToFree) {
+        long freed = 0;
+        ReportWindow[] windows = ReportWindow.values();
+        for (int i = windows.length - 1; i >= 0 && freed < bytesToFree; i--) {
+            freed += caches.get(windows[i]).trim(bytesToFree - freed);
+        }
+        return freed;
+    }
+
+    /**
+     * Drop all cached windowed reports
+     */
+    public void clear() {
+        for (ReportCache cache : caches.values()) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.instana.slo.ui.incident;
+
+import android.os.Bundle;
+import android.view.MenuItem;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import io.instana.slo.R;
+import io.instana.slo.data.repository.IncidentClusterEngine;
+
+/**
+ * Shows groups of selected SLOs whose error budgets started dropping at the same time
+ */
+public class IncidentActivity extends AppCompatActivity {
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_incidents);
+
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+            getSupportActionBar().setTitle(R.string.incidents_title);
+        }
+
+        RecyclerView recyclerView = findViewById(R.id.recycler_view);
+        TextView emptyView = findViewById(R.id.empty_view);
+        IncidentAdapter adapter = new IncidentAdapter();
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        recyclerView.setAdapter(adapter);
+
+        // Clusters grow while reports keep arriving in the background
+        IncidentClusterEngine.getInstance(this).getIncidents().observe(this, incidents -> {
+            adapter.submitList(incidents);
+            emptyView.setVisibility(incidents.isEmpty() ? View.VISIBLE : View.GONE);
+        });
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        if (item.getItemId() == android.R.id.home) {
+            finish();
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+}
@@ -0,0 +1,135 @@
+package io.instana.slo.ui.incident;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import io.instana.slo.R;
+import io.instana.slo.data.model.SloIncident;
+import io.instana.slo.data.model.SloSnapshot;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RecyclerView adapter for incidents, listing the members with the largest drops
+ */
+public class IncidentAdapter extends RecyclerView.Adapter<IncidentAdapter.IncidentViewHolder> {
+    private static final int MAX_LISTED_MEMBERS = 5;
+    private List<SloIncident> items = Collections.emptyList();
+
+    /**
+     * Show new incidents; an incident keeps its position while SLOs join it
+     */
+    public void submitList(List<SloIncident> newItems) {
+        List<SloIncident> oldItems = items;
+        items = newItems;
+        DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldItems.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newItems.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return oldItems.get(oldItemPosition).getKey().equals(newItems.get(newItemPosition).getKey());
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return oldItems.get(oldItemPosition) == newItems.get(newItemPosition);
+            }
+        }).dispatchUpdatesTo(this);
+    }
+
+    @NonNull
+    @Override
+    public IncidentViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_incident, parent, false);
+        return new IncidentViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull IncidentViewHolder holder, int position) {
+        holder.bind(items.get(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
+    }
+
+    static class IncidentViewHolder extends RecyclerView.ViewHolder {
+        private final SimpleDateFormat dateTimeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
+        private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm", Locale.getDefault());
+        private final ImageView trafficLightIcon;
+        private final TextView titleText;
+        private final TextView startedText;
+        private final TextView maxDropText;
+        private final TextView membersText;
+
+        IncidentViewHolder(@NonNull View itemView) {
+            super(itemView);
+            trafficLightIcon = itemView.findViewById(R.id.traffic_light_icon);
+            titleText = itemView.findViewById(R.id.incident_title);
+            startedText = itemView.findViewById(R.id.incident_started);
+            maxDropText = itemView.findViewById(R.id.incident_max_drop);
+            membersText = itemView.findViewById(R.id.incident_members);
+        }
+
+        void bind(SloIncident incident) {
+            Context context = itemView.getContext();
+            TrafficLightStatus worst = incident.getWorstStatus();
+            int iconRes = R.drawable.ic_traffic_light_gray;
+            if (worst == TrafficLightStatus.RED) {
+                iconRes = R.drawable.ic_traffic_light_red;
+            } else if (worst == TrafficLightStatus.YELLOW) {
+                iconRes = R.drawable.ic_traffic_light_yellow;
+            } else if (worst == TrafficLightStatus.GREEN) {
+                iconRes = R.drawable.ic_traffic_light_green;
+            }
+            trafficLightIcon.setImageResource(iconRes);
+
+            titleText.setText(context.getString(R.string.incident_title, incident.size()));
+            String start = dateTimeFormat.format(new Date(incident.getStartTimestamp()));
+            if (incident.getEndTimestamp() > incident.getStartTimestamp()) {
+                startedText.setText(context.getString(R.string.incident_started_range, start,
+                        timeFormat.format(new Date(incident.getEndTimestamp()))));
+            } else {
+                startedText.setText(context.getString(R.string.incident_started, start));
+            }
+            maxDropText.setText(context.getString(R.string.incident_max_drop, incident.getMaxDropPercent()));
+
+            StringBuilder members = new StringBuilder();
+            List<SloSnapshot> snapshots = incident.getMembers();
+            int listed = Math.min(snapshots.size(), MAX_LISTED_MEMBERS);
+            for (int i = 0; i < listed; i++) {
+                if (i > 0) {
+                    members.append('\n');
+                }
+                members.append(snapshots.get(i).getName());
+            }
+            if (snapshots.size() > listed) {
+                members.append('\n').append(context.getString(R.string.incident_more_members,
+                        snapshots.size() - listed));
+            }
+            membersText.setText(members);
+        }
+    }
+}
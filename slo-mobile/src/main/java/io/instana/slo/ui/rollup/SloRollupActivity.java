@@ -0,0 +1,52 @@
+package io.instana.slo.ui.rollup;
+
+import android.os.Bundle;
+import android.view.MenuItem;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import io.instana.slo.R;
+import io.instana.slo.data.repository.SloRollupEngine;
+
+/**
+ * Shows the selected SLOs grouped by application, website or synthetic test
+ */
+public class SloRollupActivity extends AppCompatActivity {
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_slo_rollup);
+
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+            getSupportActionBar().setTitle(R.string.rollup_title);
+        }
+
+        RecyclerView recyclerView = findViewById(R.id.recycler_view);
+        TextView emptyView = findViewById(R.id.empty_view);
+        SloRollupAdapter adapter = new SloRollupAdapter();
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        recyclerView.setAdapter(adapter);
+
+        // Groups stay current while reports keep arriving in the background
+        SloRollupEngine.getInstance(this).getRollups().observe(this, rollups -> {
+            adapter.submitList(rollups);
+            emptyView.setVisibility(rollups.isEmpty() ? View.VISIBLE : View.GONE);
+        });
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        if (item.getItemId() == android.R.id.home) {
+            finish();
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+}
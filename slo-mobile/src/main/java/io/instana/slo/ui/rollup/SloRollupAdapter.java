@@ -0,0 +1,162 @@
+package io.instana.slo.ui.rollup;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.mikephil.charting.charts.LineChart;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+
+import io.instana.slo.R;
+import io.instana.slo.data.model.SloRollup;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RecyclerView adapter for SLO rollups with a sparkline of the merged error budget
+ */
+public class SloRollupAdapter extends RecyclerView.Adapter<SloRollupAdapter.RollupViewHolder> {
+    private List<SloRollup> items = Collections.emptyList();
+
+    /**
+     * Show new rollups; unchanged groups keep the same instance and are not rebound
+     */
+    public void submitList(List<SloRollup> newItems) {
+        List<SloRollup> oldItems = items;
+        items = newItems;
+        DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldItems.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newItems.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return oldItems.get(oldItemPosition).getKey().equals(newItems.get(newItemPosition).getKey());
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return oldItems.get(oldItemPosition) == newItems.get(newItemPosition);
+            }
+        }).dispatchUpdatesTo(this);
+    }
+
+    @NonNull
+    @Override
+    public RollupViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_slo_rollup, parent, false);
+        return new RollupViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RollupViewHolder holder, int position) {
+        holder.bind(items.get(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
+    }
+
+    static class RollupViewHolder extends RecyclerView.ViewHolder {
+        private final ImageView trafficLightIcon;
+        private final TextView nameText;
+        private final TextView countsText;
+        private final TextView budgetText;
+        private final LineChart budgetChart;
+
+        RollupViewHolder(@NonNull View itemView) {
+            super(itemView);
+            trafficLightIcon = itemView.findViewById(R.id.traffic_light_icon);
+            nameText = itemView.findViewById(R.id.rollup_name);
+            countsText = itemView.findViewById(R.id.rollup_counts);
+            budgetText = itemView.findViewById(R.id.rollup_budget);
+            budgetChart = itemView.findViewById(R.id.rollup_chart);
+            budgetChart.getDescription().setEnabled(false);
+            budgetChart.getLegend().setEnabled(false);
+            budgetChart.getXAxis().setEnabled(false);
+            budgetChart.getAxisLeft().setEnabled(false);
+            budgetChart.getAxisRight().setEnabled(false);
+            budgetChart.setTouchEnabled(false);
+            budgetChart.setDrawGridBackground(false);
+        }
+
+        void bind(SloRollup rollup) {
+            Context context = itemView.getContext();
+            nameText.setText(label(context, rollup));
+
+            TrafficLightStatus worst = rollup.getWorstStatus();
+            int iconRes = R.drawable.ic_traffic_light_gray;
+            if (worst == TrafficLightStatus.RED) {
+                iconRes = R.drawable.ic_traffic_light_red;
+            } else if (worst == TrafficLightStatus.YELLOW) {
+                iconRes = R.drawable.ic_traffic_light_yellow;
+            } else if (worst == TrafficLightStatus.GREEN) {
+                iconRes = R.drawable.ic_traffic_light_green;
+            }
+            trafficLightIcon.setImageResource(iconRes);
+
+            countsText.setText(context.getString(R.string.rollup_counts, rollup.getMemberCount(),
+                    rollup.getCount(TrafficLightStatus.RED),
+                    rollup.getCount(TrafficLightStatus.YELLOW),
+                    rollup.getCount(TrafficLightStatus.GREEN)));
+            budgetText.setText(context.getString(R.string.rollup_budget,
+                    String.format(Locale.getDefault(), "%.1f%%",
+                            Math.max(0, rollup.getErrorBudgetRemainingPercentage()))));
+
+            long[] timestamps = rollup.getMergedTimestamps();
+            float[] percentages = rollup.getMergedRemainingPercentages();
+            if (timestamps.length < 2) {
+                budgetChart.clear();
+                budgetChart.setVisibility(View.GONE);
+                return;
+            }
+            List<Entry> entries = new ArrayList<>(timestamps.length);
+            for (int i = 0; i < timestamps.length; i++) {
+                entries.add(new Entry(timestamps[i], percentages[i]));
+            }
+            LineDataSet dataSet = new LineDataSet(entries, context.getString(R.string.error_budget_remaining));
+            dataSet.setColor(ContextCompat.getColor(context, R.color.primary));
+            dataSet.setLineWidth(1.5f);
+            dataSet.setDrawCircles(false);
+            dataSet.setDrawValues(false);
+            dataSet.setDrawFilled(true);
+            dataSet.setFillColor(ContextCompat.getColor(context, R.color.primary_light));
+            dataSet.setMode(LineDataSet.Mode.LINEAR);
+            budgetChart.setData(new LineData(dataSet));
+            budgetChart.setVisibility(View.VISIBLE);
+            budgetChart.invalidate();
+        }
+
+        private static String label(Context context, SloRollup rollup) {
+            if (rollup.getEntityType() == null) {
+                return context.getString(R.string.rollup_ungrouped);
+            }
+            String type = rollup.getEntityType().getLabel();
+            if (rollup.getEntityId() == null) {
+                return context.getString(R.string.rollup_no_entity_id, type);
+            }
+            return type + " " + rollup.getEntityId();
+        }
+    }
+}
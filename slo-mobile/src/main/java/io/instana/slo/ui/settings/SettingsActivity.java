@@ -7,15 +7,14 @@ import android.text.TextWatcher;
 import android.view.LayoutInflater;
 import android.view.MenuItem;
 import android.view.View;
-import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ListView;
+import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.lifecycle.ViewModelProvider;
 import androidx.preference.EditTextPreference;
 import androidx.preference.Preference;
 import androidx.preference.PreferenceFragmentCompat;
@@ -27,15 +26,16 @@ import io.instana.slo.R;
 import io.instana.slo.data.api.ApiClient;
 import io.instana.slo.data.api.InstanaApiService;
 import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.repository.SloCatalogStore;
 import io.instana.slo.data.repository.SloRepository;
-import io.instana.slo.ui.slolist.SloListViewModel;
+import io.instana.slo.data.search.SloSearcher;
 import io.instana.slo.util.PreferencesManager;
+import io.instana.slo.util.ThresholdPreview;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -75,7 +75,7 @@ public class SettingsActivity extends AppCompatActivity {
 
     public static class SettingsFragment extends PreferenceFragmentCompat {
         private PreferencesManager preferencesManager;
-        private SloListViewModel viewModel;
+        private SloCatalogStore catalogStore;
         private List<Slo> availableSlos = new ArrayList<>();
 
         @Override
@@ -83,7 +83,7 @@ public class SettingsActivity extends AppCompatActivity {
             setPreferencesFromResource(R.xml.preferences, rootKey);
 
             preferencesManager = new PreferencesManager(requireContext());
-            viewModel = new ViewModelProvider(this).get(SloListViewModel.class);
+            catalogStore = SloCatalogStore.getInstance(requireContext());
 
             // Set up API endpoint preference
             EditTextPreference endpointPref = findPreference("api_endpoint");
@@ -135,6 +135,7 @@ public class SettingsActivity extends AppCompatActivity {
                 
                 thresholdPref.setOnBindEditTextListener(editText -> {
                     editText.setInputType(InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_DECIMAL);
+                    bindThresholdPreview(editText);
                 });
 
                 thresholdPref.setOnPreferenceChangeListener((preference, newValue) -> {
@@ -183,11 +184,7 @@ public class SettingsActivity extends AppCompatActivity {
                     }
                     
                     // Load SLOs only when user clicks to select
-                    if (availableSlos.isEmpty()) {
-                        loadSlosForSelection();
-                    } else {
-                        showSloSelectionDialog();
-                    }
+                    loadSlosForSelection();
                     return true;
                 });
             }
@@ -212,6 +209,51 @@ public class SettingsActivity extends AppCompatActivity {
             });
         }
 
+        private void bindThresholdPreview(EditText editText) {
+            // Live what-if counts below the input, from the loaded reports without any fetch
+            View parent = (View) editText.getParent();
+            TextView messageView = parent != null ? parent.findViewById(android.R.id.message) : null;
+            if (messageView == null) {
+                return;
+            }
+            // The repository instance survives API resets, so this sees the same snapshots as the list
+            ThresholdPreview preview = SloRepository.getInstance(requireContext()).createThresholdPreview();
+            String message = getString(R.string.yellow_threshold_message);
+            if (preview.size() == 0) {
+                // Nothing loaded yet, e.g. right after the endpoint or token changed
+                messageView.setText(message + "\n\n" + getString(R.string.threshold_preview_unavailable));
+                return;
+            }
+            TextWatcher watcher = new TextWatcher() {
+                @Override
+                public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+                }
+
+                @Override
+                public void onTextChanged(CharSequence s, int start, int before, int count) {
+                }
+
+                @Override
+                public void afterTextChanged(Editable s) {
+                    double value;
+                    try {
+                        value = Double.parseDouble(s.toString());
+                    } catch (NumberFormatException e) {
+                        value = -1;
+                    }
+                    if (value < 0 || value > 100) {
+                        messageView.setText(message);
+                        return;
+                    }
+                    ThresholdPreview.Counts counts = preview.countsAt(value);
+                    messageView.setText(message + "\n\n" +
+                            getString(R.string.threshold_preview, counts.green, counts.yellow, counts.red));
+                }
+            };
+            editText.addTextChangedListener(watcher);
+            watcher.afterTextChanged(editText.getText());
+        }
+
         private void resetApiClient() {
             // Reset the API client when credentials change
             SloRepository.resetInstance();
@@ -292,59 +334,29 @@ public class SettingsActivity extends AppCompatActivity {
             ListView listView = dialogView.findViewById(R.id.slo_list_view);
 
             // Prepare data
-            List<Slo> filteredSlos = new ArrayList<>(availableSlos);
-            Set<String> selectedIds = preferencesManager.getSelectedSloIds();
-            Set<String> currentSelection = new HashSet<>(selectedIds);
-
-            // Create adapter
-            ArrayAdapter<String> adapter = new ArrayAdapter<>(
-                    requireContext(),
-                    android.R.layout.simple_list_item_multiple_choice,
-                    filteredSlos.stream().map(Slo::getName).collect(Collectors.toList())
-            );
-            listView.setAdapter(adapter);
+            List<Slo> slos = availableSlos;
+            Set<String> currentSelection = new HashSet<>(preferencesManager.getSelectedSloIds());
 
-            // Set initial checked state
-            for (int i = 0; i < filteredSlos.size(); i++) {
-                listView.setItemChecked(i, currentSelection.contains(filteredSlos.get(i).getId()));
-            }
+            // Checked state comes from currentSelection, so the list does not track choices itself
+            SloChoiceAdapter adapter = new SloChoiceAdapter(slos, currentSelection);
+            listView.setChoiceMode(ListView.CHOICE_MODE_NONE);
+            listView.setAdapter(adapter);
+            listView.setOnItemClickListener((parent, view, position, id) -> adapter.toggle(position, view));
 
-            // Handle item clicks
-            listView.setOnItemClickListener((parent, view, position, id) -> {
-                String sloId = filteredSlos.get(position).getId();
-                if (listView.isItemChecked(position)) {
-                    currentSelection.add(sloId);
-                } else {
-                    currentSelection.remove(sloId);
+            // Search the prebuilt index in the background; stale queries are dropped
+            SloSearcher searcher = new SloSearcher((searchedSlos, query, matches) -> {
+                if (searchedSlos == slos) {
+                    adapter.setMatches(matches);
                 }
             });
-
-            // Handle search
+            searcher.setSlos(slos);
             searchEditText.addTextChangedListener(new TextWatcher() {
                 @Override
                 public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
 
                 @Override
                 public void onTextChanged(CharSequence s, int start, int before, int count) {
-                    String query = s.toString().toLowerCase().trim();
-                    filteredSlos.clear();
-                    
-                    if (query.isEmpty()) {
-                        filteredSlos.addAll(availableSlos);
-                    } else {
-                        filteredSlos.addAll(availableSlos.stream()
-                                .filter(slo -> slo.getName().toLowerCase().contains(query))
-                                .collect(Collectors.toList()));
-                    }
-                    
-                    // Update adapter
-                    adapter.clear();
-                    adapter.addAll(filteredSlos.stream().map(Slo::getName).collect(Collectors.toList()));
-                    
-                    // Restore checked state
-                    for (int i = 0; i < filteredSlos.size(); i++) {
-                        listView.setItemChecked(i, currentSelection.contains(filteredSlos.get(i).getId()));
-                    }
+                    searcher.search(s.toString());
                 }
 
                 @Override
@@ -378,22 +390,35 @@ public class SettingsActivity extends AppCompatActivity {
                         
                         Toast.makeText(requireContext(), R.string.settings_saved, Toast.LENGTH_SHORT).show();
                     })
+                    .setOnDismissListener(dialog -> searcher.cancel())
                     .show();
         }
 
         private void loadSlosForSelection() {
-            // Show loading message
-            Toast.makeText(requireContext(), R.string.loading_slos, Toast.LENGTH_SHORT).show();
-            
-            // Use lightweight method that only fetches SLO list without reports
-            viewModel.loadSloListOnly();
-            viewModel.getFilteredSlos().observe(this, slos -> {
-                if (slos != null && !slos.isEmpty()) {
-                    availableSlos = slos;
-                    // Show dialog after data is loaded
-                    showSloSelectionDialog();
-                } else if (slos != null && slos.isEmpty()) {
-                    Toast.makeText(requireContext(), R.string.slo_selection_error, Toast.LENGTH_SHORT).show();
+            // The catalog is shared with the main screen, so this is usually instant
+            if (catalogStore.peek() == null) {
+                Toast.makeText(requireContext(), R.string.loading_slos, Toast.LENGTH_SHORT).show();
+            }
+
+            catalogStore.load(false, new SloCatalogStore.Listener() {
+                @Override
+                public void onCatalogReady(SloCatalogStore.Catalog catalog) {
+                    if (!isAdded()) {
+                        return;
+                    }
+                    availableSlos = catalog.getSlos();
+                    if (availableSlos.isEmpty()) {
+                        Toast.makeText(requireContext(), R.string.slo_selection_error, Toast.LENGTH_SHORT).show();
+                    } else {
+                        showSloSelectionDialog();
+                    }
+                }
+
+                @Override
+                public void onCatalogError(String message) {
+                    if (isAdded()) {
+                        Toast.makeText(requireContext(), R.string.slo_selection_error, Toast.LENGTH_SHORT).show();
+                    }
                 }
             });
         }
@@ -0,0 +1,96 @@
+package io.instana.slo.ui.settings;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.CheckedTextView;
+
+import io.instana.slo.data.model.Slo;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Multiple-choice list of SLOs restricted to the current search matches
+ *
+ * Checked state is read from the selection set while binding, so a new search result
+ * only swaps the visible ordinals instead of re-checking every row.
+ */
+class SloChoiceAdapter extends BaseAdapter {
+    private final List<Slo> slos;
+    private final Set<String> selection;
+    private int[] visible;
+
+    /**
+     * @param slos All SLOs
+     * @param selection Selected IDs; updated when a row is toggled
+     */
+    SloChoiceAdapter(List<Slo> slos, Set<String> selection) {
+        this.slos = slos;
+        this.selection = selection;
+        this.visible = new int[slos.size()];
+        for (int i = 0; i < visible.length; i++) {
+            visible[i] = i;
+        }
+    }
+
+    /**
+     * Show only the SLOs with the given ordinals
+     */
+    void setMatches(BitSet matches) {
+        int[] ordinals = new int[matches.cardinality()];
+        int count = 0;
+        for (int i = matches.nextSetBit(0); i >= 0 && count < ordinals.length; i = matches.nextSetBit(i + 1)) {
+            ordinals[count++] = i;
+        }
+        visible = ordinals;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Toggle the selection of the SLO in a row
+     */
+    void toggle(int position, View view) {
+        String id = getItem(position).getId();
+        boolean checked = !selection.remove(id);
+        if (checked) {
+            selection.add(id);
+        }
+        if (view instanceof CheckedTextView) {
+            ((CheckedTextView) view).setChecked(checked);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return visible.length;
+    }
+
+    @Override
+    public Slo getItem(int position) {
+        return slos.get(visible[position]);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return visible[position];
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return true;
+    }
+
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        CheckedTextView view = (CheckedTextView) (convertView != null ? convertView :
+                LayoutInflater.from(parent.getContext())
+                        .inflate(android.R.layout.simple_list_item_multiple_choice, parent, false));
+        Slo slo = getItem(position);
+        view.setText(slo.getName());
+        view.setChecked(selection.contains(slo.getId()));
+        return view;
+    }
+}
@@ -1,8 +1,10 @@
 package io.instana.slo.ui.slodetail;
 
+import android.graphics.Rect;
 import android.os.Bundle;
 import android.view.MenuItem;
 import android.view.View;
+import android.view.ViewTreeObserver;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -13,6 +15,7 @@ import androidx.core.content.ContextCompat;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.github.mikephil.charting.charts.LineChart;
+import com.github.mikephil.charting.components.LimitLine;
 import com.github.mikephil.charting.components.XAxis;
 import com.github.mikephil.charting.components.YAxis;
 import com.github.mikephil.charting.data.Entry;
@@ -20,14 +23,23 @@ import com.github.mikephil.charting.data.LineData;
 import com.github.mikephil.charting.data.LineDataSet;
 import com.github.mikephil.charting.formatter.ValueFormatter;
 import io.instana.slo.R;
-import io.instana.slo.data.model.ChartDataPoint;
+import io.instana.slo.data.history.BudgetDropDetector;
+import io.instana.slo.data.history.BurnRateEvaluator;
+import io.instana.slo.data.history.ExhaustionForecaster;
+import io.instana.slo.data.model.BudgetDrop;
+import io.instana.slo.data.model.BurnRate;
+import io.instana.slo.data.model.ChartSeries;
+import io.instana.slo.data.model.ExhaustionForecast;
+import io.instana.slo.data.model.ReportWindow;
 import io.instana.slo.data.model.SloReport;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Activity displaying detailed SLO report with metrics and chart
@@ -49,6 +61,15 @@ public class SloDetailActivity extends AppCompatActivity {
     private TextView totalErrorBudgetText;
     private TextView errorBudgetRemainingText;
     private TextView errorBudgetPercentageText;
+    private TextView timeToExhaustionText;
+    private TextView fastBurnRateText;
+    private TextView slowBurnRateText;
+    private View windowsCard;
+    private final Map<ReportWindow, TextView> windowSliTexts = new EnumMap<>(ReportWindow.class);
+    private final Map<ReportWindow, TextView> windowBudgetTexts = new EnumMap<>(ReportWindow.class);
+    // Longer windows are fetched once their card scrolls into view
+    private final ViewTreeObserver.OnScrollChangedListener windowsScrollListener = this::loadVisibleWindows;
+    private boolean longWindowsRequested;
     private TextView timeRangeText;
     private TextView timeWindowTypeText;
     private TextView timeWindowSizeText;
@@ -56,6 +77,7 @@ public class SloDetailActivity extends AppCompatActivity {
     private ProgressBar progressBar;
     private View contentView;
     private TextView errorView;
+    private TextView staleIndicator;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -96,6 +118,16 @@ public class SloDetailActivity extends AppCompatActivity {
         totalErrorBudgetText = findViewById(R.id.total_error_budget);
         errorBudgetRemainingText = findViewById(R.id.error_budget_remaining);
         errorBudgetPercentageText = findViewById(R.id.error_budget_percentage);
+        timeToExhaustionText = findViewById(R.id.time_to_exhaustion);
+        fastBurnRateText = findViewById(R.id.fast_burn_rate);
+        slowBurnRateText = findViewById(R.id.slow_burn_rate);
+        windowsCard = findViewById(R.id.windows_card);
+        windowSliTexts.put(ReportWindow.DAY, findViewById(R.id.window_day_sli));
+        windowSliTexts.put(ReportWindow.WEEK, findViewById(R.id.window_week_sli));
+        windowSliTexts.put(ReportWindow.MONTH, findViewById(R.id.window_month_sli));
+        windowBudgetTexts.put(ReportWindow.DAY, findViewById(R.id.window_day_budget));
+        windowBudgetTexts.put(ReportWindow.WEEK, findViewById(R.id.window_week_budget));
+        windowBudgetTexts.put(ReportWindow.MONTH, findViewById(R.id.window_month_budget));
         timeRangeText = findViewById(R.id.time_range);
         timeWindowTypeText = findViewById(R.id.time_window_type);
         timeWindowSizeText = findViewById(R.id.time_window_size);
@@ -103,6 +135,7 @@ public class SloDetailActivity extends AppCompatActivity {
         progressBar = findViewById(R.id.progress_bar);
         contentView = findViewById(R.id.content_view);
         errorView = findViewById(R.id.error_view);
+        staleIndicator = findViewById(R.id.stale_indicator);
 
         // Set SLO name
         if (sloName != null) {
@@ -135,6 +168,49 @@ public class SloDetailActivity extends AppCompatActivity {
                 }
             }
         });
+        viewModel.isStale().observe(this, stale ->
+                staleIndicator.setVisibility(Boolean.TRUE.equals(stale) ? View.VISIBLE : View.GONE));
+
+        // The shortest window is cheap and usually cached; the others wait until viewed
+        loadWindowReport(ReportWindow.DAY);
+        contentView.getViewTreeObserver().addOnScrollChangedListener(windowsScrollListener);
+    }
+
+    private void loadVisibleWindows() {
+        if (longWindowsRequested || windowsCard.getVisibility() != View.VISIBLE ||
+                !windowsCard.getLocalVisibleRect(new Rect())) {
+            return;
+        }
+        longWindowsRequested = true;
+        contentView.getViewTreeObserver().removeOnScrollChangedListener(windowsScrollListener);
+        // Requested together so they are fetched in parallel
+        loadWindowReport(ReportWindow.WEEK);
+        loadWindowReport(ReportWindow.MONTH);
+    }
+
+    private void loadWindowReport(ReportWindow window) {
+        TextView sliText = windowSliTexts.get(window);
+        TextView budgetText = windowBudgetTexts.get(window);
+        viewModel.loadWindowReport(sloId, window).observe(this, result -> {
+            if (result == null) {
+                return;
+            }
+            switch (result.status) {
+                case LOADING:
+                    sliText.setText(R.string.window_loading);
+                    budgetText.setText("");
+                    break;
+                case SUCCESS:
+                    sliText.setText(String.format(Locale.getDefault(), "%.2f%%", result.data.getSli() * 100));
+                    budgetText.setText(getString(R.string.window_budget_left, String.format(Locale.getDefault(),
+                            "%.1f%%", Math.max(0, result.data.getErrorBudgetRemainingPercentage()))));
+                    break;
+                case ERROR:
+                    sliText.setText(R.string.exhaustion_unknown);
+                    budgetText.setText("");
+                    break;
+            }
+        });
     }
 
     private void displayReport(SloReport report) {
@@ -183,12 +259,58 @@ public class SloDetailActivity extends AppCompatActivity {
         }
         errorBudgetPercentageText.setTextColor(color);
 
+        // Forecast from the chart in the report; no extra request
+        displayForecast(ExhaustionForecaster.forecast(report));
+        displayBurnRate(BurnRateEvaluator.evaluate(report,
+                timeWindow != null ? timeWindow : report.getTimeWindow()));
+
         // Display chart
-        if (report.getErrorBudgetRemainChart() != null && !report.getErrorBudgetRemainChart().isEmpty()) {
-            displayChart(report.getErrorBudgetRemainChart());
+        ChartSeries series = report.getErrorBudgetRemainSeries();
+        if (!series.isEmpty()) {
+            displayChart(report.getErrorBudgetRemainTimestamps(), series, BudgetDropDetector.detect(report));
         }
 
         contentView.setVisibility(View.VISIBLE);
+        // The windows card may be on screen without any scrolling
+        contentView.post(this::loadVisibleWindows);
+    }
+
+    private void displayForecast(ExhaustionForecast forecast) {
+        switch (forecast.getState()) {
+            case DEPLETING:
+                timeToExhaustionText.setText(ExhaustionForecast.formatDuration(
+                        forecast.getTimeToExhaustion(System.currentTimeMillis())));
+                break;
+            case EXHAUSTED:
+                timeToExhaustionText.setText(R.string.exhaustion_reached);
+                break;
+            case NOT_DEPLETING:
+                timeToExhaustionText.setText(R.string.exhaustion_not_depleting);
+                break;
+            default:
+                timeToExhaustionText.setText(R.string.exhaustion_unknown);
+                break;
+        }
+    }
+
+    private void displayBurnRate(BurnRate burnRate) {
+        fastBurnRateText.setText(getString(R.string.burn_rate_values,
+                formatBurnRate(burnRate.getFastLongRate()), formatBurnRate(burnRate.getFastShortRate())));
+        slowBurnRateText.setText(getString(R.string.burn_rate_values,
+                formatBurnRate(burnRate.getSlowLongRate()), formatBurnRate(burnRate.getSlowShortRate())));
+
+        int defaultColor = timeToExhaustionText.getCurrentTextColor();
+        fastBurnRateText.setTextColor(burnRate.getSignal() == BurnRate.Signal.FAST ?
+                ContextCompat.getColor(this, R.color.status_red) : defaultColor);
+        slowBurnRateText.setTextColor(burnRate.getSignal() == BurnRate.Signal.SLOW ?
+                ContextCompat.getColor(this, R.color.status_yellow) : defaultColor);
+    }
+
+    private String formatBurnRate(double rate) {
+        if (Double.isNaN(rate)) {
+            return getString(R.string.exhaustion_unknown);
+        }
+        return String.format(Locale.getDefault(), "%.1f×", rate);
     }
 
     private void configureChart() {
@@ -226,11 +348,11 @@ public class SloDetailActivity extends AppCompatActivity {
         errorBudgetChart.getLegend().setEnabled(true);
     }
 
-    private void displayChart(List<ChartDataPoint> dataPoints) {
-        List<Entry> entries = new ArrayList<>();
+    private void displayChart(long[] timestamps, ChartSeries series, BudgetDrop drop) {
+        List<Entry> entries = new ArrayList<>(series.size());
 
-        for (ChartDataPoint point : dataPoints) {
-            entries.add(new Entry(point.getTimestamp(), (float) point.getValue()));
+        for (int i = 0; i < series.size(); i++) {
+            entries.add(new Entry(timestamps[i], series.getValue(i)));
         }
 
         LineDataSet dataSet = new LineDataSet(entries, getString(R.string.error_budget_remaining));
@@ -244,6 +366,21 @@ public class SloDetailActivity extends AppCompatActivity {
         dataSet.setFillColor(ContextCompat.getColor(this, R.color.primary_light));
         dataSet.setMode(LineDataSet.Mode.CUBIC_BEZIER);
 
+        // Mark where the most recent sudden drop started
+        XAxis xAxis = errorBudgetChart.getXAxis();
+        xAxis.removeAllLimitLines();
+        if (drop.isDetected()) {
+            LimitLine dropLine = new LimitLine(drop.getOnsetTimestamp(),
+                    getString(R.string.budget_drop, drop.getDropPercent()));
+            int dropColor = ContextCompat.getColor(this, R.color.status_yellow);
+            dropLine.setLineColor(dropColor);
+            dropLine.setLineWidth(1.5f);
+            dropLine.enableDashedLine(10f, 6f, 0f);
+            dropLine.setTextColor(dropColor);
+            dropLine.setTextSize(10f);
+            xAxis.addLimitLine(dropLine);
+        }
+
         LineData lineData = new LineData(dataSet);
         errorBudgetChart.setData(lineData);
         errorBudgetChart.invalidate();
@@ -1,28 +1,47 @@
 package io.instana.slo.ui.slodetail;
 
 import android.app.Application;
+import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import io.instana.slo.data.model.ReportWindow;
 import io.instana.slo.data.model.Slo;
 import io.instana.slo.data.model.SloReport;
 import io.instana.slo.data.repository.SloRepository;
+import io.instana.slo.data.source.ReportCache;
+
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * ViewModel for the SLO detail screen
+ *
+ * A cached report is shown at once (marked stale if it is old) and revalidated in
+ * the background; the report is only re-emitted when the new data differs.
  */
 public class SloDetailViewModel extends AndroidViewModel {
+    private static final String TAG = "SloDetailViewModel";
+
     private final SloRepository repository;
     private final MutableLiveData<Slo> currentSlo;
-    private LiveData<SloRepository.Result<SloReport>> reportLiveData;
+    private final MediatorLiveData<SloRepository.Result<SloReport>> reportLiveData;
+    private final MutableLiveData<Boolean> stale;
+    private LiveData<SloRepository.Result<SloReport>> pendingSource;
+    private SloReport displayedReport;
+    private final Map<ReportWindow, MediatorLiveData<SloRepository.Result<SloReport>>> windowReports =
+            new EnumMap<>(ReportWindow.class);
 
     public SloDetailViewModel(@NonNull Application application) {
         super(application);
         repository = SloRepository.getInstance(application);
         currentSlo = new MutableLiveData<>();
+        reportLiveData = new MediatorLiveData<>();
+        stale = new MutableLiveData<>(false);
     }
 
     /**
@@ -43,10 +62,60 @@ public class SloDetailViewModel extends AndroidViewModel {
      * Load the detailed report for the current SLO
      */
     public LiveData<SloRepository.Result<SloReport>> loadReport(String sloId) {
-        reportLiveData = repository.getSloReport(sloId);
+        ReportCache.Entry cached = repository.getCachedReport(sloId);
+        if (cached != null) {
+            showReport(cached.getReport());
+            stale.setValue(cached.isStale());
+            if (cached.isStale()) {
+                fetchReport(sloId, true);
+            }
+        } else if (displayedReport == null) {
+            fetchReport(sloId, false);
+        } else {
+            stale.setValue(true);
+            fetchReport(sloId, true);
+        }
         return reportLiveData;
     }
 
+    /**
+     * Load the report of an SLO over a fixed window; requested at most once per screen
+     * A cached copy is shown at once and revalidated in the background when stale.
+     */
+    public LiveData<SloRepository.Result<SloReport>> loadWindowReport(String sloId, ReportWindow window) {
+        MediatorLiveData<SloRepository.Result<SloReport>> live = windowReports.get(window);
+        if (live != null) {
+            return live;
+        }
+        MediatorLiveData<SloRepository.Result<SloReport>> windowLive = new MediatorLiveData<>();
+        windowReports.put(window, windowLive);
+
+        ReportCache.Entry cached = repository.getCachedWindowReport(sloId, window);
+        if (cached != null) {
+            windowLive.setValue(SloRepository.Result.success(cached.getReport()));
+            if (!cached.isStale()) {
+                return windowLive;
+            }
+        }
+        final boolean hasCached = cached != null;
+        final LiveData<SloRepository.Result<SloReport>> source =
+                repository.getWindowReport(sloId, window, hasCached);
+        windowLive.addSource(source, result -> {
+            if (result == null || (result.status == SloRepository.Result.Status.LOADING && hasCached)) {
+                return;
+            }
+            if (result.status != SloRepository.Result.Status.LOADING) {
+                windowLive.removeSource(source);
+            }
+            if (result.status == SloRepository.Result.Status.ERROR && hasCached) {
+                Log.w(TAG, "Revalidation of the " + window + " report failed: " + result.message);
+                return;
+            }
+            windowLive.setValue(result);
+        });
+        return windowLive;
+    }
+
     /**
      * Get the report LiveData
      */
@@ -54,13 +123,68 @@ public class SloDetailViewModel extends AndroidViewModel {
         return reportLiveData;
     }
 
+    /**
+     * Whether the report on screen comes from an outdated cache entry
+     */
+    public LiveData<Boolean> isStale() {
+        return stale;
+    }
+
     /**
      * Refresh the report
      */
     public void refreshReport() {
         Slo slo = currentSlo.getValue();
         if (slo != null) {
-            loadReport(slo.getId());
+            fetchReport(slo.getId(), true);
+        }
+    }
+
+    private void fetchReport(String sloId, boolean revalidate) {
+        if (pendingSource != null) {
+            reportLiveData.removeSource(pendingSource);
+        }
+        final LiveData<SloRepository.Result<SloReport>> source = repository.getSloReport(sloId, revalidate);
+        pendingSource = source;
+        reportLiveData.addSource(source, result -> {
+            if (result == null) {
+                return;
+            }
+            switch (result.status) {
+                case LOADING:
+                    // Keep showing the cached report while revalidating
+                    if (displayedReport == null) {
+                        reportLiveData.setValue(result);
+                    }
+                    break;
+                case SUCCESS:
+                    reportLiveData.removeSource(source);
+                    pendingSource = null;
+                    stale.setValue(false);
+                    showReport(result.data);
+                    break;
+                case ERROR:
+                    reportLiveData.removeSource(source);
+                    pendingSource = null;
+                    if (displayedReport == null) {
+                        reportLiveData.setValue(result);
+                    } else {
+                        Log.w(TAG, "Revalidation failed, keeping cached report: " + result.message);
+                    }
+                    break;
+            }
+        });
+    }
+
+    /**
+     * Publish a report unless it matches the one already on screen
+     */
+    private void showReport(SloReport report) {
+        if (displayedReport != null && displayedReport.hasSameContent(report)) {
+            Log.d(TAG, "Report unchanged - keeping the current chart");
+            return;
         }
+        displayedReport = report;
+        reportLiveData.setValue(SloRepository.Result.success(report));
     }
 }
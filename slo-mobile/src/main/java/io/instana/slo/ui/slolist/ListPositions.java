@@ -0,0 +1,22 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.data.model.SloSnapshot;
+
+/**
+ * Maps the ordinals of visible SLOs to their position in the visible list
+ */
+interface ListPositions {
+    boolean contains(int ordinal);
+
+    /**
+     * Get the list position of a visible ordinal
+     */
+    int positionOf(int ordinal);
+
+    /**
+     * Make an ordinal visible, or re-position it after its snapshot changed
+     */
+    void add(int ordinal, SloSnapshot snapshot);
+
+    void remove(int ordinal);
+}
@@ -13,30 +13,129 @@ import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import io.instana.slo.R;
-import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.BudgetDrop;
+import io.instana.slo.data.model.BurnRate;
+import io.instana.slo.data.model.ExhaustionForecast;
+import io.instana.slo.data.model.SloSnapshot;
 import io.instana.slo.data.model.TrafficLightStatus;
+import io.instana.slo.data.repository.ReportMemoryManager;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Adapter for displaying SLOs in a RecyclerView with traffic light visualization
+ * Single-item {@link SloListUpdate}s are applied directly; anything else is diffed
  */
-public class SloAdapter extends ListAdapter<Slo, SloAdapter.SloViewHolder> {
+public class SloAdapter extends RecyclerView.Adapter<SloAdapter.SloViewHolder> {
     private static final String TAG = "SloAdapter";
     private static final Object PAYLOAD_UPDATE = new Object();
+    private static final SloDiffCallback DIFF_CALLBACK = new SloDiffCallback();
     private final OnSloClickListener clickListener;
+    private List<SloSnapshot> items = new ArrayList<>();
+    private long lastSequence = -1;
 
     public interface OnSloClickListener {
-        void onSloClick(Slo slo);
+        void onSloClick(SloSnapshot slo);
     }
 
     public SloAdapter(OnSloClickListener clickListener) {
-        super(new SloDiffCallback());
         this.clickListener = clickListener;
     }
 
+    /**
+     * Apply a list update; falls back to a diff of the full list if an update was missed
+     */
+    public void apply(SloListUpdate update) {
+        boolean inSequence = update.getSequence() == lastSequence + 1;
+        lastSequence = update.getSequence();
+        if (update.isFull() || !inSequence) {
+            replaceItems(update.getItems());
+            return;
+        }
+
+        // RecyclerView batches these notifications into a single layout pass
+        for (SloListUpdate.Change change : update.getChanges()) {
+            int position = change.getPosition();
+            switch (change.getType()) {
+                case CHANGED:
+                    items.set(position, change.getSnapshot());
+                    notifyItemChanged(position, PAYLOAD_UPDATE);
+                    break;
+                case INSERTED:
+                    items.add(position, change.getSnapshot());
+                    notifyItemInserted(position);
+                    break;
+                case REMOVED:
+                    items.remove(position);
+                    notifyItemRemoved(position);
+                    break;
+                case MOVED:
+                    items.remove(change.getFromPosition());
+                    items.add(position, change.getSnapshot());
+                    notifyItemMoved(change.getFromPosition(), position);
+                    notifyItemChanged(position, PAYLOAD_UPDATE);
+                    break;
+                case REPLACED:
+                    // Drop the reference to the old instance; the card stays as it is
+                    items.set(position, change.getSnapshot());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Replace the whole list, dispatching only the differences
+     * The next single-item update is treated as missed and resyncs from its full list.
+     */
+    public void submitList(List<SloSnapshot> newList) {
+        lastSequence = -1;
+        replaceItems(newList);
+    }
+
+    private void replaceItems(List<SloSnapshot> newList) {
+        final List<SloSnapshot> oldItems = items;
+        final List<SloSnapshot> newItems = newList != null ? new ArrayList<>(newList) : new ArrayList<>();
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldItems.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newItems.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return DIFF_CALLBACK.areItemsTheSame(oldItems.get(oldPosition), newItems.get(newPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return DIFF_CALLBACK.areContentsTheSame(oldItems.get(oldPosition), newItems.get(newPosition));
+            }
+
+            @Override
+            public Object getChangePayload(int oldPosition, int newPosition) {
+                return PAYLOAD_UPDATE;
+            }
+        });
+        items = newItems;
+        result.dispatchUpdatesTo(this);
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
+    }
+
     @NonNull
     @Override
     public SloViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -47,12 +146,24 @@ public class SloAdapter extends ListAdapter<Slo, SloAdapter.SloViewHolder> {
 
     @Override
     public void onBindViewHolder(@NonNull SloViewHolder holder, int position) {
-        Slo slo = getItem(position);
+        SloSnapshot slo = items.get(position);
         Log.d(TAG, "onBindViewHolder called for position " + position + ": " + slo.getName() +
                    " (Status: " + slo.getStatus() + ", Loading: " + slo.getLoadingState() + ")");
         holder.bind(slo, clickListener);
     }
 
+    @Override
+    public void onViewAttachedToWindow(@NonNull SloViewHolder holder) {
+        super.onViewAttachedToWindow(holder);
+        holder.setOnScreen(true);
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(@NonNull SloViewHolder holder) {
+        super.onViewDetachedFromWindow(holder);
+        holder.setOnScreen(false);
+    }
+
     @Override
     public void onViewRecycled(@NonNull SloViewHolder holder) {
         super.onViewRecycled(holder);
@@ -66,8 +177,14 @@ public class SloAdapter extends ListAdapter<Slo, SloAdapter.SloViewHolder> {
         private final TextView entityTypeText;
         private final TextView statusText;
         private final TextView sliSloValuesText;
+        private final TextView exhaustionText;
+        private final TextView burnRateText;
+        private final TextView budgetDropText;
         private Handler flashHandler;
         private Runnable flashRunnable;
+        // SLO reported to the memory manager as on screen, null while detached
+        private String onScreenId;
+        private String boundId;
 
         public SloViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -77,6 +194,59 @@ public class SloAdapter extends ListAdapter<Slo, SloAdapter.SloViewHolder> {
             entityTypeText = itemView.findViewById(R.id.entity_type);
             statusText = itemView.findViewById(R.id.status_text);
             sliSloValuesText = itemView.findViewById(R.id.sli_slo_values);
+            exhaustionText = itemView.findViewById(R.id.exhaustion_text);
+            burnRateText = itemView.findViewById(R.id.burn_rate_text);
+            budgetDropText = itemView.findViewById(R.id.budget_drop_text);
+        }
+
+        /**
+         * Tell the memory manager whether the bound SLO is visible, so its chart is trimmed last
+         */
+        void setOnScreen(boolean attached) {
+            String id = attached ? boundId : null;
+            if (id == null ? onScreenId == null : id.equals(onScreenId)) {
+                return;
+            }
+            ReportMemoryManager memoryManager = ReportMemoryManager.getInstance(itemView.getContext());
+            memoryManager.setOnScreen(onScreenId, false);
+            memoryManager.setOnScreen(id, true);
+            onScreenId = id;
+        }
+
+        private void bindForecast(ExhaustionForecast forecast) {
+            String text;
+            switch (forecast.getState()) {
+                case DEPLETING:
+                    text = itemView.getContext().getString(R.string.exhaustion_in, ExhaustionForecast.formatDuration(
+                            forecast.getTimeToExhaustion(System.currentTimeMillis())));
+                    break;
+                case EXHAUSTED:
+                    text = itemView.getContext().getString(R.string.exhaustion_reached);
+                    break;
+                default:
+                    // Nothing worth a line on the card
+                    return;
+            }
+            exhaustionText.setText(text);
+            exhaustionText.setVisibility(View.VISIBLE);
+        }
+
+        private void bindBurnRate(BurnRate burnRate) {
+            // Only a fast burn needs attention before the light turns red
+            if (burnRate.isBurningFast()) {
+                burnRateText.setText(itemView.getContext().getString(R.string.burning_fast,
+                        burnRate.getFastShortRate()));
+                burnRateText.setVisibility(View.VISIBLE);
+            }
+        }
+
+        private void bindBudgetDrop(BudgetDrop drop) {
+            // Older drops are already reflected in the budget; only flag fresh ones
+            if (drop.isRecent()) {
+                budgetDropText.setText(itemView.getContext().getString(R.string.budget_drop,
+                        drop.getDropPercent()));
+                budgetDropText.setVisibility(View.VISIBLE);
+            }
         }
 
         public void stopFlashing() {
@@ -88,7 +258,7 @@ public class SloAdapter extends ListAdapter<Slo, SloAdapter.SloViewHolder> {
             trafficLightIcon.setAlpha(1.0f);
         }
 
-        public void bind(Slo slo, OnSloClickListener clickListener) {
+        public void bind(SloSnapshot slo, OnSloClickListener clickListener) {
             Log.d(TAG, ">>> BIND called for SLO: " + slo.getName());
             Log.d(TAG, "    LoadingState: " + slo.getLoadingState());
             Log.d(TAG, "    Status: " + slo.getStatus());
@@ -99,13 +269,18 @@ public class SloAdapter extends ListAdapter<Slo, SloAdapter.SloViewHolder> {
                 Log.d(TAG, "    Report: null");
             }
             
+            boundId = slo.getId();
+            if (onScreenId != null) {
+                // Rebound while attached
+                setOnScreen(true);
+            }
+
             // Set SLO name
             sloNameText.setText(slo.getName());
 
             // Set entity type
-            if (slo.getEntity() != null && slo.getEntity().getEntityType() != null) {
-                String entityType = slo.getEntity().getEntityType();
-                entityTypeText.setText(capitalizeFirst(entityType));
+            if (slo.getEntity() != null && slo.getEntity().getType() != null) {
+                entityTypeText.setText(slo.getEntity().getEntityTypeLabel());
                 entityTypeText.setVisibility(View.VISIBLE);
             } else {
                 entityTypeText.setVisibility(View.GONE);
@@ -113,19 +288,22 @@ public class SloAdapter extends ListAdapter<Slo, SloAdapter.SloViewHolder> {
 
             // Stop any existing animation
             stopFlashing();
+            exhaustionText.setVisibility(View.GONE);
+            burnRateText.setVisibility(View.GONE);
+            budgetDropText.setVisibility(View.GONE);
 
             // Handle loading state
-            Slo.LoadingState loadingState = slo.getLoadingState();
+            SloSnapshot.LoadingState loadingState = slo.getLoadingState();
             Log.d(TAG, "Binding SLO '" + slo.getName() + "' with state: " + loadingState + ", status: " + slo.getStatus());
             
-            if (loadingState == Slo.LoadingState.LOADING || loadingState == Slo.LoadingState.NOT_LOADED) {
+            if (loadingState == SloSnapshot.LoadingState.LOADING || loadingState == SloSnapshot.LoadingState.NOT_LOADED) {
                 // Start flashing animation for both LOADING and NOT_LOADED states
                 startFlashingAnimation();
                 statusText.setText("Loading...");
                 statusText.setTextColor(ContextCompat.getColor(itemView.getContext(),
                         android.R.color.darker_gray));
                 sliSloValuesText.setVisibility(View.GONE);
-            } else if (loadingState == Slo.LoadingState.FAILED) {
+            } else if (loadingState == SloSnapshot.LoadingState.FAILED) {
                 // Show unknown status
                 Log.d(TAG, "SLO '" + slo.getName() + "' loading FAILED - showing gray");
                 trafficLightIcon.setImageResource(R.drawable.ic_traffic_light_gray);
@@ -139,15 +317,24 @@ public class SloAdapter extends ListAdapter<Slo, SloAdapter.SloViewHolder> {
                 if (status != null) {
                     Log.d(TAG, "SLO '" + slo.getName() + "' LOADED successfully - showing status: " + status);
                     setTrafficLightStatus(status);
+                    if (slo.isChangedSinceLastOpen()) {
+                        // Highlight lights that changed since the app was last opened
+                        statusText.setText(itemView.getContext().getString(
+                                R.string.status_changed_since_last_open, statusText.getText()));
+                    }
                     
                     // Display SLI and SLO target values
                     if (slo.getReport() != null) {
                         // Convert decimal to percentage (e.g., 0.995 -> 99.5%)
                         double sli = slo.getReport().getSli() * 100.0;
                         double sloTarget = slo.getReport().getSloTarget() * 100.0;
-                        String valuesText = String.format("%.2f%% / %.2f%%", sli, sloTarget);
+                        String valuesText = String.format("%.2f%% / %.2f%% %s", sli, sloTarget,
+                                slo.getTrend().getArrow()).trim();
                         sliSloValuesText.setText(valuesText);
                         sliSloValuesText.setVisibility(View.VISIBLE);
+                        bindForecast(slo.getForecast());
+                        bindBurnRate(slo.getBurnRate());
+                        bindBudgetDrop(slo.getBudgetDrop());
                     } else {
                         sliSloValuesText.setVisibility(View.GONE);
                     }
@@ -228,101 +415,32 @@ public class SloAdapter extends ListAdapter<Slo, SloAdapter.SloViewHolder> {
             this.statusText.setText(statusText);
             this.statusText.setTextColor(ContextCompat.getColor(itemView.getContext(), colorRes));
         }
-
-        private String capitalizeFirst(String text) {
-            if (text == null || text.isEmpty()) {
-                return text;
-            }
-            return text.substring(0, 1).toUpperCase() + text.substring(1).toLowerCase();
-        }
     }
 
-    static class SloDiffCallback extends DiffUtil.ItemCallback<Slo> {
+    static class SloDiffCallback extends DiffUtil.ItemCallback<SloSnapshot> {
         @Override
-        public boolean areItemsTheSame(@NonNull Slo oldItem, @NonNull Slo newItem) {
-            boolean same = oldItem.getId().equals(newItem.getId());
-            Log.d(TAG, "DiffUtil.areItemsTheSame: " + oldItem.getName() + " = " + same +
-                       " (oldItem==newItem: " + (oldItem == newItem) + ")");
-            return same;
+        public boolean areItemsTheSame(@NonNull SloSnapshot oldItem, @NonNull SloSnapshot newItem) {
+            return oldItem.getId().equals(newItem.getId());
         }
 
         @Override
-        public boolean areContentsTheSame(@NonNull Slo oldItem, @NonNull Slo newItem) {
-            // IMPORTANT: When oldItem == newItem (same object reference), we modify the object in place
-            // So we can't reliably compare fields. Always return false to force rebinding.
-            if (oldItem == newItem) {
-                Log.d(TAG, "DiffUtil.areContentsTheSame for '" + oldItem.getName() + "': false (same object, forcing rebind)");
-                return false;
+        public boolean areContentsTheSame(@NonNull SloSnapshot oldItem, @NonNull SloSnapshot newItem) {
+            // Snapshots are immutable: the same version always means the same content
+            if (oldItem == newItem || oldItem.getVersion() == newItem.getVersion()) {
+                return true;
+            }
+            boolean contentsEqual = oldItem.equals(newItem);
+            if (!contentsEqual) {
+                Log.d(TAG, "DiffUtil: '" + newItem.getName() + "' changed (v" + oldItem.getVersion() +
+                           " -> v" + newItem.getVersion() + ")");
             }
-            
-            // Different objects - compare their contents
-            boolean statusEquals = (oldItem.getStatus() == null && newItem.getStatus() == null) ||
-                                   (oldItem.getStatus() != null && oldItem.getStatus().equals(newItem.getStatus()));
-            boolean loadingStateEquals = oldItem.getLoadingState() == newItem.getLoadingState();
-            
-            // Check if entity information has changed
-            boolean entityEquals = areEntitiesEqual(oldItem.getEntity(), newItem.getEntity());
-            
-            // Check if report data has changed (important for SLI/SLO values)
-            boolean reportEquals = areReportsEqual(oldItem.getReport(), newItem.getReport());
-            
-            boolean contentsEqual = oldItem.getId().equals(newItem.getId()) &&
-                   oldItem.getName().equals(newItem.getName()) &&
-                   statusEquals &&
-                   loadingStateEquals &&
-                   entityEquals &&
-                   reportEquals;
-            
-            // Log for debugging
-            Log.d(TAG, "DiffUtil.areContentsTheSame for '" + oldItem.getName() + "': " + contentsEqual);
-            
             return contentsEqual;
         }
         
         @Override
-        public Object getChangePayload(@NonNull Slo oldItem, @NonNull Slo newItem) {
-            // Return a payload to force rebinding when content changes
-            // This is necessary because we modify Slo objects in place
+        public Object getChangePayload(@NonNull SloSnapshot oldItem, @NonNull SloSnapshot newItem) {
+            // Rebind in place instead of running the default cross-fade change animation
             return PAYLOAD_UPDATE;
         }
-        
-        private boolean areEntitiesEqual(io.instana.slo.data.model.SloEntity oldEntity,
-                                        io.instana.slo.data.model.SloEntity newEntity) {
-            // Both null
-            if (oldEntity == null && newEntity == null) {
-                return true;
-            }
-            // One is null, other is not
-            if (oldEntity == null || newEntity == null) {
-                return false;
-            }
-            // Compare entity types
-            String oldType = oldEntity.getEntityType();
-            String newType = newEntity.getEntityType();
-            
-            if (oldType == null && newType == null) {
-                return true;
-            }
-            if (oldType == null || newType == null) {
-                return false;
-            }
-            return oldType.equals(newType);
-        }
-        
-        private boolean areReportsEqual(io.instana.slo.data.model.SloReport oldReport,
-                                       io.instana.slo.data.model.SloReport newReport) {
-            // Both null
-            if (oldReport == null && newReport == null) {
-                return true;
-            }
-            // One is null, other is not - this is a change!
-            if (oldReport == null || newReport == null) {
-                return false;
-            }
-            // Compare report values
-            return oldReport.getSli() == newReport.getSli() &&
-                   oldReport.getSloTarget() == newReport.getSloTarget() &&
-                   oldReport.getErrorBudgetRemaining() == newReport.getErrorBudgetRemaining();
-        }
     }
 }
@@ -0,0 +1,54 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.data.model.EntityType;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import java.util.Arrays;
+
+/**
+ * Immutable counts of SLOs per traffic light status and entity type
+ */
+public final class SloFacetCounts {
+    private final int[] statusCounts;
+    private final int[] typeCounts;
+
+    /**
+     * @param statusCounts Count per status ordinal, with the unknown count last
+     * @param typeCounts Count per entity type ordinal, with the unknown count last
+     */
+    SloFacetCounts(int[] statusCounts, int[] typeCounts) {
+        this.statusCounts = statusCounts.clone();
+        this.typeCounts = typeCounts.clone();
+    }
+
+    /**
+     * @param status The status, or null for SLOs without a status
+     */
+    public int getCount(TrafficLightStatus status) {
+        return statusCounts[status != null ? status.ordinal() : statusCounts.length - 1];
+    }
+
+    /**
+     * @param entityType The entity type, or null for SLOs without one
+     */
+    public int getCount(EntityType entityType) {
+        return typeCounts[entityType != null ? entityType.ordinal() : typeCounts.length - 1];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SloFacetCounts)) {
+            return false;
+        }
+        SloFacetCounts other = (SloFacetCounts) o;
+        return Arrays.equals(statusCounts, other.statusCounts) && Arrays.equals(typeCounts, other.typeCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(statusCounts) + Arrays.hashCode(typeCounts);
+    }
+}
@@ -0,0 +1,250 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.data.model.EntityType;
+import io.instana.slo.data.model.SloSnapshot;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bitmap index over the SLO list used for filtering and facet counts
+ *
+ * Every SLO gets a dense ordinal (its position in the catalog). One bitmap per
+ * traffic light status, entity type and the user's selection is maintained, so a
+ * filter is an intersection of bitmaps and facet counts are kept as running totals.
+ * {@link #update(SloSnapshot)} moves a single SLO between bitmaps as its report arrives.
+ * Not thread-safe; used from the main thread only.
+ */
+public class SloFilterIndex {
+    private static final TrafficLightStatus[] STATUSES = TrafficLightStatus.values();
+    private static final EntityType[] ENTITY_TYPES = EntityType.values();
+    // Extra slot for SLOs without a status / entity type
+    private static final int NO_STATUS = STATUSES.length;
+    private static final int NO_TYPE = ENTITY_TYPES.length;
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private SloSnapshot[] snapshots = new SloSnapshot[0];
+    private byte[] statusSlots = new byte[0];
+    private byte[] typeSlots = new byte[0];
+
+    private final BitSet[] byStatus = new BitSet[NO_STATUS + 1];
+    private final BitSet[] byType = new BitSet[NO_TYPE + 1];
+    private final int[] statusCounts = new int[NO_STATUS + 1];
+    private final int[] typeCounts = new int[NO_TYPE + 1];
+    private final BitSet selected = new BitSet();
+    private final BitSet pending = new BitSet();
+
+    public SloFilterIndex() {
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new BitSet();
+        }
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Rebuild the index for a new catalog, keeping the current selection IDs
+     *
+     * @param all Snapshots of every SLO in display order
+     * @param selectedIds IDs the user chose to display
+     */
+    public void rebuild(List<SloSnapshot> all, Set<String> selectedIds) {
+        int size = all.size();
+        ordinals.clear();
+        snapshots = new SloSnapshot[size];
+        statusSlots = new byte[size];
+        typeSlots = new byte[size];
+        for (BitSet bits : byStatus) {
+            bits.clear();
+        }
+        for (BitSet bits : byType) {
+            bits.clear();
+        }
+        Arrays.fill(statusCounts, 0);
+        Arrays.fill(typeCounts, 0);
+        pending.clear();
+
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            SloSnapshot snapshot = all.get(ordinal);
+            ordinals.put(snapshot.getId(), ordinal);
+            snapshots[ordinal] = snapshot;
+
+            int statusSlot = statusSlot(snapshot.getStatus());
+            statusSlots[ordinal] = (byte) statusSlot;
+            byStatus[statusSlot].set(ordinal);
+            statusCounts[statusSlot]++;
+
+            int typeSlot = typeSlot(snapshot);
+            typeSlots[ordinal] = (byte) typeSlot;
+            byType[typeSlot].set(ordinal);
+            typeCounts[typeSlot]++;
+
+            if (snapshot.isPending()) {
+                pending.set(ordinal);
+            }
+        }
+        setSelection(selectedIds);
+    }
+
+    /**
+     * Replace the selection bitmap
+     */
+    public void setSelection(Set<String> selectedIds) {
+        selected.clear();
+        for (String id : selectedIds) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null) {
+                selected.set(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Apply a new snapshot of one SLO in place
+     *
+     * @return The snapshot it replaced, or null if the SLO is not in the index
+     */
+    public SloSnapshot update(SloSnapshot snapshot) {
+        Integer boxed = ordinals.get(snapshot.getId());
+        if (boxed == null) {
+            return null;
+        }
+        int ordinal = boxed;
+        SloSnapshot previous = snapshots[ordinal];
+        snapshots[ordinal] = snapshot;
+
+        int oldStatus = statusSlots[ordinal];
+        int newStatus = statusSlot(snapshot.getStatus());
+        if (oldStatus != newStatus) {
+            byStatus[oldStatus].clear(ordinal);
+            byStatus[newStatus].set(ordinal);
+            statusCounts[oldStatus]--;
+            statusCounts[newStatus]++;
+            statusSlots[ordinal] = (byte) newStatus;
+        }
+
+        int oldType = typeSlots[ordinal];
+        int newType = typeSlot(snapshot);
+        if (oldType != newType) {
+            byType[oldType].clear(ordinal);
+            byType[newType].set(ordinal);
+            typeCounts[oldType]--;
+            typeCounts[newType]++;
+            typeSlots[ordinal] = (byte) newType;
+        }
+
+        pending.set(ordinal, snapshot.isPending());
+        return previous;
+    }
+
+    /**
+     * Get the ordinal of an SLO, or -1 if it is not indexed
+     */
+    public int ordinalOf(String sloId) {
+        Integer ordinal = ordinals.get(sloId);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public SloSnapshot get(int ordinal) {
+        return snapshots[ordinal];
+    }
+
+    public int size() {
+        return snapshots.length;
+    }
+
+    /**
+     * Get the ordinals of the selected SLOs matching the filters
+     *
+     * @param status Status filter, null for all
+     * @param entityType Entity type filter, null for all
+     */
+    public BitSet query(TrafficLightStatus status, EntityType entityType) {
+        BitSet result = (BitSet) selected.clone();
+        if (status != null) {
+            result.and(byStatus[status.ordinal()]);
+        }
+        if (entityType != null) {
+            result.and(byType[entityType.ordinal()]);
+        }
+        return result;
+    }
+
+    /**
+     * Check a single SLO against the filters without building a bitmap
+     */
+    public boolean matches(int ordinal, TrafficLightStatus status, EntityType entityType) {
+        return selected.get(ordinal) &&
+               (status == null || statusSlots[ordinal] == status.ordinal()) &&
+               (entityType == null || typeSlots[ordinal] == entityType.ordinal());
+    }
+
+    /**
+     * Materialize the snapshots of a query result in ordinal order
+     */
+    public List<SloSnapshot> select(BitSet ordinalBits) {
+        List<SloSnapshot> result = new ArrayList<>(ordinalBits.cardinality());
+        for (int i = ordinalBits.nextSetBit(0); i >= 0; i = ordinalBits.nextSetBit(i + 1)) {
+            result.add(snapshots[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Count the given SLOs that are still waiting for their report
+     */
+    public int countPending(BitSet ordinalBits) {
+        BitSet result = (BitSet) ordinalBits.clone();
+        result.and(pending);
+        return result.cardinality();
+    }
+
+    public boolean isPending(int ordinal) {
+        return pending.get(ordinal);
+    }
+
+    /**
+     * Number of indexed SLOs with the given status (null for unknown); O(1)
+     */
+    public int countByStatus(TrafficLightStatus status) {
+        return statusCounts[statusSlot(status)];
+    }
+
+    /**
+     * Number of indexed SLOs of the given entity type (null for unknown); O(1)
+     */
+    public int countByEntityType(EntityType entityType) {
+        return typeCounts[entityType != null ? entityType.ordinal() : NO_TYPE];
+    }
+
+    /**
+     * Get an immutable copy of all facet counts
+     */
+    public SloFacetCounts facetCounts() {
+        return new SloFacetCounts(statusCounts, typeCounts);
+    }
+
+    public boolean isSelected(int ordinal) {
+        return selected.get(ordinal);
+    }
+
+    public int countSelected() {
+        return selected.cardinality();
+    }
+
+    private static int statusSlot(TrafficLightStatus status) {
+        return status != null ? status.ordinal() : NO_STATUS;
+    }
+
+    private static int typeSlot(SloSnapshot snapshot) {
+        EntityType type = snapshot.getEntity() != null ? snapshot.getEntity().getType() : null;
+        return type != null ? type.ordinal() : NO_TYPE;
+    }
+}
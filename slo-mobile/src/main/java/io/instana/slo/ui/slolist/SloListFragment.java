@@ -2,12 +2,15 @@ package io.instana.slo.ui.slolist;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
+import android.widget.EditText;
 import android.widget.ProgressBar;
 import android.widget.Spinner;
 import android.widget.TextView;
@@ -15,6 +18,7 @@ import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.GridLayoutManager;
@@ -22,12 +26,15 @@ import androidx.recyclerview.widget.RecyclerView;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
 import io.instana.slo.R;
-import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.EntityType;
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.SloSnapshot;
 import io.instana.slo.data.model.TrafficLightStatus;
 import io.instana.slo.ui.slodetail.SloDetailActivity;
 import io.instana.slo.util.PreferencesManager;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Fragment displaying the list of SLOs with traffic light visualization
@@ -44,6 +51,10 @@ public class SloListFragment extends Fragment implements SloAdapter.OnSloClickLi
     private TextView loadingIndicator;
     private Spinner statusFilterSpinner;
     private Spinner entityTypeFilterSpinner;
+    private Spinner sortSpinner;
+    private View worstStrip;
+    private TextView[] worstViews;
+    private EditText searchBox;
     private PreferencesManager preferencesManager;
 
     @Nullable
@@ -68,6 +79,14 @@ public class SloListFragment extends Fragment implements SloAdapter.OnSloClickLi
         loadingIndicator = view.findViewById(R.id.loading_indicator);
         statusFilterSpinner = view.findViewById(R.id.status_filter_spinner);
         entityTypeFilterSpinner = view.findViewById(R.id.entity_type_filter_spinner);
+        searchBox = view.findViewById(R.id.search_box);
+        sortSpinner = view.findViewById(R.id.sort_spinner);
+        worstStrip = view.findViewById(R.id.worst_strip);
+        worstViews = new TextView[] {
+            view.findViewById(R.id.worst_slo_1),
+            view.findViewById(R.id.worst_slo_2),
+            view.findViewById(R.id.worst_slo_3)
+        };
 
         // Set up RecyclerView with 2 columns
         adapter = new SloAdapter(this);
@@ -77,23 +96,22 @@ public class SloListFragment extends Fragment implements SloAdapter.OnSloClickLi
         // Set up ViewModel
         viewModel = new ViewModelProvider(this).get(SloListViewModel.class);
 
-        // Observe filtered SLOs
-        viewModel.getFilteredSlos().observe(getViewLifecycleOwner(), slos -> {
-            Log.d(TAG, "========================================");
-            Log.d(TAG, "SLO List Data Received in Fragment");
-            Log.d(TAG, "  Total SLOs: " + (slos != null ? slos.size() : 0));
-            if (slos != null) {
-                for (Slo slo : slos) {
-                    Log.d(TAG, "  - " + slo.getName() + " (Status: " + slo.getStatus() + ", Loading: " + slo.getLoadingState() + ")");
-                }
+        // Observe changes to the filtered SLOs
+        viewModel.getListUpdates().observe(getViewLifecycleOwner(), update -> {
+            if (update == null) {
+                return;
             }
-            Log.d(TAG, "  Submitting list to adapter...");
-            // Submit the list directly - the ViewModel already creates new list instances
-            adapter.submitList(slos);
-            updateEmptyView(slos == null || slos.isEmpty());
-            Log.d(TAG, "========================================");
+            Log.d(TAG, "SLO list update #" + update.getSequence() + ": " +
+                       (update.isFull() ? "full" : update.getChanges().size() + " changes") +
+                       " (total " + update.getItems().size() + ")");
+            // Single-item changes are applied in place; full lists are diffed by the adapter
+            adapter.apply(update);
+            updateEmptyView(adapter.getItemCount() == 0);
         });
 
+        // Pinned strip of the worst SLOs, independent of filters and sort order
+        viewModel.getWorstSlos().observe(getViewLifecycleOwner(), this::showWorstSlos);
+
         // Observe loading/error states
         viewModel.getSloListResult().observe(getViewLifecycleOwner(), result -> {
             if (result != null) {
@@ -133,20 +151,26 @@ public class SloListFragment extends Fragment implements SloAdapter.OnSloClickLi
             swipeRefreshLayout.setRefreshing(false);
         });
 
-        // Set up filters
+        // Set up filters and sort order
         setupFilters();
+        setupSort();
 
-        // Load data only if configured AND SLOs are selected
-        if (preferencesManager.isConfigured()) {
-            if (preferencesManager.hasSelectedSlos()) {
-                viewModel.loadSlos();
+        // Load data only if configured AND SLOs are selected, once the token is readable
+        preferencesManager.runWhenSecretsLoaded(() -> {
+            if (getView() == null) {
+                return;
+            }
+            if (preferencesManager.isConfigured()) {
+                if (preferencesManager.hasSelectedSlos()) {
+                    viewModel.loadSlos();
+                } else {
+                    // Show empty state with message to select SLOs
+                    updateEmptyView(true);
+                }
             } else {
-                // Show empty state with message to select SLOs
-                updateEmptyView(true);
+                showError(getString(R.string.error_not_configured));
             }
-        } else {
-            showError(getString(R.string.error_not_configured));
-        }
+        });
     }
 
     @Override
@@ -154,10 +178,17 @@ public class SloListFragment extends Fragment implements SloAdapter.OnSloClickLi
         super.onResume();
         Log.d(TAG, "========================================");
         Log.d(TAG, "Fragment onResume() called");
+        Log.d(TAG, "========================================");
+        preferencesManager.runWhenSecretsLoaded(this::reloadOnResume);
+    }
+
+    private void reloadOnResume() {
+        if (!isResumed()) {
+            return;
+        }
         Log.d(TAG, "  isConfigured: " + preferencesManager.isConfigured());
         Log.d(TAG, "  hasSelectedSlos: " + preferencesManager.hasSelectedSlos());
-        Log.d(TAG, "========================================");
-        
+
         // Refresh when returning from settings in case selection changed
         if (preferencesManager.isConfigured()) {
             if (preferencesManager.hasSelectedSlos()) {
@@ -176,9 +207,23 @@ public class SloListFragment extends Fragment implements SloAdapter.OnSloClickLi
     }
 
     /**
-     * Set up filter spinners
+     * Set up the search box and filter spinners
      */
     private void setupFilters() {
+        // Search runs debounced in the background; results come back as a list update
+        searchBox.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+                viewModel.setSearchQuery(s.toString());
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {}
+        });
+
         // Set up status filter spinner
         String[] statusOptions = {
             getString(R.string.filter_all),
@@ -229,12 +274,12 @@ public class SloListFragment extends Fragment implements SloAdapter.OnSloClickLi
         entityTypeFilterSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
             @Override
             public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                String entityType = null;
+                EntityType entityType = null;
                 switch (position) {
-                    case 1: entityType = "application"; break;
-                    case 2: entityType = "website"; break;
-                    case 3: entityType = "synthetic"; break;
-                    case 4: entityType = "infrastructure"; break;
+                    case 1: entityType = EntityType.APPLICATION; break;
+                    case 2: entityType = EntityType.WEBSITE; break;
+                    case 3: entityType = EntityType.SYNTHETIC; break;
+                    case 4: entityType = EntityType.INFRASTRUCTURE; break;
                 }
                 viewModel.setEntityTypeFilter(entityType);
             }
@@ -246,6 +291,67 @@ public class SloListFragment extends Fragment implements SloAdapter.OnSloClickLi
         });
     }
 
+    /**
+     * Set up the sort mode spinner; options follow the {@link SloSortMode} order
+     */
+    private void setupSort() {
+        String[] sortOptions = {
+            getString(R.string.sort_catalog),
+            getString(R.string.sort_remaining_budget),
+            getString(R.string.sort_sli_margin),
+            getString(R.string.sort_status),
+            getString(R.string.sort_name)
+        };
+        ArrayAdapter<String> sortAdapter = new ArrayAdapter<>(
+            requireContext(),
+            android.R.layout.simple_spinner_item,
+            sortOptions
+        );
+        sortAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        sortSpinner.setAdapter(sortAdapter);
+        SloSortMode current = viewModel.getSortMode().getValue();
+        if (current != null) {
+            sortSpinner.setSelection(current.ordinal());
+        }
+        sortSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                viewModel.setSortMode(SloSortMode.values()[position]);
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {
+                // Do nothing
+            }
+        });
+    }
+
+    /**
+     * Show the worst SLOs in the pinned strip; hidden until a report is loaded
+     */
+    private void showWorstSlos(List<SloSnapshot> worst) {
+        if (worst == null || worst.isEmpty()) {
+            worstStrip.setVisibility(View.GONE);
+            return;
+        }
+        worstStrip.setVisibility(View.VISIBLE);
+        for (int i = 0; i < worstViews.length; i++) {
+            TextView worstView = worstViews[i];
+            if (i >= worst.size()) {
+                worstView.setVisibility(View.INVISIBLE);
+                worstView.setOnClickListener(null);
+                continue;
+            }
+            SloSnapshot slo = worst.get(i);
+            SloReport report = slo.getReport();
+            worstView.setText(getString(R.string.worst_slo_entry, slo.getName(),
+                    report != null ? report.getErrorBudgetRemainingPercentage() : 0.0));
+            worstView.setTextColor(ContextCompat.getColor(requireContext(), slo.getStatus().getColorResId()));
+            worstView.setOnClickListener(v -> onSloClick(slo));
+            worstView.setVisibility(View.VISIBLE);
+        }
+    }
+
     /**
      * Show/hide loading indicator
      */
@@ -294,7 +400,7 @@ public class SloListFragment extends Fragment implements SloAdapter.OnSloClickLi
     }
 
     @Override
-    public void onSloClick(Slo slo) {
+    public void onSloClick(SloSnapshot slo) {
         // Open detail activity
         Intent intent = new Intent(requireContext(), SloDetailActivity.class);
         intent.putExtra(SloDetailActivity.EXTRA_SLO_ID, slo.getId());
@@ -0,0 +1,108 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.data.model.SloSnapshot;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A change to the visible SLO list: either a whole new list or a batch of targeted changes
+ *
+ * Updates are numbered; a consumer that missed one (e.g. while stopped) must fall back to
+ * {@link #getItems()}, which always reflects the current list.
+ */
+public final class SloListUpdate {
+    /**
+     * One targeted change; positions refer to the list as left by the previous change
+     */
+    public static final class Change {
+        public enum Type {
+            CHANGED,    // Item at position was updated
+            INSERTED,   // Item was inserted at position
+            REMOVED,    // Item at position was removed
+            MOVED,      // Item was updated and moved from fromPosition to position
+            REPLACED    // Item at position is a new instance that renders the same (no rebind needed)
+        }
+
+        private final Type type;
+        private final int position;
+        private final int fromPosition;
+        private final SloSnapshot snapshot;
+
+        Change(Type type, int position, SloSnapshot snapshot) {
+            this(type, position, position, snapshot);
+        }
+
+        Change(Type type, int fromPosition, int position, SloSnapshot snapshot) {
+            this.type = type;
+            this.position = position;
+            this.fromPosition = fromPosition;
+            this.snapshot = snapshot;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public int getPosition() {
+            return position;
+        }
+
+        /**
+         * The position before a move (same as {@link #getPosition()} for other types)
+         */
+        public int getFromPosition() {
+            return fromPosition;
+        }
+
+        /**
+         * The changed, inserted, moved or replaced snapshot (null for REMOVED)
+         */
+        public SloSnapshot getSnapshot() {
+            return type == Type.REMOVED ? null : snapshot;
+        }
+    }
+
+    private final long sequence;
+    private final List<Change> changes;
+    private final List<SloSnapshot> items;
+
+    private SloListUpdate(long sequence, List<Change> changes, List<SloSnapshot> items) {
+        this.sequence = sequence;
+        this.changes = changes != null ? Collections.unmodifiableList(changes) : null;
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    static SloListUpdate full(long sequence, List<SloSnapshot> items) {
+        return new SloListUpdate(sequence, null, items);
+    }
+
+    static SloListUpdate changes(long sequence, List<Change> changes, List<SloSnapshot> items) {
+        return new SloListUpdate(sequence, changes, items);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Check whether the whole list was replaced (e.g. after a filter change)
+     */
+    public boolean isFull() {
+        return changes == null;
+    }
+
+    /**
+     * The targeted changes in the order they must be applied (empty for full updates)
+     */
+    public List<Change> getChanges() {
+        return changes != null ? changes : Collections.<Change>emptyList();
+    }
+
+    /**
+     * The current visible list (read-only view, main thread only)
+     */
+    public List<SloSnapshot> getItems() {
+        return items;
+    }
+}
@@ -1,6 +1,7 @@
 package io.instana.slo.ui.slolist;
 
 import android.app.Application;
+import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
@@ -8,123 +9,393 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import io.instana.slo.data.model.EntityType;
 import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloSnapshot;
 import io.instana.slo.data.model.TrafficLightStatus;
+import io.instana.slo.data.repository.SloCatalogStore;
 import io.instana.slo.data.repository.SloRepository;
+import io.instana.slo.data.search.SloSearcher;
 import io.instana.slo.util.PreferencesManager;
+import io.instana.slo.util.SettingsStore;
+import io.instana.slo.util.UpdateCoalescer;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * ViewModel for the SLO list screen
+ * Publishes immutable {@link SloSnapshot}s so the adapter only rebinds items that changed.
+ * Snapshots are coalesced per frame; each flush becomes one {@link SloListUpdate} holding
+ * targeted changes instead of a new list. In a {@link SloSortMode} other than catalog order,
+ * an SLO whose report changes its rank is moved rather than the list being re-sorted.
  */
 public class SloListViewModel extends AndroidViewModel {
+    private static final String TAG = "SloListViewModel";
+    // Flush snapshot updates on the next frame, spending at most this long per flush
+    private static final long UPDATE_INTERVAL_MS = 0;
+    private static final long UPDATE_BUDGET_MS = 4;
+    // Size of the pinned strip of worst SLOs
+    private static final int WORST_COUNT = 3;
+
     private final SloRepository repository;
+    private final SloCatalogStore catalogStore;
     private final PreferencesManager preferencesManager;
-    private final MediatorLiveData<List<Slo>> filteredSlos;
+    private final MediatorLiveData<SloListUpdate> listUpdates;
+    private final MutableLiveData<SloFacetCounts> facetCounts;
     private final MutableLiveData<TrafficLightStatus> statusFilter;
-    private final MutableLiveData<String> entityTypeFilter;
+    private final MutableLiveData<EntityType> entityTypeFilter;
+    private final MutableLiveData<SloSortMode> sortMode;
+    private final MutableLiveData<List<SloSnapshot>> worstSlos;
     private final MutableLiveData<SloRepository.Result<List<Slo>>> sloListResult;
     private final MutableLiveData<Boolean> isLoadingData;
-    private LiveData<SloRepository.Result<List<Slo>>> allSlosLiveData;
+    private final SloFilterIndex filterIndex = new SloFilterIndex();
+    private final SloRepository.SnapshotListener snapshotListener = this::onSnapshotPublished;
+    private final UpdateCoalescer<String, SloSnapshot> updateCoalescer;
+    private final List<SloListUpdate.Change> batchChanges = new ArrayList<>();
+    private boolean batchCountsChanged;
+    private boolean batchWorstChanged;
+    private final SloSearcher searcher = new SloSearcher(this::onSearchResults);
+    private BitSet searchMatches; // null when not searching
+    // Current visible list in sort order, with positions tracked per ordinal
+    private final List<SloSnapshot> visibleSlos = new ArrayList<>();
+    private ListPositions visiblePositions = new VisiblePositions(new BitSet(), 0);
+    // Selected SLOs with a report, worst first
+    private SortedPositions worstPositions = new SortedPositions(SloSortMode.STATUS, 0);
+    private int visiblePending;
+    private long updateSequence;
     private List<Slo> allSlos;
+    private Set<String> selectedSloIds;
+    private long loadedCatalogVersion = -1;
     private boolean filtersInitialized = false;
 
     public SloListViewModel(@NonNull Application application) {
         super(application);
         repository = SloRepository.getInstance(application);
+        catalogStore = SloCatalogStore.getInstance(application);
         preferencesManager = new PreferencesManager(application);
-        filteredSlos = new MediatorLiveData<>();
+        listUpdates = new MediatorLiveData<>();
+        facetCounts = new MutableLiveData<>();
         statusFilter = new MutableLiveData<>(null); // null means "all"
         entityTypeFilter = new MutableLiveData<>(null); // null means "all"
+        sortMode = new MutableLiveData<>(SloSortMode.CATALOG);
+        worstSlos = new MutableLiveData<>(Collections.<SloSnapshot>emptyList());
         sloListResult = new MutableLiveData<>();
         isLoadingData = new MutableLiveData<>(false);
         allSlos = new ArrayList<>();
+        selectedSloIds = preferencesManager.getSelectedSloIds();
+        updateCoalescer = new UpdateCoalescer<>(UPDATE_INTERVAL_MS, UPDATE_BUDGET_MS,
+                new UpdateCoalescer.Sink<SloSnapshot>() {
+                    @Override
+                    public void onValue(SloSnapshot snapshot) {
+                        applySnapshot(snapshot);
+                    }
+
+                    @Override
+                    public void onBatchEnd(int batchSize) {
+                        publishBatch();
+                    }
+                });
         
         // Set up filter observers once
-        filteredSlos.addSource(statusFilter, status -> applyFilters());
-        filteredSlos.addSource(entityTypeFilter, entityType -> applyFilters());
+        listUpdates.addSource(statusFilter, status -> applyFilters());
+        listUpdates.addSource(entityTypeFilter, entityType -> applyFilters());
+        listUpdates.addSource(sortMode, mode -> applyFilters());
         filtersInitialized = true;
+
+        // Pick up catalog changes made by background refreshes or other screens
+        listUpdates.addSource(catalogStore.getCatalog(), catalog -> {
+            if (catalog != null && catalog.getVersion() != loadedCatalogVersion) {
+                onCatalogLoaded(catalog, false);
+            }
+        });
+
+        // Follow selection changes made in settings; the set instance only changes with its content
+        listUpdates.addSource(SettingsStore.getInstance(application).getSettings(), settings -> {
+            Set<String> selection = settings.getSelectedSloIds();
+            if (selection != selectedSloIds) {
+                selectedSloIds = selection;
+                filterIndex.setSelection(selection);
+                rebuildWorst();
+                applyFilters();
+            }
+        });
+
+        // Apply new snapshots from the repository in per-frame batches
+        repository.addSnapshotListener(snapshotListener);
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        repository.removeSnapshotListener(snapshotListener);
+        updateCoalescer.cancel();
+        searcher.cancel();
+        Log.d(TAG, "Update batching: " + updateCoalescer.getMetrics());
     }
 
     /**
-     * Get the filtered list of SLOs
+     * Get changes to the filtered list of SLOs
      */
-    public LiveData<List<Slo>> getFilteredSlos() {
-        return filteredSlos;
+    public LiveData<SloListUpdate> getListUpdates() {
+        return listUpdates;
     }
 
     /**
-     * Load only SLO list (without reports) for selection purposes
-     * Used in settings to avoid heavy API calls
+     * Get batch size metrics of the snapshot update coalescer
      */
-    public void loadSloListOnly() {
-        if (allSlosLiveData != null) {
-            filteredSlos.removeSource(allSlosLiveData);
-        }
+    public UpdateCoalescer.Metrics getUpdateMetrics() {
+        return updateCoalescer.getMetrics();
+    }
 
-        allSlosLiveData = repository.getSloListOnly();
-        
-        filteredSlos.addSource(allSlosLiveData, result -> {
-            // Forward the result to sloListResult for loading/error state observation
-            sloListResult.setValue(result);
-            
-            if (result.status == SloRepository.Result.Status.SUCCESS && result.data != null) {
-                allSlos = result.data;
-                // Don't apply filters for list-only mode, just set all SLOs
-                filteredSlos.setValue(allSlos);
-            }
-        });
+    /**
+     * Get the SLO counts per status and entity type; only emits when a count changes
+     */
+    public LiveData<SloFacetCounts> getFacetCounts() {
+        return facetCounts;
     }
 
     /**
-     * Load SLOs from the repository (list only, without reports initially)
+     * Load SLOs from the shared catalog (list only, without reports initially)
      * Reports will be loaded only for filtered/visible SLOs
      */
     public void loadSlos() {
-        if (allSlosLiveData != null) {
-            filteredSlos.removeSource(allSlosLiveData);
+        loadSlos(false);
+    }
+
+    /**
+     * Load SLOs from the shared catalog
+     *
+     * @param forceRefresh true to bypass cached lists and reports
+     */
+    private void loadSlos(boolean forceRefresh) {
+        if (forceRefresh || catalogStore.peek() == null) {
+            sloListResult.setValue(SloRepository.Result.loading());
         }
 
-        // Use getSloListOnly() to fetch just the list without reports
-        allSlosLiveData = repository.getSloListOnly();
-        
-        filteredSlos.addSource(allSlosLiveData, result -> {
-            // Forward the result to sloListResult for loading/error state observation
-            sloListResult.setValue(result);
-            
-            if (result.status == SloRepository.Result.Status.SUCCESS && result.data != null) {
-                allSlos = result.data;
-                applyFilters();
-                // Load reports only for filtered SLOs
-                loadReportsForFilteredSlos();
+        catalogStore.load(forceRefresh, new SloCatalogStore.Listener() {
+            @Override
+            public void onCatalogReady(SloCatalogStore.Catalog catalog) {
+                onCatalogLoaded(catalog, forceRefresh);
+            }
+
+            @Override
+            public void onCatalogError(String message) {
+                sloListResult.setValue(SloRepository.Result.error(message));
             }
         });
     }
+
+    private void onCatalogLoaded(SloCatalogStore.Catalog catalog, boolean forceRefresh) {
+        loadedCatalogVersion = catalog.getVersion();
+        // Forward the result to sloListResult for loading/error state observation
+        sloListResult.setValue(SloRepository.Result.success(catalog.getSlos()));
+        allSlos = catalog.getSlos();
+        List<String> matchedIds = matchedSloIds();
+        List<SloSnapshot> snapshots = new ArrayList<>(allSlos.size());
+        for (Slo slo : allSlos) {
+            snapshots.add(repository.getSnapshot(slo));
+        }
+        filterIndex.rebuild(snapshots, selectedSloIds);
+        rebuildWorst();
+        // Keep showing the previous matches until the search over the new list finishes
+        if (matchedIds != null) {
+            searchMatches = new BitSet(filterIndex.size());
+            for (String sloId : matchedIds) {
+                int ordinal = filterIndex.ordinalOf(sloId);
+                if (ordinal >= 0) {
+                    searchMatches.set(ordinal);
+                }
+            }
+        }
+        searcher.setSlos(allSlos);
+        facetCounts.setValue(filterIndex.facetCounts());
+        applyFilters();
+        // Load reports only for filtered SLOs
+        loadReportsForFilteredSlos(forceRefresh);
+    }
     
+    /**
+     * IDs of the SLOs matching the current search, or null when not searching
+     */
+    private List<String> matchedSloIds() {
+        if (searchMatches == null) {
+            return null;
+        }
+        List<String> ids = new ArrayList<>(searchMatches.cardinality());
+        for (int i = searchMatches.nextSetBit(0); i >= 0 && i < filterIndex.size(); i = searchMatches.nextSetBit(i + 1)) {
+            ids.add(filterIndex.get(i).getId());
+        }
+        return ids;
+    }
+
+    private void onSnapshotPublished(SloSnapshot snapshot) {
+        updateCoalescer.offer(snapshot.getId(), snapshot);
+    }
+
+    /**
+     * Apply one new snapshot to the visible list in O(log n)
+     * Records a change, move, insert or removal at the affected position for the current batch
+     */
+    private void applySnapshot(SloSnapshot snapshot) {
+        SloSnapshot previous = filterIndex.update(snapshot);
+        if (previous == null) {
+            return;
+        }
+        int ordinal = filterIndex.ordinalOf(snapshot.getId());
+        if (snapshot.isCompactionOf(previous)) {
+            replaceCompacted(ordinal, snapshot);
+            return;
+        }
+        boolean wasVisible = visiblePositions.contains(ordinal);
+        boolean nowVisible = filterIndex.matches(ordinal, statusFilter.getValue(), entityTypeFilter.getValue()) &&
+                             (searchMatches == null || searchMatches.get(ordinal));
+
+        if (previous.getStatus() != snapshot.getStatus()) {
+            // Entity types only change with the catalog, which rebuilds the index
+            batchCountsChanged = true;
+        }
+
+        if (wasVisible && previous.isPending()) {
+            visiblePending--;
+        }
+        if (nowVisible && snapshot.isPending()) {
+            visiblePending++;
+        }
+
+        updateWorst(ordinal, snapshot);
+
+        int position = wasVisible ? visiblePositions.positionOf(ordinal) : -1;
+        if (wasVisible && nowVisible) {
+            // Re-positions the SLO if the new report changed its sort key
+            visiblePositions.add(ordinal, snapshot);
+            int newPosition = visiblePositions.positionOf(ordinal);
+            if (newPosition == position) {
+                visibleSlos.set(position, snapshot);
+                batchChanges.add(new SloListUpdate.Change(SloListUpdate.Change.Type.CHANGED, position, snapshot));
+            } else {
+                visibleSlos.remove(position);
+                visibleSlos.add(newPosition, snapshot);
+                batchChanges.add(new SloListUpdate.Change(SloListUpdate.Change.Type.MOVED,
+                        position, newPosition, snapshot));
+            }
+        } else if (wasVisible) {
+            visiblePositions.remove(ordinal);
+            visibleSlos.remove(position);
+            batchChanges.add(new SloListUpdate.Change(SloListUpdate.Change.Type.REMOVED, position, previous));
+        } else if (nowVisible) {
+            visiblePositions.add(ordinal, snapshot);
+            position = visiblePositions.positionOf(ordinal);
+            visibleSlos.add(position, snapshot);
+            batchChanges.add(new SloListUpdate.Change(SloListUpdate.Change.Type.INSERTED, position, snapshot));
+        }
+    }
+
+    /**
+     * Swap in a snapshot whose report was compacted to save memory
+     * Sort keys, filters and counts are unchanged, so nothing moves and the card is not rebound.
+     */
+    private void replaceCompacted(int ordinal, SloSnapshot snapshot) {
+        if (visiblePositions.contains(ordinal)) {
+            visiblePositions.add(ordinal, snapshot);
+            int position = visiblePositions.positionOf(ordinal);
+            visibleSlos.set(position, snapshot);
+            batchChanges.add(new SloListUpdate.Change(SloListUpdate.Change.Type.REPLACED, position, snapshot));
+        }
+        if (worstPositions.contains(ordinal)) {
+            worstPositions.add(ordinal, snapshot);
+            // The strip holds its own list; republish it so the old report can be collected
+            if (worstPositions.positionOf(ordinal) < WORST_COUNT) {
+                batchWorstChanged = true;
+            }
+        }
+    }
+
+    /**
+     * Re-rank one SLO among the worst in O(log n)
+     * Only marks the strip as changed if the SLO was or is now among the first entries.
+     */
+    private void updateWorst(int ordinal, SloSnapshot snapshot) {
+        boolean wasWorst = worstPositions.contains(ordinal) && worstPositions.positionOf(ordinal) < WORST_COUNT;
+        if (isRanked(ordinal, snapshot)) {
+            worstPositions.add(ordinal, snapshot);
+        } else {
+            worstPositions.remove(ordinal);
+        }
+        boolean nowWorst = worstPositions.contains(ordinal) && worstPositions.positionOf(ordinal) < WORST_COUNT;
+        if (wasWorst || nowWorst) {
+            batchWorstChanged = true;
+        }
+    }
+
+    private boolean isRanked(int ordinal, SloSnapshot snapshot) {
+        return filterIndex.isSelected(ordinal) && snapshot.getReport() != null && snapshot.getStatus() != null;
+    }
+
+    /**
+     * Rank all selected SLOs after the catalog or the selection changed
+     */
+    private void rebuildWorst() {
+        int size = filterIndex.size();
+        worstPositions = new SortedPositions(SloSortMode.STATUS, size);
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            SloSnapshot snapshot = filterIndex.get(ordinal);
+            if (isRanked(ordinal, snapshot)) {
+                worstPositions.add(ordinal, snapshot);
+            }
+        }
+        publishWorst();
+    }
+
+    private void publishWorst() {
+        List<SloSnapshot> worst = worstPositions.head(WORST_COUNT);
+        if (!worst.equals(worstSlos.getValue())) {
+            worstSlos.setValue(Collections.unmodifiableList(worst));
+        }
+    }
+
+    /**
+     * Emit everything the current batch changed with one value per LiveData
+     */
+    private void publishBatch() {
+        if (!batchChanges.isEmpty()) {
+            listUpdates.setValue(SloListUpdate.changes(++updateSequence, new ArrayList<>(batchChanges), visibleSlos));
+            batchChanges.clear();
+        }
+        if (batchCountsChanged) {
+            facetCounts.setValue(filterIndex.facetCounts());
+            batchCountsChanged = false;
+        }
+        if (batchWorstChanged) {
+            publishWorst();
+            batchWorstChanged = false;
+        }
+        setLoadingData(visiblePending > 0);
+    }
+
+    private void setLoadingData(boolean loading) {
+        if (!Boolean.valueOf(loading).equals(isLoadingData.getValue())) {
+            isLoadingData.setValue(loading);
+        }
+    }
+
     /**
      * Load reports only for SLOs that pass the filters
      */
-    private void loadReportsForFilteredSlos() {
-        List<Slo> filtered = filteredSlos.getValue();
-        if (filtered != null && !filtered.isEmpty()) {
-            android.util.Log.d("SloListViewModel", "Loading reports for " + filtered.size() + " filtered SLOs");
+    private void loadReportsForFilteredSlos(boolean forceRefresh) {
+        List<SloSnapshot> filtered = visibleSlos;
+        if (!filtered.isEmpty()) {
+            Log.d(TAG, "Loading reports for " + filtered.size() + " filtered SLOs");
             
-            // Set up listeners for each SLO to trigger UI updates when data loads
-            for (Slo slo : filtered) {
-                slo.setDataLoadedListener((loadedSlo, success) -> {
-                    android.util.Log.d("SloListViewModel", "SLO data loaded: " + loadedSlo.getName() +
-                        " (success: " + success + ") - triggering UI update");
-                    // Trigger LiveData update by re-applying filters
-                    // This will cause the Fragment to receive the updated list
-                    applyFilters();
-                });
+            // Progress comes back as new snapshots through snapshotListener
+            List<Slo> slosToLoad = new ArrayList<>(filtered.size());
+            for (SloSnapshot snapshot : filtered) {
+                slosToLoad.add(snapshot.getSlo());
             }
-            
-            repository.loadReportsForSlos(filtered, allSlos);
+            repository.loadReportsForSlos(slosToLoad, forceRefresh);
         }
     }
 
@@ -152,7 +423,7 @@ public class SloListViewModel extends AndroidViewModel {
     /**
      * Set the entity type filter
      */
-    public void setEntityTypeFilter(String entityType) {
+    public void setEntityTypeFilter(EntityType entityType) {
         entityTypeFilter.setValue(entityType);
     }
 
@@ -166,10 +437,56 @@ public class SloListViewModel extends AndroidViewModel {
     /**
      * Get current entity type filter
      */
-    public LiveData<String> getEntityTypeFilter() {
+    public LiveData<EntityType> getEntityTypeFilter() {
         return entityTypeFilter;
     }
 
+    /**
+     * Set the order of the list
+     */
+    public void setSortMode(SloSortMode mode) {
+        if (mode != null && mode != sortMode.getValue()) {
+            sortMode.setValue(mode);
+        }
+    }
+
+    /**
+     * Get the current order of the list
+     */
+    public LiveData<SloSortMode> getSortMode() {
+        return sortMode;
+    }
+
+    /**
+     * Get the selected SLOs with the least healthy reports, worst first
+     * Ignores the filters and search; kept up to date as reports arrive.
+     */
+    public LiveData<List<SloSnapshot>> getWorstSlos() {
+        return worstSlos;
+    }
+
+    /**
+     * Search SLO names, entity types and IDs; applied after a short debounce
+     */
+    public void setSearchQuery(String query) {
+        searcher.search(query);
+        if ((query == null || query.trim().isEmpty()) && searchMatches != null) {
+            // Clearing the search needs no index
+            searcher.cancel();
+            searchMatches = null;
+            applyFilters();
+        }
+    }
+
+    private void onSearchResults(List<Slo> slos, String query, BitSet matches) {
+        BitSet newMatches = query.trim().isEmpty() ? null : matches;
+        if (slos != allSlos || (newMatches == null && searchMatches == null)) {
+            return;
+        }
+        searchMatches = newMatches;
+        applyFilters();
+    }
+
     /**
      * Clear all filters
      */
@@ -179,108 +496,55 @@ public class SloListViewModel extends AndroidViewModel {
     }
 
     /**
-     * Apply current filters to the SLO list
+     * Apply current filters and sort mode to the SLO list
+     * Filtering is an intersection of the index bitmaps (selection, status, entity type)
      */
     private void applyFilters() {
-        if (allSlos == null || allSlos.isEmpty()) {
-            filteredSlos.setValue(new ArrayList<>());
-            isLoadingData.setValue(false);
-            return;
-        }
-
-        // Create a new list with the same SLO references
-        // Note: We don't clone Slo objects because DiffUtil needs to detect
-        // changes in the same objects (status, loadingState, report fields)
-        List<Slo> filtered = new ArrayList<>(allSlos);
-
-        // Apply SLO selection filter (from settings)
-        // If no SLOs are selected, show nothing
-        Set<String> selectedSloIds = preferencesManager.getSelectedSloIds();
-        if (selectedSloIds.isEmpty()) {
-            filteredSlos.setValue(new ArrayList<>());
-            isLoadingData.setValue(false);
-            return;
+        // If no SLOs are selected, the query is empty and nothing is shown
+        BitSet visible = filterIndex.query(statusFilter.getValue(), entityTypeFilter.getValue());
+        if (searchMatches != null) {
+            visible.and(searchMatches);
         }
-        
-        filtered = filtered.stream()
-                .filter(slo -> selectedSloIds.contains(slo.getId()))
-                .collect(Collectors.toList());
-
-        // Apply status filter
-        TrafficLightStatus currentStatusFilter = statusFilter.getValue();
-        if (currentStatusFilter != null) {
-            filtered = filtered.stream()
-                    .filter(slo -> slo.getStatus() == currentStatusFilter)
-                    .collect(Collectors.toList());
+        SloSortMode mode = sortMode.getValue();
+        SortedPositions sorted = null;
+        if (mode == null || mode == SloSortMode.CATALOG) {
+            visiblePositions = new VisiblePositions(visible, filterIndex.size());
+        } else {
+            sorted = new SortedPositions(mode, filterIndex.size());
+            for (int i = visible.nextSetBit(0); i >= 0; i = visible.nextSetBit(i + 1)) {
+                sorted.add(i, filterIndex.get(i));
+            }
+            visiblePositions = sorted;
         }
 
-        // Apply entity type filter
-        String currentEntityTypeFilter = entityTypeFilter.getValue();
-        if (currentEntityTypeFilter != null && !currentEntityTypeFilter.isEmpty()) {
-            android.util.Log.d("SloListViewModel", "Filtering by entity type: " + currentEntityTypeFilter);
-            android.util.Log.d("SloListViewModel", "Total SLOs before entity filter: " + filtered.size());
-            
-            // Count SLOs with null entities for debugging
-            long nullEntityCount = filtered.stream()
-                    .filter(slo -> slo.getEntity() == null || slo.getEntity().getEntityType() == null)
-                    .count();
-            android.util.Log.d("SloListViewModel", "SLOs with null entity/entityType: " + nullEntityCount);
-            
-            filtered = filtered.stream()
-                    .filter(slo -> {
-                        if (slo.getEntity() == null) {
-                            android.util.Log.d("SloListViewModel", "SLO '" + slo.getName() + "' has null entity");
-                            return false;
-                        }
-                        if (slo.getEntity().getEntityType() == null) {
-                            android.util.Log.d("SloListViewModel", "SLO '" + slo.getName() + "' has null entityType");
-                            return false;
-                        }
-                        String entityType = slo.getEntity().getEntityType().trim();
-                        boolean matches = currentEntityTypeFilter.equalsIgnoreCase(entityType);
-                        android.util.Log.d("SloListViewModel", "SLO '" + slo.getName() + "' entityType: '" + entityType + "' matches: " + matches);
-                        return matches;
-                    })
-                    .collect(Collectors.toList());
-            android.util.Log.d("SloListViewModel", "After entity type filter: " + filtered.size() + " SLOs");
-        }
-        
         // Check if any FILTERED SLOs are still loading (not all SLOs)
         // This ensures the loading indicator reflects only the visible SLOs
-        boolean anyLoading = filtered.stream()
-                .anyMatch(slo -> slo.getLoadingState() == Slo.LoadingState.LOADING ||
-                                slo.getLoadingState() == Slo.LoadingState.NOT_LOADED);
-        isLoadingData.setValue(anyLoading);
+        visiblePending = filterIndex.countPending(visible);
+        setLoadingData(visiblePending > 0);
 
-        // Always set a new list instance to trigger LiveData observers
-        filteredSlos.setValue(new ArrayList<>(filtered));
+        visibleSlos.clear();
+        visibleSlos.addAll(sorted != null ? sorted.toList() : filterIndex.select(visible));
+        listUpdates.setValue(SloListUpdate.full(++updateSequence, visibleSlos));
     }
 
     /**
-     * Refresh the SLO list
+     * Refresh the SLO list, bypassing cached data
      */
     public void refresh() {
-        loadSlos();
+        loadSlos(true);
     }
 
     /**
      * Get count by status
      */
     public int getCountByStatus(TrafficLightStatus status) {
-        if (allSlos == null) return 0;
-        return (int) allSlos.stream()
-                .filter(slo -> slo.getStatus() == status)
-                .count();
+        return filterIndex.countByStatus(status);
     }
 
     /**
      * Get count by entity type
      */
-    public int getCountByEntityType(String entityType) {
-        if (allSlos == null) return 0;
-        return (int) allSlos.stream()
-                .filter(slo -> slo.getEntity() != null && 
-                        entityType.equalsIgnoreCase(slo.getEntity().getEntityType()))
-                .count();
+    public int getCountByEntityType(EntityType entityType) {
+        return filterIndex.countByEntityType(entityType);
     }
 }
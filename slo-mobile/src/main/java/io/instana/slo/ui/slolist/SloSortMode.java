@@ -0,0 +1,79 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.SloSnapshot;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+/**
+ * Order of the SLO list
+ *
+ * Every mode puts the SLOs that need attention first; SLOs without a report sort last.
+ * Ties keep the catalog order.
+ */
+public enum SloSortMode {
+    /**
+     * Catalog order as returned by the API
+     */
+    CATALOG,
+
+    /**
+     * Least error budget remaining first
+     */
+    REMAINING_BUDGET,
+
+    /**
+     * Smallest (or most negative) SLI-to-target margin first
+     */
+    SLI_MARGIN,
+
+    /**
+     * Red, then yellow, then green; least budget first within a status
+     */
+    STATUS,
+
+    /**
+     * Alphabetical by name, ignoring case
+     */
+    NAME;
+
+    /**
+     * Compare two snapshots; 0 means the catalog order decides
+     */
+    int compare(SloSnapshot a, SloSnapshot b) {
+        switch (this) {
+            case REMAINING_BUDGET:
+                return Double.compare(remainingBudget(a), remainingBudget(b));
+            case SLI_MARGIN:
+                return Double.compare(sliMargin(a), sliMargin(b));
+            case STATUS:
+                int bySeverity = Integer.compare(severity(b), severity(a));
+                return bySeverity != 0 ? bySeverity : Double.compare(remainingBudget(a), remainingBudget(b));
+            case NAME:
+                return compareNames(a.getName(), b.getName());
+            default:
+                return 0;
+        }
+    }
+
+    private static double remainingBudget(SloSnapshot snapshot) {
+        SloReport report = snapshot.getReport();
+        return report != null ? report.getErrorBudgetRemainingPercentage() : Double.POSITIVE_INFINITY;
+    }
+
+    private static double sliMargin(SloSnapshot snapshot) {
+        SloReport report = snapshot.getReport();
+        return report != null ? report.getSli() - report.getSloTarget() : Double.POSITIVE_INFINITY;
+    }
+
+    private static int severity(SloSnapshot snapshot) {
+        TrafficLightStatus status = snapshot.getReport() != null ? snapshot.getStatus() : null;
+        return status != null ? status.ordinal() : -1;
+    }
+
+    private static int compareNames(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        return String.CASE_INSENSITIVE_ORDER.compare(a, b);
+    }
+}
@@ -0,0 +1,218 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.data.model.SloSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Maps SLO ordinals to their position in a list ordered by a {@link SloSortMode}
+ *
+ * An order-statistics treap keyed by (snapshot, ordinal) with subtree sizes, so adding,
+ * removing, re-positioning and locating a single SLO are O(log n) expected, and the k-th
+ * SLO is found in O(log n) as well. Each node keeps the snapshot it was sorted by, so an
+ * SLO can be found again after the filter index already holds its newer snapshot.
+ * Nodes are indexed by ordinal to avoid allocations while reports stream in.
+ */
+final class SortedPositions implements ListPositions {
+    private static final int NIL = -1;
+
+    private final SloSortMode mode;
+    private final SloSnapshot[] keys;
+    private final int[] left;
+    private final int[] right;
+    private final int[] sizes;
+    private final int[] priorities;
+    private final Random random = new Random();
+    private int root = NIL;
+    // Results of split(), to avoid returning pairs
+    private int splitLeft;
+    private int splitRight;
+
+    /**
+     * @param mode Order of the list
+     * @param capacity Number of ordinals
+     */
+    SortedPositions(SloSortMode mode, int capacity) {
+        this.mode = mode;
+        this.keys = new SloSnapshot[capacity];
+        this.left = new int[capacity];
+        this.right = new int[capacity];
+        this.sizes = new int[capacity];
+        this.priorities = new int[capacity];
+    }
+
+    SloSortMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public boolean contains(int ordinal) {
+        return keys[ordinal] != null;
+    }
+
+    @Override
+    public int positionOf(int ordinal) {
+        SloSnapshot key = keys[ordinal];
+        int position = 0;
+        int node = root;
+        while (node != NIL) {
+            int c = compare(key, ordinal, node);
+            if (c < 0) {
+                node = left[node];
+            } else {
+                position += size(left[node]);
+                if (c == 0) {
+                    return position;
+                }
+                position++;
+                node = right[node];
+            }
+        }
+        return position;
+    }
+
+    @Override
+    public void add(int ordinal, SloSnapshot snapshot) {
+        if (keys[ordinal] != null) {
+            remove(ordinal);
+        }
+        keys[ordinal] = snapshot;
+        left[ordinal] = NIL;
+        right[ordinal] = NIL;
+        sizes[ordinal] = 1;
+        priorities[ordinal] = random.nextInt();
+        split(root, snapshot, ordinal);
+        root = merge(merge(splitLeft, ordinal), splitRight);
+    }
+
+    @Override
+    public void remove(int ordinal) {
+        if (keys[ordinal] != null) {
+            root = erase(root, ordinal);
+            keys[ordinal] = null;
+        }
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Get the ordinal at a list position
+     */
+    int ordinalAt(int position) {
+        int node = root;
+        while (node != NIL) {
+            int leftSize = size(left[node]);
+            if (position < leftSize) {
+                node = left[node];
+            } else if (position == leftSize) {
+                return node;
+            } else {
+                position -= leftSize + 1;
+                node = right[node];
+            }
+        }
+        throw new IndexOutOfBoundsException("Position " + position + " of " + size());
+    }
+
+    /**
+     * Get the first snapshots in list order
+     */
+    List<SloSnapshot> head(int count) {
+        int n = Math.min(count, size());
+        List<SloSnapshot> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(keys[ordinalAt(i)]);
+        }
+        return result;
+    }
+
+    /**
+     * Get all snapshots in list order
+     */
+    List<SloSnapshot> toList() {
+        List<SloSnapshot> result = new ArrayList<>(size());
+        collect(root, result);
+        return result;
+    }
+
+    private void collect(int node, List<SloSnapshot> out) {
+        while (node != NIL) {
+            collect(left[node], out);
+            out.add(keys[node]);
+            node = right[node];
+        }
+    }
+
+    private int compare(SloSnapshot key, int ordinal, int node) {
+        int c = mode.compare(key, keys[node]);
+        return c != 0 ? c : Integer.compare(ordinal, node);
+    }
+
+    /**
+     * Split a subtree into the nodes before and after a key
+     */
+    private void split(int node, SloSnapshot key, int ordinal) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+        } else if (compare(key, ordinal, node) > 0) {
+            split(right[node], key, ordinal);
+            right[node] = splitLeft;
+            update(node);
+            splitLeft = node;
+        } else {
+            split(left[node], key, ordinal);
+            left[node] = splitRight;
+            update(node);
+            splitRight = node;
+        }
+    }
+
+    /**
+     * Merge two subtrees where every node of the first comes before the second
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int erase(int node, int ordinal) {
+        if (node == NIL) {
+            return NIL;
+        }
+        if (node == ordinal) {
+            return merge(left[node], right[node]);
+        }
+        if (compare(keys[ordinal], ordinal, node) < 0) {
+            left[node] = erase(left[node], ordinal);
+        } else {
+            right[node] = erase(right[node], ordinal);
+        }
+        update(node);
+        return node;
+    }
+
+    private void update(int node) {
+        sizes[node] = 1 + size(left[node]) + size(right[node]);
+    }
+
+    private int size(int node) {
+        return node != NIL ? sizes[node] : 0;
+    }
+}
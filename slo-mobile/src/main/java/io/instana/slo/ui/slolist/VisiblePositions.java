@@ -0,0 +1,75 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.data.model.SloSnapshot;
+
+import java.util.BitSet;
+
+/**
+ * Maps SLO ordinals to their position in the visible list in catalog order
+ *
+ * A Fenwick tree over the ordinals counts the visible SLOs before a given ordinal,
+ * so adding, removing and locating a single SLO are all O(log n).
+ */
+final class VisiblePositions implements ListPositions {
+    private final int[] tree;
+    private final BitSet visible;
+
+    /**
+     * @param visible Ordinals that are currently visible (copied)
+     * @param size Number of ordinals
+     */
+    VisiblePositions(BitSet visible, int size) {
+        this.tree = new int[size + 1];
+        this.visible = (BitSet) visible.clone();
+        // Linear-time construction
+        for (int i = visible.nextSetBit(0); i >= 0 && i < size; i = visible.nextSetBit(i + 1)) {
+            tree[i + 1]++;
+        }
+        for (int i = 1; i <= size; i++) {
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(int ordinal) {
+        return visible.get(ordinal);
+    }
+
+    /**
+     * Get the list position of a visible ordinal (or the insertion point of a hidden one)
+     */
+    @Override
+    public int positionOf(int ordinal) {
+        int count = 0;
+        for (int i = ordinal; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    @Override
+    public void add(int ordinal, SloSnapshot snapshot) {
+        // Catalog order does not depend on the snapshot
+        if (!visible.get(ordinal)) {
+            visible.set(ordinal);
+            update(ordinal, 1);
+        }
+    }
+
+    @Override
+    public void remove(int ordinal) {
+        if (visible.get(ordinal)) {
+            visible.clear(ordinal);
+            update(ordinal, -1);
+        }
+    }
+
+    private void update(int ordinal, int delta) {
+        for (int i = ordinal + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.instana.slo.util;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable, compact set of IDs backed by a sorted array
+ *
+ * Uses one array slot per ID instead of a hash map entry, and can be stored as a
+ * single string. Lookups are binary searches.
+ */
+public final class IdSet extends AbstractSet<String> {
+    private static final char SEPARATOR = '\n';
+    public static final IdSet EMPTY = new IdSet(new String[0]);
+
+    private final String[] ids;
+
+    private IdSet(String[] sortedIds) {
+        this.ids = sortedIds;
+    }
+
+    /**
+     * Create a set from any collection of IDs; null and empty IDs are dropped
+     */
+    public static IdSet of(Collection<String> source) {
+        if (source == null || source.isEmpty()) {
+            return EMPTY;
+        }
+        if (source instanceof IdSet) {
+            return (IdSet) source;
+        }
+        String[] values = new String[source.size()];
+        int count = 0;
+        for (String id : source) {
+            if (id != null && !id.isEmpty() && id.indexOf(SEPARATOR) < 0) {
+                values[count++] = id;
+            }
+        }
+        return fromArray(values, count);
+    }
+
+    /**
+     * Decode a set written by {@link #encode()}
+     */
+    public static IdSet decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return EMPTY;
+        }
+        String[] values = encoded.split(String.valueOf(SEPARATOR));
+        return fromArray(values, values.length);
+    }
+
+    private static IdSet fromArray(String[] values, int count) {
+        Arrays.sort(values, 0, count);
+        // Drop duplicates and empty parts in place
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (!values[i].isEmpty() && (size == 0 || !values[i].equals(values[size - 1]))) {
+                values[size++] = values[i];
+            }
+        }
+        return size == 0 ? EMPTY : new IdSet(size == values.length ? values : Arrays.copyOf(values, size));
+    }
+
+    /**
+     * Encode the set as a single string
+     */
+    public String encode() {
+        StringBuilder builder = new StringBuilder();
+        for (String id : ids) {
+            if (builder.length() > 0) {
+                builder.append(SEPARATOR);
+            }
+            builder.append(id);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String && Arrays.binarySearch(ids, o) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < ids.length;
+            }
+
+            @Override
+            public String next() {
+                if (index >= ids.length) {
+                    throw new NoSuchElementException();
+                }
+                return ids[index++];
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof IdSet) {
+            return Arrays.equals(ids, ((IdSet) o).ids);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // Must match AbstractSet: sum of element hashes
+        return super.hashCode();
+    }
+}
@@ -1,149 +1,100 @@
 package io.instana.slo.util;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 
-import androidx.security.crypto.EncryptedSharedPreferences;
-import androidx.security.crypto.MasterKey;
-
-import java.io.IOException;
-import java.security.GeneralSecurityException;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Manager for application preferences including secure storage for API credentials
+ * Thin view of the shared {@link SettingsStore}; reads come from memory and writes persist asynchronously
  */
 public class PreferencesManager {
-    private static final String PREFS_NAME = "slo_preferences";
-    private static final String ENCRYPTED_PREFS_NAME = "slo_encrypted_preferences";
-    
-    // Preference keys
-    private static final String KEY_API_ENDPOINT = "api_endpoint";
-    private static final String KEY_API_TOKEN = "api_token";
-    private static final String KEY_YELLOW_THRESHOLD = "yellow_threshold";
-    private static final String KEY_FIRST_RUN = "first_run";
-    private static final String KEY_SELECTED_SLO_IDS = "selected_slo_ids";
-    
-    // Default values
-    private static final String DEFAULT_API_ENDPOINT = "https://instana.io";
-    private static final double DEFAULT_YELLOW_THRESHOLD = 50.0;
-
-    private final SharedPreferences preferences;
-    private final SharedPreferences encryptedPreferences;
+    private final SettingsStore store;
 
     public PreferencesManager(Context context) {
-        // Regular preferences for non-sensitive data
-        preferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        
-        // Encrypted preferences for sensitive data (API token)
-        encryptedPreferences = createEncryptedPreferences(context);
-    }
-
-    /**
-     * Create encrypted shared preferences for secure storage
-     */
-    private SharedPreferences createEncryptedPreferences(Context context) {
-        try {
-            MasterKey masterKey = new MasterKey.Builder(context)
-                    .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
-                    .build();
-
-            return EncryptedSharedPreferences.create(
-                    context,
-                    ENCRYPTED_PREFS_NAME,
-                    masterKey,
-                    EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
-                    EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
-            );
-        } catch (GeneralSecurityException | IOException e) {
-            // Fallback to regular preferences if encryption fails
-            return context.getSharedPreferences(ENCRYPTED_PREFS_NAME, Context.MODE_PRIVATE);
-        }
+        store = SettingsStore.getInstance(context);
     }
 
     // API Endpoint
     public String getApiEndpoint() {
-        return preferences.getString(KEY_API_ENDPOINT, DEFAULT_API_ENDPOINT);
+        return store.get().getApiEndpoint();
     }
 
     public void setApiEndpoint(String endpoint) {
-        preferences.edit().putString(KEY_API_ENDPOINT, endpoint).apply();
+        store.setApiEndpoint(endpoint);
     }
 
     // API Token (stored encrypted)
     public String getApiToken() {
-        return encryptedPreferences.getString(KEY_API_TOKEN, "");
+        return store.getApiToken();
     }
 
     public void setApiToken(String token) {
-        encryptedPreferences.edit().putString(KEY_API_TOKEN, token).apply();
+        store.setApiToken(token);
     }
 
     // Yellow Threshold
     public double getYellowThreshold() {
-        return Double.longBitsToDouble(
-                preferences.getLong(KEY_YELLOW_THRESHOLD, 
-                        Double.doubleToLongBits(DEFAULT_YELLOW_THRESHOLD))
-        );
+        return store.get().getYellowThreshold();
     }
 
     public void setYellowThreshold(double threshold) {
-        preferences.edit()
-                .putLong(KEY_YELLOW_THRESHOLD, Double.doubleToLongBits(threshold))
-                .apply();
+        store.setYellowThreshold(threshold);
     }
 
     // First run flag
     public boolean isFirstRun() {
-        return preferences.getBoolean(KEY_FIRST_RUN, true);
+        return store.get().isFirstRun();
     }
 
     public void setFirstRun(boolean firstRun) {
-        preferences.edit().putBoolean(KEY_FIRST_RUN, firstRun).apply();
+        store.setFirstRun(firstRun);
     }
 
     /**
      * Check if API credentials are configured
+     * May wait for encrypted storage; on the main thread, call from {@link #runWhenSecretsLoaded(Runnable)}.
      */
     public boolean isConfigured() {
-        String endpoint = getApiEndpoint();
-        String token = getApiToken();
-        return endpoint != null && !endpoint.isEmpty() && 
-               token != null && !token.isEmpty();
+        return store.isConfigured();
+    }
+
+    /**
+     * Run an action on the main thread once the API token is available
+     */
+    public void runWhenSecretsLoaded(Runnable action) {
+        store.runWhenSecretsLoaded(action);
     }
 
     /**
      * Clear all preferences
      */
     public void clearAll() {
-        preferences.edit().clear().apply();
-        encryptedPreferences.edit().clear().apply();
+        store.clearAll();
     }
 
     /**
      * Get default API endpoint
      */
     public static String getDefaultApiEndpoint() {
-        return DEFAULT_API_ENDPOINT;
+        return SettingsStore.DEFAULT_API_ENDPOINT;
     }
 
     /**
      * Get default yellow threshold
      */
     public static double getDefaultYellowThreshold() {
-        return DEFAULT_YELLOW_THRESHOLD;
+        return SettingsStore.DEFAULT_YELLOW_THRESHOLD;
     }
 
     // Selected SLO IDs
     /**
      * Get the set of selected SLO IDs
-     * @return Set of SLO IDs that should be displayed, or empty set if none selected
+     * @return Immutable set of SLO IDs that should be displayed, or empty set if none selected;
+     *         the same instance is returned until the selection changes
      */
     public Set<String> getSelectedSloIds() {
-        // Always return a new HashSet to avoid SharedPreferences mutation issues
-        Set<String> stored = preferences.getStringSet(KEY_SELECTED_SLO_IDS, new HashSet<>());
-        return stored != null ? new HashSet<>(stored) : new HashSet<>();
+        return store.get().getSelectedSloIds();
     }
 
     /**
@@ -151,17 +102,7 @@ public class PreferencesManager {
      * @param sloIds Set of SLO IDs to display
      */
     public void setSelectedSloIds(Set<String> sloIds) {
-        // Create a new HashSet and commit synchronously to ensure it's saved
-        Set<String> newSet = sloIds != null ? new HashSet<>(sloIds) : new HashSet<>();
-        android.util.Log.d("PreferencesManager", "Saving selected SLO IDs: " + newSet);
-        preferences.edit()
-                .remove(KEY_SELECTED_SLO_IDS)  // Remove first to avoid mutation issues
-                .putStringSet(KEY_SELECTED_SLO_IDS, newSet)
-                .commit();  // Use commit() instead of apply() to ensure immediate save
-        
-        // Verify it was saved
-        Set<String> verified = preferences.getStringSet(KEY_SELECTED_SLO_IDS, new HashSet<>());
-        android.util.Log.d("PreferencesManager", "Verified saved SLO IDs: " + verified);
+        store.setSelectedSloIds(sloIds);
     }
 
     /**
@@ -170,8 +111,7 @@ public class PreferencesManager {
      * @return true if the SLO is selected
      */
     public boolean isSloSelected(String sloId) {
-        Set<String> selectedIds = getSelectedSloIds();
-        return selectedIds.contains(sloId);
+        return getSelectedSloIds().contains(sloId);
     }
 
     /**
@@ -179,9 +119,6 @@ public class PreferencesManager {
      * @return true if specific SLOs are selected, false if none selected
      */
     public boolean hasSelectedSlos() {
-        Set<String> selectedIds = getSelectedSloIds();
-        boolean hasSelected = !selectedIds.isEmpty();
-        android.util.Log.d("PreferencesManager", "hasSelectedSlos() = " + hasSelected + ", IDs: " + selectedIds);
-        return hasSelected;
+        return !getSelectedSloIds().isEmpty();
     }
 }
@@ -0,0 +1,404 @@
+package io.instana.slo.util;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.security.crypto.EncryptedSharedPreferences;
+import androidx.security.crypto.MasterKey;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide in-memory copy of the app settings
+ *
+ * Preferences are read once into an immutable {@link Settings} snapshot. Reads never
+ * touch SharedPreferences; writes replace the snapshot, notify observers and are
+ * persisted in order on a background thread. Reads are safe from any thread.
+ *
+ * Encrypted storage (Keystore + Tink) is opened once per process on the background
+ * thread, so plain settings are available immediately. Only {@link #getApiToken()} and
+ * {@link #isConfigured()} wait for it, and the decrypted token is then kept in memory;
+ * the main thread uses {@link #runWhenSecretsLoaded(Runnable)} instead of waiting.
+ */
+public class SettingsStore {
+    private static final String TAG = "SettingsStore";
+    private static final String PREFS_NAME = "slo_preferences";
+    private static final String ENCRYPTED_PREFS_NAME = "slo_encrypted_preferences";
+
+    // Preference keys
+    private static final String KEY_API_ENDPOINT = "api_endpoint";
+    private static final String KEY_API_TOKEN = "api_token";
+    private static final String KEY_YELLOW_THRESHOLD = "yellow_threshold";
+    private static final String KEY_FIRST_RUN = "first_run";
+    private static final String KEY_SELECTED_SLO_IDS = "selected_slo_ids";          // Legacy string set
+    private static final String KEY_SELECTED_SLO_IDS_PACKED = "selected_slo_ids_packed";
+
+    // Default values
+    static final String DEFAULT_API_ENDPOINT = "https://instana.io";
+    static final double DEFAULT_YELLOW_THRESHOLD = 50.0;
+
+    private static SettingsStore instance;
+
+    private final SharedPreferences preferences;
+    private final Supplier<SharedPreferences> openSecrets;
+    private final Supplier<SharedPreferences> openSecretsFallback;
+    // Created by the first writer task; only read by later writer tasks
+    private SharedPreferences encryptedPreferences;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final CountDownLatch secretsLoaded = new CountDownLatch(1);
+    private boolean tokenChanged;
+    private final MutableLiveData<Settings> settingsLiveData;
+    private volatile Settings settings;
+
+    /**
+     * @param preferences Plain preferences, read right away
+     * @param openSecrets Opens encrypted storage; slow, called once on the writer thread
+     * @param openSecretsFallback Storage used for secrets if opening encrypted storage throws
+     */
+    SettingsStore(SharedPreferences preferences, Supplier<SharedPreferences> openSecrets,
+                  Supplier<SharedPreferences> openSecretsFallback) {
+        this.preferences = preferences;
+        this.openSecrets = openSecrets;
+        this.openSecretsFallback = openSecretsFallback;
+        settings = load();
+        settingsLiveData = new MutableLiveData<>(settings);
+        writer.execute(this::loadSecrets);
+    }
+
+    /**
+     * Get singleton instance of the settings store
+     * The first call starts opening encrypted storage in the background.
+     */
+    public static synchronized SettingsStore getInstance(Context context) {
+        if (instance == null) {
+            Context app = context.getApplicationContext();
+            instance = new SettingsStore(app.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE),
+                    () -> createEncryptedPreferences(app),
+                    () -> app.getSharedPreferences(ENCRYPTED_PREFS_NAME, Context.MODE_PRIVATE));
+        }
+        return instance;
+    }
+
+    /**
+     * Create encrypted shared preferences for secure storage
+     */
+    private static SharedPreferences createEncryptedPreferences(Context context) {
+        long start = SystemClock.elapsedRealtime();
+        try {
+            MasterKey masterKey = new MasterKey.Builder(context)
+                    .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
+                    .build();
+
+            SharedPreferences encrypted = EncryptedSharedPreferences.create(
+                    context,
+                    ENCRYPTED_PREFS_NAME,
+                    masterKey,
+                    EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
+                    EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
+            );
+            Log.d(TAG, "Opened encrypted preferences in " + (SystemClock.elapsedRealtime() - start) + "ms");
+            return encrypted;
+        } catch (GeneralSecurityException | IOException e) {
+            // Fallback to regular preferences if encryption fails
+            return context.getSharedPreferences(ENCRYPTED_PREFS_NAME, Context.MODE_PRIVATE);
+        }
+    }
+
+    private Settings load() {
+        IdSet selection;
+        String packed = preferences.getString(KEY_SELECTED_SLO_IDS_PACKED, null);
+        if (packed != null) {
+            selection = IdSet.decode(packed);
+        } else {
+            // Migrate the old string set to the packed form
+            selection = IdSet.of(preferences.getStringSet(KEY_SELECTED_SLO_IDS, null));
+            final String encoded = selection.encode();
+            writer.execute(() -> preferences.edit()
+                    .remove(KEY_SELECTED_SLO_IDS)
+                    .putString(KEY_SELECTED_SLO_IDS_PACKED, encoded)
+                    .commit());
+        }
+        // The token follows once encrypted storage is open
+        return new Settings(
+                preferences.getString(KEY_API_ENDPOINT, DEFAULT_API_ENDPOINT),
+                "",
+                Double.longBitsToDouble(preferences.getLong(KEY_YELLOW_THRESHOLD,
+                        Double.doubleToLongBits(DEFAULT_YELLOW_THRESHOLD))),
+                preferences.getBoolean(KEY_FIRST_RUN, true),
+                selection);
+    }
+
+    /**
+     * Open encrypted storage and add the token to the snapshot (writer thread)
+     */
+    private void loadSecrets() {
+        try {
+            encryptedPreferences = openSecrets.get();
+            String token = encryptedPreferences.getString(KEY_API_TOKEN, "");
+            synchronized (this) {
+                // A token set in the meantime wins over the stored one
+                if (!tokenChanged) {
+                    publish(settings.withApiToken(token));
+                }
+            }
+        } catch (RuntimeException e) {
+            // Keystore and Tink failures are not always checked exceptions
+            Log.e(TAG, "Failed to open encrypted preferences", e);
+            if (encryptedPreferences == null) {
+                encryptedPreferences = openSecretsFallback.get();
+            }
+        } finally {
+            secretsLoaded.countDown();
+        }
+    }
+
+    /**
+     * Run an action on the main thread once encrypted storage is open, right away if it already is
+     * Lets the main thread check {@link #isConfigured()} without waiting for the Keystore.
+     */
+    public void runWhenSecretsLoaded(Runnable action) {
+        if (secretsLoaded.getCount() == 0) {
+            action.run();
+        } else {
+            // Queued behind loadSecrets on the writer thread
+            writer.execute(() -> mainHandler.post(action));
+        }
+    }
+
+    /**
+     * Block until encrypted storage is open; usually already done by the time it is needed
+     */
+    private void awaitSecrets() {
+        if (secretsLoaded.getCount() == 0) {
+            return;
+        }
+        long start = SystemClock.elapsedRealtime();
+        try {
+            secretsLoaded.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Log.d(TAG, "Waited " + (SystemClock.elapsedRealtime() - start) + "ms for encrypted preferences on " +
+                   Thread.currentThread().getName());
+    }
+
+    /**
+     * Get the current settings snapshot
+     * The API token in it is empty until encrypted storage has been opened.
+     */
+    public Settings get() {
+        return settings;
+    }
+
+    /**
+     * Get the decrypted API token, waiting for encrypted storage if necessary
+     */
+    public String getApiToken() {
+        awaitSecrets();
+        return settings.getApiToken();
+    }
+
+    /**
+     * Check if API credentials are configured, waiting for encrypted storage if necessary
+     */
+    public boolean isConfigured() {
+        awaitSecrets();
+        return settings.isConfigured();
+    }
+
+    /**
+     * Observe the settings; emits a new snapshot after every change
+     */
+    public LiveData<Settings> getSettings() {
+        return settingsLiveData;
+    }
+
+    public synchronized void setApiEndpoint(String endpoint) {
+        Settings current = settings;
+        if (publish(new Settings(endpoint, current.apiToken, current.yellowThreshold, current.firstRun,
+                current.selectedSloIds))) {
+            persist(preferences, editor -> editor.putString(KEY_API_ENDPOINT, endpoint));
+        }
+    }
+
+    public synchronized void setApiToken(String token) {
+        tokenChanged = true;
+        if (publish(settings.withApiToken(token))) {
+            persistSecret(editor -> editor.putString(KEY_API_TOKEN, token));
+        }
+    }
+
+    public synchronized void setYellowThreshold(double threshold) {
+        Settings current = settings;
+        if (publish(new Settings(current.apiEndpoint, current.apiToken, threshold, current.firstRun,
+                current.selectedSloIds))) {
+            persist(preferences, editor -> editor.putLong(KEY_YELLOW_THRESHOLD, Double.doubleToLongBits(threshold)));
+        }
+    }
+
+    public synchronized void setFirstRun(boolean firstRun) {
+        Settings current = settings;
+        if (publish(new Settings(current.apiEndpoint, current.apiToken, current.yellowThreshold, firstRun,
+                current.selectedSloIds))) {
+            persist(preferences, editor -> editor.putBoolean(KEY_FIRST_RUN, firstRun));
+        }
+    }
+
+    public synchronized void setSelectedSloIds(Collection<String> sloIds) {
+        IdSet selection = IdSet.of(sloIds);
+        Settings current = settings;
+        if (publish(new Settings(current.apiEndpoint, current.apiToken, current.yellowThreshold, current.firstRun,
+                selection))) {
+            Log.d(TAG, "Saving " + selection.size() + " selected SLO IDs");
+            persist(preferences, editor -> editor.putString(KEY_SELECTED_SLO_IDS_PACKED, selection.encode()));
+        }
+    }
+
+    /**
+     * Reset all settings to their defaults
+     */
+    public synchronized void clearAll() {
+        tokenChanged = true;
+        publish(new Settings(DEFAULT_API_ENDPOINT, "", DEFAULT_YELLOW_THRESHOLD, true, IdSet.EMPTY));
+        persist(preferences, SharedPreferences.Editor::clear);
+        persistSecret(SharedPreferences.Editor::clear);
+    }
+
+    /**
+     * Replace the snapshot and notify observers
+     *
+     * @return false if nothing changed
+     */
+    private synchronized boolean publish(Settings newSettings) {
+        if (newSettings.equals(settings)) {
+            return false;
+        }
+        settings = newSettings;
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            settingsLiveData.setValue(newSettings);
+        } else {
+            settingsLiveData.postValue(newSettings);
+        }
+        return true;
+    }
+
+    private interface Edit {
+        void apply(SharedPreferences.Editor editor);
+    }
+
+    /**
+     * Write a change on the background thread; writes are applied in order
+     */
+    private void persist(SharedPreferences target, Edit edit) {
+        writer.execute(() -> commit(target, edit));
+    }
+
+    /**
+     * Write a change to encrypted storage on the background thread
+     * The target is only resolved when the task runs, after loadSecrets has opened it.
+     */
+    private void persistSecret(Edit edit) {
+        writer.execute(() -> commit(encryptedPreferences, edit));
+    }
+
+    private static void commit(SharedPreferences target, Edit edit) {
+        SharedPreferences.Editor editor = target.edit();
+        edit.apply(editor);
+        if (!editor.commit()) {
+            Log.e(TAG, "Failed to persist settings");
+        }
+    }
+
+    /**
+     * Immutable snapshot of all settings
+     */
+    public static final class Settings {
+        private final String apiEndpoint;
+        private final String apiToken;
+        private final double yellowThreshold;
+        private final boolean firstRun;
+        private final IdSet selectedSloIds;
+
+        Settings(String apiEndpoint, String apiToken, double yellowThreshold, boolean firstRun,
+                 IdSet selectedSloIds) {
+            this.apiEndpoint = apiEndpoint;
+            this.apiToken = apiToken != null ? apiToken : "";
+            this.yellowThreshold = yellowThreshold;
+            this.firstRun = firstRun;
+            this.selectedSloIds = selectedSloIds;
+        }
+
+        Settings withApiToken(String token) {
+            return new Settings(apiEndpoint, token, yellowThreshold, firstRun, selectedSloIds);
+        }
+
+        public String getApiEndpoint() {
+            return apiEndpoint;
+        }
+
+        /**
+         * Get the API token; empty until encrypted storage is open (see {@link SettingsStore#getApiToken()})
+         */
+        public String getApiToken() {
+            return apiToken;
+        }
+
+        public double getYellowThreshold() {
+            return yellowThreshold;
+        }
+
+        public boolean isFirstRun() {
+            return firstRun;
+        }
+
+        /**
+         * Get the selected SLO IDs (immutable)
+         */
+        public Set<String> getSelectedSloIds() {
+            return selectedSloIds;
+        }
+
+        public boolean isConfigured() {
+            return apiEndpoint != null && !apiEndpoint.isEmpty() && !apiToken.isEmpty();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Settings)) {
+                return false;
+            }
+            Settings other = (Settings) o;
+            return Double.compare(yellowThreshold, other.yellowThreshold) == 0 &&
+                   firstRun == other.firstRun &&
+                   (apiEndpoint == null ? other.apiEndpoint == null : apiEndpoint.equals(other.apiEndpoint)) &&
+                   apiToken.equals(other.apiToken) &&
+                   selectedSloIds.equals(other.selectedSloIds);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = apiEndpoint != null ? apiEndpoint.hashCode() : 0;
+            result = 31 * result + apiToken.hashCode();
+            result = 31 * result + Double.hashCode(yellowThreshold);
+            result = 31 * result + (firstRun ? 1 : 0);
+            return result;
+        }
+    }
+}
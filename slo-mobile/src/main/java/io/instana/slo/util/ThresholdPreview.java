@@ -0,0 +1,85 @@
+package io.instana.slo.util;
+
+import io.instana.slo.data.model.SloReport;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Traffic light counts for a set of reports under any yellow threshold
+ *
+ * RED does not depend on the threshold, so only the remaining error budget percentages
+ * of the other SLOs are kept, sorted. The YELLOW count for a threshold is then one binary
+ * search, which keeps a preview responsive while the threshold is being edited.
+ * The counts match {@link TrafficLightCalculator#calculate} for every report.
+ */
+public class ThresholdPreview {
+    private final int redCount;
+    private final double[] percentages;
+
+    private ThresholdPreview(int redCount, double[] percentages) {
+        this.redCount = redCount;
+        this.percentages = percentages;
+    }
+
+    /**
+     * Build a preview for the given reports; null reports are skipped
+     */
+    public static ThresholdPreview of(List<SloReport> reports) {
+        double[] values = new double[reports.size()];
+        int count = 0;
+        int red = 0;
+        for (SloReport report : reports) {
+            if (report == null) {
+                continue;
+            }
+            if (report.getSli() <= report.getSloTarget()) {
+                red++;
+            } else {
+                values[count++] = TrafficLightCalculator.remainingPercentage(
+                        report.getErrorBudgetRemaining(), report.getTotalErrorBudget());
+            }
+        }
+        // NaN sorts last and never counts as yellow, as in the calculator
+        double[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        return new ThresholdPreview(red, sorted);
+    }
+
+    /**
+     * Count the statuses the reports would have with the given threshold; O(log n)
+     */
+    public Counts countsAt(double yellowThreshold) {
+        // First index whose percentage is not <= threshold
+        int low = 0;
+        int high = percentages.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (percentages[mid] <= yellowThreshold) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return new Counts(percentages.length - low, low, redCount);
+    }
+
+    public int size() {
+        return redCount + percentages.length;
+    }
+
+    /**
+     * Number of SLOs per status
+     */
+    public static final class Counts {
+        public final int green;
+        public final int yellow;
+        public final int red;
+
+        Counts(int green, int yellow, int red) {
+            this.green = green;
+            this.yellow = yellow;
+            this.red = red;
+        }
+    }
+}
@@ -1,11 +1,27 @@
 package io.instana.slo.util;
 
+import io.instana.slo.data.model.SloReport;
 import io.instana.slo.data.model.TrafficLightStatus;
 
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Utility class for calculating traffic light status based on SLO metrics
+ *
+ * Statuses can be computed one at a time or for a whole dashboard at once over columnar
+ * arrays; both paths share the same arithmetic and give identical results.
  */
 public class TrafficLightCalculator {
+    // Status codes written by the batch API
+    public static final byte GREEN = (byte) TrafficLightStatus.GREEN.ordinal();
+    public static final byte YELLOW = (byte) TrafficLightStatus.YELLOW.ordinal();
+    public static final byte RED = (byte) TrafficLightStatus.RED.ordinal();
+
+    // Batches up to this size are evaluated on the calling thread
+    private static final int PARALLEL_THRESHOLD = 16_384;
+    private static final TrafficLightStatus[] STATUSES = TrafficLightStatus.values();
 
     /**
      * Calculate the traffic light status for an SLO
@@ -28,27 +44,163 @@ public class TrafficLightCalculator {
             double errorBudgetRemaining,
             double totalErrorBudget,
             double yellowThreshold) {
+        return STATUSES[code(sli, sloTarget, errorBudgetRemaining, totalErrorBudget, yellowThreshold)];
+    }
 
+    /**
+     * Status code for one SLO; shared by the scalar and batch paths
+     */
+    private static byte code(double sli, double sloTarget, double errorBudgetRemaining,
+                             double totalErrorBudget, double yellowThreshold) {
         // Priority 1: Check if SLO is being met
         // If SLI <= SLO target, the SLO is not being met -> RED
         if (sli <= sloTarget) {
-            return TrafficLightStatus.RED;
+            return RED;
         }
 
         // Priority 2: Check error budget health
-        // Calculate the percentage of error budget remaining
+        // If remaining error budget is below threshold -> YELLOW
+        if (remainingPercentage(errorBudgetRemaining, totalErrorBudget) <= yellowThreshold) {
+            return YELLOW;
+        }
+
+        // Otherwise, everything is healthy -> GREEN
+        return GREEN;
+    }
+
+    /**
+     * Percentage of error budget remaining as compared against the yellow threshold
+     */
+    static double remainingPercentage(double errorBudgetRemaining, double totalErrorBudget) {
         double remainingPercentage = 0.0;
         if (totalErrorBudget > 0) {
             remainingPercentage = (errorBudgetRemaining / totalErrorBudget) * 100.0;
         }
+        return remainingPercentage;
+    }
 
-        // If remaining error budget is below threshold -> YELLOW
-        if (remainingPercentage <= yellowThreshold) {
-            return TrafficLightStatus.YELLOW;
+    /**
+     * Calculate the status of many SLOs at once
+     *
+     * Element i of every input array belongs to the same SLO. Large batches are split
+     * across cores. Results equal {@link #calculate(double, double, double, double, double)}
+     * for every element.
+     *
+     * @param statuses Receives the status code of each SLO (see {@link #toStatus(byte)})
+     */
+    public static void calculateBatch(double[] sli, double[] sloTarget, double[] errorBudgetRemaining,
+                                      double[] totalErrorBudget, double yellowThreshold, byte[] statuses) {
+        int count = statuses.length;
+        if (sli.length < count || sloTarget.length < count || errorBudgetRemaining.length < count ||
+                totalErrorBudget.length < count) {
+            throw new IllegalArgumentException("Input columns are shorter than the output (" + count + ")");
+        }
+        BatchTask task = new BatchTask(sli, sloTarget, errorBudgetRemaining, totalErrorBudget,
+                yellowThreshold, statuses, 0, count);
+        if (count <= PARALLEL_THRESHOLD) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
         }
+    }
 
-        // Otherwise, everything is healthy -> GREEN
-        return TrafficLightStatus.GREEN;
+    /**
+     * Calculate the status of every report; null reports get no status
+     */
+    public static TrafficLightStatus[] calculateAll(List<SloReport> reports, double yellowThreshold) {
+        Columns columns = Columns.of(reports);
+        byte[] codes = new byte[columns.size()];
+        calculateBatch(columns.sli, columns.sloTarget, columns.errorBudgetRemaining, columns.totalErrorBudget,
+                yellowThreshold, codes);
+        TrafficLightStatus[] result = new TrafficLightStatus[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            result[i] = reports.get(i) != null ? STATUSES[codes[i]] : null;
+        }
+        return result;
+    }
+
+    /**
+     * Map a batch status code back to the status
+     */
+    public static TrafficLightStatus toStatus(byte code) {
+        return STATUSES[code];
+    }
+
+    /**
+     * Columnar copy of the metrics the calculation needs
+     */
+    public static final class Columns {
+        public final double[] sli;
+        public final double[] sloTarget;
+        public final double[] errorBudgetRemaining;
+        public final double[] totalErrorBudget;
+
+        public Columns(int size) {
+            sli = new double[size];
+            sloTarget = new double[size];
+            errorBudgetRemaining = new double[size];
+            totalErrorBudget = new double[size];
+        }
+
+        /**
+         * Gather the metrics of the given reports; null reports are filled with zeros
+         */
+        public static Columns of(List<SloReport> reports) {
+            Columns columns = new Columns(reports.size());
+            for (int i = 0; i < reports.size(); i++) {
+                SloReport report = reports.get(i);
+                if (report != null) {
+                    columns.sli[i] = report.getSli();
+                    columns.sloTarget[i] = report.getSloTarget();
+                    columns.errorBudgetRemaining[i] = report.getErrorBudgetRemaining();
+                    columns.totalErrorBudget[i] = report.getTotalErrorBudget();
+                }
+            }
+            return columns;
+        }
+
+        public int size() {
+            return sli.length;
+        }
+    }
+
+    /**
+     * Evaluates a range of a batch, splitting it in halves while it is large
+     */
+    private static final class BatchTask extends RecursiveAction {
+        private final double[] sli;
+        private final double[] sloTarget;
+        private final double[] remaining;
+        private final double[] total;
+        private final double yellowThreshold;
+        private final byte[] statuses;
+        private final int from;
+        private final int to;
+
+        BatchTask(double[] sli, double[] sloTarget, double[] remaining, double[] total,
+                  double yellowThreshold, byte[] statuses, int from, int to) {
+            this.sli = sli;
+            this.sloTarget = sloTarget;
+            this.remaining = remaining;
+            this.total = total;
+            this.yellowThreshold = yellowThreshold;
+            this.statuses = statuses;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BatchTask(sli, sloTarget, remaining, total, yellowThreshold, statuses, from, mid),
+                          new BatchTask(sli, sloTarget, remaining, total, yellowThreshold, statuses, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                statuses[i] = code(sli[i], sloTarget[i], remaining[i], total[i], yellowThreshold);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,187 @@
+package io.instana.slo.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Choreographer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gathers keyed updates and delivers them in batches at most once per frame (or interval)
+ *
+ * A newer value for a key replaces a pending one, so a burst of completions turns into
+ * one batch per frame. Each flush stops after a main-thread time budget and carries the
+ * rest over to the next frame. Main thread only.
+ *
+ * @param <K> Key type (e.g. SLO ID)
+ * @param <V> Value type
+ */
+public class UpdateCoalescer<K, V> {
+    private static final String TAG = "UpdateCoalescer";
+
+    /**
+     * Receiver of flushed values
+     */
+    public interface Sink<V> {
+        /**
+         * Called for every value in a batch
+         */
+        void onValue(V value);
+
+        /**
+         * Called once after the values of a batch were delivered
+         */
+        void onBatchEnd(int batchSize);
+    }
+
+    private final long intervalMs;
+    private final long budgetNanos;
+    private final Sink<V> sink;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final LinkedHashMap<K, V> pending = new LinkedHashMap<>();
+    private final Choreographer.FrameCallback frameCallback = frameTimeNanos -> flush();
+    private final Runnable flushRunnable = this::flush;
+    private boolean scheduled;
+
+    // Metrics
+    private long batchCount;
+    private long valueCount;
+    private long replacedCount;
+    private long overBudgetCount;
+    private int maxBatchSize;
+    private int lastBatchSize;
+
+    /**
+     * @param intervalMs Minimum time between flushes; 0 flushes on the next frame
+     * @param budgetMs Main-thread time a single flush may take
+     * @param sink Receiver of the batches
+     */
+    public UpdateCoalescer(long intervalMs, long budgetMs, Sink<V> sink) {
+        this.intervalMs = intervalMs;
+        this.budgetNanos = budgetMs * 1_000_000L;
+        this.sink = sink;
+    }
+
+    /**
+     * Queue a value; replaces a pending value with the same key
+     */
+    public void offer(K key, V value) {
+        if (pending.put(key, value) != null) {
+            replacedCount++;
+        }
+        schedule();
+    }
+
+    /**
+     * Drop all pending values
+     */
+    public void cancel() {
+        pending.clear();
+        if (scheduled) {
+            // Undo whichever way schedule() used
+            if (intervalMs > 0) {
+                handler.removeCallbacks(flushRunnable);
+            } else {
+                Choreographer.getInstance().removeFrameCallback(frameCallback);
+            }
+            scheduled = false;
+        }
+    }
+
+    /**
+     * Deliver pending values now, within the time budget
+     */
+    public void flush() {
+        scheduled = false;
+        if (pending.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int batchSize = 0;
+        Iterator<Map.Entry<K, V>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            V value = iterator.next().getValue();
+            iterator.remove();
+            sink.onValue(value);
+            batchSize++;
+            if (System.nanoTime() - start > budgetNanos && iterator.hasNext()) {
+                overBudgetCount++;
+                break;
+            }
+        }
+        sink.onBatchEnd(batchSize);
+
+        batchCount++;
+        valueCount += batchSize;
+        lastBatchSize = batchSize;
+        maxBatchSize = Math.max(maxBatchSize, batchSize);
+        Log.d(TAG, "Flushed " + batchSize + " updates in " + (System.nanoTime() - start) / 1000 +
+                   "us, " + pending.size() + " left");
+
+        if (!pending.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        if (scheduled) {
+            return;
+        }
+        scheduled = true;
+        if (intervalMs > 0) {
+            handler.postAtTime(flushRunnable, SystemClock.uptimeMillis() + intervalMs);
+        } else {
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        }
+    }
+
+    /**
+     * Get a snapshot of the batching metrics
+     */
+    public Metrics getMetrics() {
+        return new Metrics(batchCount, valueCount, replacedCount, overBudgetCount, maxBatchSize, lastBatchSize);
+    }
+
+    /**
+     * Batch size statistics since the coalescer was created
+     */
+    public static final class Metrics {
+        public final long batchCount;
+        public final long valueCount;
+        public final long replacedCount;
+        public final long overBudgetCount;
+        public final int maxBatchSize;
+        public final int lastBatchSize;
+
+        Metrics(long batchCount, long valueCount, long replacedCount, long overBudgetCount,
+                int maxBatchSize, int lastBatchSize) {
+            this.batchCount = batchCount;
+            this.valueCount = valueCount;
+            this.replacedCount = replacedCount;
+            this.overBudgetCount = overBudgetCount;
+            this.maxBatchSize = maxBatchSize;
+            this.lastBatchSize = lastBatchSize;
+        }
+
+        public double getAverageBatchSize() {
+            return batchCount > 0 ? (double) valueCount / batchCount : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                    "batches=" + batchCount +
+                    ", values=" + valueCount +
+                    ", replaced=" + replacedCount +
+                    ", overBudget=" + overBudgetCount +
+                    ", avgBatch=" + String.format("%.1f", getAverageBatchSize()) +
+                    ", maxBatch=" + maxBatchSize +
+                    ", lastBatch=" + lastBatchSize +
+                    '}';
+        }
+    }
+}
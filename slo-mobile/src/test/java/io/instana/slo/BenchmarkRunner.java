@@ -0,0 +1,35 @@
+package io.instana.slo;
+
+import org.junit.Assume;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the unit test source set
+ *
+ * Benchmarks are skipped unless the build is started with {@code -Pbenchmarks}, e.g.
+ * {@code ./gradlew testDebugUnitTest -Pbenchmarks --tests '*TrafficLightCalculatorBenchmark'}.
+ * They run inside the test JVM (no forks) because the Android unit test classpath can't be
+ * handed to a forked VM; results are printed to the test output, with allocations per
+ * operation from the GC profiler.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void run(Class<?> benchmark) throws RunnerException {
+        Assume.assumeTrue("Benchmarks only run with -Pbenchmarks", Boolean.getBoolean("benchmarks"));
+        Options options = new OptionsBuilder()
+                .include(benchmark.getName() + "\\.")
+                .forks(0)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
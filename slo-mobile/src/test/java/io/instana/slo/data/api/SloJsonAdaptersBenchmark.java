@@ -0,0 +1,152 @@
+package io.instana.slo.data.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.annotations.SerializedName;
+
+import io.instana.slo.BenchmarkRunner;
+import io.instana.slo.data.model.SloListResponse;
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.TimeWindow;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse cost of a 5k-SLO list and 5k reports, streaming adapters vs. reflective Gson
+ *
+ * Reflective Gson still honours the {@code @JsonAdapter} on the report chart, so
+ * {@link #reportsMapBaseline} binds the chart as the boxed map the model used before ChartSeries.
+ *
+ * The payloads are built from the fixtures, so they carry the same unknown subtrees as the API.
+ * Scores are per SLO; run with the GC profiler, gc.alloc.rate.norm is the allocation per SLO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SloJsonAdaptersBenchmark {
+    private static final int SLO_COUNT = 5000;
+    /** One week of 5-minute buckets, as the report endpoint returns for a rolling week */
+    private static final int CHART_POINTS = 2016;
+
+    private final Gson streaming = ApiClient.getGson();
+    private final Gson reflective = new Gson();
+
+    private byte[] list;
+    private byte[][] reports;
+
+    @Setup
+    public void setUp() {
+        JsonArray templates = JsonParser.parseString(SloJsonAdaptersTest.fixture("slo-list.json"))
+                .getAsJsonObject().getAsJsonArray("items");
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < SLO_COUNT; i++) {
+            JsonObject slo = templates.get(i % templates.size()).getAsJsonObject().deepCopy();
+            slo.addProperty("id", "SLO" + i);
+            slo.addProperty("name", "Service level objective " + i);
+            items.add(slo);
+        }
+        JsonObject root = new JsonObject();
+        root.add("items", items);
+        root.addProperty("totalHits", SLO_COUNT);
+        list = root.toString().getBytes(StandardCharsets.UTF_8);
+
+        JsonObject template = JsonParser.parseString(SloJsonAdaptersTest.fixture("slo-report.json"))
+                .getAsJsonObject();
+        Random random = new Random(31);
+        reports = new byte[SLO_COUNT][];
+        for (int i = 0; i < SLO_COUNT; i++) {
+            JsonObject report = template.deepCopy();
+            JsonObject chart = new JsonObject();
+            double remaining = 3024.0;
+            for (int p = 0; p < CHART_POINTS; p++) {
+                remaining -= random.nextDouble() * 1.5;
+                chart.addProperty(Integer.toString(p), Math.round(remaining * 100) / 100.0);
+            }
+            report.add("errorBudgetRemainChart", chart);
+            report.addProperty("errorBudgetRemaining", remaining);
+            reports[i] = report.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SLO_COUNT)
+    public SloListResponse listStreaming() {
+        return streaming.fromJson(reader(list), SloListResponse.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SLO_COUNT)
+    public SloListResponse listReflective() {
+        return reflective.fromJson(reader(list), SloListResponse.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SLO_COUNT)
+    public void reportsStreaming(Blackhole blackhole) {
+        parseReports(streaming, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SLO_COUNT)
+    public void reportsReflective(Blackhole blackhole) {
+        parseReports(reflective, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SLO_COUNT)
+    public void reportsMapBaseline(Blackhole blackhole) {
+        for (byte[] report : reports) {
+            blackhole.consume(reflective.fromJson(reader(report), MapChartReport.class));
+        }
+    }
+
+    private void parseReports(Gson gson, Blackhole blackhole) {
+        for (byte[] report : reports) {
+            blackhole.consume(gson.fromJson(reader(report), SloReport.class));
+        }
+    }
+
+    private static Reader reader(byte[] body) {
+        // Retrofit hands Gson a reader over the response body, not a String
+        return new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The report model as it was before ChartSeries, with the chart bound as a boxed map
+     */
+    static final class MapChartReport {
+        double sli;
+        @SerializedName("slo")
+        double sloTarget;
+        double totalErrorBudget;
+        double errorBudgetRemaining;
+        Map<String, Double> errorBudgetRemainChart;
+        long fromTimestamp;
+        long toTimestamp;
+        TimeWindow timeWindow;
+    }
+
+    @Test
+    public void run() throws Exception {
+        BenchmarkRunner.run(getClass());
+    }
+}
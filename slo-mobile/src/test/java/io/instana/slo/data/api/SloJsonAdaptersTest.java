@@ -0,0 +1,178 @@
+package io.instana.slo.data.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+
+import io.instana.slo.data.model.ChartSeries;
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloEntity;
+import io.instana.slo.data.model.SloListResponse;
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.TimeWindow;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Compares the streaming adapters with plain reflective Gson, which the app used before them
+ */
+public class SloJsonAdaptersTest {
+    private static final Type CHART_MAP = new TypeToken<Map<String, Double>>() {}.getType();
+
+    private final Gson streaming = ApiClient.getGson();
+    private final Gson reflective = new Gson();
+
+    @Test
+    public void sloListMatchesReflectiveBinding() {
+        String json = fixture("slo-list.json");
+        List<Slo> expected = reflective.fromJson(json, SloListResponse.class).getItems();
+        List<Slo> actual = streaming.fromJson(json, SloListResponse.class).getItems();
+
+        assertEquals(7, actual.size());
+        assertSameSlos(expected, actual);
+    }
+
+    @Test
+    public void unknownSubtreesAreSkipped() {
+        List<Slo> slos = streaming.fromJson(fixture("slo-list.json"), SloListResponse.class).getItems();
+
+        // "id" and "name" inside indicator and the tag filter must not overwrite the SLO's own fields
+        assertEquals("SLOa1b2c3d4e5", slos.get(0).getId());
+        assertEquals("Checkout latency", slos.get(0).getName());
+        assertEquals("application", slos.get(4).getEntity().getEntityType());
+        assertEquals("Kubernetes", slos.get(5).getEntity().getEntityType());
+        assertNull(slos.get(6).getName());
+        assertNull(slos.get(6).getEntity());
+    }
+
+    @Test
+    public void reportMatchesReflectiveBinding() {
+        String json = fixture("slo-report.json");
+        SloReport expected = reflective.fromJson(json, SloReport.class);
+        SloReport actual = streaming.fromJson(json, SloReport.class);
+
+        assertSameReport(expected, actual);
+        // The summary subtree carries the same field names and must be skipped
+        assertEquals(0.99871, actual.getSli(), 0.0);
+        assertArrayEquals(new float[] {3024.0f, 3001.5f, 2910.25f, 2899.75f, 2850.0f, 2500.5f},
+                actual.getErrorBudgetRemainSeries().toArray(), 0f);
+    }
+
+    @Test
+    public void chartMatchesMapBinding() {
+        // Before ChartSeriesTypeAdapter the chart was bound as a plain map of index -> value
+        JsonObject root = JsonParser.parseString(fixture("slo-report.json")).getAsJsonObject();
+        Map<String, Double> map = reflective.fromJson(root.get("errorBudgetRemainChart"), CHART_MAP);
+
+        SloReport report = streaming.fromJson(root, SloReport.class);
+        assertEquals(ChartSeries.fromMap(map), report.getErrorBudgetRemainSeries());
+    }
+
+    @Test
+    public void streamingOutputReadsBackWithBothBindings() {
+        SloListResponse list = streaming.fromJson(fixture("slo-list.json"), SloListResponse.class);
+        String written = streaming.toJson(list);
+        assertSameSlos(list.getItems(), streaming.fromJson(written, SloListResponse.class).getItems());
+        assertSameSlos(list.getItems(), reflective.fromJson(written, SloListResponse.class).getItems());
+
+        SloReport report = streaming.fromJson(fixture("slo-report.json"), SloReport.class);
+        String writtenReport = streaming.toJson(report);
+        assertSameReport(report, streaming.fromJson(writtenReport, SloReport.class));
+        assertSameReport(report, reflective.fromJson(writtenReport, SloReport.class));
+    }
+
+    @Test
+    public void reflectiveOutputReadsBackWithStreamingBinding() {
+        SloListResponse list = reflective.fromJson(fixture("slo-list.json"), SloListResponse.class);
+        assertSameSlos(list.getItems(),
+                streaming.fromJson(reflective.toJson(list), SloListResponse.class).getItems());
+
+        SloReport report = reflective.fromJson(fixture("slo-report.json"), SloReport.class);
+        assertSameReport(report, streaming.fromJson(reflective.toJson(report), SloReport.class));
+    }
+
+    static String fixture(String name) {
+        try (InputStream in = SloJsonAdaptersTest.class.getClassLoader()
+                .getResourceAsStream("fixtures/" + name)) {
+            assertNotNull("missing fixture " + name, in);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void assertSameSlos(List<Slo> expected, List<Slo> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Slo e = expected.get(i);
+            Slo a = actual.get(i);
+            String at = "slo " + i;
+            assertEquals(at, e.getId(), a.getId());
+            assertEquals(at, e.getName(), a.getName());
+            assertSameEntity(at, e.getEntity(), a.getEntity());
+            assertSameTimeWindow(at, e.getTimeWindow(), a.getTimeWindow());
+        }
+    }
+
+    private static void assertSameEntity(String at, SloEntity expected, SloEntity actual) {
+        if (expected == null) {
+            assertNull(at, actual);
+            return;
+        }
+        assertNotNull(at, actual);
+        assertEquals(at, expected.getType(), actual.getType());
+        assertEquals(at, expected.getEntityType(), actual.getEntityType());
+        assertEquals(at, expected.getEntityTypeLabel(), actual.getEntityTypeLabel());
+        assertEquals(at, expected.getInfraType(), actual.getInfraType());
+        assertEquals(at, expected.getApplicationId(), actual.getApplicationId());
+        assertEquals(at, expected.getWebsiteId(), actual.getWebsiteId());
+        assertEquals(at, expected.getSyntheticTestIds(), actual.getSyntheticTestIds());
+        assertEquals(at, expected.getEntityId(), actual.getEntityId());
+    }
+
+    private static void assertSameTimeWindow(String at, TimeWindow expected, TimeWindow actual) {
+        if (expected == null) {
+            assertNull(at, actual);
+            return;
+        }
+        assertNotNull(at, actual);
+        assertEquals(at, expected.getType(), actual.getType());
+        assertEquals(at, expected.getDuration(), actual.getDuration());
+        assertEquals(at, expected.getDurationUnit(), actual.getDurationUnit());
+        assertEquals(at, expected.getTimezone(), actual.getTimezone());
+        assertEquals(at, expected.getStartTimestamp(), actual.getStartTimestamp());
+    }
+
+    private static void assertSameReport(SloReport expected, SloReport actual) {
+        assertEquals(expected.getSli(), actual.getSli(), 0.0);
+        assertEquals(expected.getSloTarget(), actual.getSloTarget(), 0.0);
+        assertEquals(expected.getTotalErrorBudget(), actual.getTotalErrorBudget(), 0.0);
+        assertEquals(expected.getErrorBudgetRemaining(), actual.getErrorBudgetRemaining(), 0.0);
+        assertEquals(expected.getFromTimestamp(), actual.getFromTimestamp());
+        assertEquals(expected.getToTimestamp(), actual.getToTimestamp());
+        assertSameTimeWindow("report", expected.getTimeWindow(), actual.getTimeWindow());
+        assertFalse(actual.getErrorBudgetRemainSeries().isEmpty());
+        assertEquals(expected.getErrorBudgetRemainSeries(), actual.getErrorBudgetRemainSeries());
+    }
+}
@@ -0,0 +1,68 @@
+package io.instana.slo.data.history;
+
+import io.instana.slo.BenchmarkRunner;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detector throughput over 4000 noisy series of 1000 points, a tenth of them with a drop;
+ * scores are per point
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BudgetDropDetectorBenchmark {
+    private static final int SERIES = 4000;
+    private static final int POINTS = 1000;
+    private static final long STEP_MS = 5 * 60_000L;
+
+    private long[] timestamps;
+    private double[][] series;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(49);
+        timestamps = new long[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            timestamps[i] = 1_700_000_000_000L + i * STEP_MS;
+        }
+        series = new double[SERIES][POINTS];
+        for (int s = 0; s < SERIES; s++) {
+            double burn = random.nextDouble() * 0.5;
+            int dropAt = s % 10 == 0 ? 100 + random.nextInt(800) : POINTS;
+            for (int i = 0; i < POINTS; i++) {
+                series[s][i] = 900 - burn * i - (i >= dropAt ? 50 : 0) + random.nextGaussian() * 0.5;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SERIES * POINTS)
+    public int detect() {
+        int drops = 0;
+        for (double[] values : series) {
+            BudgetDropDetector detector = new BudgetDropDetector(1000.0);
+            for (int i = 0; i < POINTS; i++) {
+                detector.add(timestamps[i], values[i]);
+            }
+            drops += detector.getDropCount();
+        }
+        return drops;
+    }
+
+    @Test
+    public void run() throws Exception {
+        BenchmarkRunner.run(getClass());
+    }
+}
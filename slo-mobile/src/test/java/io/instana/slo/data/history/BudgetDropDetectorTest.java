@@ -0,0 +1,120 @@
+package io.instana.slo.data.history;
+
+import io.instana.slo.data.model.BudgetDrop;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BudgetDropDetectorTest {
+    private static final long STEP_MS = 5 * 60_000L;
+    private static final long START = 1_700_000_000_000L;
+    private static final double TOTAL = 1000.0;
+    // Longest run BudgetDropDetector still confirms as sudden
+    private static final int MAX_RUN_POINTS = 6;
+
+    @Test
+    public void stepDropIsConfirmedWithinRunLimit() {
+        Random random = new Random(49);
+        for (int trial = 0; trial < 200; trial++) {
+            int dropIndex = 30 + random.nextInt(100);
+            double dropPercent = 2 + random.nextDouble() * 10;
+            BudgetDropDetector detector = new BudgetDropDetector(TOTAL);
+            double burn = random.nextDouble() * 0.5;
+            int confirmedAt = -1;
+            for (int i = 0; i < 200; i++) {
+                double value = 900 - burn * i - (i >= dropIndex ? dropPercent * TOTAL / 100 : 0) +
+                               random.nextGaussian() * 0.3;
+                if (detector.add(time(i), value) && confirmedAt < 0) {
+                    confirmedAt = i;
+                }
+            }
+            assertTrue("trial " + trial + " not confirmed", confirmedAt >= dropIndex);
+            assertTrue("trial " + trial + " confirmed after " + (confirmedAt - dropIndex) + " points",
+                    confirmedAt - dropIndex < MAX_RUN_POINTS);
+            assertEquals(1, detector.getDropCount());
+            BudgetDrop drop = detector.getLatestDrop();
+            // The run starts at the last normal point, or up to a run earlier if noise started it
+            assertTrue(drop.getOnsetTimestamp() <= time(dropIndex - 1));
+            assertTrue(drop.getOnsetTimestamp() >= time(dropIndex - 1 - MAX_RUN_POINTS));
+            assertEquals(dropPercent, drop.getDropPercent(), 1.0);
+        }
+    }
+
+    @Test
+    public void steadyBurnIsNotFlagged() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 200; trial++) {
+            double burn = random.nextDouble() * 3;
+            double noise = random.nextDouble() * 2;
+            BudgetDropDetector detector = new BudgetDropDetector(TOTAL);
+            for (int i = 0; i < 1000; i++) {
+                detector.add(time(i), 1000 - burn * i * 0.3 + random.nextGaussian() * noise);
+            }
+            assertEquals("trial " + trial + " burn " + burn + " noise " + noise, 0, detector.getDropCount());
+            assertFalse(detector.getLatestDrop().isDetected());
+        }
+    }
+
+    @Test
+    public void slowRampBecomesTheNewNormal() {
+        BudgetDropDetector detector = new BudgetDropDetector(TOTAL);
+        double value = 900;
+        for (int i = 0; i < 300; i++) {
+            // Flat, then burning 0.1% of the budget per point: a CUSUM run starts, but the gap
+            // stays below the minimum drop for longer than a run may last
+            if (i >= 40) {
+                value -= 1.0;
+            }
+            assertFalse("flagged at " + i, detector.add(time(i), value));
+        }
+        assertEquals(0, detector.getDropCount());
+
+        // The ramp was accepted, so a sudden drop on top of it is still found
+        int confirmedAt = -1;
+        for (int i = 300; i < 320; i++) {
+            value -= 1.0;
+            if (i == 305) {
+                value -= 50;
+            }
+            if (detector.add(time(i), value) && confirmedAt < 0) {
+                confirmedAt = i;
+            }
+        }
+        assertTrue(confirmedAt >= 305 && confirmedAt - 305 < MAX_RUN_POINTS);
+    }
+
+    @Test
+    public void nanPointsAreSkipped() {
+        Random random = new Random(3);
+        BudgetDropDetector clean = new BudgetDropDetector(TOTAL);
+        BudgetDropDetector gappy = new BudgetDropDetector(TOTAL);
+        for (int i = 0; i < 200; i++) {
+            double value = 800 - 0.2 * i - (i >= 120 ? 40 : 0) + random.nextGaussian() * 0.3;
+            assertFalse(gappy.add(time(i) - 1, Double.NaN));
+            assertEquals(clean.add(time(i), value), gappy.add(time(i), value));
+            if (i % 7 == 0) {
+                assertFalse(gappy.add(time(i), Double.NaN));
+            }
+        }
+        assertEquals(1, clean.getDropCount());
+        assertEquals(clean.getLatestDrop(), gappy.getLatestDrop());
+    }
+
+    @Test
+    public void nothingIsTestedDuringWarmup() {
+        BudgetDropDetector detector = new BudgetDropDetector(TOTAL);
+        for (int i = 0; i < BudgetDropDetector.WARMUP_POINTS; i++) {
+            assertFalse(detector.add(time(i), i < 5 ? 900 : 500));
+        }
+        assertEquals(0, detector.getDropCount());
+    }
+
+    private static long time(int index) {
+        return START + index * STEP_MS;
+    }
+}
@@ -0,0 +1,213 @@
+package io.instana.slo.data.history;
+
+import io.instana.slo.data.model.BurnRate;
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.TimeWindow;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BurnRateEvaluatorTest {
+    private static final long STEP_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final long PERIOD_MS = TimeUnit.DAYS.toMillis(30);
+    private static final double BUDGET = 1000;
+
+    @Test
+    public void windowSumsMatchBruteForce() {
+        long[] windows = {TimeUnit.MINUTES.toMillis(30), TimeUnit.HOURS.toMillis(6), TimeUnit.DAYS.toMillis(2)};
+        BurnRateEvaluator evaluator = new BurnRateEvaluator(windows);
+        Random random = new Random(45);
+        List<Long> stepEnds = new ArrayList<>();
+        List<Double> steps = new ArrayList<>();
+        long timestamp = 0;
+        double last = Double.NaN;
+
+        // Long enough to compact and grow the step buffers many times
+        for (int i = 0; i < 20_000; i++) {
+            timestamp += 1 + random.nextInt((int) (2 * STEP_MS));
+            double value = random.nextInt(20) == 0 ? Double.NaN : random.nextDouble() * BUDGET;
+            evaluator.add(timestamp, value);
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            if (!Double.isNaN(last)) {
+                stepEnds.add(timestamp);
+                steps.add(Math.max(0, last - value));
+            }
+            last = value;
+
+            if (i % 97 == 0) {
+                for (int w = 0; w < windows.length; w++) {
+                    double expected = 0;
+                    for (int s = steps.size() - 1; s >= 0 && stepEnds.get(s) > timestamp - windows[w]; s--) {
+                        expected += steps.get(s);
+                    }
+                    assertEquals("window " + w + " at point " + i, expected, evaluator.getConsumed(w), 1e-6);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void stepsEndingAtTheCutoffAreEvicted() {
+        BurnRateEvaluator evaluator = new BurnRateEvaluator(10);
+        evaluator.add(0, 100);
+        evaluator.add(5, 90);
+        evaluator.add(10, 85);
+        assertEquals(15, evaluator.getConsumed(0), 0.0);
+
+        evaluator.add(15, 85);
+        assertEquals("the step ending at 5 left the window", 5, evaluator.getConsumed(0), 0.0);
+
+        evaluator.add(20, 85);
+        assertEquals(0, evaluator.getConsumed(0), 0.0);
+    }
+
+    @Test
+    public void recoveriesConsumeNothing() {
+        BurnRateEvaluator evaluator = new BurnRateEvaluator(100);
+        evaluator.add(0, 100);
+        evaluator.add(10, 80);
+        evaluator.add(20, 95);
+        evaluator.add(30, 90);
+
+        assertEquals(25, evaluator.getConsumed(0), 0.0);
+    }
+
+    @Test
+    public void rateIsNaNUntilPointsCoverTheWindow() {
+        BurnRateEvaluator evaluator = new BurnRateEvaluator(TimeUnit.HOURS.toMillis(1));
+        evaluator.add(0, BUDGET);
+        evaluator.add(TimeUnit.MINUTES.toMillis(55), BUDGET - 1);
+        assertFalse(evaluator.isCovered(0));
+        assertTrue(Double.isNaN(evaluator.getBurnRate(0, BUDGET, PERIOD_MS)));
+
+        evaluator.add(TimeUnit.HOURS.toMillis(1), BUDGET - 2);
+        assertTrue(evaluator.isCovered(0));
+        assertFalse(Double.isNaN(evaluator.getBurnRate(0, BUDGET, PERIOD_MS)));
+        assertTrue(Double.isNaN(evaluator.getBurnRate(0, 0, PERIOD_MS)));
+    }
+
+    @Test
+    public void steadyBurnHasItsRateInEveryWindow() {
+        BurnRateEvaluator evaluator = new BurnRateEvaluator(BurnRateEvaluator.FAST_SHORT_MS,
+                BurnRateEvaluator.FAST_LONG_MS, BurnRateEvaluator.SLOW_LONG_MS);
+        double[] series = burn(BUDGET, TimeUnit.DAYS.toMillis(5), 2.5);
+        for (int i = 0; i < series.length; i++) {
+            evaluator.add(i * STEP_MS, series[i]);
+        }
+
+        for (int w = 0; w < 3; w++) {
+            assertEquals("window " + w, 2.5, evaluator.getBurnRate(w, BUDGET, PERIOD_MS), 1e-9);
+        }
+    }
+
+    @Test
+    public void sustainableBurnDoesNotFire() {
+        BurnRate rate = evaluate(burn(BUDGET, PERIOD_MS, 0.8));
+
+        assertEquals(BurnRate.Signal.NONE, rate.getSignal());
+        assertEquals(0.8, rate.getFastLongRate(), 1e-3);
+        assertEquals(0.8, rate.getSlowLongRate(), 1e-3);
+    }
+
+    @Test
+    public void sustainedBurnFiresSlow() {
+        // Thresholds for a 30-day window: 6x for fast, 1x for slow
+        double[] series = burn(BUDGET, TimeUnit.DAYS.toMillis(20), 0.5);
+        series = append(series, burn(series[series.length - 1], TimeUnit.DAYS.toMillis(4), 4));
+        BurnRate rate = evaluate(series);
+
+        assertEquals(BurnRate.Signal.SLOW, rate.getSignal());
+        assertEquals(4, rate.getSlowLongRate(), 1e-3);
+    }
+
+    @Test
+    public void shortSpikeFiresFast() {
+        double[] series = burn(BUDGET, TimeUnit.DAYS.toMillis(20), 0.5);
+        series = append(series, burn(series[series.length - 1], TimeUnit.HOURS.toMillis(3), 20));
+        BurnRate rate = evaluate(series);
+
+        assertEquals(BurnRate.Signal.FAST, rate.getSignal());
+        assertTrue(rate.isBurningFast());
+        assertEquals(20, rate.getFastShortRate(), 1e-3);
+        assertEquals((3 * 20 + 3 * 0.5) / 6, rate.getFastLongRate(), 1e-3);
+    }
+
+    @Test
+    public void spikeThatStoppedIsNoLongerFast() {
+        // The 6h window still burns, but the last hour is quiet again
+        double[] series = burn(BUDGET, TimeUnit.DAYS.toMillis(20), 0.5);
+        series = append(series, burn(series[series.length - 1], TimeUnit.HOURS.toMillis(3), 20));
+        series = append(series, burn(series[series.length - 1], TimeUnit.HOURS.toMillis(2), 0));
+        BurnRate rate = evaluate(series);
+
+        assertTrue(rate.getFastLongRate() >= 6);
+        assertEquals(0, rate.getFastShortRate(), 1e-9);
+        // Over three days the spike still burned more than 10% of the budget
+        assertEquals(BurnRate.Signal.SLOW, rate.getSignal());
+    }
+
+    @Test
+    public void unknownWithoutBudgetOrPoints() {
+        SloReport noBudget = report(burn(BUDGET, PERIOD_MS, 1));
+        noBudget.setTotalErrorBudget(0);
+        assertSame(BurnRate.UNKNOWN, BurnRateEvaluator.evaluate(noBudget, null));
+        assertSame(BurnRate.UNKNOWN, BurnRateEvaluator.evaluate(report(new double[] {BUDGET}), null));
+    }
+
+    /**
+     * Remaining budget for a constant burn rate over {@code durationMs}, one point per step, starting at {@code start}
+     */
+    private static double[] burn(double start, long durationMs, double rate) {
+        int points = (int) (durationMs / STEP_MS) + 1;
+        double[] values = new double[points];
+        double perStep = BUDGET * rate * STEP_MS / PERIOD_MS;
+        for (int i = 0; i < points; i++) {
+            values[i] = start - perStep * i;
+        }
+        return values;
+    }
+
+    /**
+     * Join two parts that share their boundary point
+     */
+    private static double[] append(double[] head, double[] tail) {
+        double[] joined = new double[head.length + tail.length - 1];
+        System.arraycopy(head, 0, joined, 0, head.length);
+        System.arraycopy(tail, 1, joined, head.length, tail.length - 1);
+        return joined;
+    }
+
+    private static SloReport report(double[] remaining) {
+        Map<String, Double> chart = new HashMap<>();
+        for (int i = 0; i < remaining.length; i++) {
+            chart.put(Integer.toString(i), remaining[i]);
+        }
+        SloReport report = new SloReport();
+        report.setTotalErrorBudget(BUDGET);
+        report.setErrorBudgetRemainChart(chart);
+        // Evenly spaced points, one step apart
+        report.setFromTimestamp(0);
+        report.setToTimestamp((remaining.length - 1) * STEP_MS);
+        return report;
+    }
+
+    private static BurnRate evaluate(double[] remaining) {
+        TimeWindow thirtyDays = new TimeWindow();
+        thirtyDays.setDuration(30);
+        thirtyDays.setDurationUnit("day");
+        return BurnRateEvaluator.evaluate(report(remaining), thirtyDays);
+    }
+}
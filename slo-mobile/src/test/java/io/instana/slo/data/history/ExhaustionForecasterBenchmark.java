@@ -0,0 +1,68 @@
+package io.instana.slo.data.history;
+
+import io.instana.slo.BenchmarkRunner;
+import io.instana.slo.data.model.ExhaustionForecast;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forecaster throughput over 500 burning series of 1000 points; scores are per point
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExhaustionForecasterBenchmark {
+    private static final int SERIES = 500;
+    private static final int POINTS = 1000;
+    private static final long STEP_MS = 5 * 60_000L;
+
+    private long[] timestamps;
+    private double[][] series;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(43);
+        timestamps = new long[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            timestamps[i] = 1_700_000_000_000L + i * STEP_MS;
+        }
+        series = new double[SERIES][POINTS];
+        for (int s = 0; s < SERIES; s++) {
+            double burn = random.nextDouble();
+            for (int i = 0; i < POINTS; i++) {
+                series[s][i] = 1000 - burn * i + random.nextGaussian() * 2;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SERIES * POINTS)
+    public long forecast() {
+        long sum = 0;
+        for (double[] values : series) {
+            ExhaustionForecaster forecaster = new ExhaustionForecaster(POINTS / 4);
+            for (int i = 0; i < POINTS; i++) {
+                forecaster.add(timestamps[i], values[i]);
+            }
+            ExhaustionForecast forecast = forecaster.forecast();
+            sum += forecast.getExhaustionTimestamp();
+        }
+        return sum;
+    }
+
+    @Test
+    public void run() throws Exception {
+        BenchmarkRunner.run(getClass());
+    }
+}
@@ -0,0 +1,193 @@
+package io.instana.slo.data.history;
+
+import io.instana.slo.data.model.ExhaustionForecast;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExhaustionForecasterTest {
+    private static final long STEP_MS = 5 * 60_000L;
+    private static final long HOUR_MS = 3_600_000L;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    public void linearDecayHitsZeroWhereTheLineDoes() {
+        ExhaustionForecaster forecaster = new ExhaustionForecaster(25);
+        for (int i = 0; i < 100; i++) {
+            forecaster.add(time(i), 1000 - 10.0 * hours(i));
+        }
+        ExhaustionForecast forecast = forecaster.forecast();
+
+        assertEquals(ExhaustionForecast.State.DEPLETING, forecast.getState());
+        assertEquals(-10.0, forecast.getSlopePerHour(), 1e-6);
+        // 1000 / 10 per hour = 100 hours after the first point
+        assertEquals(START + 100 * HOUR_MS, forecast.getExhaustionTimestamp(), 1000);
+        assertEquals(100 * HOUR_MS - (time(99) - START), forecast.getTimeToExhaustion(time(99)), 1000);
+    }
+
+    @Test
+    public void noisyLinearDecayIsForecastWithinTenPercent() {
+        Random random = new Random(43);
+        for (int trial = 0; trial < 100; trial++) {
+            double slope = 1 + random.nextDouble() * 20;
+            double start = 500 + random.nextDouble() * 500;
+            ExhaustionForecaster forecaster = new ExhaustionForecaster(50);
+            for (int i = 0; i < 200; i++) {
+                forecaster.add(time(i), start - slope * hours(i) + random.nextGaussian() * 2);
+            }
+            ExhaustionForecast forecast = forecaster.forecast();
+            double expectedLeft = (start / slope) * HOUR_MS - (time(199) - START);
+
+            assertEquals(ExhaustionForecast.State.DEPLETING, forecast.getState());
+            assertEquals(-slope, forecast.getSlopePerHour(), slope * 0.05);
+            assertEquals("trial " + trial, expectedLeft, forecast.getTimeToExhaustion(time(199)), expectedLeft * 0.1);
+        }
+    }
+
+    @Test
+    public void flatSeriesIsNotDepleting() {
+        ExhaustionForecaster forecaster = new ExhaustionForecaster(25);
+        for (int i = 0; i < 100; i++) {
+            forecaster.add(time(i), 750);
+        }
+        ExhaustionForecast forecast = forecaster.forecast();
+
+        assertEquals(ExhaustionForecast.State.NOT_DEPLETING, forecast.getState());
+        assertEquals(0.0, forecast.getSlopePerHour(), 1e-9);
+        assertEquals(Long.MAX_VALUE, forecast.getTimeToExhaustion(time(99)));
+    }
+
+    @Test
+    public void noisyFlatSeriesIsNotForecastToRunOutSoon() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 100; trial++) {
+            ExhaustionForecaster forecaster = new ExhaustionForecaster(50);
+            for (int i = 0; i < 200; i++) {
+                forecaster.add(time(i), 750 + random.nextGaussian() * 2);
+            }
+            // Noise may tilt the fit either way, but only very slightly
+            assertTrue(forecaster.forecast().getTimeToExhaustion(time(199)) > 30 * 24 * HOUR_MS);
+        }
+    }
+
+    @Test
+    public void recoveringSeriesIsNotDepleting() {
+        ExhaustionForecaster forecaster = new ExhaustionForecaster(25);
+        for (int i = 0; i < 100; i++) {
+            forecaster.add(time(i), 200 + 4.0 * hours(i));
+        }
+        ExhaustionForecast forecast = forecaster.forecast();
+
+        assertEquals(ExhaustionForecast.State.NOT_DEPLETING, forecast.getState());
+        assertEquals(4.0, forecast.getSlopePerHour(), 1e-6);
+    }
+
+    @Test
+    public void recentRecoveryOutweighsAnOlderBurn() {
+        ExhaustionForecaster forecaster = new ExhaustionForecaster(12);
+        double value = 800;
+        for (int i = 0; i < 200; i++) {
+            value += i < 100 ? -2 : 1;
+            forecaster.add(time(i), value);
+        }
+        ExhaustionForecast forecast = forecaster.forecast();
+
+        assertEquals(ExhaustionForecast.State.NOT_DEPLETING, forecast.getState());
+        // 1 per 5 minutes; the old burn still tilts the fit a little through its leverage
+        assertEquals(12.0, forecast.getSlopePerHour(), 1.2);
+    }
+
+    @Test
+    public void incrementalFitMatchesBatchWeightedLeastSquares() {
+        Random random = new Random(5);
+        double halfLife = 30;
+        ExhaustionForecaster forecaster = new ExhaustionForecaster(halfLife);
+        int count = 300;
+        double[] t = new double[count];
+        double[] v = new double[count];
+        double value = 900;
+        for (int i = 0; i < count; i++) {
+            value += random.nextGaussian() * 3 - 0.5;
+            t[i] = hours(i);
+            v[i] = value;
+            forecaster.add(time(i), value);
+        }
+
+        double decay = Math.pow(0.5, 1.0 / halfLife);
+        double sumW = 0;
+        double sumT = 0;
+        double sumV = 0;
+        for (int i = 0; i < count; i++) {
+            double w = Math.pow(decay, count - 1 - i);
+            sumW += w;
+            sumT += w * t[i];
+            sumV += w * v[i];
+        }
+        double meanT = sumT / sumW;
+        double meanV = sumV / sumW;
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < count; i++) {
+            double w = Math.pow(decay, count - 1 - i);
+            covariance += w * (t[i] - meanT) * (v[i] - meanV);
+            variance += w * (t[i] - meanT) * (t[i] - meanT);
+        }
+        assertEquals(covariance / variance, forecaster.getSlopePerHour(), 1e-9);
+    }
+
+    @Test
+    public void exhaustedSeriesIsReportedAsExhausted() {
+        ExhaustionForecaster forecaster = new ExhaustionForecaster(25);
+        for (int i = 0; i < 100; i++) {
+            forecaster.add(time(i), 300 - 5.0 * i);
+        }
+        ExhaustionForecast forecast = forecaster.forecast();
+
+        assertEquals(ExhaustionForecast.State.EXHAUSTED, forecast.getState());
+        assertEquals(time(99), forecast.getExhaustionTimestamp());
+        assertEquals(0, forecast.getTimeToExhaustion(time(99)));
+        assertTrue(forecast.getSlopePerHour() < 0);
+    }
+
+    @Test
+    public void needsThreePointsAtDistinctTimes() {
+        ExhaustionForecaster forecaster = new ExhaustionForecaster(25);
+        forecaster.add(time(0), 900);
+        forecaster.add(time(1), 890);
+        assertEquals(ExhaustionForecast.UNKNOWN, forecaster.forecast());
+
+        ExhaustionForecaster sameTime = new ExhaustionForecaster(25);
+        for (int i = 0; i < 5; i++) {
+            sameTime.add(time(0), 900 - i);
+        }
+        assertEquals(ExhaustionForecast.UNKNOWN, sameTime.forecast());
+    }
+
+    @Test
+    public void nanPointsAreIgnored() {
+        ExhaustionForecaster clean = new ExhaustionForecaster(25);
+        ExhaustionForecaster gappy = new ExhaustionForecaster(25);
+        for (int i = 0; i < 100; i++) {
+            double value = 1000 - 3.0 * hours(i);
+            clean.add(time(i), value);
+            gappy.add(time(i), value);
+            if (i % 5 == 0) {
+                gappy.add(time(i), Double.NaN);
+            }
+        }
+        assertEquals(clean.getCount(), gappy.getCount());
+        assertEquals(clean.forecast(), gappy.forecast());
+    }
+
+    private static long time(int index) {
+        return START + index * STEP_MS;
+    }
+
+    private static double hours(int index) {
+        return index * STEP_MS / (double) HOUR_MS;
+    }
+}
@@ -0,0 +1,210 @@
+package io.instana.slo.data.history;
+
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloEntity;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FetchOrderPlannerTest {
+    private static final long HOUR_MS = 3_600_000L;
+
+    private final Map<String, SloHistoryBuffer> buffers = new HashMap<>();
+    private final FetchOrderPlanner.History history = new FetchOrderPlanner.History() {
+        @Override
+        public TrafficLightStatus getLastStatus(String sloId) {
+            SloHistoryBuffer buffer = buffers.get(sloId);
+            return buffer == null || buffer.isEmpty() ? null : buffer.getStatus(buffer.size() - 1);
+        }
+
+        @Override
+        public SloHistoryBuffer.Range getLastHours(String sloId, int hours) {
+            SloHistoryBuffer buffer = buffers.get(sloId);
+            if (buffer == null) {
+                return new SloHistoryBuffer.Range(0);
+            }
+            return buffer.rangeSince(System.currentTimeMillis() - hours * HOUR_MS);
+        }
+    };
+    private FetchOrderPlanner planner;
+
+    @Before
+    public void setUp() {
+        planner = new FetchOrderPlanner(history);
+    }
+
+    @Test
+    public void emptyHistoryKeepsCatalogOrder() {
+        List<Slo> slos = slos(50);
+        assertEquals(slos, planner.plan(slos));
+    }
+
+    @Test
+    public void ordersByLastStatusAndKeepsTiesInCatalogOrder() {
+        List<Slo> slos = slos(6);
+        record("slo-0", TrafficLightStatus.GREEN, 900, 900);
+        record("slo-1", TrafficLightStatus.RED, 100, 100);
+        // slo-2 was never seen
+        record("slo-3", TrafficLightStatus.YELLOW, 400, 400);
+        record("slo-4", TrafficLightStatus.RED, 50, 50);
+        record("slo-5", TrafficLightStatus.GREEN, 800, 800);
+
+        assertEquals(ids("slo-1", "slo-4", "slo-3", "slo-2", "slo-0", "slo-5"), idsOf(planner.plan(slos)));
+    }
+
+    @Test
+    public void volatileGreenPassesUnknownButNotYellow() {
+        List<Slo> slos = slos(3);
+        record("slo-0", TrafficLightStatus.YELLOW, 400, 400);
+        // slo-1 was never seen
+        SloHistoryBuffer flapping = buffer("slo-2");
+        long now = System.currentTimeMillis();
+        TrafficLightStatus[] statuses = {TrafficLightStatus.GREEN, TrafficLightStatus.RED};
+        for (int i = 0; i < 8; i++) {
+            flapping.append(now - (8 - i) * 600_000L, 0.99, i % 2 == 0 ? 900 : 100, statuses[(i + 1) % 2]);
+        }
+
+        assertEquals(ids("slo-0", "slo-2", "slo-1"), idsOf(planner.plan(slos)));
+    }
+
+    /**
+     * Simulated dashboard load: the planned order must show the first red light much sooner
+     * than the catalog (FIFO) order
+     */
+    @Test
+    public void shortensTimeToFirstCriticalLight() {
+        int trials = 500;
+        int sloCount = 200;
+        Random random = new Random(48);
+        double[] fifo = new double[trials];
+        double[] planned = new double[trials];
+        for (int trial = 0; trial < trials; trial++) {
+            buffers.clear();
+            List<Slo> slos = slos(sloCount);
+            Map<String, TrafficLightStatus> current = new HashMap<>();
+            long now = System.currentTimeMillis();
+            for (Slo slo : slos) {
+                TrafficLightStatus previous = randomStatus(random);
+                boolean volatileSlo = random.nextDouble() < 0.1;
+                SloHistoryBuffer buffer = buffer(slo.getId());
+                for (int i = 0; i < 6; i++) {
+                    boolean flip = volatileSlo && random.nextBoolean();
+                    TrafficLightStatus status = flip ? randomStatus(random) : previous;
+                    buffer.append(now - (6 - i) * HOUR_MS, 0.99, 100 + random.nextInt(900), status);
+                }
+                previous = buffer.getStatus(buffer.size() - 1);
+                // Most SLOs keep their status between sessions, volatile ones often don't
+                double keep = volatileSlo ? 0.5 : 0.9;
+                current.put(slo.getId(), random.nextDouble() < keep ? previous : randomStatus(random));
+            }
+            double[] latencies = new double[sloCount];
+            for (int i = 0; i < sloCount; i++) {
+                // Log-normal around 300 ms
+                latencies[i] = 300 * Math.exp(0.6 * random.nextGaussian());
+            }
+            fifo[trial] = timeToFirstRed(slos, slos, current, latencies);
+            planned[trial] = timeToFirstRed(slos, planner.plan(slos), current, latencies);
+        }
+
+        Arrays.sort(fifo);
+        Arrays.sort(planned);
+        double fifoMean = mean(fifo);
+        double plannedMean = mean(planned);
+        assertTrue("mean " + plannedMean + " vs FIFO " + fifoMean, plannedMean < 0.6 * fifoMean);
+        assertTrue("p90 " + planned[trials * 9 / 10] + " vs FIFO " + fifo[trials * 9 / 10],
+                planned[trials * 9 / 10] < 0.6 * fifo[trials * 9 / 10]);
+    }
+
+    /**
+     * Time until the first red report arrives when requests run in the given order,
+     * at most five at a time; infinite if no SLO is red
+     */
+    private static double timeToFirstRed(List<Slo> catalog, List<Slo> order,
+                                         Map<String, TrafficLightStatus> current, double[] latencies) {
+        Map<String, Integer> catalogIndex = new HashMap<>();
+        for (int i = 0; i < catalog.size(); i++) {
+            catalogIndex.put(catalog.get(i).getId(), i);
+        }
+        PriorityQueue<Double> slots = new PriorityQueue<>();
+        for (int i = 0; i < 5; i++) {
+            slots.add(0.0);
+        }
+        double first = Double.POSITIVE_INFINITY;
+        for (Slo slo : order) {
+            double start = slots.poll();
+            double done = start + latencies[catalogIndex.get(slo.getId())];
+            slots.add(done);
+            if (current.get(slo.getId()) == TrafficLightStatus.RED) {
+                first = Math.min(first, done);
+            }
+            if (start >= first) {
+                break;
+            }
+        }
+        return first;
+    }
+
+    private static TrafficLightStatus randomStatus(Random random) {
+        double p = random.nextDouble();
+        return p < 0.03 ? TrafficLightStatus.RED : p < 0.13 ? TrafficLightStatus.YELLOW : TrafficLightStatus.GREEN;
+    }
+
+    private static double mean(double[] values) {
+        // Trials without any red SLO don't count
+        double sum = 0;
+        int count = 0;
+        for (double value : values) {
+            if (!Double.isInfinite(value)) {
+                sum += value;
+                count++;
+            }
+        }
+        return sum / count;
+    }
+
+    private SloHistoryBuffer buffer(String sloId) {
+        SloHistoryBuffer buffer = new SloHistoryBuffer(288);
+        buffers.put(sloId, buffer);
+        return buffer;
+    }
+
+    private void record(String sloId, TrafficLightStatus status, double... budgets) {
+        SloHistoryBuffer buffer = buffer(sloId);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < budgets.length; i++) {
+            buffer.append(now - (budgets.length - i) * HOUR_MS, 0.99, budgets[i], status);
+        }
+    }
+
+    private static List<Slo> slos(int count) {
+        List<Slo> slos = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            slos.add(new Slo("slo-" + i, "SLO " + i, new SloEntity("application")));
+        }
+        return slos;
+    }
+
+    private static List<String> ids(String... ids) {
+        return Arrays.asList(ids);
+    }
+
+    private static List<String> idsOf(List<Slo> slos) {
+        List<String> ids = new ArrayList<>();
+        for (Slo slo : slos) {
+            ids.add(slo.getId());
+        }
+        return ids;
+    }
+}
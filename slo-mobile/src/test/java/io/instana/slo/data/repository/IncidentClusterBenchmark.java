@@ -0,0 +1,53 @@
+package io.instana.slo.data.repository;
+
+import io.instana.slo.BenchmarkRunner;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drop detection and incident clustering at 2k SLOs x 1k points
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IncidentClusterBenchmark {
+    private static final int SLOS = 2000;
+
+    private SyntheticIncidents data;
+    private long[] onsets;
+    private int[] sloOfOnset;
+    private int onsetCount;
+
+    @Setup
+    public void setUp() {
+        data = new SyntheticIncidents(SLOS, 1000, 10, 40, 100, 50);
+        onsets = new long[SLOS];
+        sloOfOnset = new int[SLOS];
+        onsetCount = data.detect(onsets, sloOfOnset);
+    }
+
+    @Benchmark
+    public int[] detectAndCluster() {
+        int count = data.detect(onsets, sloOfOnset);
+        return IncidentClusterEngine.cluster(onsets, count, IncidentClusterEngine.BUCKET_MS);
+    }
+
+    @Benchmark
+    public int[] clusterOnly() {
+        return IncidentClusterEngine.cluster(onsets, onsetCount, IncidentClusterEngine.BUCKET_MS);
+    }
+
+    @Test
+    public void run() throws Exception {
+        BenchmarkRunner.run(getClass());
+    }
+}
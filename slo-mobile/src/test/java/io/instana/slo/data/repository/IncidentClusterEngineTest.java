@@ -0,0 +1,147 @@
+package io.instana.slo.data.repository;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IncidentClusterEngineTest {
+    private static final long MINUTE = 60_000L;
+    private static final long BUCKET = IncidentClusterEngine.BUCKET_MS;
+
+    @Test
+    public void onsetsWithinHalfABucketClusterTogether() {
+        long base = 1_700_000_000_000L;
+        long[] onsets = {base, base + 29 * MINUTE, base + 10 * MINUTE, base + 5 * MINUTE};
+        int[] roots = IncidentClusterEngine.cluster(onsets, onsets.length, BUCKET);
+        for (int root : roots) {
+            assertEquals(0, root);
+        }
+    }
+
+    @Test
+    public void onsetsABucketApartNeverShareACluster() {
+        long base = 1_700_000_000_000L;
+        long[] onsets = {base, base + BUCKET, base + 3 * BUCKET, base + 3 * BUCKET + 61 * MINUTE};
+        int[] roots = IncidentClusterEngine.cluster(onsets, onsets.length, BUCKET);
+        assertEquals(4, new HashSet<>(toList(roots)).size());
+    }
+
+    @Test
+    public void chainedOnsetsAreSplitIntoClustersShorterThanABucket() {
+        // Each onset is 40 minutes after the previous one, so neighbours always share a bucket
+        long base = 1_700_000_000_000L;
+        int count = 30;
+        long[] onsets = new long[count];
+        for (int i = 0; i < count; i++) {
+            onsets[i] = base + i * 40 * MINUTE;
+        }
+        int[] roots = IncidentClusterEngine.cluster(onsets, count, BUCKET);
+        assertSpansBelowBucket(onsets, roots);
+        assertTrue(new HashSet<>(toList(roots)).size() >= count / 2);
+    }
+
+    @Test
+    public void splitsAtTheWidestGap() {
+        long base = 1_700_000_000_000L;
+        // A lone drop, then an incident starting 25 minutes later and lasting 40 minutes
+        long[] onsets = {
+                base,
+                base + 25 * MINUTE, base + 35 * MINUTE, base + 45 * MINUTE, base + 55 * MINUTE, base + 65 * MINUTE
+        };
+        int[] roots = IncidentClusterEngine.cluster(onsets, onsets.length, BUCKET);
+        assertEquals(0, roots[0]);
+        for (int i = 2; i < onsets.length; i++) {
+            assertEquals(roots[1], roots[i]);
+        }
+        assertNotEquals(roots[0], roots[1]);
+    }
+
+    @Test
+    public void resultsDoNotDependOnArrivalOrder() {
+        long base = 1_700_000_000_000L;
+        long[] onsets = {base + 40 * MINUTE, base, base + 80 * MINUTE, base + 20 * MINUTE, base + 120 * MINUTE};
+        long[] reversed = new long[onsets.length];
+        for (int i = 0; i < onsets.length; i++) {
+            reversed[i] = onsets[onsets.length - 1 - i];
+        }
+        assertEquals(partition(onsets, IncidentClusterEngine.cluster(onsets, onsets.length, BUCKET)),
+                partition(reversed, IncidentClusterEngine.cluster(reversed, reversed.length, BUCKET)));
+    }
+
+    /**
+     * Detection plus clustering over 2000 synthetic series recovers every incident whole
+     */
+    @Test
+    public void recoversSyntheticIncidents() {
+        SyntheticIncidents data = new SyntheticIncidents(2000, 1000, 10, 40, 100, 50);
+        long[] onsets = new long[2000];
+        int[] sloOfOnset = new int[2000];
+        int count = data.detect(onsets, sloOfOnset);
+        int[] roots = IncidentClusterEngine.cluster(onsets, count, BUCKET);
+
+        assertSpansBelowBucket(onsets, roots);
+        Map<Integer, Integer> rootOfIncident = new HashMap<>();
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            int incident = data.incidentOf[sloOfOnset[i]];
+            if (incident < 0) {
+                continue;
+            }
+            found++;
+            Integer root = rootOfIncident.get(incident);
+            if (root == null) {
+                rootOfIncident.put(incident, roots[i]);
+            } else {
+                assertEquals("incident " + incident, root.intValue(), roots[i]);
+            }
+        }
+        assertEquals(400, found);
+        assertEquals(10, new HashSet<>(rootOfIncident.values()).size());
+    }
+
+    private static void assertSpansBelowBucket(long[] onsets, int[] roots) {
+        Map<Integer, long[]> spans = new HashMap<>();
+        for (int i = 0; i < roots.length; i++) {
+            long[] span = spans.get(roots[i]);
+            if (span == null) {
+                spans.put(roots[i], new long[]{onsets[i], onsets[i]});
+            } else {
+                span[0] = Math.min(span[0], onsets[i]);
+                span[1] = Math.max(span[1], onsets[i]);
+            }
+        }
+        for (long[] span : spans.values()) {
+            assertTrue("cluster spans " + (span[1] - span[0]) / MINUTE + " minutes", span[1] - span[0] < BUCKET);
+        }
+    }
+
+    private static Set<Set<Long>> partition(long[] onsets, int[] roots) {
+        Map<Integer, Set<Long>> clusters = new HashMap<>();
+        for (int i = 0; i < roots.length; i++) {
+            Set<Long> members = clusters.get(roots[i]);
+            if (members == null) {
+                members = new HashSet<>();
+                clusters.put(roots[i], members);
+            }
+            members.add(onsets[i]);
+        }
+        return new HashSet<>(clusters.values());
+    }
+
+    private static List<Integer> toList(int[] values) {
+        List<Integer> list = new ArrayList<>();
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,85 @@
+package io.instana.slo.data.repository;
+
+import io.instana.slo.data.history.BudgetDropDetector;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Remaining-budget series of many SLOs, some of which drop together in incidents
+ *
+ * Every series burns steadily with a little noise. Each incident drops the budget of its
+ * SLOs by 5% with onsets jittered by up to 10 minutes; incidents are 8 hours apart. A
+ * number of unrelated SLOs drop on their own at random times.
+ */
+final class SyntheticIncidents {
+    static final long STEP_MS = 5 * 60_000L;
+    static final double TOTAL_BUDGET = 1000.0;
+
+    final long[] timestamps;
+    final double[][] series;
+    // Incident of each SLO, -1 if it is not part of one
+    final int[] incidentOf;
+
+    SyntheticIncidents(int sloCount, int points, int incidents, int incidentSize, int unrelatedDrops, long seed) {
+        Random random = new Random(seed);
+        long start = 1_700_000_000_000L;
+        timestamps = new long[points];
+        for (int i = 0; i < points; i++) {
+            timestamps[i] = start + i * STEP_MS;
+        }
+        incidentOf = new int[sloCount];
+        Arrays.fill(incidentOf, -1);
+        long[] dropAt = new long[sloCount];
+        Arrays.fill(dropAt, Long.MAX_VALUE);
+        int slo = 0;
+        for (int incident = 0; incident < incidents; incident++) {
+            long onset = start + 2 * 3_600_000L + incident * 8 * 3_600_000L;
+            for (int i = 0; i < incidentSize; i++, slo++) {
+                incidentOf[slo] = incident;
+                dropAt[slo] = onset + (long) (random.nextDouble() * 10 * 60_000L);
+            }
+        }
+        long span = timestamps[points - 1] - start;
+        for (int i = 0; i < unrelatedDrops; i++, slo++) {
+            // Past the warmup, before the last few points
+            dropAt[slo] = start + 20 * STEP_MS + (long) (random.nextDouble() * (span - 30 * STEP_MS));
+        }
+
+        series = new double[sloCount][points];
+        for (int s = 0; s < sloCount; s++) {
+            double burnPerPoint = random.nextDouble() * 0.2;
+            double value = TOTAL_BUDGET * (0.5 + random.nextDouble() * 0.5);
+            for (int i = 0; i < points; i++) {
+                value -= burnPerPoint;
+                if (timestamps[i] >= dropAt[s] && (i == 0 || timestamps[i - 1] < dropAt[s])) {
+                    value -= TOTAL_BUDGET * 0.05;
+                }
+                series[s][i] = value + random.nextGaussian() * 0.5;
+            }
+        }
+    }
+
+    /**
+     * Run the detector over every series
+     *
+     * @param onsets Receives the latest drop onset of each SLO with a drop
+     * @return Number of SLOs with a drop
+     */
+    int detect(long[] onsets, int[] sloOfOnset) {
+        int count = 0;
+        for (int s = 0; s < series.length; s++) {
+            BudgetDropDetector detector = new BudgetDropDetector(TOTAL_BUDGET);
+            double[] values = series[s];
+            for (int i = 0; i < values.length; i++) {
+                detector.add(timestamps[i], values[i]);
+            }
+            if (detector.getDropCount() > 0) {
+                onsets[count] = detector.getLatestDrop().getOnsetTimestamp();
+                sloOfOnset[count] = s;
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,195 @@
+package io.instana.slo.data.source;
+
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloReport;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TieredSloDataSourceTest {
+    private static final int SLO_COUNT = 200;
+
+    private MemorySloDataSource memory;
+    private FakeSloDataSource fake;
+    private TieredSloDataSource chain;
+
+    @Before
+    public void setUp() {
+        memory = new MemorySloDataSource(60_000L, new ReportCache(SLO_COUNT, 60_000L, 60_000L));
+        fake = new FakeSloDataSource(SLO_COUNT);
+        chain = new TieredSloDataSource(memory, fake);
+    }
+
+    @Test
+    public void readsThroughToFakeAndWritesBack() {
+        List<Slo> slos = loadList(chain, false);
+        assertEquals(SLO_COUNT, slos.size());
+        assertEquals(1, fake.getListRequests());
+
+        // Second read is answered by the memory tier
+        assertEquals(SLO_COUNT, loadList(chain, false).size());
+        assertEquals(1, fake.getListRequests());
+
+        for (Slo slo : slos) {
+            assertNotNull(loadReport(chain, slo.getId(), false));
+        }
+        for (Slo slo : slos) {
+            assertNotNull(loadReport(chain, slo.getId(), false));
+        }
+        assertEquals(SLO_COUNT, fake.getReportRequests());
+    }
+
+    @Test
+    public void forceRefreshBypassesCacheTiers() {
+        loadList(chain, false);
+        loadList(chain, true);
+        assertEquals(2, fake.getListRequests());
+    }
+
+    @Test
+    public void recordsPerTierHitRatios() {
+        List<Slo> slos = loadList(chain, false);
+        for (int pass = 0; pass < 3; pass++) {
+            for (Slo slo : slos) {
+                loadReport(chain, slo.getId(), false);
+            }
+        }
+
+        TierStats memoryStats = chain.getStats().get(0);
+        TierStats fakeStats = chain.getStats().get(1);
+        assertEquals("memory", memoryStats.getTierName());
+        // List miss + first report pass missed, the next two passes hit
+        assertEquals(1 + SLO_COUNT, memoryStats.getMisses());
+        assertEquals(2 * SLO_COUNT, memoryStats.getHits());
+        assertEquals(1 + SLO_COUNT, fakeStats.getHits());
+        assertEquals(1.0, fakeStats.getHitRatio(), 0.0);
+        assertEquals(2.0 / 3.0, memoryStats.getHitRatio(), 0.01);
+    }
+
+    @Test
+    public void listCarriesTheTimeItWasFetched() {
+        long before = System.currentTimeMillis();
+        long fetchedAt = loadListTime(chain, false);
+        assertTrue(fetchedAt >= before);
+        // The memory tier answers with the time of its copy, not the time of the read
+        assertEquals(fetchedAt, loadListTime(chain, false));
+
+        long older = before - 30_000L;
+        memory.saveSloList(loadList(fake, false), older);
+        assertEquals(older, loadListTime(chain, false));
+    }
+
+    @Test
+    public void writeBackKeepsTheOriginalFetchTime() {
+        MemorySloDataSource front = new MemorySloDataSource(60_000L, new ReportCache(SLO_COUNT, 60_000L, 60_000L));
+        long older = System.currentTimeMillis() - 30_000L;
+        memory.saveSloList(loadList(fake, false), older);
+        TieredSloDataSource twoCaches = new TieredSloDataSource(front, memory, fake);
+
+        assertEquals(older, loadListTime(twoCaches, false));
+        assertEquals(older, loadListTime(front, false));
+        // Only the direct read above reached the fake tier
+        assertEquals(1, fake.getListRequests());
+    }
+
+    @Test
+    public void unknownReportIsReportedAsError() {
+        String[] error = new String[1];
+        chain.getSloReport("missing", false, new SloDataSource.LoadCallback<SloReport>() {
+            @Override
+            public void onLoaded(SloReport data) {
+            }
+
+            @Override
+            public void onNotAvailable() {
+            }
+
+            @Override
+            public void onError(String message, Throwable t) {
+                error[0] = message;
+            }
+        });
+        assertNotNull(error[0]);
+        assertEquals(1, chain.getStats().get(1).getErrors());
+    }
+
+    @Test
+    public void fakeDataIsDeterministic() {
+        FakeSloDataSource other = new FakeSloDataSource(SLO_COUNT);
+        List<Slo> first = loadList(fake, false);
+        List<Slo> second = loadList(other, false);
+        for (int i = 0; i < SLO_COUNT; i++) {
+            String id = first.get(i).getId();
+            assertEquals(id, second.get(i).getId());
+            SloReport a = loadReport(fake, id, false);
+            SloReport b = loadReport(other, id, false);
+            assertEquals(a.getSli(), b.getSli(), 0.0);
+            assertEquals(a.getErrorBudgetRemaining(), b.getErrorBudgetRemaining(), 0.0);
+        }
+    }
+
+    @Test
+    public void cachedReportIsTheWrittenBackInstance() {
+        String id = loadList(chain, false).get(0).getId();
+        SloReport loaded = loadReport(chain, id, false);
+        assertSame(loaded, loadReport(memory, id, false));
+        assertTrue(chain.getName().startsWith("memory->"));
+    }
+
+    private static List<Slo> loadList(SloDataSource source, boolean forceRefresh) {
+        List<Slo> result = new ArrayList<>();
+        source.getSloList(forceRefresh, new Collector<List<Slo>>() {
+            @Override
+            public void onLoaded(List<Slo> data) {
+                result.addAll(data);
+            }
+        });
+        return result;
+    }
+
+    private static long loadListTime(SloDataSource source, boolean forceRefresh) {
+        long[] result = {-1};
+        source.getSloList(forceRefresh, new Collector<List<Slo>>() {
+            @Override
+            public void onLoaded(List<Slo> data) {
+                fail("Lists are delivered with their fetch time");
+            }
+
+            @Override
+            public void onLoaded(List<Slo> data, long fetchedAt) {
+                result[0] = fetchedAt;
+            }
+        });
+        return result[0];
+    }
+
+    private static SloReport loadReport(SloDataSource source, String sloId, boolean forceRefresh) {
+        SloReport[] result = new SloReport[1];
+        source.getSloReport(sloId, forceRefresh, new Collector<SloReport>() {
+            @Override
+            public void onLoaded(SloReport data) {
+                result[0] = data;
+            }
+        });
+        return result[0];
+    }
+
+    private abstract static class Collector<T> implements SloDataSource.LoadCallback<T> {
+        @Override
+        public void onNotAvailable() {
+        }
+
+        @Override
+        public void onError(String message, Throwable t) {
+        }
+    }
+}
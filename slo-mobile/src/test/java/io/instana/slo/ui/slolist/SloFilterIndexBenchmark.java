@@ -0,0 +1,118 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.BenchmarkRunner;
+import io.instana.slo.data.model.EntityType;
+import io.instana.slo.data.model.SloSnapshot;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering a 10k-SLO list and applying one report to it, bitmap index vs. linear passes
+ *
+ * The linear variants are what the view model did before SloFilterIndex: filter the catalog,
+ * count facets with a pass each, and re-sort the filtered list for every update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SloFilterIndexBenchmark {
+    private static final int UPDATES = 4096;
+    private static final SloSortMode SORT = SloSortMode.REMAINING_BUDGET;
+
+    @Param({"10000"})
+    public int size;
+
+    private List<SloSnapshot> all;
+    private Set<String> selectedIds;
+    private SloFilterIndex index;
+    private SortedPositions sorted;
+    private int[] updateOrdinals;
+    private SloSnapshot[] updates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SyntheticSnapshots synthetic = new SyntheticSnapshots(34);
+        all = synthetic.catalog(size);
+        selectedIds = synthetic.selection(all, 0.8);
+        index = new SloFilterIndex();
+        index.rebuild(all, selectedIds);
+        sorted = SyntheticSnapshots.sorted(index, index.query(null, null), SORT, synthetic.random());
+
+        updateOrdinals = new int[UPDATES];
+        updates = new SloSnapshot[UPDATES];
+        for (int i = 0; i < UPDATES; i++) {
+            updateOrdinals[i] = synthetic.random().nextInt(size);
+            updates[i] = synthetic.next(all.get(updateOrdinals[i]));
+        }
+    }
+
+    @Benchmark
+    public int filterLinear() {
+        List<SloSnapshot> filtered = SyntheticSnapshots.linearFilter(all, selectedIds, TrafficLightStatus.RED,
+                EntityType.APPLICATION);
+        int counts = 0;
+        for (TrafficLightStatus status : TrafficLightStatus.values()) {
+            for (SloSnapshot snapshot : all) {
+                if (snapshot.getStatus() == status) {
+                    counts++;
+                }
+            }
+        }
+        for (EntityType type : EntityType.values()) {
+            for (SloSnapshot snapshot : all) {
+                if (snapshot.getEntity() != null && snapshot.getEntity().getType() == type) {
+                    counts++;
+                }
+            }
+        }
+        return filtered.size() + counts;
+    }
+
+    @Benchmark
+    public int filterIndexed() {
+        List<SloSnapshot> filtered = index.select(index.query(TrafficLightStatus.RED, EntityType.APPLICATION));
+        return filtered.size() + index.facetCounts().hashCode();
+    }
+
+    @Benchmark
+    public int updateLinear() {
+        int i = next++ & (UPDATES - 1);
+        all.set(updateOrdinals[i], updates[i]);
+        List<SloSnapshot> filtered = SyntheticSnapshots.linearFilter(all, selectedIds, null, null);
+        return SyntheticSnapshots.linearSort(filtered, SORT).size();
+    }
+
+    @Benchmark
+    public int updateIndexed() {
+        int i = next++ & (UPDATES - 1);
+        int ordinal = updateOrdinals[i];
+        index.update(updates[i]);
+        if (!index.matches(ordinal, null, null)) {
+            sorted.remove(ordinal);
+            return -1;
+        }
+        sorted.add(ordinal, updates[i]);
+        return sorted.positionOf(ordinal);
+    }
+
+    @Test
+    public void run() throws Exception {
+        BenchmarkRunner.run(getClass());
+    }
+}
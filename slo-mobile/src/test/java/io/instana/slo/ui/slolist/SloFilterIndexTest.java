@@ -0,0 +1,147 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.data.model.EntityType;
+import io.instana.slo.data.model.SloSnapshot;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SloFilterIndexTest {
+    private static final int COUNT = 3000;
+
+    @Test
+    public void queryMatchesLinearFilter() {
+        SyntheticSnapshots synthetic = new SyntheticSnapshots(34);
+        List<SloSnapshot> all = synthetic.catalog(COUNT);
+        Set<String> selectedIds = synthetic.selection(all, 0.7);
+        SloFilterIndex index = new SloFilterIndex();
+        index.rebuild(all, selectedIds);
+
+        assertIndexMatches(index, all, selectedIds);
+    }
+
+    @Test
+    public void updatesKeepIndexInSyncWithCatalog() {
+        SyntheticSnapshots synthetic = new SyntheticSnapshots(35);
+        List<SloSnapshot> all = synthetic.catalog(COUNT);
+        Set<String> selectedIds = synthetic.selection(all, 0.5);
+        SloFilterIndex index = new SloFilterIndex();
+        index.rebuild(all, selectedIds);
+
+        for (int i = 0; i < 20_000; i++) {
+            int ordinal = synthetic.random().nextInt(COUNT);
+            SloSnapshot next = synthetic.next(all.get(ordinal));
+            assertSame(all.get(ordinal), index.update(next));
+            all.set(ordinal, next);
+        }
+        assertIndexMatches(index, all, selectedIds);
+
+        selectedIds = synthetic.selection(all, 0.2);
+        index.setSelection(selectedIds);
+        assertIndexMatches(index, all, selectedIds);
+    }
+
+    @Test
+    public void unknownSloIsIgnored() {
+        SyntheticSnapshots synthetic = new SyntheticSnapshots(36);
+        List<SloSnapshot> all = synthetic.catalog(10);
+        SloFilterIndex index = new SloFilterIndex();
+        index.rebuild(all.subList(0, 5), synthetic.selection(all, 1.0));
+
+        assertNull(index.update(all.get(7)));
+        assertEquals(-1, index.ordinalOf(all.get(7).getId()));
+        assertEquals(5, index.countSelected());
+    }
+
+    @Test
+    public void sortedQueryMatchesLinearSort() {
+        SyntheticSnapshots synthetic = new SyntheticSnapshots(37);
+        List<SloSnapshot> all = synthetic.catalog(COUNT);
+        Set<String> selectedIds = synthetic.selection(all, 0.8);
+        SloFilterIndex index = new SloFilterIndex();
+        index.rebuild(all, selectedIds);
+
+        for (SloSortMode mode : SloSortMode.values()) {
+            for (TrafficLightStatus status : new TrafficLightStatus[] {null, TrafficLightStatus.RED}) {
+                BitSet ordinals = index.query(status, null);
+                SortedPositions sorted = SyntheticSnapshots.sorted(index, ordinals, mode, synthetic.random());
+                List<SloSnapshot> expected = SyntheticSnapshots.linearSort(
+                        SyntheticSnapshots.linearFilter(all, selectedIds, status, null), mode);
+                assertEquals(mode + " / " + status, ids(expected), ids(sorted.toList()));
+            }
+        }
+    }
+
+    private static void assertIndexMatches(SloFilterIndex index, List<SloSnapshot> all, Set<String> selectedIds) {
+        List<TrafficLightStatus> statuses = withNull(TrafficLightStatus.values());
+        List<EntityType> types = withNull(EntityType.values());
+        for (TrafficLightStatus status : statuses) {
+            for (EntityType type : types) {
+                List<SloSnapshot> expected = SyntheticSnapshots.linearFilter(all, selectedIds, status, type);
+                BitSet ordinals = index.query(status, type);
+                String at = status + " / " + type;
+                assertEquals(at, ids(expected), ids(index.select(ordinals)));
+
+                int pending = 0;
+                for (SloSnapshot snapshot : expected) {
+                    if (snapshot.isPending()) {
+                        pending++;
+                    }
+                }
+                assertEquals(at, pending, index.countPending(ordinals));
+                for (int ordinal = 0; ordinal < all.size(); ordinal++) {
+                    assertEquals(at, ordinals.get(ordinal), index.matches(ordinal, status, type));
+                }
+            }
+        }
+
+        // Facet counts cover the whole catalog, regardless of the selection
+        for (TrafficLightStatus status : statuses) {
+            int expected = 0;
+            for (SloSnapshot snapshot : all) {
+                if (snapshot.getStatus() == status) {
+                    expected++;
+                }
+            }
+            assertEquals(String.valueOf(status), expected, index.countByStatus(status));
+        }
+        for (EntityType type : types) {
+            int expected = 0;
+            for (SloSnapshot snapshot : all) {
+                EntityType actual = snapshot.getEntity() != null ? snapshot.getEntity().getType() : null;
+                if (actual == type) {
+                    expected++;
+                }
+            }
+            assertEquals(String.valueOf(type), expected, index.countByEntityType(type));
+        }
+        assertEquals(SyntheticSnapshots.linearFilter(all, selectedIds, null, null).size(), index.countSelected());
+    }
+
+    @SafeVarargs
+    private static <T> List<T> withNull(T... values) {
+        List<T> result = new ArrayList<>();
+        result.add(null);
+        for (T value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    static List<String> ids(List<SloSnapshot> snapshots) {
+        List<String> ids = new ArrayList<>(snapshots.size());
+        for (SloSnapshot snapshot : snapshots) {
+            ids.add(snapshot.getId());
+        }
+        return ids;
+    }
+}
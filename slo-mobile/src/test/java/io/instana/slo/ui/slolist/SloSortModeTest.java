@@ -0,0 +1,92 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.SloSnapshot;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class SloSortModeTest {
+    private static final SloSnapshot NOT_LOADED = SloSnapshot.initial(new Slo("none", "Not loaded", null));
+
+    @Test
+    public void remainingBudgetPutsLeastBudgetFirstAndMissingReportsLast() {
+        SloSnapshot low = loaded("low", "a", 0.999, 100, TrafficLightStatus.YELLOW);
+        SloSnapshot high = loaded("high", "b", 0.999, 900, TrafficLightStatus.GREEN);
+        SloSnapshot overdrawn = loaded("overdrawn", "c", 0.98, -50, TrafficLightStatus.RED);
+
+        assertSorted(SloSortMode.REMAINING_BUDGET, overdrawn, low, high, NOT_LOADED);
+    }
+
+    @Test
+    public void sliMarginPutsMostNegativeMarginFirst() {
+        SloSnapshot breached = loaded("breached", "a", 0.985, 900, TrafficLightStatus.RED);
+        SloSnapshot tight = loaded("tight", "b", 0.9905, 100, TrafficLightStatus.YELLOW);
+        SloSnapshot comfortable = loaded("comfortable", "c", 0.999, 50, TrafficLightStatus.GREEN);
+
+        assertSorted(SloSortMode.SLI_MARGIN, breached, tight, comfortable, NOT_LOADED);
+    }
+
+    @Test
+    public void statusPutsRedFirstThenLeastBudget() {
+        SloSnapshot red = loaded("red", "a", 0.98, 900, TrafficLightStatus.RED);
+        SloSnapshot yellowLow = loaded("yellowLow", "b", 0.999, 50, TrafficLightStatus.YELLOW);
+        SloSnapshot yellowHigh = loaded("yellowHigh", "c", 0.999, 400, TrafficLightStatus.YELLOW);
+        SloSnapshot green = loaded("green", "d", 0.999, 10, TrafficLightStatus.GREEN);
+        // A failed refresh keeps the report but has no status
+        SloSnapshot failed = loaded("failed", "e", 0.98, 0, TrafficLightStatus.RED).failed();
+
+        assertSorted(SloSortMode.STATUS, red, yellowLow, yellowHigh, green, failed, NOT_LOADED);
+    }
+
+    @Test
+    public void nameIgnoresCaseAndPutsMissingNamesLast() {
+        SloSnapshot alpha = SloSnapshot.initial(new Slo("1", "alpha", null));
+        SloSnapshot beta = SloSnapshot.initial(new Slo("2", "Beta", null));
+        SloSnapshot gamma = SloSnapshot.initial(new Slo("3", "GAMMA", null));
+        SloSnapshot unnamed = SloSnapshot.initial(new Slo("4", null, null));
+
+        assertSorted(SloSortMode.NAME, alpha, beta, gamma, unnamed);
+        assertEquals(0, SloSortMode.NAME.compare(alpha, SloSnapshot.initial(new Slo("5", "ALPHA", null))));
+        assertEquals(0, SloSortMode.NAME.compare(unnamed, SloSnapshot.initial(new Slo("6", null, null))));
+    }
+
+    @Test
+    public void catalogNeverReorders() {
+        SloSnapshot a = loaded("a", "z", 0.98, -50, TrafficLightStatus.RED);
+        SloSnapshot b = loaded("b", "a", 0.999, 900, TrafficLightStatus.GREEN);
+
+        assertEquals(0, SloSortMode.CATALOG.compare(a, b));
+        assertEquals(0, SloSortMode.CATALOG.compare(b, NOT_LOADED));
+    }
+
+    /**
+     * Check every ordered pair, so the order holds whatever the input order was
+     */
+    private static void assertSorted(SloSortMode mode, SloSnapshot... expected) {
+        List<SloSnapshot> order = Arrays.asList(expected);
+        for (int i = 0; i < order.size(); i++) {
+            for (int j = i + 1; j < order.size(); j++) {
+                String pair = mode + ": " + order.get(i).getId() + " before " + order.get(j).getId();
+                assertEquals(pair, -1, Integer.signum(mode.compare(order.get(i), order.get(j))));
+                assertEquals(pair, 1, Integer.signum(mode.compare(order.get(j), order.get(i))));
+            }
+        }
+    }
+
+    private static SloSnapshot loaded(String id, String name, double sli, double remaining,
+                                      TrafficLightStatus status) {
+        SloReport report = new SloReport();
+        report.setSli(sli);
+        report.setSloTarget(0.99);
+        report.setTotalErrorBudget(1000);
+        report.setErrorBudgetRemaining(remaining);
+        return SloSnapshot.initial(new Slo(id, name, null)).loaded(report, status, null, false, null, null, null);
+    }
+}
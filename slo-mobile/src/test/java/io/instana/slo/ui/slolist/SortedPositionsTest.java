@@ -0,0 +1,127 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloSnapshot;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SortedPositionsTest {
+    private static final int COUNT = 2000;
+
+    @Test
+    public void orderStatisticsMatchSortedReference() {
+        for (SloSortMode mode : SloSortMode.values()) {
+            SyntheticSnapshots synthetic = new SyntheticSnapshots(47 + mode.ordinal());
+            Random random = synthetic.random();
+            List<SloSnapshot> all = synthetic.catalog(COUNT);
+            SortedPositions positions = new SortedPositions(mode, COUNT);
+            // What the list shows: each ordinal keyed by the snapshot it was last sorted by
+            SloSnapshot[] keys = new SloSnapshot[COUNT];
+            TreeSet<Integer> reference = new TreeSet<>(order(mode, keys));
+
+            for (int step = 0; step < 30_000; step++) {
+                int ordinal = random.nextInt(COUNT);
+                int op = random.nextInt(4);
+                // The reference compares by keys, so an ordinal leaves it before its key changes
+                if (keys[ordinal] != null) {
+                    reference.remove(ordinal);
+                }
+                if (op == 0) {
+                    positions.remove(ordinal);
+                    keys[ordinal] = null;
+                } else {
+                    // Add, or re-rank with a newer snapshot
+                    SloSnapshot next = op == 1 ? all.get(ordinal) : synthetic.next(all.get(ordinal));
+                    all.set(ordinal, next);
+                    keys[ordinal] = next;
+                    reference.add(ordinal);
+                    positions.add(ordinal, next);
+                }
+                if (step % 500 == 0) {
+                    assertSameOrder(mode, reference, keys, positions);
+                }
+            }
+            assertSameOrder(mode, reference, keys, positions);
+        }
+    }
+
+    @Test
+    public void readdingMovesToNewRank() {
+        SyntheticSnapshots synthetic = new SyntheticSnapshots(48);
+        List<SloSnapshot> all = synthetic.catalog(3);
+        SortedPositions positions = new SortedPositions(SloSortMode.NAME, 3);
+        positions.add(0, named(all.get(0), "b"));
+        positions.add(1, named(all.get(1), "c"));
+        positions.add(2, named(all.get(2), "a"));
+        assertEquals(0, positions.positionOf(2));
+
+        positions.add(2, named(all.get(2), "d"));
+
+        assertEquals(3, positions.size());
+        assertEquals(2, positions.positionOf(2));
+        assertEquals(0, positions.ordinalAt(0));
+        assertEquals(2, positions.ordinalAt(2));
+    }
+
+    @Test
+    public void removeIsIdempotent() {
+        SyntheticSnapshots synthetic = new SyntheticSnapshots(49);
+        List<SloSnapshot> all = synthetic.catalog(2);
+        SortedPositions positions = new SortedPositions(SloSortMode.REMAINING_BUDGET, 2);
+        positions.add(0, all.get(0));
+
+        positions.remove(1);
+        positions.remove(0);
+        positions.remove(0);
+
+        assertEquals(0, positions.size());
+        assertFalse(positions.contains(0));
+        assertTrue(positions.toList().isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void ordinalAtRejectsPositionPastTheEnd() {
+        SyntheticSnapshots synthetic = new SyntheticSnapshots(50);
+        SortedPositions positions = new SortedPositions(SloSortMode.NAME, 4);
+        positions.add(1, synthetic.catalog(2).get(1));
+
+        positions.ordinalAt(1);
+    }
+
+    private static void assertSameOrder(SloSortMode mode, TreeSet<Integer> reference, SloSnapshot[] keys,
+                                        SortedPositions positions) {
+        assertEquals(mode.name(), reference.size(), positions.size());
+        List<SloSnapshot> expected = new ArrayList<>();
+        int position = 0;
+        for (int ordinal : reference) {
+            expected.add(keys[ordinal]);
+            assertTrue(positions.contains(ordinal));
+            assertEquals(mode.name(), position, positions.positionOf(ordinal));
+            assertEquals(mode.name(), ordinal, positions.ordinalAt(position));
+            position++;
+        }
+        assertEquals(mode.name(), expected, positions.toList());
+        assertEquals(mode.name(), expected.subList(0, Math.min(3, expected.size())), positions.head(3));
+    }
+
+    private static Comparator<Integer> order(SloSortMode mode, SloSnapshot[] keys) {
+        return (a, b) -> {
+            int c = mode.compare(keys[a], keys[b]);
+            return c != 0 ? c : Integer.compare(a, b);
+        };
+    }
+
+    private static SloSnapshot named(SloSnapshot snapshot, String name) {
+        return snapshot.withSlo(new Slo(snapshot.getId(), name, null));
+    }
+}
@@ -0,0 +1,147 @@
+package io.instana.slo.ui.slolist;
+
+import io.instana.slo.data.model.EntityType;
+import io.instana.slo.data.model.Slo;
+import io.instana.slo.data.model.SloEntity;
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.SloSnapshot;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic SLO snapshots for list tests and benchmarks
+ *
+ * Covers every state the list can see: not loaded, loading, loaded and failed (which keeps
+ * the report but drops the status), SLOs without an entity or with an unknown entity type,
+ * and duplicate names and budgets so ties fall back to the catalog order.
+ */
+final class SyntheticSnapshots {
+    private static final String[] TYPES = {"application", "website", "synthetic", "infrastructure", "kubernetes"};
+    private static final TrafficLightStatus[] STATUSES = TrafficLightStatus.values();
+
+    private final Random random;
+
+    SyntheticSnapshots(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Get the catalog of {@code count} SLOs in a random loading state
+     */
+    List<SloSnapshot> catalog(int count) {
+        List<SloSnapshot> all = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            all.add(next(SloSnapshot.initial(slo(i))));
+        }
+        return all;
+    }
+
+    /**
+     * Get the next state of an SLO, as a report fetch would publish it
+     */
+    SloSnapshot next(SloSnapshot snapshot) {
+        int roll = random.nextInt(10);
+        if (roll == 0) {
+            return snapshot.loading();
+        }
+        if (roll == 1) {
+            return snapshot.failed();
+        }
+        if (roll == 2) {
+            return SloSnapshot.initial(snapshot.getSlo());
+        }
+        return snapshot.loaded(report(), STATUSES[random.nextInt(STATUSES.length)], null, false,
+                null, null, null);
+    }
+
+    /**
+     * Get a random selection of about {@code share} of the catalog
+     */
+    Set<String> selection(List<SloSnapshot> all, double share) {
+        Set<String> ids = new HashSet<>();
+        for (SloSnapshot snapshot : all) {
+            if (random.nextDouble() < share) {
+                ids.add(snapshot.getId());
+            }
+        }
+        return ids;
+    }
+
+    Random random() {
+        return random;
+    }
+
+    private Slo slo(int i) {
+        SloEntity entity;
+        int kind = random.nextInt(TYPES.length + 2);
+        if (kind < TYPES.length) {
+            entity = new SloEntity(TYPES[kind]);
+        } else if (kind == TYPES.length) {
+            // No type at all; nothing to infer it from either
+            entity = new SloEntity();
+        } else {
+            entity = null;
+        }
+        // Few distinct names, some missing, so name ties are common
+        String name = random.nextInt(20) == 0 ? null : (random.nextBoolean() ? "Slo " : "slo ") + random.nextInt(50);
+        return new Slo("slo-" + i, name, entity);
+    }
+
+    private SloReport report() {
+        SloReport report = new SloReport();
+        report.setSloTarget(0.99);
+        report.setSli(0.98 + random.nextInt(40) * 0.0005);
+        report.setTotalErrorBudget(random.nextInt(8) == 0 ? 0 : 1000);
+        report.setErrorBudgetRemaining(random.nextInt(21) * 50 - 100);
+        return report;
+    }
+
+    /**
+     * The list filter as it was before SloFilterIndex: a pass over the catalog
+     */
+    static List<SloSnapshot> linearFilter(List<SloSnapshot> all, Set<String> selectedIds,
+                                          TrafficLightStatus status, EntityType entityType) {
+        List<SloSnapshot> filtered = new ArrayList<>();
+        for (SloSnapshot snapshot : all) {
+            if (selectedIds.contains(snapshot.getId()) &&
+                    (status == null || snapshot.getStatus() == status) &&
+                    (entityType == null ||
+                            (snapshot.getEntity() != null && snapshot.getEntity().getType() == entityType))) {
+                filtered.add(snapshot);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Sort a catalog-ordered list the plain way; List.sort is stable, so ties keep catalog order
+     */
+    static List<SloSnapshot> linearSort(List<SloSnapshot> catalogOrder, SloSortMode mode) {
+        List<SloSnapshot> sorted = new ArrayList<>(catalogOrder);
+        sorted.sort(mode::compare);
+        return sorted;
+    }
+
+    /**
+     * Build a sorted list over the given ordinals, in random insertion order
+     */
+    static SortedPositions sorted(SloFilterIndex index, BitSet ordinals, SloSortMode mode, Random random) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = ordinals.nextSetBit(0); i >= 0; i = ordinals.nextSetBit(i + 1)) {
+            order.add(i);
+        }
+        Collections.shuffle(order, random);
+        SortedPositions positions = new SortedPositions(mode, index.size());
+        for (int ordinal : order) {
+            positions.add(ordinal, index.get(ordinal));
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,87 @@
+package io.instana.slo.ui.slolist;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VisiblePositionsTest {
+    @Test
+    public void positionsCountVisibleOrdinalsBefore() {
+        BitSet visible = new BitSet();
+        visible.set(1);
+        visible.set(4);
+        visible.set(5);
+        VisiblePositions positions = new VisiblePositions(visible, 8);
+
+        assertEquals(0, positions.positionOf(1));
+        assertEquals(1, positions.positionOf(4));
+        assertEquals(2, positions.positionOf(5));
+        // Insertion points of hidden ordinals
+        assertEquals(0, positions.positionOf(0));
+        assertEquals(1, positions.positionOf(3));
+        assertEquals(3, positions.positionOf(7));
+    }
+
+    @Test
+    public void addAndRemoveShiftLaterPositions() {
+        VisiblePositions positions = new VisiblePositions(new BitSet(), 8);
+        positions.add(6, null);
+        positions.add(2, null);
+        assertEquals(1, positions.positionOf(6));
+
+        positions.add(2, null);
+        assertEquals("adding twice counts once", 1, positions.positionOf(6));
+
+        positions.remove(2);
+        positions.remove(2);
+        assertFalse(positions.contains(2));
+        assertTrue(positions.contains(6));
+        assertEquals(0, positions.positionOf(6));
+    }
+
+    @Test
+    public void constructorCopiesVisibleSet() {
+        BitSet visible = new BitSet();
+        visible.set(3);
+        VisiblePositions positions = new VisiblePositions(visible, 4);
+        visible.set(0);
+
+        assertFalse(positions.contains(0));
+        assertEquals(0, positions.positionOf(3));
+    }
+
+    @Test
+    public void matchesPrefixCountsUnderRandomUpdates() {
+        int size = 5000;
+        Random random = new Random(35);
+        BitSet expected = new BitSet();
+        for (int i = 0; i < size; i++) {
+            if (random.nextBoolean()) {
+                expected.set(i);
+            }
+        }
+        VisiblePositions positions = new VisiblePositions(expected, size);
+
+        for (int step = 0; step < 50_000; step++) {
+            int ordinal = random.nextInt(size);
+            if (random.nextBoolean()) {
+                positions.add(ordinal, null);
+                expected.set(ordinal);
+            } else {
+                positions.remove(ordinal);
+                expected.clear(ordinal);
+            }
+            int probe = random.nextInt(size);
+            assertEquals(expected.get(0, probe).cardinality(), positions.positionOf(probe));
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected.get(i), positions.contains(i));
+            assertEquals(expected.get(0, i).cardinality(), positions.positionOf(i));
+        }
+    }
+}
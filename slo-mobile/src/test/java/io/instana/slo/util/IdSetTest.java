@@ -0,0 +1,93 @@
+package io.instana.slo.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class IdSetTest {
+    @Test
+    public void dropsNullEmptyAndDuplicateIds() {
+        IdSet set = IdSet.of(Arrays.asList("b", null, "a", "", "b", "c", "a"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(set));
+        assertTrue(set.contains("b"));
+        assertFalse(set.contains("d"));
+        assertFalse(set.contains(null));
+        assertFalse(set.contains(42));
+    }
+
+    @Test
+    public void dropsIdsContainingTheSeparator() {
+        // They could not be decoded again
+        IdSet set = IdSet.of(Arrays.asList("a", "b\nc"));
+
+        assertEquals(Collections.singleton("a"), set);
+    }
+
+    @Test
+    public void emptyInputsShareTheEmptySet() {
+        assertSame(IdSet.EMPTY, IdSet.of(null));
+        assertSame(IdSet.EMPTY, IdSet.of(Collections.<String>emptySet()));
+        assertSame(IdSet.EMPTY, IdSet.of(Arrays.asList(null, "")));
+        assertSame(IdSet.EMPTY, IdSet.decode(null));
+        assertSame(IdSet.EMPTY, IdSet.decode(""));
+        assertSame(IdSet.EMPTY, IdSet.decode("\n\n"));
+        assertEquals("", IdSet.EMPTY.encode());
+    }
+
+    @Test
+    public void ofIdSetReturnsSameInstance() {
+        IdSet set = IdSet.of(Arrays.asList("a", "b"));
+
+        assertSame(set, IdSet.of(set));
+    }
+
+    @Test
+    public void encodeDecodeRoundTrips() {
+        IdSet set = IdSet.of(Arrays.asList("SLOa1", "SLO-b2", "slo c3", "Ünïcode"));
+
+        IdSet decoded = IdSet.decode(set.encode());
+        assertEquals(set, decoded);
+        assertEquals(new ArrayList<>(set), new ArrayList<>(decoded));
+        // Stray separators in stored values are tolerated
+        assertEquals(set, IdSet.decode("\n" + set.encode() + "\n\nSLOa1"));
+    }
+
+    @Test
+    public void behavesLikeHashSet() {
+        Random random = new Random(37);
+        Set<String> expected = new HashSet<>();
+        List<String> source = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String id = "slo-" + random.nextInt(4000);
+            source.add(id);
+            expected.add(id);
+        }
+        IdSet set = IdSet.of(source);
+
+        assertEquals(expected.size(), set.size());
+        assertEquals(expected, set);
+        assertEquals(set, expected);
+        assertEquals(expected.hashCode(), set.hashCode());
+        for (int i = 0; i < 4000; i++) {
+            String id = "slo-" + i;
+            assertEquals(id, expected.contains(id), set.contains(id));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void isImmutable() {
+        IdSet.of(Collections.singleton("a")).add("b");
+    }
+}
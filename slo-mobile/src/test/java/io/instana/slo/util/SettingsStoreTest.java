@@ -0,0 +1,148 @@
+package io.instana.slo.util;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Encrypted storage is simulated by a supplier that blocks until the test releases it,
+ * standing in for a slow Keystore on a cold start
+ */
+public class SettingsStoreTest {
+    @Rule
+    public final InstantTaskExecutorRule instantTaskExecutor = new InstantTaskExecutorRule();
+
+    private final InMemoryPreferences plain = new InMemoryPreferences();
+    private final InMemoryPreferences secrets = new InMemoryPreferences();
+    private final InMemoryPreferences fallback = new InMemoryPreferences();
+    private final CountDownLatch keystoreReady = new CountDownLatch(1);
+
+    @After
+    public void releaseKeystore() {
+        keystoreReady.countDown();
+    }
+
+    @Test(timeout = 10_000)
+    public void startupDoesNotWaitForEncryptedStorage() {
+        plain.edit().putString("api_endpoint", "https://tenant.instana.io").commit();
+        secrets.edit().putString("api_token", "stored-token").commit();
+        AtomicInteger ran = new AtomicInteger();
+
+        // Everything the main thread does at startup, while the Keystore is still busy
+        long start = System.nanoTime();
+        SettingsStore store = new SettingsStore(plain, this::openSecrets, () -> fallback);
+        SettingsStore.Settings settings = store.get();
+        store.runWhenSecretsLoaded(ran::incrementAndGet);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("startup took " + elapsedMs + "ms", elapsedMs < 200);
+        assertEquals("https://tenant.instana.io", settings.getApiEndpoint());
+        assertEquals("", settings.getApiToken());
+        assertFalse(settings.isConfigured());
+        assertEquals("deferred until encrypted storage is open", 0, ran.get());
+
+        keystoreReady.countDown();
+        assertTrue(store.isConfigured());
+        assertEquals("stored-token", store.getApiToken());
+        assertEquals("stored-token", store.get().getApiToken());
+        store.runWhenSecretsLoaded(ran::incrementAndGet);
+        assertEquals("runs right away once open", 1, ran.get());
+    }
+
+    @Test(timeout = 10_000)
+    public void tokenSetBeforeStorageOpensWins() {
+        secrets.edit().putString("api_token", "stored-token").commit();
+        SettingsStore store = new SettingsStore(plain, this::openSecrets, () -> fallback);
+
+        store.setApiToken("new-token");
+        assertEquals("new-token", store.get().getApiToken());
+        keystoreReady.countDown();
+
+        assertEquals("new-token", store.getApiToken());
+        eventually(() -> "new-token".equals(secrets.getString("api_token", null)));
+    }
+
+    @Test(timeout = 10_000)
+    public void failingKeystoreFallsBackToPlainStorage() {
+        SettingsStore store = new SettingsStore(plain, () -> {
+            throw new IllegalStateException("Keystore unavailable");
+        }, () -> fallback);
+
+        assertFalse(store.isConfigured());
+        store.setApiToken("token");
+        eventually(() -> "token".equals(fallback.getString("api_token", null)));
+        assertTrue(store.isConfigured());
+    }
+
+    @Test(timeout = 10_000)
+    public void writesUpdateSnapshotAndPersistInOrder() {
+        keystoreReady.countDown();
+        SettingsStore store = new SettingsStore(plain, this::openSecrets, () -> fallback);
+
+        store.setApiEndpoint("https://a.instana.io");
+        store.setYellowThreshold(25.0);
+        store.setSelectedSloIds(Arrays.asList("b", "a"));
+        store.setApiEndpoint("https://b.instana.io");
+
+        SettingsStore.Settings settings = store.get();
+        assertEquals("https://b.instana.io", settings.getApiEndpoint());
+        assertEquals(25.0, settings.getYellowThreshold(), 0.0);
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), settings.getSelectedSloIds());
+        eventually(() -> "https://b.instana.io".equals(plain.getString("api_endpoint", null)));
+        assertEquals("a\nb", plain.getString("selected_slo_ids_packed", null));
+
+        // Unchanged values are neither published nor written
+        int commits = plain.getCommitCount();
+        store.setYellowThreshold(25.0);
+        store.setApiEndpoint("https://b.instana.io");
+        store.setSelectedSloIds(Arrays.asList("a", "b"));
+        assertEquals(commits, plain.getCommitCount());
+    }
+
+    @Test(timeout = 10_000)
+    public void legacySelectionIsMigrated() {
+        plain.edit().putStringSet("selected_slo_ids", new HashSet<>(Arrays.asList("x", "y"))).commit();
+        SettingsStore store = new SettingsStore(plain, this::openSecrets, () -> fallback);
+
+        assertEquals(new HashSet<>(Arrays.asList("x", "y")), store.get().getSelectedSloIds());
+        eventually(() -> plain.getString("selected_slo_ids_packed", null) != null);
+        assertEquals("x\ny", plain.getString("selected_slo_ids_packed", null));
+        assertNull(plain.getStringSet("selected_slo_ids", null));
+    }
+
+    private InMemoryPreferences openSecrets() {
+        try {
+            keystoreReady.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return secrets;
+    }
+
+    /**
+     * Wait for a background write; the test timeout bounds the wait
+     */
+    private static void eventually(BooleanSupplier condition) {
+        while (!condition.getAsBoolean()) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.instana.slo.util;
+
+import io.instana.slo.BenchmarkRunner;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch vs. per-item status evaluation for 1k, 10k and 100k SLOs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrafficLightCalculatorBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private TrafficLightCalculator.Columns columns;
+    private byte[] codes;
+    private TrafficLightStatus[] statuses;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(41);
+        columns = new TrafficLightCalculator.Columns(size);
+        for (int i = 0; i < size; i++) {
+            columns.sli[i] = 0.98 + random.nextDouble() * 0.02;
+            columns.sloTarget[i] = 0.99;
+            columns.errorBudgetRemaining[i] = random.nextDouble() * 1000;
+            columns.totalErrorBudget[i] = 1000;
+        }
+        codes = new byte[size];
+        statuses = new TrafficLightStatus[size];
+    }
+
+    @Benchmark
+    public byte[] batch() {
+        TrafficLightCalculator.calculateBatch(columns.sli, columns.sloTarget, columns.errorBudgetRemaining,
+                columns.totalErrorBudget, 50.0, codes);
+        return codes;
+    }
+
+    @Benchmark
+    public TrafficLightStatus[] perItem() {
+        for (int i = 0; i < size; i++) {
+            statuses[i] = TrafficLightCalculator.calculate(columns.sli[i], columns.sloTarget[i],
+                    columns.errorBudgetRemaining[i], columns.totalErrorBudget[i], 50.0);
+        }
+        return statuses;
+    }
+
+    @Test
+    public void run() throws Exception {
+        BenchmarkRunner.run(getClass());
+    }
+}
@@ -0,0 +1,97 @@
+package io.instana.slo.util;
+
+import io.instana.slo.data.model.SloReport;
+import io.instana.slo.data.model.TrafficLightStatus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TrafficLightCalculatorTest {
+    private static final double[] SPECIAL = {
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.0, -0.0, Double.MIN_VALUE
+    };
+
+    @Test
+    public void appliesPriorityOrder() {
+        assertEquals(TrafficLightStatus.RED, TrafficLightCalculator.calculate(0.98, 0.99, 900, 1000, 50));
+        assertEquals(TrafficLightStatus.RED, TrafficLightCalculator.calculate(0.99, 0.99, 900, 1000, 50));
+        assertEquals(TrafficLightStatus.YELLOW, TrafficLightCalculator.calculate(0.995, 0.99, 500, 1000, 50));
+        assertEquals(TrafficLightStatus.GREEN, TrafficLightCalculator.calculate(0.995, 0.99, 501, 1000, 50));
+        // Without a budget nothing is left
+        assertEquals(TrafficLightStatus.YELLOW, TrafficLightCalculator.calculate(0.995, 0.99, 10, 0, 50));
+    }
+
+    @Test
+    public void batchMatchesScalarForEveryElement() {
+        // Larger than the parallel threshold, so the fork/join split is exercised too
+        int count = 100_000;
+        Random random = new Random(41);
+        TrafficLightCalculator.Columns columns = new TrafficLightCalculator.Columns(count);
+        for (int i = 0; i < count; i++) {
+            columns.sli[i] = value(random, 0.9 + random.nextDouble() * 0.1);
+            columns.sloTarget[i] = value(random, 0.9 + random.nextDouble() * 0.1);
+            columns.errorBudgetRemaining[i] = value(random, random.nextDouble() * 1200 - 100);
+            columns.totalErrorBudget[i] = value(random, random.nextDouble() * 1000);
+        }
+        byte[] codes = new byte[count];
+        TrafficLightCalculator.calculateBatch(columns.sli, columns.sloTarget, columns.errorBudgetRemaining,
+                columns.totalErrorBudget, 35.0, codes);
+
+        for (int i = 0; i < count; i++) {
+            TrafficLightStatus expected = TrafficLightCalculator.calculate(columns.sli[i], columns.sloTarget[i],
+                    columns.errorBudgetRemaining[i], columns.totalErrorBudget[i], 35.0);
+            assertEquals("element " + i, expected, TrafficLightCalculator.toStatus(codes[i]));
+        }
+    }
+
+    @Test
+    public void calculateAllMatchesPerReportCalculation() {
+        Random random = new Random(7);
+        List<SloReport> reports = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            if (i % 97 == 0) {
+                reports.add(null);
+                continue;
+            }
+            SloReport report = new SloReport();
+            report.setSli(value(random, 0.95 + random.nextDouble() * 0.05));
+            report.setSloTarget(value(random, 0.95 + random.nextDouble() * 0.05));
+            report.setErrorBudgetRemaining(value(random, random.nextDouble() * 1000));
+            report.setTotalErrorBudget(value(random, 1000));
+            reports.add(report);
+        }
+
+        TrafficLightStatus[] statuses = TrafficLightCalculator.calculateAll(reports, 50.0);
+
+        assertEquals(reports.size(), statuses.length);
+        for (int i = 0; i < reports.size(); i++) {
+            SloReport report = reports.get(i);
+            if (report == null) {
+                assertNull(statuses[i]);
+                continue;
+            }
+            TrafficLightStatus expected = TrafficLightCalculator.calculate(report.getSli(), report.getSloTarget(),
+                    report.getErrorBudgetRemaining(), report.getTotalErrorBudget(), 50.0);
+            assertEquals("report " + i, expected, statuses[i]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsShortColumns() {
+        TrafficLightCalculator.calculateBatch(new double[2], new double[3], new double[3], new double[3], 50.0,
+                new byte[3]);
+    }
+
+    /**
+     * The given value, or now and then one of the edge cases
+     */
+    private static double value(Random random, double value) {
+        return random.nextInt(50) == 0 ? SPECIAL[random.nextInt(SPECIAL.length)] : value;
+    }
+}
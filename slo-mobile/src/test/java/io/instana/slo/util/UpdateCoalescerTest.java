@@ -0,0 +1,130 @@
+package io.instana.slo.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Flushes are driven by hand; the frame and handler scheduling is Android's
+ */
+public class UpdateCoalescerTest {
+    @Test
+    public void keepsLatestValuePerKeyInFirstOfferOrder() {
+        RecordingSink sink = new RecordingSink(0);
+        UpdateCoalescer<String, String> coalescer = new UpdateCoalescer<>(16, 1000, sink);
+
+        coalescer.offer("a", "a1");
+        coalescer.offer("b", "b1");
+        coalescer.offer("a", "a2");
+        coalescer.offer("c", "c1");
+        coalescer.offer("a", "a3");
+        coalescer.flush();
+
+        assertEquals(Arrays.asList("a3", "b1", "c1"), sink.values);
+        assertEquals(Collections.singletonList(3), sink.batches);
+        UpdateCoalescer.Metrics metrics = coalescer.getMetrics();
+        assertEquals(1, metrics.batchCount);
+        assertEquals(3, metrics.valueCount);
+        assertEquals(2, metrics.replacedCount);
+        assertEquals(0, metrics.overBudgetCount);
+    }
+
+    @Test
+    public void emptyFlushDeliversNothing() {
+        RecordingSink sink = new RecordingSink(0);
+        UpdateCoalescer<String, String> coalescer = new UpdateCoalescer<>(16, 1000, sink);
+
+        coalescer.flush();
+        coalescer.offer("a", "a1");
+        coalescer.flush();
+        coalescer.flush();
+
+        assertEquals(Collections.singletonList(1), sink.batches);
+        assertEquals(1, coalescer.getMetrics().batchCount);
+    }
+
+    @Test
+    public void overBudgetFlushCarriesRestOver() {
+        // Every value takes longer than the whole budget, so each flush delivers one
+        RecordingSink sink = new RecordingSink(3);
+        UpdateCoalescer<Integer, String> coalescer = new UpdateCoalescer<>(16, 1, sink);
+        for (int i = 0; i < 4; i++) {
+            coalescer.offer(i, "v" + i);
+        }
+
+        for (int flush = 1; flush <= 4; flush++) {
+            coalescer.flush();
+            assertEquals(flush, sink.values.size());
+        }
+        coalescer.flush();
+
+        assertEquals(Arrays.asList("v0", "v1", "v2", "v3"), sink.values);
+        assertEquals(Arrays.asList(1, 1, 1, 1), sink.batches);
+        UpdateCoalescer.Metrics metrics = coalescer.getMetrics();
+        assertEquals(3, metrics.overBudgetCount);
+        assertEquals(1, metrics.maxBatchSize);
+        assertEquals(1.0, metrics.getAverageBatchSize(), 0.0);
+    }
+
+    @Test
+    public void valueOfferedAfterCarryOverReplacesPendingOne() {
+        RecordingSink sink = new RecordingSink(3);
+        UpdateCoalescer<Integer, String> coalescer = new UpdateCoalescer<>(16, 1, sink);
+        coalescer.offer(1, "old1");
+        coalescer.offer(2, "old2");
+        coalescer.flush();
+
+        coalescer.offer(2, "new2");
+        coalescer.flush();
+
+        assertEquals(Arrays.asList("old1", "new2"), sink.values);
+        assertEquals(1, coalescer.getMetrics().replacedCount);
+    }
+
+    @Test
+    public void cancelDropsPendingValues() {
+        RecordingSink sink = new RecordingSink(0);
+        UpdateCoalescer<String, String> coalescer = new UpdateCoalescer<>(16, 1000, sink);
+        coalescer.offer("a", "a1");
+        coalescer.offer("b", "b1");
+
+        coalescer.cancel();
+        coalescer.flush();
+
+        assertTrue(sink.values.isEmpty());
+        assertTrue(sink.batches.isEmpty());
+    }
+
+    private static final class RecordingSink implements UpdateCoalescer.Sink<String> {
+        final List<String> values = new ArrayList<>();
+        final List<Integer> batches = new ArrayList<>();
+        private final long delayMs;
+
+        RecordingSink(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public void onValue(String value) {
+            values.add(value);
+            if (delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void onBatchEnd(int batchSize) {
+            batches.add(batchSize);
+        }
+    }
+}